@@ -0,0 +1,54 @@
+package com.assignment.fileextension.common;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * 파일 체크섬(SHA-256) 관련 유틸리티
+ */
+public final class ChecksumUtils {
+
+    public static final String ALGORITHM = "SHA-256";
+
+    private ChecksumUtils() {
+        // 유틸리티 클래스는 인스턴스화 방지
+    }
+
+    /**
+     * 새 SHA-256 MessageDigest를 생성합니다.
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 다이제스트 결과를 16진수 문자열로 변환합니다.
+     */
+    public static String toHex(byte[] digest) {
+        return HexFormat.of().formatHex(digest);
+    }
+
+    /**
+     * RFC 9530 Repr-Digest 헤더 값을 생성합니다. 예: sha-256=:base64:
+     */
+    public static String toReprDigestHeader(String hexChecksum) {
+        return "sha-256=:" + toBase64(hexChecksum) + ":";
+    }
+
+    /**
+     * RFC 3230 Digest 헤더 값을 생성합니다. 예: SHA-256=base64
+     */
+    public static String toDigestHeader(String hexChecksum) {
+        return "SHA-256=" + toBase64(hexChecksum);
+    }
+
+    private static String toBase64(String hexChecksum) {
+        return Base64.getEncoder().encodeToString(HexFormat.of().parseHex(hexChecksum));
+    }
+}
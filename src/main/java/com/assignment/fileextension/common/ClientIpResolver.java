@@ -0,0 +1,78 @@
+package com.assignment.fileextension.common;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 프록시(nginx) 헤더를 고려하여 클라이언트 IP 주소를 추출합니다.
+ *
+ * - {@link #resolve}: 기록용 (X-Forwarded-For의 첫 주소, 클라이언트가 직접 넣은 값일 수 있음)
+ * - {@link #resolveTrusted}: 용량 한도, 업로드 예산 등 제한 적용용 (신뢰하는 프록시가 기록한 주소만 사용)
+ */
+public final class ClientIpResolver {
+
+    private ClientIpResolver() {
+        // 유틸리티 클래스는 인스턴스화 방지
+    }
+
+    /**
+     * 클라이언트 IP 주소 추출 (감사 로그 등 기록용)
+     */
+    public static String resolve(HttpServletRequest request) {
+        // X-Forwarded-For 헤더 확인
+        String ipAddress = request.getHeader("X-Forwarded-For");
+        if (isValidIpAddress(ipAddress)) {
+            return ipAddress.split(",")[0].trim();
+        }
+
+        // X-Real-IP 헤더 확인
+        ipAddress = request.getHeader("X-Real-IP");
+        if (isValidIpAddress(ipAddress)) {
+            return ipAddress;
+        }
+
+        // 기본 Remote Address 반환
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * 제한을 적용할 클라이언트 IP 주소를 추출합니다.
+     *
+     * nginx는 X-Forwarded-For에 받은 값 뒤에 접속 주소를 덧붙이므로($proxy_add_x_forwarded_for) 앞쪽 항목은
+     * 클라이언트가 임의로 정할 수 있습니다. 직접 접속한 주소가 신뢰하는 프록시일 때만 헤더를 보고,
+     * X-Forwarded-For를 오른쪽부터 읽어 신뢰하는 프록시가 아닌 첫 주소를 사용합니다.
+     */
+    public static String resolveTrusted(HttpServletRequest request, TrustedProxies trustedProxies) {
+        String remoteAddress = request.getRemoteAddr();
+        if (!trustedProxies.contains(remoteAddress)) {
+            return remoteAddress;
+        }
+
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (isValidIpAddress(forwardedFor)) {
+            String[] hops = forwardedFor.split(",");
+            String hop = null;
+            for (int i = hops.length - 1; i >= 0; i--) {
+                hop = hops[i].trim();
+                if (!trustedProxies.contains(hop)) {
+                    break;
+                }
+            }
+            if (isValidIpAddress(hop)) {
+                return hop;
+            }
+        }
+
+        String realIp = request.getHeader("X-Real-IP");
+        if (isValidIpAddress(realIp)) {
+            return realIp.trim();
+        }
+        return remoteAddress;
+    }
+
+    /**
+     * IP 주소의 유효성을 검증합니다.
+     */
+    private static boolean isValidIpAddress(String ipAddress) {
+        return ipAddress != null && !ipAddress.isEmpty() && !"unknown".equalsIgnoreCase(ipAddress);
+    }
+}
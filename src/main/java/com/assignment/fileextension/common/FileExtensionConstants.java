@@ -18,6 +18,16 @@ public final class FileExtensionConstants {
             "bat", "cmd", "com", "cpl", "exe", "scr", "js"
     );
     
+    /**
+     * 이미 압축된 형식의 확장자 (다시 압축해도 크기가 줄지 않음)
+     */
+    public static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+            "zip", "gz", "tgz", "bz2", "xz", "7z", "rar", "zst", "jar", "war", "apk",
+            "docx", "xlsx", "pptx", "hwpx", "odt",
+            "jpg", "jpeg", "png", "gif", "webp", "heic",
+            "mp3", "aac", "ogg", "flac", "mp4", "mov", "avi", "mkv", "webm"
+    );
+    
     /**
      * 파일 제한 관련 상수
      */
@@ -0,0 +1,47 @@
+package com.assignment.fileextension.common;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 파일명 관련 유틸리티
+ */
+public final class FileNameUtils {
+
+    private FileNameUtils() {
+        // 유틸리티 클래스는 인스턴스화 방지
+    }
+
+    /**
+     * 파일명에서 모든 확장자를 추출합니다. (소문자, 숫자만 있는 부분 제외)
+     * 예: "document.backup.exe.txt" -> [backup, exe, txt]
+     */
+    public static Set<String> extractAllExtensions(String filename) {
+        if (filename == null) {
+            return Collections.emptySet();
+        }
+
+        // 첫 번째 부분(파일명)을 제외한 나머지를 확장자로 간주
+        String[] parts = filename.split("\\.");
+        Set<String> extensions = new LinkedHashSet<>();
+        for (int i = 1; i < parts.length; i++) {
+            String extension = parts[i].toLowerCase().trim();
+            if (!extension.isEmpty() && !extension.matches("\\d+")) {
+                extensions.add(extension);
+            }
+        }
+        return extensions;
+    }
+
+    /**
+     * 확장자 색인에 저장할 확장자를 추출합니다.
+     * 확장자 이름 길이 제한을 넘는 부분은 차단 목록에 등록될 수 없으므로 제외합니다.
+     */
+    public static Set<String> extractIndexableExtensions(String filename) {
+        return extractAllExtensions(filename).stream()
+                .filter(extension -> extension.length() <= FileExtensionConstants.FileLimit.MAX_EXTENSION_NAME_LENGTH)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
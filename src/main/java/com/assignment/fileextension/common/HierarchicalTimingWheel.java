@@ -0,0 +1,165 @@
+package com.assignment.fileextension.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 계층형 타이밍 휠 (Kafka의 TimingWheel 방식)
+ *
+ * - 등록/만료 처리는 O(1)이며, 가까운 만료는 하위 휠에, 먼 만료는 상위(overflow) 휠에 보관합니다.
+ * - 항목이 들어 있는 버킷만 DelayQueue에 올라가므로, 대기 중에는 주기적인 틱 없이 스레드가 잠들어 있습니다.
+ * - 상위 휠의 버킷이 만료되면 항목을 다시 등록해 하위 휠로 내려보냅니다.
+ */
+public class HierarchicalTimingWheel {
+
+    private final DelayQueue<Bucket> queue = new DelayQueue<>();
+    private final Level root;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.root = new Level(tickMs, wheelSize, startMs);
+    }
+
+    /**
+     * 키를 만료 시각(epoch ms)에 등록합니다. 만료 시각은 틱 단위로 올림하므로 먼저 꺼내지는 일은 없고,
+     * 이미 지난 시각은 다음 틱에 만료됩니다.
+     */
+    public synchronized void add(long key, long expirationMs) {
+        long due = Math.max(expirationMs, root.currentTime + root.tickMs);
+        long roundedUp = (due + root.tickMs - 1) / root.tickMs * root.tickMs;
+        root.add(new Entry(key, roundedUp));
+        size++;
+    }
+
+    /**
+     * 다음 버킷이 만료될 때까지 최대 timeoutMs 동안 기다린 뒤 만료된 키를 반환합니다.
+     * 기다리는 동안 만료된 버킷이 없으면 빈 목록을 반환합니다.
+     */
+    public List<Long> poll(long timeoutMs) throws InterruptedException {
+        Bucket bucket = queue.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        if (bucket == null) {
+            return List.of();
+        }
+
+        List<Long> expired = new ArrayList<>();
+        synchronized (this) {
+            while (bucket != null) {
+                root.advanceClock(bucket.getExpiration());
+                for (Entry entry : bucket.drain()) {
+                    if (!root.add(entry)) {
+                        expired.add(entry.key());
+                        size--;
+                    }
+                }
+                bucket = queue.poll();
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private record Entry(long key, long expirationMs) {
+    }
+
+    /**
+     * 휠 한 단계 (tickMs * wheelSize 범위)
+     */
+    private final class Level {
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final Bucket[] buckets;
+        private long currentTime;
+        private Level overflow;
+
+        Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket();
+            }
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+
+        /**
+         * 항목을 버킷에 넣습니다. 이미 만료된 항목이면 false를 반환합니다.
+         */
+        boolean add(Entry entry) {
+            long expiration = entry.expirationMs();
+            if (expiration < currentTime + tickMs) {
+                return false;
+            }
+            if (expiration < currentTime + interval) {
+                long virtualId = expiration / tickMs;
+                Bucket bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.add(entry);
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    queue.offer(bucket);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(interval, wheelSize, currentTime);
+            }
+            return overflow.add(entry);
+        }
+
+        void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - (timeMs % tickMs);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    /**
+     * 같은 틱에 만료되는 항목 묶음
+     */
+    private static final class Bucket implements Delayed {
+        private final AtomicLong expiration = new AtomicLong(-1L);
+        private final List<Entry> entries = new ArrayList<>();
+
+        void add(Entry entry) {
+            entries.add(entry);
+        }
+
+        /**
+         * 만료 시각이 바뀌었으면 true (다시 큐에 넣어야 함)
+         */
+        boolean setExpiration(long expirationMs) {
+            return expiration.getAndSet(expirationMs) != expirationMs;
+        }
+
+        long getExpiration() {
+            return expiration.get();
+        }
+
+        List<Entry> drain() {
+            List<Entry> drained = new ArrayList<>(entries);
+            entries.clear();
+            expiration.set(-1L);
+            return drained;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(expiration.get() - System.currentTimeMillis(), 0L), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiration.get(), ((Bucket) other).expiration.get());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.assignment.fileextension.common;
+
+/**
+ * 백그라운드 I/O 작업의 처리량을 초당 바이트 수로 제한합니다.
+ * 단일 스레드에서 사용하는 것을 전제로 합니다.
+ */
+public final class IoRateLimiter {
+
+    private final long bytesPerSecond;
+    private final long startNanos;
+    private long consumedBytes;
+
+    /**
+     * @param bytesPerSecond 초당 허용 바이트 수 (0 이하이면 제한 없음)
+     */
+    public IoRateLimiter(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * 지정한 바이트만큼 사용하고, 허용 속도를 앞서면 그만큼 대기합니다.
+     */
+    public void acquire(long bytes) throws InterruptedException {
+        if (bytesPerSecond <= 0) {
+            return;
+        }
+
+        consumedBytes += bytes;
+        long expectedNanos = (long) (consumedBytes * 1_000_000_000.0 / bytesPerSecond);
+        long aheadNanos = expectedNanos - (System.nanoTime() - startNanos);
+        if (aheadNanos > 0) {
+            Thread.sleep(aheadNanos / 1_000_000, (int) (aheadNanos % 1_000_000));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.assignment.fileextension.common;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SHA-256 Merkle 트리 계산 유틸리티
+ *
+ * 리프와 내부 노드에 서로 다른 접두 바이트를 붙여(RFC 6962 방식) 리프 해시를 내부 노드로 위장할 수 없게 합니다.
+ * 노드 수가 홀수인 단계에서는 마지막 노드를 그대로 위 단계로 올립니다.
+ */
+public final class MerkleTree {
+
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+
+    private MerkleTree() {
+        // 유틸리티 클래스는 인스턴스화 방지
+    }
+
+    /**
+     * 청크 하나의 리프 해시
+     */
+    public static byte[] leafHash(byte[] data, int offset, int length) {
+        MessageDigest digest = ChecksumUtils.newDigest();
+        digest.update(LEAF_PREFIX);
+        digest.update(data, offset, length);
+        return digest.digest();
+    }
+
+    /**
+     * 두 자식 노드의 부모 해시
+     */
+    public static byte[] nodeHash(byte[] left, byte[] right) {
+        MessageDigest digest = ChecksumUtils.newDigest();
+        digest.update(NODE_PREFIX);
+        digest.update(left);
+        digest.update(right);
+        return digest.digest();
+    }
+
+    /**
+     * 리프 해시 목록으로 루트 해시를 계산합니다. 리프가 하나면 그 리프가 루트입니다.
+     */
+    public static byte[] root(List<byte[]> leaves) {
+        if (leaves.isEmpty()) {
+            throw new IllegalArgumentException("리프가 하나 이상 필요합니다.");
+        }
+
+        List<byte[]> level = leaves;
+        while (level.size() > 1) {
+            List<byte[]> parents = new ArrayList<>((level.size() + 1) / 2);
+            for (int i = 0; i < level.size(); i += 2) {
+                parents.add(i + 1 < level.size() ? nodeHash(level.get(i), level.get(i + 1)) : level.get(i));
+            }
+            level = parents;
+        }
+        return level.get(0);
+    }
+}
@@ -0,0 +1,114 @@
+package com.assignment.fileextension.common;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 클라이언트 주소 헤더(X-Forwarded-For, X-Real-IP)를 믿을 수 있는 프록시 주소 목록 (IP 또는 CIDR)
+ */
+public class TrustedProxies {
+
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+    private final List<Range> ranges;
+
+    private TrustedProxies(List<Range> ranges) {
+        this.ranges = List.copyOf(ranges);
+    }
+
+    /**
+     * 쉼표로 구분한 IP/CIDR 목록을 읽습니다. (예: "127.0.0.1/32, ::1/128, 172.16.0.0/12")
+     */
+    public static TrustedProxies parse(String value) {
+        List<Range> ranges = new ArrayList<>();
+        if (value != null) {
+            for (String entry : value.split(",")) {
+                String trimmed = entry.trim();
+                if (!trimmed.isEmpty()) {
+                    ranges.add(Range.parse(trimmed));
+                }
+            }
+        }
+        return new TrustedProxies(ranges);
+    }
+
+    /**
+     * 주소가 신뢰하는 프록시 범위에 속하는지 확인합니다. IP 형식이 아닌 값은 신뢰하지 않습니다.
+     */
+    public boolean contains(String address) {
+        byte[] bytes = toBytes(address);
+        if (bytes == null) {
+            return false;
+        }
+        for (Range range : ranges) {
+            if (range.contains(bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * IP 문자열을 바이트로 변환합니다. 헤더 값으로 DNS 조회가 일어나지 않도록 IP 형식만 처리합니다.
+     */
+    private static byte[] toBytes(String address) {
+        if (address == null) {
+            return null;
+        }
+        String value = address.trim();
+        // ':'가 있으면 IPv6 리터럴로만 해석됨 (호스트명 조회 없음)
+        if (!IPV4.matcher(value).matches() && !value.contains(":")) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(value).getAddress();
+        } catch (UnknownHostException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private record Range(byte[] network, int prefixLength) {
+
+        static Range parse(String cidr) {
+            int slash = cidr.indexOf('/');
+            String address = slash < 0 ? cidr : cidr.substring(0, slash);
+            byte[] network = toBytes(address);
+            if (network == null) {
+                throw new IllegalArgumentException("신뢰 프록시 주소 형식이 잘못되었습니다: " + cidr);
+            }
+            int prefixLength = network.length * 8;
+            if (slash >= 0) {
+                try {
+                    prefixLength = Integer.parseInt(cidr.substring(slash + 1).trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("신뢰 프록시 주소 형식이 잘못되었습니다: " + cidr);
+                }
+                if (prefixLength < 0 || prefixLength > network.length * 8) {
+                    throw new IllegalArgumentException("신뢰 프록시 주소 형식이 잘못되었습니다: " + cidr);
+                }
+            }
+            return new Range(network, prefixLength);
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = (0xFF << (8 - remainingBits)) & 0xFF;
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.assignment.fileextension.common.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간 순서를 보장하는 Long ID 생성기 (Snowflake 방식)
+ *
+ * 구성: 타임스탬프 40비트(ms, 2025-01-01 기준) | 노드 6비트 | 시퀀스 7비트
+ * 프론트엔드(JavaScript Number)에서 정밀도 손실이 없도록 전체 53비트 이내로 유지합니다.
+ * 락 없이 CAS로 동작하며, 같은 밀리초에 시퀀스가 소진되면 다음 밀리초를 미리 사용합니다.
+ *
+ * 노드 ID가 겹치는 두 인스턴스는 충돌 전까지 오류 없이 같은 ID를 발급하므로, 노드 ID는 반드시 설정해야 합니다.
+ * (app.id.node-id 또는 APP_ID_NODE_ID, 단일 노드로 실행할 때만 app.id.single-node=true로 0번 사용)
+ */
+public final class TimeOrderedIdGenerator {
+
+    public static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    static final int NODE_BITS = 6;
+    static final int SEQUENCE_BITS = 7;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final String NODE_ID_PROPERTY = "app.id.node-id";
+    private static final String NODE_ID_ENV = "APP_ID_NODE_ID";
+    private static final String SINGLE_NODE_PROPERTY = "app.id.single-node";
+    private static final String SINGLE_NODE_ENV = "APP_ID_SINGLE_NODE";
+
+    private final long nodeId;
+
+    /**
+     * (타임스탬프 << SEQUENCE_BITS | 시퀀스) 형태로 마지막 발급 상태를 보관
+     */
+    private final AtomicLong lastState = new AtomicLong();
+
+    public TimeOrderedIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("노드 ID는 0~" + MAX_NODE_ID + " 범위여야 합니다: " + nodeId);
+        }
+        this.nodeId = nodeId;
+    }
+
+    public static TimeOrderedIdGenerator getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * 공용 인스턴스는 처음 사용할 때 노드 ID를 확인하여 생성 (노드 ID를 직접 지정하는 생성자 사용에는 영향 없음)
+     */
+    private static final class Holder {
+        private static final TimeOrderedIdGenerator INSTANCE = new TimeOrderedIdGenerator(resolveNodeId());
+    }
+
+    /**
+     * 다음 ID를 발급합니다.
+     */
+    public long nextId() {
+        long now = System.currentTimeMillis() - EPOCH_MILLIS;
+        long candidate = now << SEQUENCE_BITS;
+
+        while (true) {
+            long last = lastState.get();
+            // 시계가 되돌아갔거나 같은 밀리초인 경우 마지막 상태 다음 값을 사용
+            long next = candidate > last ? candidate : last + 1;
+            if (lastState.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & SEQUENCE_MASK;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+
+    /**
+     * 사전순 정렬이 시간순과 일치하는 고정 길이 문자열을 발급합니다. (저장 파일명 등)
+     */
+    public String nextSortableString() {
+        return toSortableString(nextId());
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * ID를 14자리(53비트) 16진수 문자열로 변환합니다.
+     */
+    public static String toSortableString(long id) {
+        return String.format("%014x", id);
+    }
+
+    /**
+     * ID에 포함된 생성 시각을 추출합니다.
+     */
+    public static Instant extractTimestamp(long id) {
+        return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS);
+    }
+
+    /**
+     * ID에 포함된 노드 ID를 추출합니다.
+     */
+    public static long extractNodeId(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+
+    /**
+     * 노드 ID 결정 (시스템 프로퍼티 -> 환경 변수)
+     */
+    private static long resolveNodeId() {
+        String configured = System.getProperty(NODE_ID_PROPERTY);
+        if (configured == null || configured.isBlank()) {
+            configured = System.getenv(NODE_ID_ENV);
+        }
+        String singleNode = System.getProperty(SINGLE_NODE_PROPERTY);
+        if (singleNode == null || singleNode.isBlank()) {
+            singleNode = System.getenv(SINGLE_NODE_ENV);
+        }
+        return resolveNodeId(configured, Boolean.parseBoolean(singleNode));
+    }
+
+    /**
+     * 설정된 노드 ID를 검증합니다. 설정이 없으면 단일 노드 실행에서만 0번을 사용하고, 그 밖에는 시작을 중단합니다.
+     * (호스트명 해시 등으로 추측하면 64개 중 하나가 겹칠 때마다 PK가 중복됨)
+     */
+    static long resolveNodeId(String configured, boolean singleNode) {
+        if (configured == null || configured.isBlank()) {
+            if (singleNode) {
+                return 0L;
+            }
+            throw new IllegalStateException("노드 ID가 설정되지 않았습니다. 인스턴스마다 다른 " + NODE_ID_ENV
+                    + "(0~" + MAX_NODE_ID + ")를 설정하거나, 단일 노드로 실행할 때는 " + SINGLE_NODE_ENV + "=true로 설정하세요.");
+        }
+
+        long nodeId;
+        try {
+            nodeId = Long.parseLong(configured.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("노드 ID는 숫자여야 합니다: " + configured);
+        }
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalStateException("노드 ID는 0~" + MAX_NODE_ID + " 범위여야 합니다: " + nodeId);
+        }
+        return nodeId;
+    }
+}
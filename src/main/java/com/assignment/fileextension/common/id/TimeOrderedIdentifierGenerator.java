@@ -0,0 +1,20 @@
+package com.assignment.fileextension.common.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * {@link TimeOrderedId}가 붙은 엔티티의 ID를 발급하는 Hibernate 생성기
+ */
+public class TimeOrderedIdentifierGenerator implements IdentifierGenerator {
+
+    public TimeOrderedIdentifierGenerator(TimeOrderedId config) {
+        // 노드 ID 설정이 잘못되었으면 첫 INSERT가 아니라 애플리케이션 시작 시 실패하도록 미리 초기화
+        TimeOrderedIdGenerator.getInstance();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return TimeOrderedIdGenerator.getInstance().nextId();
+    }
+}
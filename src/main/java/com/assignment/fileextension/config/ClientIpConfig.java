@@ -0,0 +1,20 @@
+package com.assignment.fileextension.config;
+
+import com.assignment.fileextension.common.TrustedProxies;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 클라이언트 주소 헤더를 믿을 수 있는 프록시 설정
+ * 기본값은 같은 호스트의 nginx만 신뢰합니다. (컨테이너로 실행하면 nginx가 접속하는 브리지 네트워크를 추가)
+ */
+@Configuration
+public class ClientIpConfig {
+
+    @Bean
+    public TrustedProxies trustedProxies(
+            @Value("${app.client-ip.trusted-proxies:127.0.0.1/32,::1/128}") String trustedProxies) {
+        return TrustedProxies.parse(trustedProxies);
+    }
+}
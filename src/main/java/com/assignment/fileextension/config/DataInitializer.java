@@ -8,6 +8,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -26,14 +29,14 @@ public class DataInitializer implements CommandLineRunner {
         if (existingCount == 0) {
             log.info("고정 확장자 초기 데이터 생성 시작");
             
-            FileExtensionConstants.FIXED_EXTENSIONS.forEach(ext -> {
-                FixedExtensionSetting setting = FixedExtensionSetting.builder()
-                        .extension(ext)
-                        .isBlocked(false)
-                        .build();
-                fixedExtensionSettingRepository.save(setting);
-                log.debug("고정 확장자 생성: {}", ext);
-            });
+            // 배치 INSERT로 한 번에 저장
+            List<FixedExtensionSetting> settings = FileExtensionConstants.FIXED_EXTENSIONS.stream()
+                    .map(ext -> FixedExtensionSetting.builder()
+                            .extension(ext)
+                            .isBlocked(false)
+                            .build())
+                    .collect(Collectors.toList());
+            fixedExtensionSettingRepository.saveAll(settings);
             
             log.info("고정 확장자 초기 데이터 생성 완료: {} 개", 
                     FileExtensionConstants.FIXED_EXTENSIONS.size());
@@ -0,0 +1,28 @@
+package com.assignment.fileextension.config;
+
+import com.assignment.fileextension.common.TrustedProxies;
+import com.assignment.fileextension.service.UploadAdmissionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 업로드 승인 제어 필터 등록
+ * 파일 업로드 엔드포인트에만 적용합니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.upload-admission.enabled", havingValue = "true", matchIfMissing = true)
+public class UploadAdmissionConfig {
+
+    @Bean
+    public FilterRegistrationBean<UploadAdmissionFilter> uploadAdmissionFilter(
+            UploadAdmissionService uploadAdmissionService, ObjectMapper objectMapper, TrustedProxies trustedProxies) {
+        FilterRegistrationBean<UploadAdmissionFilter> registration = new FilterRegistrationBean<>(
+                new UploadAdmissionFilter(uploadAdmissionService, objectMapper, trustedProxies));
+        registration.addUrlPatterns("/api/upload/file");
+        registration.setName("uploadAdmissionFilter");
+        return registration;
+    }
+}
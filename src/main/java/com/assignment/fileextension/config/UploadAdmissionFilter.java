@@ -0,0 +1,71 @@
+package com.assignment.fileextension.config;
+
+import com.assignment.fileextension.common.ClientIpResolver;
+import com.assignment.fileextension.common.TrustedProxies;
+import com.assignment.fileextension.service.UploadAdmissionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * 업로드 요청 본문을 읽기 전에(멀티파트 파싱 전) 바이트 예산을 확인합니다.
+ * 예산을 얻지 못한 요청은 임시 디스크나 힙을 쓰기 전에 503과 Retry-After로 거절합니다.
+ * 클라이언트별 예산은 클라이언트가 바꿀 수 없는 주소(신뢰 프록시가 기록한 주소)를 기준으로 합니다.
+ */
+@RequiredArgsConstructor
+public class UploadAdmissionFilter extends OncePerRequestFilter {
+
+    private final UploadAdmissionService uploadAdmissionService;
+    private final ObjectMapper objectMapper;
+    private final TrustedProxies trustedProxies;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equalsIgnoreCase(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        UploadAdmissionService.Permit permit;
+        try {
+            permit = uploadAdmissionService.tryAdmit(
+                    ClientIpResolver.resolveTrusted(request, trustedProxies), request.getContentLengthLong());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permit = null;
+        }
+
+        if (permit == null) {
+            reject(response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permit.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(uploadAdmissionService.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), Map.of(
+                "error", "현재 처리 중인 업로드가 많습니다. 잠시 후 다시 시도해주세요.",
+                "type", "UPLOAD_BUSY"));
+    }
+}
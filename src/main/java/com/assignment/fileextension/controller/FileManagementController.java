@@ -1,8 +1,27 @@
 package com.assignment.fileextension.controller;
 
+import com.assignment.fileextension.common.ChecksumUtils;
 import com.assignment.fileextension.common.FileExtensionConstants;
+import com.assignment.fileextension.dto.BulkFileRequest;
+import com.assignment.fileextension.dto.BulkFileResult;
+import com.assignment.fileextension.entity.ExtensionStats;
 import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import com.assignment.fileextension.service.AccelRedirectService;
+import com.assignment.fileextension.service.BufferPoolService;
+import com.assignment.fileextension.service.BulkFileService;
+import com.assignment.fileextension.service.DownloadCacheService;
+import com.assignment.fileextension.service.DownloadStatsService;
+import com.assignment.fileextension.service.ExtensionStatsService;
+import com.assignment.fileextension.service.FileEncryptionService;
+import com.assignment.fileextension.service.FileExpiryService;
+import com.assignment.fileextension.service.FileQuarantineService;
+import com.assignment.fileextension.service.FilenameSearchService;
+import com.assignment.fileextension.service.IntegrityVerificationService;
+import com.assignment.fileextension.service.ReplicationService;
+import com.assignment.fileextension.service.SignedUrlService;
 import com.assignment.fileextension.service.StorageService;
+import com.assignment.fileextension.service.ZipDownloadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -10,10 +29,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +53,23 @@ import java.util.Map;
 public class FileManagementController {
     
     private final StorageService storageService;
+    private final DownloadCacheService downloadCacheService;
+    private final FileQuarantineService fileQuarantineService;
+    private final FileExpiryService fileExpiryService;
+    private final ExtensionStatsService extensionStatsService;
+    private final ZipDownloadService zipDownloadService;
+    private final AccelRedirectService accelRedirectService;
+    private final SignedUrlService signedUrlService;
+    private final FileEncryptionService fileEncryptionService;
+    private final ReplicationService replicationService;
+    private final DownloadStatsService downloadStatsService;
+    private final BufferPoolService bufferPoolService;
+    private final BulkFileService bulkFileService;
+    private final FilenameSearchService filenameSearchService;
+    private final IntegrityVerificationService integrityVerificationService;
+    
+    private static final String X_ACCEL_REDIRECT = "X-Accel-Redirect";
+    private static final DateTimeFormatter ZIP_FILENAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
     
     @Operation(summary = "전체 파일 목록 조회")
     @GetMapping
@@ -50,6 +93,24 @@ public class FileManagementController {
         return ResponseEntity.ok(file);
     }
     
+    @Operation(summary = "청크 해시 조회", description = "트리 해시로 저장된 파일의 청크별 해시와 루트 해시 (Range 다운로드 청크 단위 검증용)")
+    @GetMapping("/{fileId}/chunks")
+    public ResponseEntity<Map<String, Object>> getChunkHashes(
+            @Parameter(description = "파일 ID", required = true)
+            @PathVariable Long fileId) {
+        
+        UploadedFile file = storageService.findById(fileId);
+        if (file == null || file.getTreeHash() == null) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("chunkSize", file.getTreeChunkSize());
+        response.put("root", file.getTreeHash());
+        response.put("chunks", storageService.getChunkHashes(fileId));
+        return ResponseEntity.ok(response);
+    }
+    
     @Operation(summary = "파일 다운로드")
     @GetMapping("/{fileId}/download")
     public ResponseEntity<org.springframework.core.io.Resource> downloadFile(
@@ -57,27 +118,48 @@ public class FileManagementController {
             @PathVariable Long fileId) {
         
         try {
-            // 파일 정보 조회
+            // nginx 전송 모드: 조회와 헤더만 처리하고 본문은 nginx가 전송
+            if (accelRedirectService.isEnabled()) {
+                ResponseEntity<org.springframework.core.io.Resource> redirected = createAccelRedirectResponse(fileId);
+                if (redirected != null) {
+                    if (redirected.getStatusCode().is2xxSuccessful()) {
+                        downloadStatsService.recordDownload(fileId);
+                    }
+                    return redirected;
+                }
+            }
+            
+            // 캐시된 파일은 DB 조회와 디스크 접근 없이 응답
+            DownloadCacheService.CachedDownload cached = downloadCacheService.get(fileId);
+            if (cached != null) {
+                downloadStatsService.recordDownload(fileId);
+                return createDownloadResponse(cached.getOriginalFilename(), cached.getChecksum(), cached.toResource());
+            }
+            
+            // 파일 정보 조회 (조회 이후 무효화된 내용은 캐시하지 않도록 세대를 먼저 기록)
+            long cacheGeneration = downloadCacheService.generation();
             UploadedFile uploadedFile = storageService.findById(fileId);
             
             if (uploadedFile == null) {
                 return ResponseEntity.notFound().build();
             }
             
-            // 파일 리소스 로드
-            java.nio.file.Path filePath = java.nio.file.Paths.get(uploadedFile.getFilePath());
-            org.springframework.core.io.Resource resource = new org.springframework.core.io.UrlResource(filePath.toUri());
+            // 파일 리소스 로드 (암호화된 파일은 평문으로 제공, 원본이 없으면 복제본)
+            java.nio.file.Path filePath = replicationService.resolveForRead(uploadedFile);
+            org.springframework.core.io.Resource resource = fileEncryptionService.asResource(filePath);
             
             if (!resource.exists() || !resource.isReadable()) {
                 return ResponseEntity.notFound().build();
             }
             
-            // Content-Disposition 헤더 설정
-            String contentDisposition = "attachment; filename=\"" + uploadedFile.getOriginalFilename() + "\"";
+            // 반복 요청되는 작은 파일은 캐시에 적재
+            cached = downloadCacheService.admit(uploadedFile, cacheGeneration);
+            if (cached != null) {
+                resource = cached.toResource();
+            }
             
-            return ResponseEntity.ok()
-                    .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, contentDisposition)
-                    .body(resource);
+            downloadStatsService.recordDownload(fileId);
+            return createDownloadResponse(uploadedFile.getOriginalFilename(), uploadedFile.getChecksum(), resource);
                     
         } catch (Exception e) {
             log.error("파일 다운로드 실패: ID {} - {}", fileId, e.getMessage(), e);
@@ -85,8 +167,193 @@ public class FileManagementController {
         }
     }
     
+    @Operation(summary = "서명된 다운로드 URL 발급", description = "DB 조회 없이 검증되는 기간 제한 다운로드 URL을 발급합니다. CDN이나 nginx에 넘길 수 있습니다.")
+    @PostMapping("/{fileId}/signed-url")
+    public ResponseEntity<Map<String, Object>> issueSignedUrl(
+            @Parameter(description = "파일 ID", required = true)
+            @PathVariable Long fileId,
+            @Parameter(description = "유효 기간(초), 없으면 기본값")
+            @RequestParam(required = false) Long ttlSeconds) {
+        
+        UploadedFile file = storageService.findById(fileId);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        try {
+            SignedUrlService.SignedUrl signedUrl = signedUrlService.issue(
+                    file, ttlSeconds != null ? Duration.ofSeconds(ttlSeconds) : null);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("url", "/api/files/signed/" + signedUrl.token());
+            response.put("token", signedUrl.token());
+            response.put("expiresAt", signedUrl.expiresAt().toString());
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+    
+    @Operation(summary = "서명된 URL로 파일 다운로드", description = "토큰의 서명, 만료, 폐기 여부만 확인하고 DB 조회 없이 전송합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "파일 전송"),
+            @ApiResponse(responseCode = "403", description = "서명 불일치, 만료 또는 폐기된 토큰"),
+            @ApiResponse(responseCode = "404", description = "파일 없음")
+    })
+    @GetMapping("/signed/{token}")
+    public ResponseEntity<org.springframework.core.io.Resource> downloadSigned(@PathVariable String token) {
+        SignedUrlService.SignedDownload signed = signedUrlService.verify(token);
+        if (signed == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        
+        java.nio.file.Path filePath = signedUrlService.resolvePath(signed);
+        if (filePath == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        
+        MediaType contentType = parseContentType(signed.contentType());
+        
+        // nginx 전송 모드면 본문 전송도 nginx에 넘김
+        if (accelRedirectService.isEnabled()) {
+            String redirectPath = accelRedirectService.resolveRedirectPath(filePath);
+            if (redirectPath != null) {
+                downloadStatsService.recordDownload(signed.fileId());
+                return downloadHeaders(signed.filename(), null)
+                        .header(X_ACCEL_REDIRECT, redirectPath)
+                        .contentType(contentType)
+                        .build();
+            }
+        }
+        
+        org.springframework.core.io.Resource resource = fileEncryptionService.asResource(filePath);
+        if (!resource.exists() || !resource.isReadable()) {
+            return ResponseEntity.notFound().build();
+        }
+        downloadStatsService.recordDownload(signed.fileId());
+        return downloadHeaders(signed.filename(), null)
+                .contentType(contentType)
+                .body(resource);
+    }
+    
+    @Operation(summary = "다운로드 서명 키/폐기 목록 현황 조회")
+    @GetMapping("/signed-url/stats")
+    public ResponseEntity<Map<String, Object>> getSignedUrlStats() {
+        return ResponseEntity.ok(signedUrlService.getStats());
+    }
+    
+    @Operation(summary = "여러 파일 ZIP 다운로드", description = "선택한 파일들을 ZIP으로 묶어 임시 파일 없이 바로 스트리밍합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "ZIP 스트리밍"),
+            @ApiResponse(responseCode = "400", description = "파일 ID 누락 또는 개수 초과"),
+            @ApiResponse(responseCode = "404", description = "다운로드할 수 있는 파일이 없음")
+    })
+    @PostMapping("/download/zip")
+    public ResponseEntity<StreamingResponseBody> downloadZip(@RequestBody Map<String, List<Long>> request) {
+        List<UploadedFile> files;
+        try {
+            files = zipDownloadService.resolveFiles(request.get("fileIds"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        if (files.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        StreamingResponseBody body = outputStream -> {
+            try {
+                zipDownloadService.writeZip(files, outputStream);
+                files.forEach(file -> downloadStatsService.recordDownload(file.getId()));
+            } catch (IOException e) {
+                // 대부분 클라이언트가 다운로드를 중단한 경우 (응답은 이미 시작되어 상태를 바꿀 수 없음)
+                log.info("ZIP 다운로드 중단: {}개 파일 - {}", files.size(), e.getMessage());
+            }
+        };
+        
+        String filename = "files-" + LocalDateTime.now().format(ZIP_FILENAME_FORMAT) + ".zip";
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+    
+    
+    @Operation(summary = "다운로드 캐시 통계 조회", description = "캐시 적중/미스 횟수와 사용 중인 메모리를 조회합니다.")
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getDownloadCacheStats() {
+        return ResponseEntity.ok(downloadCacheService.getStats());
+    }
+    
+    @Operation(summary = "파일 복제 현황 조회", description = "복제 대기 작업 수, 가장 오래 대기 중인 작업 기준 복제 지연, 장애 조치 읽기 횟수를 조회합니다.")
+    @GetMapping("/replication/stats")
+    public ResponseEntity<Map<String, Object>> getReplicationStats() {
+        return ResponseEntity.ok(replicationService.getStats());
+    }
+    
+    @Operation(summary = "I/O 버퍼 풀 현황 조회", description = "I/O 종류별 버퍼 크기와 남은 버퍼 수, 할당량, 재사용/누수 횟수를 조회합니다.")
+    @GetMapping("/buffer-pool/stats")
+    public ResponseEntity<Map<String, Object>> getBufferPoolStats() {
+        return ResponseEntity.ok(bufferPoolService.getStats());
+    }
+    
+    @Operation(summary = "확장자별 저장 현황 조회", description = "확장자별 활성 파일 수, 총 크기, 마지막 업로드 시각을 조회합니다.")
+    @GetMapping("/stats")
+    public ResponseEntity<List<ExtensionStats>> getExtensionStats() {
+        return ResponseEntity.ok(extensionStatsService.getStats());
+    }
+    
+    @Operation(summary = "확장자별 저장 현황 재계산", description = "업로드 파일 테이블에서 확장자별 현황을 다시 계산합니다.")
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildExtensionStats() {
+        int extensionCount = extensionStatsService.rebuild();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("extensionCount", extensionCount);
+        return ResponseEntity.ok(response);
+    }
+    
+    @Operation(summary = "격리 배치 목록 조회", description = "확장자 차단으로 격리된 파일 배치를 조회합니다.")
+    @GetMapping("/quarantine")
+    public ResponseEntity<List<UploadedFileRepository.QuarantineBatchSummary>> getQuarantineBatches() {
+        return ResponseEntity.ok(fileQuarantineService.getBatches());
+    }
+    
+    @Operation(summary = "손상 파일 목록 조회", description = "주기적 무결성 검증에서 체크섬이 일치하지 않거나 읽을 수 없었던 활성 파일을 조회합니다.")
+    @GetMapping("/integrity/corrupted")
+    public ResponseEntity<List<UploadedFile>> getCorruptedFiles() {
+        return ResponseEntity.ok(integrityVerificationService.getCorruptedFiles());
+    }
     
-    @Operation(summary = "상태별 파일 목록 조회", description = "파일 상태(ACTIVE, DELETED)별로 파일 목록을 조회")
+    @Operation(summary = "격리 배치 복구", description = "격리된 파일을 원래 위치로 되돌리고 활성 상태로 변경합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "복구 성공"),
+            @ApiResponse(responseCode = "404", description = "격리 배치를 찾을 수 없음")
+    })
+    @PostMapping("/quarantine/{batchId}/restore")
+    public ResponseEntity<Map<String, Object>> restoreQuarantineBatch(
+            @Parameter(description = "격리 배치 ID", required = true)
+            @PathVariable String batchId) {
+        
+        try {
+            int restoredCount = fileQuarantineService.restore(batchId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("batchId", batchId);
+            response.put("restoredCount", restoredCount);
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @Operation(summary = "상태별 파일 목록 조회", description = "파일 상태(ACTIVE, QUARANTINED, DELETED)별로 파일 목록을 조회")
     @GetMapping("/status/{status}")
     public ResponseEntity<List<UploadedFile>> getFilesByStatus(
             @Parameter(description = "파일 상태", required = true)
@@ -104,6 +371,22 @@ public class FileManagementController {
         return ResponseEntity.ok(files);
     }
     
+    @Operation(summary = "파일명 검색", description = "파일명에 검색어가 포함된 활성 파일을 짧은 파일명 순으로 조회합니다. 다음 페이지는 응답의 nextCursor로 요청합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "검색 성공"),
+            @ApiResponse(responseCode = "400", description = "검색어가 너무 짧거나 잘못된 커서, 페이지 크기")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<FilenameSearchService.SearchPage> searchFiles(
+            @Parameter(description = "검색어 (3자 이상)", required = true)
+            @RequestParam String q,
+            @Parameter(description = "이전 응답의 nextCursor")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기")
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(filenameSearchService.search(q, cursor, size));
+    }
+    
     
     
     @Operation(summary = "파일 삭제")
@@ -164,6 +447,130 @@ public class FileManagementController {
         }
     }
     
+    @Operation(summary = "여러 파일 일괄 삭제", description = "파일 ID 목록 또는 조건(extension, ownerId)으로 지정한 파일을 한 번에 삭제하고 파일별 결과를 반환합니다. 삭제 예외로 보호된 파일은 건너뜁니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "처리 완료 (파일별 결과 포함)"),
+            @ApiResponse(responseCode = "400", description = "대상 지정 오류 또는 개수 초과")
+    })
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkFileResult> deleteFiles(@RequestBody BulkFileRequest request) {
+        // 대상 지정 오류는 IllegalArgumentException -> 400 (GlobalExceptionHandler)
+        return ResponseEntity.ok(bulkFileService.deleteFiles(request));
+    }
+    
+    @Operation(summary = "여러 파일 삭제 예외 일괄 설정", description = "파일 ID 목록 또는 조건(extension, ownerId)으로 지정한 파일의 삭제 예외를 한 번에 변경하고 파일별 결과를 반환합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "처리 완료 (파일별 결과 포함)"),
+            @ApiResponse(responseCode = "400", description = "deletionException 누락, 대상 지정 오류 또는 개수 초과")
+    })
+    @PutMapping("/bulk/protection")
+    public ResponseEntity<BulkFileResult> setDeletionExceptions(@RequestBody BulkFileRequest request) {
+        return ResponseEntity.ok(bulkFileService.setDeletionException(request));
+    }
+    
+    @Operation(summary = "파일 만료 설정", description = "지정한 시간(초)이 지나면 파일을 자동 삭제합니다. null이면 만료를 해제합니다.")
+    @PutMapping("/{fileId}/expiration")
+    public ResponseEntity<Map<String, Object>> setExpiration(
+            @Parameter(description = "파일 ID", required = true)
+            @PathVariable Long fileId,
+            @RequestBody Map<String, Long> request) {
+        
+        if (!request.containsKey("expiresInSeconds")) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "expiresInSeconds 필드가 필요합니다.");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        
+        Long expiresInSeconds = request.get("expiresInSeconds");
+        if (expiresInSeconds != null && expiresInSeconds <= 0) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "만료 시간은 1초 이상이어야 합니다.");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        
+        try {
+            LocalDateTime expiresAt = expiresInSeconds != null 
+                    ? LocalDateTime.now().plusSeconds(expiresInSeconds) : null;
+            storageService.setExpiration(fileId, expiresAt);
+            fileExpiryService.schedule(fileId, expiresAt);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("expiresAt", expiresAt != null ? expiresAt.toString() : null);
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    /**
+     * X-Accel-Redirect 응답을 생성합니다. nginx로 넘길 수 없는 파일이면 null을 반환합니다. (앱이 직접 전송)
+     */
+    private ResponseEntity<org.springframework.core.io.Resource> createAccelRedirectResponse(Long fileId) {
+        UploadedFile uploadedFile = storageService.findById(fileId);
+        if (uploadedFile == null) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        String redirectPath = accelRedirectService.resolveRedirectPath(uploadedFile);
+        if (redirectPath == null) {
+            return null;
+        }
+        
+        // 원본이 없어 복제본에서 읽어야 하면 앱이 직접 전송 (nginx는 원본 위치만 알고 있음)
+        if (replicationService.isPrimaryMissing(uploadedFile)) {
+            return null;
+        }
+        
+        // 본문은 비워 두고, 파일 존재 여부와 Range는 nginx가 처리
+        return downloadHeaders(uploadedFile.getOriginalFilename(), uploadedFile.getChecksum())
+                .header(X_ACCEL_REDIRECT, redirectPath)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .build();
+    }
+    
+    /**
+     * 파일 다운로드 응답을 생성합니다.
+     */
+    private ResponseEntity<org.springframework.core.io.Resource> createDownloadResponse(
+            String originalFilename, String checksum, org.springframework.core.io.Resource resource) {
+        return downloadHeaders(originalFilename, checksum).body(resource);
+    }
+    
+    /**
+     * 업로드 시 클라이언트가 보낸 Content-Type을 해석합니다. 없거나 잘못된 값이면 application/octet-stream
+     */
+    private MediaType parseContentType(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (org.springframework.http.InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+    
+    /**
+     * 다운로드 공통 헤더 (Content-Disposition, 체크섬)
+     */
+    private ResponseEntity.BodyBuilder downloadHeaders(String originalFilename, String checksum) {
+        // Content-Disposition 헤더 설정
+        String contentDisposition = "attachment; filename=\"" + originalFilename + "\"";
+        
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+        
+        // 저장 시 계산한 체크섬 전달 (RFC 9530 Repr-Digest, 구형 클라이언트용 Digest)
+        if (checksum != null) {
+            builder.header("Repr-Digest", ChecksumUtils.toReprDigestHeader(checksum))
+                    .header("Digest", ChecksumUtils.toDigestHeader(checksum));
+        }
+        
+        return builder;
+    }
+    
     /**
      * 파일 삭제 성공 응답을 생성합니다.
      */
@@ -1,12 +1,17 @@
 package com.assignment.fileextension.controller;
 
+import com.assignment.fileextension.common.ClientIpResolver;
 import com.assignment.fileextension.common.FileExtensionConstants;
+import com.assignment.fileextension.common.TrustedProxies;
 import com.assignment.fileextension.entity.UploadedFile;
 import com.assignment.fileextension.exception.FileValidationException;
+import com.assignment.fileextension.exception.QuotaExceededException;
 import com.assignment.fileextension.service.AuditService;
 import com.assignment.fileextension.service.ExtensionService;
+import com.assignment.fileextension.service.FileExpiryService;
 import com.assignment.fileextension.service.FileValidationService;
 import com.assignment.fileextension.service.StorageService;
+import com.assignment.fileextension.service.UploadAdmissionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -20,6 +25,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -34,6 +40,9 @@ public class FileUploadController {
     private final StorageService storageService;
     private final FileValidationService fileValidationService;
     private final AuditService auditService;
+    private final FileExpiryService fileExpiryService;
+    private final UploadAdmissionService uploadAdmissionService;
+    private final TrustedProxies trustedProxies;
     
     @Operation(summary = "파일 업로드")
     @ApiResponses(value = {
@@ -44,9 +53,16 @@ public class FileUploadController {
     public ResponseEntity<Map<String, Object>> uploadFile(
             @Parameter(description = "업로드할 파일", required = true) 
             @RequestParam("file") MultipartFile file,
+            @Parameter(description = "만료까지 남은 시간(초), 생략하면 만료 없음")
+            @RequestParam(value = "expiresInSeconds", required = false) Long expiresInSeconds,
             HttpServletRequest request) {
         Map<String, Object> response = new HashMap<>();
         
+        if (expiresInSeconds != null && expiresInSeconds <= 0) {
+            response.put("error", "만료 시간은 1초 이상이어야 합니다.");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
         try {
             // 업로드 시도 로그 기록
             auditService.logUploadAttempt(file, request);
@@ -66,10 +82,12 @@ public class FileUploadController {
             }
             
             // 실제 파일 저장 및 성공 응답
-            return handleSuccessfulUpload(file, request, response);
+            LocalDateTime expiresAt = expiresInSeconds != null 
+                    ? LocalDateTime.now().plusSeconds(expiresInSeconds) : null;
+            return handleSuccessfulUpload(file, request, expiresAt, response);
             
-        } catch (FileValidationException e) {
-            // 파일 검증 예외는 GlobalExceptionHandler에서 처리됨
+        } catch (FileValidationException | QuotaExceededException e) {
+            // 파일 검증/용량 한도 예외는 GlobalExceptionHandler에서 처리됨
             throw e;
         } catch (IOException e) {
             log.error("파일 업로드 실패: {}", e.getMessage(), e);
@@ -110,11 +128,17 @@ public class FileUploadController {
      * 성공한 파일 업로드 처리
      */
     private ResponseEntity<Map<String, Object>> handleSuccessfulUpload(
-            MultipartFile file, HttpServletRequest request,
+            MultipartFile file, HttpServletRequest request, LocalDateTime expiresAt,
             Map<String, Object> response) throws IOException {
         
-        // 실제 파일 저장
-        UploadedFile uploadedFile = storageService.storeFile(file);
+        // 실제 파일 저장 (클라이언트별 저장 용량 한도 적용, 한도 기준 주소는 클라이언트가 바꿀 수 없는 값 사용)
+        UploadedFile uploadedFile = storageService.storeFile(
+                file, ClientIpResolver.resolveTrusted(request, trustedProxies), expiresAt);
+        
+        // 저장이 커밋된 뒤 만료 시각 등록
+        if (expiresAt != null) {
+            fileExpiryService.schedule(uploadedFile.getId(), expiresAt);
+        }
         
         // 성공한 파일 업로드 로그 기록
         auditService.logSuccessfulUpload(file, request);
@@ -126,6 +150,9 @@ public class FileUploadController {
         response.put("storedFileName", uploadedFile.getStoredFilename());
         response.put("fileSize", uploadedFile.getFileSize());
         response.put("filePath", uploadedFile.getFilePath());
+        if (expiresAt != null) {
+            response.put("expiresAt", expiresAt.toString());
+        }
         
         log.info(FileExtensionConstants.LogMessages.FILE_UPLOAD_SUCCESS, 
                 file.getOriginalFilename(), uploadedFile.getId());
@@ -168,4 +195,10 @@ public class FileUploadController {
         
         return ResponseEntity.ok(response);
     }
+    
+    @Operation(summary = "업로드 승인 제어 현황 조회")
+    @GetMapping("/admission")
+    public ResponseEntity<Map<String, Object>> getAdmissionStats() {
+        return ResponseEntity.ok(uploadAdmissionService.getStats());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.assignment.fileextension.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Schema(description = "여러 파일 일괄 처리 요청 (파일 ID 목록 또는 조건 중 하나)")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkFileRequest {
+
+    @Schema(description = "대상 파일 ID 목록", example = "[1, 2, 3]")
+    private List<Long> fileIds;
+
+    @Schema(description = "조건: 파일명의 확장자 중 하나가 일치하는 활성 파일", example = "tmp")
+    private String extension;
+
+    @Schema(description = "조건: 업로드한 클라이언트의 활성 파일", example = "10.0.0.1")
+    private String ownerId;
+
+    @Schema(description = "삭제 예외 설정 값 (보호 설정 요청에만 사용)")
+    private Boolean deletionException;
+
+    public boolean hasFilter() {
+        return (extension != null && !extension.isBlank()) || (ownerId != null && !ownerId.isBlank());
+    }
+}
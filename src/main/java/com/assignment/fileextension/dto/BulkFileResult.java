@@ -0,0 +1,36 @@
+package com.assignment.fileextension.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 일괄 처리 결과 (파일 ID별 결과와 결과별 건수)
+ */
+@Getter
+@AllArgsConstructor
+public class BulkFileResult {
+
+    public enum Outcome {
+        DELETED,     // 삭제됨
+        UPDATED,     // 삭제 예외 변경됨
+        UNCHANGED,   // 이미 요청한 값
+        NOT_FOUND,   // 파일 없음
+        PROTECTED,   // 삭제 예외로 보호되어 건너뜀
+        NOT_ACTIVE,  // 활성 상태가 아니어서 건너뜀 (삭제됨, 격리됨)
+        FAILED       // 물리 파일 삭제 실패 (상태 변경하지 않음)
+    }
+
+    private int requestedCount;
+    private Map<Outcome, Integer> summary;
+    private Map<Long, Outcome> results;
+
+    public static BulkFileResult of(Map<Long, Outcome> results) {
+        Map<Outcome, Integer> summary = new EnumMap<>(Outcome.class);
+        results.values().forEach(outcome -> summary.merge(outcome, 1, Integer::sum));
+        return new BulkFileResult(results.size(), summary, new LinkedHashMap<>(results));
+    }
+}
@@ -0,0 +1,40 @@
+package com.assignment.fileextension.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 클라이언트별 저장 용량 사용량 (메모리 카운터를 주기적으로 반영한 스냅샷)
+ */
+@Entity
+@Table(name = "client_storage_usage")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClientStorageUsage {
+    
+    @Id
+    @Column(length = 100)
+    private String clientId; // IP 주소 (추후 인증 시스템 연동 시 userId)
+    
+    @Column(nullable = false)
+    private Long usedBytes;
+    
+    @Column(nullable = false)
+    private Long fileCount;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    public void updateUsage(long usedBytes, long fileCount, LocalDateTime updatedAt) {
+        this.usedBytes = usedBytes;
+        this.fileCount = fileCount;
+        this.updatedAt = updatedAt;
+    }
+}
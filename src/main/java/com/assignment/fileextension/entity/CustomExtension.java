@@ -1,5 +1,6 @@
 package com.assignment.fileextension.entity;
 
+import com.assignment.fileextension.common.id.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,7 +22,7 @@ import java.time.LocalDateTime;
 public class CustomExtension {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
     
     @Column(nullable = false, unique = true, length = 20)
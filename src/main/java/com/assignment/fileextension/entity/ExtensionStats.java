@@ -0,0 +1,43 @@
+package com.assignment.fileextension.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 확장자별 저장 현황 (업로드/삭제/정리 시 누적 반영되는 집계)
+ */
+@Entity
+@Table(name = "extension_stats")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExtensionStats {
+    
+    @Id
+    @Column(length = 20)
+    private String extension; // 확장자가 없는 파일은 빈 문자열
+    
+    @Column(nullable = false)
+    private Long fileCount; // 활성 파일 수
+    
+    @Column(nullable = false)
+    private Long totalBytes; // 활성 파일 총 크기
+    
+    @Column(nullable = false)
+    private Long deletedCount; // 정리 대기 중인 삭제 파일 수
+    
+    @Column(nullable = false)
+    private Long deletedBytes;
+    
+    @Column
+    private LocalDateTime lastUploadedAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
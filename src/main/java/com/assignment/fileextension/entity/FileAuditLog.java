@@ -1,5 +1,6 @@
 package com.assignment.fileextension.entity;
 
+import com.assignment.fileextension.common.id.TimeOrderedId;
 import com.assignment.fileextension.enums.BlockReason;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -25,8 +26,10 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class FileAuditLog {
     
+    public static final String SYSTEM_ACTOR = "system"; // 요청 없이 서버가 수행한 작업
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
     
     @Column(nullable = true)
@@ -114,4 +117,20 @@ public class FileAuditLog {
                 .blocked(false)
                 .build();
     }
+    
+    /**
+     * 관리 작업(격리/복구)에 대한 파일 단위 로그를 생성합니다.
+     */
+    public static FileAuditLog createFileEvent(ActionType actionType, String filename, Long fileSize,
+                                               String extension, String reason) {
+        return FileAuditLog.builder()
+                .filename(filename)
+                .fileSize(fileSize)
+                .ipAddress(SYSTEM_ACTOR)
+                .actionType(actionType)
+                .blocked(false)
+                .blockReason(reason)
+                .blockedExtension(extension)
+                .build();
+    }
 }
\ No newline at end of file
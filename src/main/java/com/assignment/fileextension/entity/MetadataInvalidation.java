@@ -0,0 +1,41 @@
+package com.assignment.fileextension.entity;
+
+import com.assignment.fileextension.common.id.TimeOrderedId;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 파일 메타데이터 캐시 무효화 기록 (다중 노드 동기화용)
+ *
+ * 상태를 바꾼 트랜잭션에서 함께 저장되므로 커밋된 변경만 다른 노드에 전파되고,
+ * 각 노드는 주기적으로 최근 기록을 읽어 자기 캐시에서 제거합니다. fileId가 null이면 전체 무효화입니다.
+ */
+@Entity
+@Table(name = "metadata_invalidations", indexes = {
+    @Index(name = "idx_metadata_invalidation_created", columnList = "createdAt")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+public class MetadataInvalidation {
+    
+    @Id
+    @TimeOrderedId
+    private Long id;
+    
+    @Column
+    private Long fileId; // null이면 전체
+    
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
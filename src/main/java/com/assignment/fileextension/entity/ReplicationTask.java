@@ -0,0 +1,54 @@
+package com.assignment.fileextension.entity;
+
+import com.assignment.fileextension.common.id.TimeOrderedId;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보조 저장소로 복제 대기 중인 파일 (영속 복제 큐)
+ *
+ * 파일 메타데이터와 같은 트랜잭션에서 저장되므로 업로드가 커밋되면 복제 대상도 유실되지 않고,
+ * 복제가 끝나면 행이 삭제됩니다.
+ */
+@Entity
+@Table(name = "replication_tasks", indexes = {
+    @Index(name = "idx_replication_next_attempt", columnList = "nextAttemptAt, id")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+public class ReplicationTask {
+    
+    @Id
+    @TimeOrderedId
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long fileId;
+    
+    @Column(nullable = false)
+    private String filePath; // 원본 경로
+    
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0; // 실패한 시도 횟수
+    
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(length = 500)
+    private String lastError;
+    
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
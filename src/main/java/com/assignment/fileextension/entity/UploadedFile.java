@@ -1,5 +1,7 @@
 package com.assignment.fileextension.entity;
 
+import com.assignment.fileextension.common.id.TimeOrderedId;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,9 +12,18 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @Entity
-@Table(name = "uploaded_files")
+@Table(name = "uploaded_files", indexes = {
+    @Index(name = "idx_uploaded_status_id", columnList = "status, id"),
+    @Index(name = "idx_uploaded_owner_id", columnList = "ownerId"),
+    @Index(name = "idx_uploaded_expires_at", columnList = "expiresAt"),
+    @Index(name = "idx_uploaded_quarantine_batch", columnList = "quarantineBatchId")
+})
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,7 +32,7 @@ import java.time.LocalDateTime;
 public class UploadedFile {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
     
     @Column(nullable = false)
@@ -34,7 +45,17 @@ public class UploadedFile {
     private String filePath;
     
     @Column(length = 20)
-    private String extension;
+    private String extension; // 마지막 확장자
+    
+    // 파일명의 모든 확장자 (예: setup.exe.txt -> exe, txt), 확장자 기준 조회/일괄 처리용 색인
+    @ElementCollection
+    @CollectionTable(name = "uploaded_file_extensions",
+            joinColumns = @JoinColumn(name = "file_id"),
+            indexes = @Index(name = "idx_file_extension_segment", columnList = "extension, file_id"))
+    @Column(name = "extension", length = 20, nullable = false)
+    @Builder.Default
+    @JsonIgnore
+    private Set<String> extensionSegments = new HashSet<>();
     
     @Column(nullable = false)
     private Long fileSize;
@@ -51,6 +72,49 @@ public class UploadedFile {
     @Builder.Default
     private Boolean deletionException = false;
     
+    @Column(length = 100)
+    private String ownerId; // 업로드한 클라이언트 (IP 주소, 추후 userId)
+    
+    @Column(length = 64)
+    private String checksum; // SHA-256 (16진수)
+    
+    @Column(length = 64)
+    private String treeHash; // 청크 해시 Merkle 트리 루트 (16진수, 트리 해시 모드)
+    
+    @Column
+    private Integer treeChunkSize; // 트리 해시 청크 크기
+    
+    // 청크별 리프 해시 (Range 다운로드, 분할 업로드 청크 단위 검증용)
+    @ElementCollection
+    @CollectionTable(name = "uploaded_file_chunk_hashes", joinColumns = @JoinColumn(name = "file_id"))
+    @OrderColumn(name = "chunk_index")
+    @Column(name = "hash", length = 64, nullable = false)
+    @Builder.Default
+    @JsonIgnore
+    private List<String> chunkHashes = new ArrayList<>();
+    
+    @Column
+    private LocalDateTime checksumVerifiedAt;
+    
+    @Column
+    private Boolean corrupted; // 무결성 검증 실패 여부 (null은 미검증)
+    
+    @Column
+    @Builder.Default
+    private Long downloadCount = 0L; // 다운로드 횟수 (몇 초 간격으로 모아서 반영, 기존 행은 null)
+    
+    @Column
+    private LocalDateTime lastAccessedAt; // 마지막 다운로드 시각
+    
+    @Column(length = 20)
+    private String quarantineBatchId; // 격리 배치 ID (격리 디렉토리 이름)
+    
+    @Column
+    private LocalDateTime quarantinedAt;
+    
+    @Column
+    private LocalDateTime expiresAt; // 만료 시각 (null이면 만료 없음)
+    
     
     @CreatedDate
     @Column(nullable = false, updatable = false)
@@ -62,6 +126,7 @@ public class UploadedFile {
     
     public enum FileStatus {
         ACTIVE,      // 활성 파일
+        QUARANTINED, // 격리된 파일 (복구 가능)
         DELETED      // 삭제된 파일
     }
     
@@ -74,6 +139,14 @@ public class UploadedFile {
         this.deletionException = deletionException;
     }
     
+    public void updateExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+    
+    public boolean isCorrupted() {
+        return this.corrupted != null && this.corrupted;
+    }
+    
     public boolean isProtectedFromDeletion() {
         return this.deletionException != null && this.deletionException;
     }
@@ -67,6 +67,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
     
+    /**
+     * 저장 용량 한도 초과 예외 처리
+     */
+    @ExceptionHandler(QuotaExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleQuotaExceededException(QuotaExceededException e) {
+        log.warn("저장 용량 한도 초과: {} - {}", e.getClientId(), e.getMessage());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("error", e.getMessage());
+        response.put("type", "QUOTA_EXCEEDED");
+        
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
+    }
+    
     /**
      * 일반적인 IllegalArgumentException 처리
      */
@@ -0,0 +1,18 @@
+package com.assignment.fileextension.exception;
+
+/**
+ * 클라이언트별 저장 용량 또는 파일 개수 한도를 초과했을 때 발생하는 예외
+ */
+public class QuotaExceededException extends RuntimeException {
+    
+    private final String clientId;
+    
+    public QuotaExceededException(String message, String clientId) {
+        super(message);
+        this.clientId = clientId;
+    }
+    
+    public String getClientId() {
+        return clientId;
+    }
+}
@@ -0,0 +1,9 @@
+package com.assignment.fileextension.repository;
+
+import com.assignment.fileextension.entity.ClientStorageUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ClientStorageUsageRepository extends JpaRepository<ClientStorageUsage, String> {
+}
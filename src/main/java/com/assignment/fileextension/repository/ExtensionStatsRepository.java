@@ -0,0 +1,36 @@
+package com.assignment.fileextension.repository;
+
+import com.assignment.fileextension.entity.ExtensionStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ExtensionStatsRepository extends JpaRepository<ExtensionStats, String> {
+    
+    List<ExtensionStats> findAllByOrderByTotalBytesDesc();
+    
+    // 변경분을 더함 (여러 인스턴스가 동시에 반영해도 값이 덮어써지지 않음)
+    @Modifying
+    @Transactional
+    @Query("UPDATE ExtensionStats s SET s.fileCount = s.fileCount + :fileCount, " +
+           "s.totalBytes = s.totalBytes + :totalBytes, " +
+           "s.deletedCount = s.deletedCount + :deletedCount, " +
+           "s.deletedBytes = s.deletedBytes + :deletedBytes, " +
+           "s.lastUploadedAt = CASE WHEN s.lastUploadedAt IS NULL OR s.lastUploadedAt < :lastUploadedAt " +
+           "THEN :lastUploadedAt ELSE s.lastUploadedAt END, " +
+           "s.updatedAt = :updatedAt WHERE s.extension = :extension")
+    int applyDelta(@Param("extension") String extension,
+                   @Param("fileCount") long fileCount,
+                   @Param("totalBytes") long totalBytes,
+                   @Param("deletedCount") long deletedCount,
+                   @Param("deletedBytes") long deletedBytes,
+                   @Param("lastUploadedAt") LocalDateTime lastUploadedAt,
+                   @Param("updatedAt") LocalDateTime updatedAt);
+}
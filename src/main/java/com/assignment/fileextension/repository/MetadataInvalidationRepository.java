@@ -0,0 +1,23 @@
+package com.assignment.fileextension.repository;
+
+import com.assignment.fileextension.entity.MetadataInvalidation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MetadataInvalidationRepository extends JpaRepository<MetadataInvalidation, Long> {
+    
+    List<MetadataInvalidation> findByCreatedAtGreaterThanEqual(LocalDateTime since);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM MetadataInvalidation i WHERE i.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,35 @@
+package com.assignment.fileextension.repository;
+
+import com.assignment.fileextension.entity.ReplicationTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReplicationTaskRepository extends JpaRepository<ReplicationTask, Long> {
+    
+    // 시도 시각이 된 복제 작업 (재시도 대기 중인 작업은 제외)
+    @Query("SELECT t FROM ReplicationTask t WHERE t.nextAttemptAt <= :now ORDER BY t.nextAttemptAt ASC, t.id ASC")
+    List<ReplicationTask> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    long countByAttemptsGreaterThan(int attempts);
+    
+    // 가장 오래 대기 중인 작업의 등록 시각 (복제 지연 계산용)
+    @Query("SELECT MIN(t.createdAt) FROM ReplicationTask t")
+    LocalDateTime findOldestCreatedAt();
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReplicationTask t SET t.attempts = t.attempts + 1, t.nextAttemptAt = :nextAttemptAt, " +
+           "t.lastError = :error WHERE t.id = :id")
+    int recordFailure(@Param("id") Long id,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("error") String error);
+}
@@ -1,11 +1,18 @@
 package com.assignment.fileextension.repository;
 
 import com.assignment.fileextension.entity.UploadedFile;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,10 +21,14 @@ public interface UploadedFileRepository extends JpaRepository<UploadedFile, Long
     
     Optional<UploadedFile> findByStoredFilename(String storedFilename);
     
+    boolean existsByStoredFilename(String storedFilename);
+    
     List<UploadedFile> findByExtension(String extension);
     
     List<UploadedFile> findByStatus(UploadedFile.FileStatus status);
     
+    List<UploadedFile> findByOwnerIdAndStatus(String ownerId, UploadedFile.FileStatus status);
+    
     @Query("SELECT f FROM UploadedFile f WHERE f.extension = :extension AND f.status = :status")
     List<UploadedFile> findByExtensionAndStatus(@Param("extension") String extension, 
                                                 @Param("status") UploadedFile.FileStatus status);
@@ -25,5 +36,202 @@ public interface UploadedFileRepository extends JpaRepository<UploadedFile, Long
     @Query("SELECT f FROM UploadedFile f WHERE f.extension IN :extensions AND f.status = 'ACTIVE'")
     List<UploadedFile> findActiveFilesByExtensions(@Param("extensions") List<String> extensions);
     
+    // 파일명의 모든 확장자 중 하나라도 일치하는 파일 조회 (uploaded_file_extensions 색인 사용)
+    @Query("SELECT f FROM UploadedFile f JOIN f.extensionSegments segment WHERE segment = :extension")
+    List<UploadedFile> findByExtensionSegment(@Param("extension") String extension);
+    
+    @Query("SELECT f FROM UploadedFile f JOIN f.extensionSegments segment " +
+           "WHERE segment = :extension AND f.status = :status")
+    List<UploadedFile> findByExtensionSegmentAndStatus(@Param("extension") String extension,
+                                                       @Param("status") UploadedFile.FileStatus status);
+    
+    // 확장자 색인이 없는 파일 (색인 도입 전 업로드분 채우기용, 키셋 페이지네이션)
+    @Query("SELECT f.id AS id, f.originalFilename AS originalFilename FROM UploadedFile f " +
+           "WHERE f.id > :lastId AND f.extensionSegments IS EMPTY ORDER BY f.id ASC")
+    List<FileName> findWithoutExtensionSegments(@Param("lastId") Long lastId, Pageable pageable);
+    
+    // 상태별 파일명 목록 (파일명 검색 색인 구성용, 키셋 페이지네이션)
+    @Query("SELECT f.id AS id, f.originalFilename AS originalFilename FROM UploadedFile f " +
+           "WHERE f.status = :status AND f.id > :lastId ORDER BY f.id ASC")
+    List<FileName> findFileNamesAfter(@Param("status") UploadedFile.FileStatus status,
+                                      @Param("lastId") Long lastId,
+                                      Pageable pageable);
+    
+    // 파일명 부분 일치 검색 (PostgreSQL은 pg_trgm GIN 색인으로 LIKE를 처리)
+    // 짧은 파일명 순(= 트라이그램 유사도 순), 같은 길이는 id 순으로 정렬하여 (길이, id) 키셋으로 이어서 조회
+    // 이스케이프 문자는 '!' (MySQL은 문자열 안의 백슬래시도 이스케이프로 해석해 ESCAPE '\\'가 문법 오류)
+    @Query(value = "SELECT f.id FROM uploaded_files f WHERE f.status = 'ACTIVE' " +
+           "AND LOWER(f.original_filename) LIKE :pattern ESCAPE '!' " +
+           "AND (LENGTH(f.original_filename) > :afterLength " +
+           "OR (LENGTH(f.original_filename) = :afterLength AND f.id > :afterId)) " +
+           "ORDER BY LENGTH(f.original_filename), f.id LIMIT :limit", nativeQuery = true)
+    List<Long> searchIdsByFilename(@Param("pattern") String pattern,
+                                   @Param("afterLength") int afterLength,
+                                   @Param("afterId") long afterId,
+                                   @Param("limit") int limit);
+    
+    // 엔티티를 병합하지 않고 색인 행만 추가 (동시에 바뀐 파일 상태를 덮어쓰지 않도록)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO uploaded_file_extensions (file_id, extension) VALUES (:fileId, :extension)",
+           nativeQuery = true)
+    int insertExtensionSegment(@Param("fileId") Long fileId, @Param("extension") String extension);
+    
     long countByStatus(UploadedFile.FileStatus status);
+    
+    // 클라이언트별 사용량 집계 (저장 용량 카운터 재구성용)
+    @Query("SELECT f.ownerId AS ownerId, SUM(f.fileSize) AS totalBytes, COUNT(f) AS fileCount " +
+           "FROM UploadedFile f WHERE f.status = :status AND f.ownerId IS NOT NULL GROUP BY f.ownerId")
+    List<OwnerUsage> sumUsageByOwner(@Param("status") UploadedFile.FileStatus status);
+    
+    // 확장자별 사용량 집계 (확장자 통계 재구성용)
+    @Query("SELECT f.extension AS extension, COUNT(f) AS fileCount, SUM(f.fileSize) AS totalBytes, " +
+           "MAX(f.createdAt) AS lastUploadedAt FROM UploadedFile f WHERE f.status = :status GROUP BY f.extension")
+    List<ExtensionUsage> sumUsageByExtension(@Param("status") UploadedFile.FileStatus status);
+    
+    // 지정한 파일들의 확장자별 사용량 (정리 배치의 통계 반영용)
+    @Query("SELECT f.extension AS extension, COUNT(f) AS fileCount, SUM(f.fileSize) AS totalBytes, " +
+           "MAX(f.createdAt) AS lastUploadedAt FROM UploadedFile f " +
+           "WHERE f.id IN :ids AND f.status = :status GROUP BY f.extension")
+    List<ExtensionUsage> sumUsageByExtensionForIds(@Param("ids") Collection<Long> ids,
+                                                   @Param("status") UploadedFile.FileStatus status);
+    
+    // 키셋 페이지네이션 (id 기준 순차 조회)
+    List<UploadedFile> findByStatusAndIdGreaterThanOrderByIdAsc(UploadedFile.FileStatus status, Long id, Pageable pageable);
+    
+    // 다음 구간까지 만료되는 파일 조회 (expiresAt 인덱스 범위 조회)
+    @Query("SELECT f.id AS id, f.expiresAt AS expiresAt FROM UploadedFile f " +
+           "WHERE f.status = :status AND f.expiresAt < :until")
+    List<ExpiringFile> findExpiringBefore(@Param("status") UploadedFile.FileStatus status,
+                                          @Param("until") LocalDateTime until);
+    
+    // 오래된 삭제 파일 ID 조회 (키셋 페이지네이션)
+    @Query("SELECT f.id FROM UploadedFile f WHERE f.status = :status AND f.id > :lastId " +
+           "AND f.updatedAt < :cutoff ORDER BY f.id ASC")
+    List<Long> findIdsForPurge(@Param("status") UploadedFile.FileStatus status,
+                               @Param("lastId") Long lastId,
+                               @Param("cutoff") LocalDateTime cutoff,
+                               Pageable pageable);
+    
+    // 일괄 DELETE는 컬렉션 테이블을 지우지 않으므로 파일 행보다 먼저 삭제
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM uploaded_file_extensions WHERE file_id IN (:ids)", nativeQuery = true)
+    int deleteExtensionSegments(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM uploaded_file_chunk_hashes WHERE file_id IN (:ids)", nativeQuery = true)
+    int deleteChunkHashes(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UploadedFile f WHERE f.id IN :ids AND f.status = :status")
+    int deleteByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") UploadedFile.FileStatus status);
+    
+    // 아직 해당 상태인 파일을 행 잠금과 함께 조회 (같은 트랜잭션의 일괄 상태 변경 대상을 확정)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<UploadedFile> findByIdInAndStatus(Collection<Long> ids, UploadedFile.FileStatus status);
+    
+    // 일괄 상태 변경 (조회 이후 다른 요청이 상태를 바꾼 파일은 건너뜀)
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadedFile f SET f.status = :status, f.updatedAt = :updatedAt " +
+           "WHERE f.id IN :ids AND f.status = :currentStatus")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("currentStatus") UploadedFile.FileStatus currentStatus,
+                     @Param("status") UploadedFile.FileStatus status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadedFile f SET f.deletionException = :deletionException, f.updatedAt = :updatedAt " +
+           "WHERE f.id IN :ids")
+    int updateDeletionException(@Param("ids") Collection<Long> ids,
+                                @Param("deletionException") Boolean deletionException,
+                                @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // 다운로드 횟수를 더하고 마지막 접근 시각은 늦은 쪽을 유지 (벌크 UPDATE라 updatedAt은 바뀌지 않음)
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadedFile f SET f.downloadCount = COALESCE(f.downloadCount, 0) + :count, " +
+           "f.lastAccessedAt = CASE WHEN f.lastAccessedAt IS NULL OR f.lastAccessedAt < :accessedAt " +
+           "THEN :accessedAt ELSE f.lastAccessedAt END WHERE f.id IN :ids")
+    int recordDownloads(@Param("ids") Collection<Long> ids,
+                        @Param("count") long count,
+                        @Param("accessedAt") LocalDateTime accessedAt);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadedFile f SET f.checksumVerifiedAt = :verifiedAt, f.corrupted = false WHERE f.id IN :ids")
+    int markChecksumVerified(@Param("ids") Collection<Long> ids, @Param("verifiedAt") LocalDateTime verifiedAt);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadedFile f SET f.checksumVerifiedAt = :verifiedAt, f.corrupted = true " +
+           "WHERE f.id = :id AND f.status = :status")
+    int markCorrupted(@Param("id") Long id, @Param("status") UploadedFile.FileStatus status,
+                      @Param("verifiedAt") LocalDateTime verifiedAt);
+    
+    List<UploadedFile> findByStatusAndCorruptedTrueOrderByIdAsc(UploadedFile.FileStatus status);
+    
+    List<UploadedFile> findByQuarantineBatchIdAndStatus(String quarantineBatchId, UploadedFile.FileStatus status);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadedFile f SET f.status = :status, f.quarantineBatchId = :batchId, " +
+           "f.quarantinedAt = :quarantinedAt, f.updatedAt = :quarantinedAt WHERE f.id IN :ids")
+    int markQuarantined(@Param("ids") Collection<Long> ids,
+                        @Param("batchId") String batchId,
+                        @Param("status") UploadedFile.FileStatus status,
+                        @Param("quarantinedAt") LocalDateTime quarantinedAt);
+    
+    // 격리 해제 (복구 시 ACTIVE, 보관 기간 만료 시 DELETED)
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadedFile f SET f.status = :status, f.quarantineBatchId = NULL, " +
+           "f.quarantinedAt = NULL, f.updatedAt = :updatedAt WHERE f.id IN :ids")
+    int endQuarantine(@Param("ids") Collection<Long> ids,
+                      @Param("status") UploadedFile.FileStatus status,
+                      @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Query("SELECT DISTINCT f.quarantineBatchId FROM UploadedFile f " +
+           "WHERE f.status = :status AND f.quarantinedAt < :cutoff")
+    List<String> findQuarantineBatchIdsBefore(@Param("status") UploadedFile.FileStatus status,
+                                              @Param("cutoff") LocalDateTime cutoff);
+    
+    @Query("SELECT f.quarantineBatchId AS batchId, MIN(f.quarantinedAt) AS quarantinedAt, " +
+           "COUNT(f) AS fileCount, SUM(f.fileSize) AS totalBytes " +
+           "FROM UploadedFile f WHERE f.status = :status GROUP BY f.quarantineBatchId ORDER BY f.quarantineBatchId DESC")
+    List<QuarantineBatchSummary> summarizeQuarantineBatches(@Param("status") UploadedFile.FileStatus status);
+    
+    interface OwnerUsage {
+        String getOwnerId();
+        Long getTotalBytes();
+        Long getFileCount();
+    }
+    
+    interface FileName {
+        Long getId();
+        String getOriginalFilename();
+    }
+    
+    interface ExtensionUsage {
+        String getExtension();
+        Long getFileCount();
+        Long getTotalBytes();
+        LocalDateTime getLastUploadedAt();
+    }
+    
+    interface QuarantineBatchSummary {
+        String getBatchId();
+        LocalDateTime getQuarantinedAt();
+        Long getFileCount();
+        Long getTotalBytes();
+    }
+    
+    interface ExpiringFile {
+        Long getId();
+        LocalDateTime getExpiresAt();
+    }
 }
\ No newline at end of file
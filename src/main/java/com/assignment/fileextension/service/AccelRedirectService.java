@@ -0,0 +1,80 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.UploadedFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.StringJoiner;
+
+/**
+ * 다운로드 본문 전송을 nginx에 넘기기 위한 X-Accel-Redirect 경로를 만듭니다.
+ *
+ * 앱은 파일 조회와 응답 헤더만 처리하고, 실제 바이트는 nginx의 internal location이
+ * sendfile로 전송합니다. (Range 요청도 nginx가 처리) internal location은 업로드 디렉토리를 가리켜야 합니다.
+ */
+@Slf4j
+@Service
+public class AccelRedirectService {
+
+    private final boolean enabled;
+    private final String internalLocation;
+    private final Path uploadBaseDir;
+    private final FileEncryptionService fileEncryptionService;
+
+    public AccelRedirectService(
+            FileEncryptionService fileEncryptionService,
+            @Value("${app.download.accel-redirect.enabled:false}") boolean enabled,
+            @Value("${app.download.accel-redirect.internal-location:/protected-files/}") String internalLocation,
+            @Value("${app.file.upload-dir:uploads}") String uploadBaseDir) {
+        this.fileEncryptionService = fileEncryptionService;
+        this.enabled = enabled;
+        this.internalLocation = internalLocation.endsWith("/") ? internalLocation : internalLocation + "/";
+        this.uploadBaseDir = Paths.get(uploadBaseDir).toAbsolutePath().normalize();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 파일의 X-Accel-Redirect 경로를 반환합니다.
+     * 업로드 디렉토리 밖의 파일은 nginx가 접근할 수 없으므로 null을 반환합니다. (앱이 직접 전송)
+     */
+    public String resolveRedirectPath(UploadedFile file) {
+        if (file.getFilePath() == null) {
+            return null;
+        }
+
+        String redirectPath = resolveRedirectPath(Paths.get(file.getFilePath()));
+        if (redirectPath == null) {
+            log.warn("업로드 디렉토리 밖의 파일은 nginx로 넘기지 않음: ID {}", file.getId());
+        }
+        return redirectPath;
+    }
+
+    /**
+     * 경로의 X-Accel-Redirect 경로를 반환합니다. 업로드 디렉토리 밖이면 null을 반환합니다.
+     * nginx는 복호화할 수 없으므로 암호화된 파일도 null을 반환합니다.
+     */
+    public String resolveRedirectPath(Path path) {
+        Path filePath = path.toAbsolutePath().normalize();
+        if (!filePath.startsWith(uploadBaseDir) || filePath.equals(uploadBaseDir)) {
+            return null;
+        }
+        if (fileEncryptionService.hasMasterKey() && fileEncryptionService.isEncrypted(filePath)) {
+            return null;
+        }
+
+        // 경로 구간별로 인코딩 (nginx는 URI를 디코딩한 뒤 alias와 결합)
+        StringJoiner relative = new StringJoiner("/");
+        for (Path segment : uploadBaseDir.relativize(filePath)) {
+            relative.add(UriUtils.encodePathSegment(segment.toString(), StandardCharsets.UTF_8));
+        }
+        return internalLocation + relative;
+    }
+}
@@ -1,8 +1,10 @@
 package com.assignment.fileextension.service;
 
+import com.assignment.fileextension.common.ClientIpResolver;
 import com.assignment.fileextension.common.FileExtensionConstants;
 import com.assignment.fileextension.dto.AuditLogDto;
 import com.assignment.fileextension.entity.FileAuditLog;
+import com.assignment.fileextension.entity.UploadedFile;
 import com.assignment.fileextension.enums.BlockReason;
 import com.assignment.fileextension.repository.FileAuditLogRepository;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +17,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Slf4j
 @Service
@@ -123,6 +126,23 @@ public class AuditService {
         );
     }
     
+    /**
+     * 파일 격리/복구 로그 기록 (파일 단위, 일괄 저장)
+     */
+    @Transactional
+    public void logFileEvents(List<UploadedFile> files, FileAuditLog.ActionType actionType, String reason) {
+        try {
+            List<FileAuditLog> auditLogs = files.stream()
+                    .map(file -> FileAuditLog.createFileEvent(actionType, file.getOriginalFilename(),
+                            file.getFileSize(), file.getExtension(), reason))
+                    .toList();
+            auditLogRepository.saveAll(auditLogs);
+            log.debug("파일 {} 로그 기록: {}개", actionType, auditLogs.size());
+        } catch (Exception e) {
+            log.error(FileExtensionConstants.LogMessages.AUDIT_LOG_FAILED, actionType, e.getMessage());
+        }
+    }
+    
     /**
      * 차단된 업로드 시도 조회
      */
@@ -141,34 +161,7 @@ public class AuditService {
      * 클라이언트 IP 주소 추출
      */
     private String getClientIpAddress(HttpServletRequest request) {
-        // X-Forwarded-For 헤더 확인
-        String ipAddress = getIpFromHeader(request, "X-Forwarded-For");
-        if (isValidIpAddress(ipAddress)) {
-            return ipAddress.split(",")[0].trim();
-        }
-        
-        // X-Real-IP 헤더 확인
-        ipAddress = getIpFromHeader(request, "X-Real-IP");
-        if (isValidIpAddress(ipAddress)) {
-            return ipAddress;
-        }
-        
-        // 기본 Remote Address 반환
-        return request.getRemoteAddr();
-    }
-    
-    /**
-     * 헤더에서 IP 주소를 추출합니다.
-     */
-    private String getIpFromHeader(HttpServletRequest request, String headerName) {
-        return request.getHeader(headerName);
-    }
-    
-    /**
-     * IP 주소의 유효성을 검증합니다.
-     */
-    private boolean isValidIpAddress(String ipAddress) {
-        return ipAddress != null && !ipAddress.isEmpty() && !"unknown".equalsIgnoreCase(ipAddress);
+        return ClientIpResolver.resolve(request);
     }
     
 }
\ No newline at end of file
@@ -0,0 +1,199 @@
+package com.assignment.fileextension.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 업로드/다운로드/검증 I/O가 함께 쓰는 direct ByteBuffer 풀
+ *
+ * - I/O 종류별로 크기가 정해진 버퍼를 재사용하여 요청마다 큰 힙 배열을 할당하지 않습니다.
+ *   (BULK: 업로드 쓰기/복제, STREAM: 다운로드/ZIP/검증, SMALL: 작은 읽기)
+ * - 풀이 할당한 전체 크기는 max-bytes를 넘지 않습니다. 한도에 걸리면 풀에 넣지 않는 힙 버퍼를 빌려줍니다.
+ * - 반환하지 않은 버퍼가 GC되면 누수로 집계하고 한도에서 뺍니다. leak-detection을 켜면 빌린 위치도 기록합니다. (테스트용)
+ */
+@Slf4j
+@Service
+public class BufferPoolService {
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    public enum IoClass {
+        BULK, STREAM, SMALL
+    }
+
+    private final Map<IoClass, Integer> bufferSizes = new EnumMap<>(IoClass.class);
+    private final Map<IoClass, ConcurrentLinkedDeque<ByteBuffer>> freeBuffers = new EnumMap<>(IoClass.class);
+    private final long maxBytes;
+    private final boolean leakDetection;
+
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final AtomicLong outstanding = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong allocations = new AtomicLong();
+    private final AtomicLong unpooled = new AtomicLong();
+    private final AtomicLong leaks = new AtomicLong();
+
+    public BufferPoolService(
+            @Value("${app.buffer-pool.bulk-buffer-size:1048576}") int bulkBufferSize,    // 1MB
+            @Value("${app.buffer-pool.stream-buffer-size:65536}") int streamBufferSize,  // 64KB
+            @Value("${app.buffer-pool.small-buffer-size:8192}") int smallBufferSize,     // 8KB
+            @Value("${app.buffer-pool.max-bytes:67108864}") long maxBytes,               // 64MB
+            @Value("${app.buffer-pool.leak-detection:false}") boolean leakDetection) {
+        bufferSizes.put(IoClass.BULK, bulkBufferSize);
+        bufferSizes.put(IoClass.STREAM, streamBufferSize);
+        bufferSizes.put(IoClass.SMALL, smallBufferSize);
+        for (IoClass ioClass : IoClass.values()) {
+            freeBuffers.put(ioClass, new ConcurrentLinkedDeque<>());
+        }
+        this.maxBytes = maxBytes;
+        this.leakDetection = leakDetection;
+    }
+
+    /**
+     * 버퍼를 빌립니다. try-with-resources로 반드시 반환해야 합니다. (position 0, limit = capacity)
+     */
+    public PooledBuffer acquire(IoClass ioClass) {
+        int size = bufferSizes.get(ioClass);
+        ByteBuffer buffer = freeBuffers.get(ioClass).pollFirst();
+        boolean pooled = true;
+        if (buffer != null) {
+            hits.incrementAndGet();
+        } else if (reserve(size)) {
+            buffer = ByteBuffer.allocateDirect(size);
+            allocations.incrementAndGet();
+        } else {
+            // 한도 초과: 풀 밖의 힙 버퍼 (반환 시 버림)
+            buffer = ByteBuffer.allocate(size);
+            unpooled.incrementAndGet();
+            pooled = false;
+        }
+
+        outstanding.incrementAndGet();
+        buffer.clear();
+        return new PooledBuffer(this, ioClass, buffer, pooled);
+    }
+
+    public long getOutstanding() {
+        return outstanding.get();
+    }
+
+    public long getLeakCount() {
+        return leaks.get();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Map<String, Object> classes = new LinkedHashMap<>();
+        for (IoClass ioClass : IoClass.values()) {
+            Map<String, Object> classStats = new LinkedHashMap<>();
+            classStats.put("bufferSize", bufferSizes.get(ioClass));
+            classStats.put("free", freeBuffers.get(ioClass).size());
+            classes.put(ioClass.name(), classStats);
+        }
+        stats.put("classes", classes);
+        stats.put("allocatedBytes", allocatedBytes.get());
+        stats.put("maxBytes", maxBytes);
+        stats.put("outstanding", outstanding.get());
+        stats.put("hits", hits.get());
+        stats.put("allocations", allocations.get());
+        stats.put("unpooled", unpooled.get());
+        stats.put("leaks", leaks.get());
+        return stats;
+    }
+
+    private boolean reserve(int size) {
+        while (true) {
+            long current = allocatedBytes.get();
+            if (current + size > maxBytes) {
+                return false;
+            }
+            if (allocatedBytes.compareAndSet(current, current + size)) {
+                return true;
+            }
+        }
+    }
+
+    private void release(IoClass ioClass, ByteBuffer buffer, boolean pooled) {
+        outstanding.decrementAndGet();
+        if (pooled) {
+            buffer.clear();
+            freeBuffers.get(ioClass).offerFirst(buffer); // 최근에 쓴 버퍼부터 재사용 (캐시 지역성)
+        }
+    }
+
+    private void recordLeak(int size, boolean pooled, Throwable acquiredAt) {
+        outstanding.decrementAndGet();
+        leaks.incrementAndGet();
+        if (pooled) {
+            allocatedBytes.addAndGet(-size); // GC된 버퍼만큼 한도 회복
+        }
+        if (acquiredAt != null) {
+            log.error("반환되지 않은 I/O 버퍼가 GC되었습니다.", acquiredAt);
+        } else {
+            log.error("반환되지 않은 I/O 버퍼가 GC되었습니다. (app.buffer-pool.leak-detection=true로 위치 확인)");
+        }
+    }
+
+    /**
+     * 빌린 버퍼. close()로 풀에 반환하며, 반환 후에는 버퍼를 사용하면 안 됩니다.
+     */
+    public static final class PooledBuffer implements AutoCloseable {
+
+        private final BufferPoolService pool;
+        private final IoClass ioClass;
+        private final ByteBuffer buffer;
+        private final boolean pooled;
+        private final LeakState state;
+        private final Cleaner.Cleanable cleanable;
+
+        private PooledBuffer(BufferPoolService pool, IoClass ioClass, ByteBuffer buffer, boolean pooled) {
+            this.pool = pool;
+            this.ioClass = ioClass;
+            this.buffer = buffer;
+            this.pooled = pooled;
+            this.state = new LeakState(pool, buffer.capacity(), pooled,
+                    pool.leakDetection ? new Throwable("버퍼를 빌린 위치") : null);
+            this.cleanable = CLEANER.register(this, state);
+        }
+
+        public ByteBuffer buffer() {
+            return buffer;
+        }
+
+        @Override
+        public void close() {
+            if (state.released.compareAndSet(false, true)) {
+                cleanable.clean(); // released=true 이므로 누수로 집계하지 않음
+                pool.release(ioClass, buffer, pooled);
+            }
+        }
+    }
+
+    /**
+     * GC 시 실행되는 누수 확인 (PooledBuffer를 참조하지 않아야 함)
+     */
+    private record LeakState(BufferPoolService pool, int size, boolean pooled, Throwable acquiredAt,
+                             AtomicBoolean released) implements Runnable {
+
+        LeakState(BufferPoolService pool, int size, boolean pooled, Throwable acquiredAt) {
+            this(pool, size, pooled, acquiredAt, new AtomicBoolean(false));
+        }
+
+        @Override
+        public void run() {
+            if (released.compareAndSet(false, true)) {
+                pool.recordLeak(size, pooled, acquiredAt);
+            }
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.dto.BulkFileRequest;
+import com.assignment.fileextension.dto.BulkFileResult;
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 여러 파일의 삭제, 삭제 예외 설정을 한 요청으로 처리합니다.
+ *
+ * - 대상은 조회 한 번으로 읽고, 상태나 삭제 예외는 UPDATE 한 번으로 바꿉니다. (IN 목록은 1000개씩)
+ * - 삭제는 단건 삭제와 같이 물리 파일을 먼저 지운 뒤 상태를 바꾸며, 파일 삭제는 전용 스레드에서 병렬로 처리합니다.
+ *   파일 삭제에 실패한 파일은 상태를 바꾸지 않고 FAILED로 응답합니다.
+ * - 그 사이 다른 요청(단건 삭제, 만료, 격리)이 상태를 먼저 바꾼 파일은 NOT_ACTIVE로 응답하고
+ *   용량 반환과 통계에 반영하지 않습니다.
+ * - 조건(확장자, 업로드 클라이언트)으로 지정하면 활성 파일만 대상이며, 삭제 예외로 보호된 파일은 삭제하지 않습니다.
+ */
+@Slf4j
+@Service
+public class BulkFileService {
+
+    private static final int IN_CLAUSE_CHUNK = 1000;
+
+    private final UploadedFileRepository uploadedFileRepository;
+    private final StorageQuotaService storageQuotaService;
+    private final ExtensionStatsService extensionStatsService;
+    private final ReplicationService replicationService;
+    private final SignedUrlService signedUrlService;
+    private final DownloadCacheService downloadCacheService;
+    private final FileMetadataCacheService fileMetadataCacheService;
+    private final FilenameSearchService filenameSearchService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxFiles;
+    private final ExecutorService unlinkExecutor;
+
+    public BulkFileService(
+            UploadedFileRepository uploadedFileRepository,
+            StorageQuotaService storageQuotaService,
+            ExtensionStatsService extensionStatsService,
+            ReplicationService replicationService,
+            SignedUrlService signedUrlService,
+            DownloadCacheService downloadCacheService,
+            FileMetadataCacheService fileMetadataCacheService,
+            FilenameSearchService filenameSearchService,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.bulk.max-files:5000}") int maxFiles,
+            @Value("${app.bulk.unlink-parallelism:8}") int unlinkParallelism) {
+        this.uploadedFileRepository = uploadedFileRepository;
+        this.storageQuotaService = storageQuotaService;
+        this.extensionStatsService = extensionStatsService;
+        this.replicationService = replicationService;
+        this.signedUrlService = signedUrlService;
+        this.downloadCacheService = downloadCacheService;
+        this.fileMetadataCacheService = fileMetadataCacheService;
+        this.filenameSearchService = filenameSearchService;
+        this.transactionTemplate = transactionTemplate;
+        this.maxFiles = maxFiles;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.unlinkExecutor = Executors.newFixedThreadPool(Math.max(1, unlinkParallelism), runnable -> {
+            Thread thread = new Thread(runnable, "bulk-unlink-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        unlinkExecutor.shutdownNow();
+    }
+
+    /**
+     * 파일들을 삭제하고 파일 ID별 결과를 반환합니다.
+     */
+    public BulkFileResult deleteFiles(BulkFileRequest request) {
+        Map<Long, UploadedFile> files = resolveTargets(request);
+        Map<Long, BulkFileResult.Outcome> results = initialResults(request);
+
+        List<UploadedFile> targets = new ArrayList<>();
+        for (UploadedFile file : files.values()) {
+            if (file.getStatus() != UploadedFile.FileStatus.ACTIVE) {
+                results.put(file.getId(), BulkFileResult.Outcome.NOT_ACTIVE);
+            } else if (file.isProtectedFromDeletion()) {
+                results.put(file.getId(), BulkFileResult.Outcome.PROTECTED);
+            } else {
+                targets.add(file);
+            }
+        }
+
+        List<UploadedFile> unlinked = unlinkAll(targets, results);
+        if (unlinked.isEmpty()) {
+            return BulkFileResult.of(results);
+        }
+
+        List<Long> ids = unlinked.stream().map(UploadedFile::getId).toList();
+        Set<Long> deletedIds = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            Set<Long> changed = new HashSet<>();
+            for (List<Long> chunk : chunks(ids)) {
+                // 아직 활성인 행을 잠가 두고 그 행만 변경 (커밋 전까지 다른 요청이 상태를 바꿀 수 없음)
+                List<Long> activeIds = uploadedFileRepository
+                        .findByIdInAndStatus(chunk, UploadedFile.FileStatus.ACTIVE).stream()
+                        .map(UploadedFile::getId)
+                        .toList();
+                if (!activeIds.isEmpty()) {
+                    uploadedFileRepository.updateStatus(activeIds, UploadedFile.FileStatus.ACTIVE,
+                            UploadedFile.FileStatus.DELETED, now);
+                    changed.addAll(activeIds);
+                }
+            }
+            fileMetadataCacheService.invalidateAll(ids);
+            return changed;
+        });
+        if (deletedIds.size() != ids.size()) {
+            log.warn("일괄 삭제 중 {}개 파일의 상태가 먼저 바뀌었습니다.", ids.size() - deletedIds.size());
+        }
+
+        // 실제로 상태를 바꾼 파일만 용량과 통계에 반영
+        for (UploadedFile file : unlinked) {
+            if (deletedIds.contains(file.getId())) {
+                storageQuotaService.release(file.getOwnerId(), file.getFileSize());
+                extensionStatsService.recordDeleted(file);
+                results.put(file.getId(), BulkFileResult.Outcome.DELETED);
+            } else {
+                results.put(file.getId(), BulkFileResult.Outcome.NOT_ACTIVE);
+            }
+        }
+        downloadCacheService.invalidateAll(ids);
+        signedUrlService.revokeAll(ids);
+        filenameSearchService.removeAll(deletedIds);
+
+        BulkFileResult result = BulkFileResult.of(results);
+        log.info("일괄 삭제 완료 - 요청: {}개, 결과: {}", result.getRequestedCount(), result.getSummary());
+        return result;
+    }
+
+    /**
+     * 파일들의 삭제 예외를 설정하고 파일 ID별 결과를 반환합니다.
+     */
+    public BulkFileResult setDeletionException(BulkFileRequest request) {
+        Boolean deletionException = request.getDeletionException();
+        if (deletionException == null) {
+            throw new IllegalArgumentException("deletionException 필드가 필요합니다.");
+        }
+
+        Map<Long, UploadedFile> files = resolveTargets(request);
+        Map<Long, BulkFileResult.Outcome> results = initialResults(request);
+
+        List<Long> ids = new ArrayList<>();
+        for (UploadedFile file : files.values()) {
+            if (file.isProtectedFromDeletion() == deletionException) {
+                results.put(file.getId(), BulkFileResult.Outcome.UNCHANGED);
+            } else {
+                ids.add(file.getId());
+            }
+        }
+
+        if (!ids.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                for (List<Long> chunk : chunks(ids)) {
+                    uploadedFileRepository.updateDeletionException(chunk, deletionException, now);
+                }
+                fileMetadataCacheService.invalidateAll(ids);
+            });
+            downloadCacheService.invalidateAll(ids);
+            ids.forEach(fileId -> results.put(fileId, BulkFileResult.Outcome.UPDATED));
+        }
+
+        BulkFileResult result = BulkFileResult.of(results);
+        log.info("일괄 삭제 예외 {} - 요청: {}개, 결과: {}",
+                deletionException ? "설정" : "해제", result.getRequestedCount(), result.getSummary());
+        return result;
+    }
+
+    /**
+     * 요청한 파일 ID 또는 조건으로 대상 파일을 조회합니다. (파일 ID 순서 유지)
+     */
+    private Map<Long, UploadedFile> resolveTargets(BulkFileRequest request) {
+        boolean hasIds = request.getFileIds() != null && !request.getFileIds().isEmpty();
+        if (hasIds == request.hasFilter()) {
+            throw new IllegalArgumentException("fileIds 또는 조건(extension, ownerId) 중 하나만 지정해야 합니다.");
+        }
+
+        Map<Long, UploadedFile> files = new LinkedHashMap<>();
+        if (hasIds) {
+            List<Long> ids = List.copyOf(new LinkedHashSet<>(request.getFileIds()));
+            checkLimit(ids.size());
+            Map<Long, UploadedFile> found = new LinkedHashMap<>();
+            for (List<Long> chunk : chunks(ids)) {
+                uploadedFileRepository.findAllById(chunk).forEach(file -> found.put(file.getId(), file));
+            }
+            ids.stream().filter(found::containsKey).forEach(fileId -> files.put(fileId, found.get(fileId)));
+            return files;
+        }
+
+        String extension = request.getExtension() != null && !request.getExtension().isBlank()
+                ? request.getExtension().trim().toLowerCase(Locale.ROOT) : null;
+        String ownerId = request.getOwnerId() != null && !request.getOwnerId().isBlank()
+                ? request.getOwnerId().trim() : null;
+        List<UploadedFile> matched = extension != null
+                ? uploadedFileRepository.findByExtensionSegmentAndStatus(extension, UploadedFile.FileStatus.ACTIVE)
+                : uploadedFileRepository.findByOwnerIdAndStatus(ownerId, UploadedFile.FileStatus.ACTIVE);
+        for (UploadedFile file : matched) {
+            if (ownerId == null || ownerId.equals(file.getOwnerId())) {
+                files.put(file.getId(), file);
+            }
+        }
+        checkLimit(files.size());
+        return files;
+    }
+
+    /**
+     * 파일 ID 목록으로 요청하면 요청 순서대로 결과를 담고, 찾지 못한 파일은 NOT_FOUND로 둡니다.
+     */
+    private Map<Long, BulkFileResult.Outcome> initialResults(BulkFileRequest request) {
+        Map<Long, BulkFileResult.Outcome> results = new LinkedHashMap<>();
+        if (request.getFileIds() != null) {
+            request.getFileIds().forEach(fileId -> results.put(fileId, BulkFileResult.Outcome.NOT_FOUND));
+        }
+        return results;
+    }
+
+    /**
+     * 물리 파일과 복제본을 병렬로 삭제하고, 삭제에 성공한(이미 없던 파일 포함) 파일을 반환합니다.
+     */
+    private List<UploadedFile> unlinkAll(List<UploadedFile> files, Map<Long, BulkFileResult.Outcome> results) {
+        List<Callable<Boolean>> tasks = files.stream()
+                .<Callable<Boolean>>map(file -> () -> unlink(file))
+                .toList();
+
+        List<UploadedFile> unlinked = new ArrayList<>(files.size());
+        try {
+            List<Future<Boolean>> futures = unlinkExecutor.invokeAll(tasks);
+            for (int i = 0; i < files.size(); i++) {
+                UploadedFile file = files.get(i);
+                if (futures.get(i).get()) {
+                    unlinked.add(file);
+                } else {
+                    results.put(file.getId(), BulkFileResult.Outcome.FAILED);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("일괄 삭제가 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("일괄 삭제 중 오류가 발생했습니다.", e.getCause());
+        }
+        return unlinked;
+    }
+
+    private boolean unlink(UploadedFile file) {
+        try {
+            Files.deleteIfExists(Paths.get(file.getFilePath()));
+            replicationService.deleteReplica(file);
+            return true;
+        } catch (IOException e) {
+            log.error("파일 삭제 실패: {} - {}", file.getOriginalFilename(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void checkLimit(int count) {
+        if (count > maxFiles) {
+            throw new IllegalArgumentException("한 번에 처리할 수 있는 파일은 최대 " + maxFiles + "개입니다. (대상 " + count + "개)");
+        }
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> list = List.copyOf(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += IN_CLAUSE_CHUNK) {
+            chunks.add(list.subList(from, Math.min(from + IN_CLAUSE_CHUNK, list.size())));
+        }
+        return chunks;
+    }
+}
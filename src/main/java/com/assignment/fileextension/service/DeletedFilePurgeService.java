@@ -0,0 +1,171 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 보관 기간이 지난 삭제 상태(DELETED) 파일 메타데이터를 주기적으로 정리합니다.
+ *
+ * id 순서의 키셋 조회로 정해진 개수만큼 나누어 삭제하고, 배치 사이에 쉬어서
+ * 한 번에 큰 트랜잭션이나 긴 잠금이 생기지 않도록 합니다.
+ * 배치마다 확장자 색인, 청크 해시, 파일 행을 한 트랜잭션에서 삭제하므로 일부만 지워진 상태가 남지 않습니다.
+ *
+ * 배치 사이의 대기가 다른 스케줄 작업(메타데이터 무효화 동기화, 통계 반영 등)을 막지 않도록 전용 스레드에서 실행합니다.
+ */
+@Slf4j
+@Service
+public class DeletedFilePurgeService {
+
+    private final UploadedFileRepository uploadedFileRepository;
+    private final ExtensionStatsService extensionStatsService;
+    private final FileMetadataCacheService fileMetadataCacheService;
+    private final FilenameSearchService filenameSearchService;
+    private final TransactionTemplate transactionTemplate;
+    private final long retentionDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long pauseMillis;
+    private final ExecutorService purgeExecutor;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public DeletedFilePurgeService(
+            UploadedFileRepository uploadedFileRepository,
+            ExtensionStatsService extensionStatsService,
+            FileMetadataCacheService fileMetadataCacheService,
+            FilenameSearchService filenameSearchService,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.purge.retention-days:30}") long retentionDays,
+            @Value("${app.purge.batch-size:500}") int batchSize,
+            @Value("${app.purge.max-batches-per-run:100}") int maxBatchesPerRun,
+            @Value("${app.purge.pause-ms:200}") long pauseMillis) {
+        this.uploadedFileRepository = uploadedFileRepository;
+        this.extensionStatsService = extensionStatsService;
+        this.fileMetadataCacheService = fileMetadataCacheService;
+        this.filenameSearchService = filenameSearchService;
+        this.transactionTemplate = transactionTemplate;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseMillis = pauseMillis;
+        this.purgeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deleted-file-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 주기적으로 정리를 시작합니다. 이전 정리가 진행 중이면 건너뜁니다.
+     */
+    @Scheduled(fixedDelayString = "${app.purge.interval-ms:3600000}",
+            initialDelayString = "${app.purge.initial-delay-ms:900000}")
+    public void schedulePurge() {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("삭제 파일 정리가 이미 진행 중입니다.");
+            return;
+        }
+
+        purgeExecutor.execute(() -> {
+            try {
+                purgeExpired();
+            } catch (RuntimeException e) {
+                log.error("삭제 파일 정리 실패: {}", e.getMessage(), e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    /**
+     * 보관 기간이 지난 삭제 파일 행을 배치 단위로 삭제하고 결과를 반환합니다.
+     * 한 번에 최대 maxBatchesPerRun 배치까지만 처리하고 나머지는 다음 주기로 넘깁니다.
+     */
+    public PurgeSummary purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long startNanos = System.nanoTime();
+        int purgedCount = 0;
+        int batchCount = 0;
+        Long lastId = 0L;
+
+        try {
+            while (batchCount < maxBatchesPerRun) {
+                List<Long> ids = uploadedFileRepository.findIdsForPurge(
+                        UploadedFile.FileStatus.DELETED, lastId, cutoff, PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                long batchStartNanos = System.nanoTime();
+                BatchResult result = transactionTemplate.execute(status -> purgeBatch(ids));
+                long batchMillis = (System.nanoTime() - batchStartNanos) / 1_000_000;
+                // 통계는 커밋된 삭제만 반영
+                for (UploadedFileRepository.ExtensionUsage usage : result.usages()) {
+                    extensionStatsService.recordPurged(usage.getExtension(), usage.getFileCount(),
+                            usage.getTotalBytes() != null ? usage.getTotalBytes() : 0L);
+                }
+                int deleted = result.deleted();
+
+                lastId = ids.get(ids.size() - 1);
+                purgedCount += deleted;
+                batchCount++;
+                log.info("삭제 파일 정리 배치 {}: {}행 삭제, {}ms", batchCount, deleted, batchMillis);
+
+                if (ids.size() < batchSize) {
+                    break;
+                }
+                Thread.sleep(pauseMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("삭제 파일 정리 중단됨");
+        }
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        if (purgedCount > 0) {
+            log.info("삭제 파일 정리 완료 - {}행, {}개 배치, 소요: {}ms", purgedCount, batchCount, elapsedMillis);
+        }
+        return new PurgeSummary(purgedCount, batchCount, elapsedMillis);
+    }
+
+    /**
+     * 한 배치의 확장자 색인, 청크 해시, 파일 행을 삭제합니다. (트랜잭션 안에서 호출)
+     */
+    private BatchResult purgeBatch(List<Long> ids) {
+        List<UploadedFileRepository.ExtensionUsage> usages = uploadedFileRepository
+                .sumUsageByExtensionForIds(ids, UploadedFile.FileStatus.DELETED);
+        uploadedFileRepository.deleteExtensionSegments(ids);
+        uploadedFileRepository.deleteChunkHashes(ids);
+        int deleted = uploadedFileRepository.deleteByIdInAndStatus(ids, UploadedFile.FileStatus.DELETED);
+        // 커밋 후에도 한 번 더 무효화됨
+        fileMetadataCacheService.invalidateAll(ids);
+        filenameSearchService.removeAll(ids); // 삭제할 때 빠졌지만 남은 항목이 있으면 정리
+        return new BatchResult(deleted, usages);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purgeExecutor.shutdownNow();
+    }
+
+    private record BatchResult(int deleted, List<UploadedFileRepository.ExtensionUsage> usages) {
+    }
+
+    /**
+     * 정리 결과 요약
+     */
+    public record PurgeSummary(int purgedCount, int batchCount, long elapsedMillis) {
+    }
+}
@@ -0,0 +1,321 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.UploadedFile;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 자주 다운로드되는 작은 파일의 내용과 메타데이터를 메모리에 보관하는 캐시
+ *
+ * - 파일 내용은 direct ByteBuffer(off-heap)에 저장하여 GC 부담을 늘리지 않습니다.
+ * - Caffeine(W-TinyLFU)으로 전체 바이트 수를 제한하고, 첫 요청은 doorkeeper에만 기록하여
+ *   한 번만 요청되는 파일 때문에 off-heap 메모리를 할당하지 않습니다.
+ * - 적재 중(메타데이터 조회 ~ 저장)에 무효화가 있었으면 읽은 내용을 저장하지 않습니다. (무효화 세대 비교)
+ *   삭제나 격리를 놓친 항목이 남지 않도록 ttl-seconds가 지나면 만료됩니다.
+ */
+@Slf4j
+@Service
+public class DownloadCacheService {
+
+    private final FileEncryptionService fileEncryptionService;
+    private final boolean enabled;
+    private final long maxFileSize;
+    private final long maxBytes;
+    private final Cache<Long, CachedDownload> contentCache;
+    private final Cache<Long, Boolean> doorkeeper;
+
+    // 무효화할 때마다 증가 (적재 중 무효화된 내용을 캐시에 넣지 않기 위함)
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public DownloadCacheService(
+            FileEncryptionService fileEncryptionService,
+            @Value("${app.download-cache.enabled:true}") boolean enabled,
+            @Value("${app.download-cache.max-bytes:67108864}") long maxBytes, // 64MB
+            @Value("${app.download-cache.max-file-size:1048576}") long maxFileSize, // 1MB
+            @Value("${app.download-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.fileEncryptionService = fileEncryptionService;
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.maxFileSize = maxFileSize;
+        this.contentCache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long fileId, CachedDownload cached) -> (int) Math.min(cached.getSize(), Integer.MAX_VALUE))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.doorkeeper = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .build();
+    }
+
+    /**
+     * 캐시된 다운로드를 조회합니다. 없으면 null을 반환합니다.
+     */
+    public CachedDownload get(Long fileId) {
+        if (!enabled) {
+            return null;
+        }
+        return contentCache.getIfPresent(fileId);
+    }
+
+    /**
+     * 현재 무효화 세대를 반환합니다. 파일 메타데이터를 조회하기 전에 읽어 {@link #admit}에 전달합니다.
+     */
+    public long generation() {
+        return invalidations.get();
+    }
+
+    /**
+     * 두 번째 요청부터 파일을 캐시에 적재합니다. 적재하지 않은 경우 null을 반환합니다.
+     * generation 이후 무효화가 있었으면 읽은 내용은 이번 응답에만 사용하고 캐시하지 않습니다.
+     */
+    public CachedDownload admit(UploadedFile file, long generation) {
+        if (!enabled || file.getFileSize() == null || file.getFileSize() > maxFileSize) {
+            return null;
+        }
+
+        // 첫 요청은 doorkeeper에만 기록
+        if (doorkeeper.asMap().putIfAbsent(file.getId(), Boolean.TRUE) == null) {
+            return null;
+        }
+
+        try {
+            CachedDownload cached = new CachedDownload(file, readDirect(Paths.get(file.getFilePath())));
+            if (invalidations.get() != generation) {
+                return cached;
+            }
+            contentCache.put(file.getId(), cached);
+            if (invalidations.get() != generation) {
+                // 저장과 동시에 무효화됨
+                contentCache.asMap().remove(file.getId(), cached);
+                return cached;
+            }
+            doorkeeper.invalidate(file.getId());
+            return cached;
+        } catch (IOException e) {
+            log.warn("다운로드 캐시 적재 실패: ID {} - {}", file.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 파일 상태 변경 시 캐시를 무효화합니다.
+     */
+    public void invalidate(Long fileId) {
+        invalidateAll(List.of(fileId));
+    }
+
+    /**
+     * 여러 파일의 캐시를 무효화합니다.
+     * 트랜잭션 안에서 호출되면 커밋 전에 변경 전 상태로 적재된 항목이 남지 않도록 완료 후 한 번 더 제거합니다.
+     */
+    public void invalidateAll(Collection<Long> fileIds) {
+        List<Long> ids = List.copyOf(fileIds);
+        evict(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(ids);
+                }
+            });
+        }
+    }
+
+    /**
+     * 캐시 전체를 비웁니다. (다른 노드의 일괄 변경 등 대상 파일을 알 수 없을 때)
+     */
+    public void clear() {
+        invalidations.incrementAndGet();
+        contentCache.invalidateAll();
+        doorkeeper.invalidateAll();
+    }
+
+    /**
+     * 캐시 적중/미스 통계를 반환합니다.
+     */
+    public Map<String, Object> getStats() {
+        CacheStats stats = contentCache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("entries", contentCache.estimatedSize());
+        result.put("cachedBytes", contentCache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L));
+        result.put("maxBytes", maxBytes);
+        return result;
+    }
+
+    private void evict(Collection<Long> fileIds) {
+        invalidations.incrementAndGet();
+        contentCache.invalidateAll(fileIds);
+        doorkeeper.invalidateAll(fileIds);
+    }
+
+    private ByteBuffer readDirect(Path path) throws IOException {
+        if (fileEncryptionService.hasMasterKey() && fileEncryptionService.isEncrypted(path)) {
+            return readDecrypted(path);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > maxFileSize) {
+                throw new IOException("캐시 허용 크기 초과: " + size);
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // 버퍼가 찰 때까지 읽기
+            }
+            buffer.flip();
+            return buffer.asReadOnlyBuffer();
+        }
+    }
+
+    /**
+     * 암호화된 파일은 복호화한 평문을 캐시 (적중 시 복호화 비용도 들지 않음)
+     */
+    private ByteBuffer readDecrypted(Path path) throws IOException {
+        long size = fileEncryptionService.plaintextSize(path);
+        if (size > maxFileSize) {
+            throw new IOException("캐시 허용 크기 초과: " + size);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+        try (InputStream in = fileEncryptionService.openInputStream(path)) {
+            ReadableByteChannel source = Channels.newChannel(in);
+            while (buffer.hasRemaining() && source.read(buffer) != -1) {
+                // 캐시 버퍼에 바로 읽기 (중간 배열 없음)
+            }
+        }
+        buffer.flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * 캐시된 파일 내용과 다운로드에 필요한 메타데이터
+     */
+    public static final class CachedDownload {
+        private final Long fileId;
+        private final String originalFilename;
+        private final String storedFilename;
+        private final String contentType;
+        private final String checksum;
+        private final ByteBuffer content;
+
+        private CachedDownload(UploadedFile file, ByteBuffer content) {
+            this.fileId = file.getId();
+            this.originalFilename = file.getOriginalFilename();
+            this.storedFilename = file.getStoredFilename();
+            this.contentType = file.getContentType();
+            this.checksum = file.getChecksum();
+            this.content = content;
+        }
+
+        public Long getFileId() {
+            return fileId;
+        }
+
+        public String getOriginalFilename() {
+            return originalFilename;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getChecksum() {
+            return checksum;
+        }
+
+        public long getSize() {
+            return content.limit();
+        }
+
+        /**
+         * 요청마다 독립적인 position을 갖는 리소스를 생성합니다.
+         */
+        public Resource toResource() {
+            return new ByteBufferResource(content.duplicate(), storedFilename);
+        }
+    }
+
+    /**
+     * direct ByteBuffer를 복사 없이 읽는 Resource
+     */
+    private static final class ByteBufferResource extends AbstractResource {
+        private final ByteBuffer buffer;
+        private final String filename;
+
+        private ByteBufferResource(ByteBuffer buffer, String filename) {
+            this.buffer = buffer;
+            this.filename = filename;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            ByteBuffer source = buffer.duplicate();
+            return new InputStream() {
+                @Override
+                public int read() {
+                    return source.hasRemaining() ? source.get() & 0xFF : -1;
+                }
+
+                @Override
+                public int read(byte[] bytes, int offset, int length) {
+                    if (!source.hasRemaining()) {
+                        return -1;
+                    }
+                    int count = Math.min(length, source.remaining());
+                    source.get(bytes, offset, count);
+                    return count;
+                }
+
+                @Override
+                public int available() {
+                    return source.remaining();
+                }
+            };
+        }
+
+        @Override
+        public long contentLength() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Cached download [" + filename + "]";
+        }
+    }
+}
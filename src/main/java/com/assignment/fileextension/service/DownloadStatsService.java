@@ -0,0 +1,123 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 파일별 다운로드 횟수와 마지막 접근 시각을 모아 두었다가 주기적으로 반영합니다. (보관 정책 판단용)
+ *
+ * - 다운로드마다 UPDATE 하지 않고 메모리 버퍼에 더합니다. 키(파일 ID)별로 갱신되므로 서로 다른 파일은 경합하지 않습니다.
+ * - 반영할 때는 증가량이 같은 파일을 묶어 UPDATE ... WHERE id IN (...) 한 번으로 처리합니다.
+ *   마지막 접근 시각은 묶음 안에서 가장 늦은 시각으로 기록되므로 반영 주기만큼 오차가 있을 수 있습니다.
+ * - 종료 시 남은 변경분을 반영하고, 반영에 실패한 변경분은 다음 주기에 다시 시도합니다.
+ */
+@Slf4j
+@Service
+public class DownloadStatsService {
+
+    private final UploadedFileRepository uploadedFileRepository;
+    private final int maxIdsPerUpdate;
+
+    private final ConcurrentHashMap<Long, Access> pendingAccesses = new ConcurrentHashMap<>();
+    // 반영을 직렬화 (DB 작업 중 가상 스레드가 캐리어에 고정되지 않도록 synchronized 대신 사용)
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public DownloadStatsService(
+            UploadedFileRepository uploadedFileRepository,
+            @Value("${app.download-stats.max-ids-per-update:500}") int maxIdsPerUpdate) {
+        this.uploadedFileRepository = uploadedFileRepository;
+        this.maxIdsPerUpdate = maxIdsPerUpdate;
+    }
+
+    /**
+     * 다운로드 한 건을 기록합니다. (DB 접근 없음)
+     */
+    public void recordDownload(Long fileId) {
+        if (fileId == null) {
+            return;
+        }
+        pendingAccesses.merge(fileId, new Access(1, System.currentTimeMillis()), Access::plus);
+    }
+
+    /**
+     * 모아 둔 다운로드 횟수를 DB에 더합니다.
+     */
+    @Scheduled(fixedDelayString = "${app.download-stats.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushLocked() {
+        if (pendingAccesses.isEmpty()) {
+            return;
+        }
+
+        // 증가량별로 파일을 묶음 (대부분 1~2회라 묶음 수가 적음)
+        Map<Long, Access> drained = new HashMap<>();
+        for (Long fileId : new ArrayList<>(pendingAccesses.keySet())) {
+            Access access = pendingAccesses.remove(fileId);
+            if (access != null) {
+                drained.put(fileId, access);
+            }
+        }
+        Map<Long, List<Long>> idsByCount = new HashMap<>();
+        drained.forEach((fileId, access) ->
+                idsByCount.computeIfAbsent(access.count(), count -> new ArrayList<>()).add(fileId));
+
+        int statements = 0;
+        for (Map.Entry<Long, List<Long>> group : idsByCount.entrySet()) {
+            List<Long> ids = group.getValue();
+            for (int from = 0; from < ids.size(); from += maxIdsPerUpdate) {
+                List<Long> chunk = ids.subList(from, Math.min(from + maxIdsPerUpdate, ids.size()));
+                long lastAccessMillis = chunk.stream().mapToLong(id -> drained.get(id).lastAccessMillis()).max().orElseThrow();
+                try {
+                    uploadedFileRepository.recordDownloads(chunk, group.getKey(), toLocalDateTime(lastAccessMillis));
+                    statements++;
+                } catch (Exception e) {
+                    // 다음 주기에 다시 반영
+                    chunk.forEach(id -> pendingAccesses.merge(id, drained.get(id), Access::plus));
+                    log.error("다운로드 통계 반영 실패: {}개 파일 - {}", chunk.size(), e.getMessage());
+                }
+            }
+        }
+        log.debug("다운로드 통계 반영: {}개 파일, UPDATE {}회", drained.size(), statements);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    /**
+     * 파일 하나의 누적 다운로드
+     */
+    record Access(long count, long lastAccessMillis) {
+
+        Access plus(Access other) {
+            return new Access(count + other.count, Math.max(lastAccessMillis, other.lastAccessMillis));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.common.FileNameUtils;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 확장자 색인(uploaded_file_extensions)이 도입되기 전에 업로드된 파일의 색인을 채웁니다.
+ *
+ * 시작 후 id 순서의 키셋 조회로 배치 단위 처리하며, 모두 채우면 다시 실행하지 않습니다.
+ * 확장자가 없는 파일은 색인할 내용이 없으므로 건너뜁니다.
+ */
+@Slf4j
+@Service
+public class ExtensionSegmentBackfillService {
+
+    private final UploadedFileRepository uploadedFileRepository;
+    private final int batchSize;
+    private volatile boolean completed;
+
+    public ExtensionSegmentBackfillService(
+            UploadedFileRepository uploadedFileRepository,
+            @Value("${app.extension-index.backfill-batch-size:500}") int batchSize) {
+        this.uploadedFileRepository = uploadedFileRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.extension-index.backfill-interval-ms:3600000}",
+            initialDelayString = "${app.extension-index.backfill-initial-delay-ms:60000}")
+    public void scheduleBackfill() {
+        if (completed) {
+            return;
+        }
+        try {
+            backfill();
+        } catch (RuntimeException e) {
+            // 다음 주기에 이어서 처리
+            log.error("확장자 색인 채우기 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 색인이 없는 파일의 확장자를 채우고 색인한 파일 수를 반환합니다.
+     */
+    public int backfill() {
+        int indexedCount = 0;
+        Long lastId = 0L;
+
+        while (true) {
+            List<UploadedFileRepository.FileName> files = uploadedFileRepository.findWithoutExtensionSegments(
+                    lastId, PageRequest.of(0, batchSize));
+            if (files.isEmpty()) {
+                break;
+            }
+
+            for (UploadedFileRepository.FileName file : files) {
+                var segments = FileNameUtils.extractIndexableExtensions(file.getOriginalFilename());
+                for (String segment : segments) {
+                    uploadedFileRepository.insertExtensionSegment(file.getId(), segment);
+                }
+                if (!segments.isEmpty()) {
+                    indexedCount++;
+                }
+            }
+
+            lastId = files.get(files.size() - 1).getId();
+            if (files.size() < batchSize) {
+                break;
+            }
+        }
+
+        completed = true;
+        if (indexedCount > 0) {
+            log.info("확장자 색인 채우기 완료: {}개 파일", indexedCount);
+        }
+        return indexedCount;
+    }
+}
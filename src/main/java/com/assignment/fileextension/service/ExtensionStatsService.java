@@ -0,0 +1,254 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.ExtensionStats;
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.ExtensionStatsRepository;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 확장자별 파일 수/총 크기/마지막 업로드 시각을 누적 관리합니다.
+ *
+ * - 업로드, 삭제, 격리, 정리 시 변경분(delta)을 메모리 버퍼에 모으고, 주기적으로 extension_stats 테이블에 더합니다.
+ * - 변경분은 트랜잭션이 커밋된 뒤에만 버퍼에 반영되므로 롤백된 작업은 집계되지 않습니다.
+ * - 집계가 어긋나면 rebuild()로 uploaded_files에서 다시 계산합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExtensionStatsService {
+
+    private final ExtensionStatsRepository extensionStatsRepository;
+    private final UploadedFileRepository uploadedFileRepository;
+
+    private final ConcurrentHashMap<String, Delta> pendingDeltas = new ConcurrentHashMap<>();
+
+    // 반영과 재구성을 직렬화 (DB 작업 중 가상 스레드가 캐리어에 고정되지 않도록 synchronized 대신 사용)
+    private final ReentrantLock statsLock = new ReentrantLock();
+
+    /**
+     * 새 파일 업로드
+     */
+    public void recordUpload(UploadedFile file) {
+        record(file.getExtension(), new Delta(1, file.getFileSize(), 0, 0, LocalDateTime.now()));
+    }
+
+    /**
+     * 활성 파일이 삭제 상태로 바뀜 (정리 전까지 삭제 파일로 집계)
+     */
+    public void recordDeleted(UploadedFile file) {
+        record(file.getExtension(), new Delta(-1, -file.getFileSize(), 1, file.getFileSize(), null));
+    }
+
+    /**
+     * 활성 파일이 목록에서 빠짐 (DB 행 삭제, 격리)
+     */
+    public void recordRemoved(UploadedFile file) {
+        record(file.getExtension(), new Delta(-1, -file.getFileSize(), 0, 0, null));
+    }
+
+    /**
+     * 격리 파일이 다시 활성 상태가 됨
+     */
+    public void recordRestored(UploadedFile file) {
+        record(file.getExtension(), new Delta(1, file.getFileSize(), 0, 0, null));
+    }
+
+    /**
+     * 보관 기간이 지난 격리 파일이 삭제 상태가 됨
+     */
+    public void recordReaped(UploadedFile file) {
+        record(file.getExtension(), new Delta(0, 0, 1, file.getFileSize(), null));
+    }
+
+    /**
+     * 삭제 파일 행이 정리됨
+     */
+    public void recordPurged(String extension, long fileCount, long totalBytes) {
+        record(extension, new Delta(0, 0, -fileCount, -totalBytes, null));
+    }
+
+    /**
+     * 확장자별 현황을 총 크기 순으로 조회합니다. 아직 반영되지 않은 변경분도 포함합니다.
+     */
+    @Transactional(readOnly = true)
+    public List<ExtensionStats> getStats() {
+        Map<String, Delta> pending = new HashMap<>(pendingDeltas);
+        List<ExtensionStats> stats = new ArrayList<>();
+        for (ExtensionStats stored : extensionStatsRepository.findAllByOrderByTotalBytesDesc()) {
+            Delta delta = pending.remove(stored.getExtension());
+            stats.add(delta != null ? delta.applyTo(stored) : stored);
+        }
+        pending.forEach((extension, delta) -> stats.add(delta.applyTo(empty(extension))));
+        stats.removeIf(entry -> entry.getFileCount() == 0 && entry.getDeletedCount() == 0);
+        stats.sort(Comparator.comparing(ExtensionStats::getTotalBytes).reversed());
+        return stats;
+    }
+
+    /**
+     * 모아 둔 변경분을 DB에 더합니다.
+     */
+    @Scheduled(fixedDelayString = "${app.stats.flush-interval-ms:10000}")
+    public void flushDeltas() {
+        statsLock.lock();
+        try {
+            flushDeltasLocked();
+        } finally {
+            statsLock.unlock();
+        }
+    }
+
+    private void flushDeltasLocked() {
+        if (pendingDeltas.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int flushed = 0;
+        for (String extension : new ArrayList<>(pendingDeltas.keySet())) {
+            Delta delta = pendingDeltas.remove(extension);
+            if (delta == null) {
+                continue;
+            }
+            try {
+                int updated = extensionStatsRepository.applyDelta(extension, delta.fileCount(), delta.totalBytes(),
+                        delta.deletedCount(), delta.deletedBytes(), delta.lastUploadedAt(), now);
+                if (updated == 0) {
+                    extensionStatsRepository.save(delta.applyTo(empty(extension)));
+                }
+                flushed++;
+            } catch (Exception e) {
+                // 다음 주기에 다시 반영
+                pendingDeltas.merge(extension, delta, Delta::plus);
+                log.error("확장자 통계 반영 실패: {} - {}", extension, e.getMessage());
+            }
+        }
+        log.debug("확장자 통계 반영: {}개", flushed);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushDeltas();
+    }
+
+    /**
+     * uploaded_files에서 확장자별 현황을 다시 계산합니다. (집계가 어긋났을 때 복구용)
+     * 재계산 시작 전에 모아 둔 변경분은 집계 결과에 이미 포함되므로 버립니다.
+     */
+    @Transactional
+    public int rebuild() {
+        statsLock.lock();
+        try {
+            return rebuildLocked();
+        } finally {
+            statsLock.unlock();
+        }
+    }
+
+    private int rebuildLocked() {
+        pendingDeltas.clear();
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, ExtensionStats.ExtensionStatsBuilder> builders = new HashMap<>();
+        for (UploadedFileRepository.ExtensionUsage usage
+                : uploadedFileRepository.sumUsageByExtension(UploadedFile.FileStatus.ACTIVE)) {
+            builders.computeIfAbsent(normalize(usage.getExtension()), this::emptyBuilder)
+                    .fileCount(usage.getFileCount())
+                    .totalBytes(usage.getTotalBytes() != null ? usage.getTotalBytes() : 0L)
+                    .lastUploadedAt(usage.getLastUploadedAt());
+        }
+        for (UploadedFileRepository.ExtensionUsage usage
+                : uploadedFileRepository.sumUsageByExtension(UploadedFile.FileStatus.DELETED)) {
+            builders.computeIfAbsent(normalize(usage.getExtension()), this::emptyBuilder)
+                    .deletedCount(usage.getFileCount())
+                    .deletedBytes(usage.getTotalBytes() != null ? usage.getTotalBytes() : 0L);
+        }
+
+        extensionStatsRepository.deleteAllInBatch();
+        extensionStatsRepository.saveAll(builders.values().stream()
+                .map(builder -> builder.updatedAt(now).build())
+                .toList());
+
+        log.info("확장자 통계 재구성 완료: {}개 확장자", builders.size());
+        return builders.size();
+    }
+
+    private void record(String extension, Delta delta) {
+        String key = normalize(extension);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pendingDeltas.merge(key, delta, Delta::plus);
+                }
+            });
+            return;
+        }
+        pendingDeltas.merge(key, delta, Delta::plus);
+    }
+
+    private static String normalize(String extension) {
+        return extension != null ? extension : "";
+    }
+
+    private ExtensionStats.ExtensionStatsBuilder emptyBuilder(String extension) {
+        return ExtensionStats.builder()
+                .extension(extension)
+                .fileCount(0L)
+                .totalBytes(0L)
+                .deletedCount(0L)
+                .deletedBytes(0L);
+    }
+
+    private ExtensionStats empty(String extension) {
+        return emptyBuilder(extension).updatedAt(LocalDateTime.now()).build();
+    }
+
+    /**
+     * 확장자 하나의 누적 변경분
+     */
+    record Delta(long fileCount, long totalBytes, long deletedCount, long deletedBytes,
+                 LocalDateTime lastUploadedAt) {
+
+        Delta plus(Delta other) {
+            return new Delta(fileCount + other.fileCount, totalBytes + other.totalBytes,
+                    deletedCount + other.deletedCount, deletedBytes + other.deletedBytes,
+                    later(lastUploadedAt, other.lastUploadedAt));
+        }
+
+        ExtensionStats applyTo(ExtensionStats stats) {
+            return ExtensionStats.builder()
+                    .extension(stats.getExtension())
+                    .fileCount(stats.getFileCount() + fileCount)
+                    .totalBytes(stats.getTotalBytes() + totalBytes)
+                    .deletedCount(stats.getDeletedCount() + deletedCount)
+                    .deletedBytes(stats.getDeletedBytes() + deletedBytes)
+                    .lastUploadedAt(later(stats.getLastUploadedAt(), lastUploadedAt))
+                    .updatedAt(stats.getUpdatedAt())
+                    .build();
+        }
+
+        private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+            if (a == null) {
+                return b;
+            }
+            return b == null || a.isAfter(b) ? a : b;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.assignment.fileextension.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 업로드 파일을 디스크에 쓰고, 설정된 내구성 모드에 따라 fsync 합니다.
+ *
+ * - NONE: fsync 하지 않음 (OS 페이지 캐시에 맡김)
+ * - PER_FILE: 파일마다 쓰기 직후 파일과 디렉토리를 fsync (기본값)
+ *
+ * 동시에 올라오는 업로드가 각자 fsync 하면 파일시스템 저널(ext4 jbd2 등)이 커밋을 묶어 주므로
+ * 애플리케이션에서 fsync를 따로 모으지 않습니다.
+ */
+@Slf4j
+@Service
+public class FileDurabilityService {
+
+    public enum DurabilityMode {
+        NONE, PER_FILE;
+
+        public static DurabilityMode from(String value) {
+            String name = value.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+            try {
+                return valueOf(name);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("지원하지 않는 내구성 모드입니다: " + value
+                        + " (사용 가능: " + Arrays.toString(values()) + ")", e);
+            }
+        }
+    }
+
+    private final BufferPoolService bufferPoolService;
+    private final DurabilityMode mode;
+
+    public FileDurabilityService(
+            BufferPoolService bufferPoolService,
+            @Value("${app.storage.durability.mode:per-file}") String mode) {
+        this.bufferPoolService = bufferPoolService;
+        this.mode = DurabilityMode.from(mode);
+    }
+
+    @PostConstruct
+    public void start() {
+        log.info("파일 저장 내구성 모드: {}", mode);
+    }
+
+    /**
+     * 스트림을 대상 경로에 쓰고, 내구성 모드에 맞게 디스크에 반영합니다.
+     * 실패하면 쓰다 만 파일을 지웁니다.
+     *
+     * @return 실제로 쓴 바이트 수
+     */
+    public long write(InputStream in, Path target) throws IOException {
+        try {
+            long written = copy(in, target);
+            if (mode == DurabilityMode.PER_FILE) {
+                forceDirectory(target.getParent());
+            }
+            return written;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+    }
+
+    /**
+     * 다 쓴 파일을 rename으로 최종 경로에 옮깁니다. (디렉토리 반영은 syncDirectory로 따로 함)
+     * 같은 파일시스템이 아니면 복사 후 삭제로 옮깁니다.
+     */
+    public void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            log.warn("rename 불가, 복사로 이동: {} -> {}", source, target);
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * rename 등으로 바뀐 디렉토리 항목을 내구성 모드에 맞게 디스크에 반영합니다.
+     */
+    public void syncDirectory(Path directory) {
+        if (mode != DurabilityMode.NONE) {
+            forceDirectory(directory);
+        }
+    }
+
+    public DurabilityMode getMode() {
+        return mode;
+    }
+
+    private long copy(InputStream in, Path target) throws IOException {
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            // 풀의 direct 버퍼로 복사 (요청마다 1MB 힙 배열을 할당하지 않음)
+            ReadableByteChannel source = Channels.newChannel(in);
+            long written = 0;
+            try (BufferPoolService.PooledBuffer pooled = bufferPoolService.acquire(BufferPoolService.IoClass.BULK)) {
+                ByteBuffer buffer = pooled.buffer();
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        written += channel.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+
+            if (mode == DurabilityMode.PER_FILE) {
+                channel.force(true);
+            }
+            return written;
+        }
+    }
+
+    /**
+     * 새 파일의 디렉토리 항목을 디스크에 반영합니다.
+     * 디렉토리 fsync를 지원하지 않는 플랫폼(Windows 등)에서는 건너뜁니다.
+     */
+    private void forceDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("디렉토리 fsync 건너뜀: {} - {}", directory, e.getMessage());
+        }
+    }
+}
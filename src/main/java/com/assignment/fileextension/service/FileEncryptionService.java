@@ -0,0 +1,511 @@
+package com.assignment.fileextension.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * 업로드 파일을 AES-256-GCM 청크 단위로 암호화하여 저장하고, 읽을 때 복호화합니다.
+ *
+ * - 파일마다 새 데이터 키를 만들고 마스터 키로 감싸(wrap) 헤더에 저장합니다. 마스터 키를 바꿀 때는 헤더만 다시 쓰면 됩니다.
+ * - 청크마다 따로 인증하므로 Range 요청은 필요한 청크만 읽어 복호화합니다. (IV에 청크 번호, AAD에 마지막 청크 여부를
+ *   넣어 청크 순서 변경과 청크 경계에서의 잘림도 검출)
+ * - 청크 버퍼와 Cipher는 풀에서 재사용하여 업로드/다운로드마다 할당하지 않습니다.
+ * - 헤더의 매직 바이트로 암호화 여부를 판단하므로, 암호화 도입 전의 평문 파일도 그대로 읽을 수 있습니다.
+ *
+ * 파일 형식: [헤더 72바이트: 매직(8) + 청크 크기(4) + 감싼 데이터 키(IV 12 + 키 32 + 태그 16)]
+ *           [청크: 암호문(청크 크기, 마지막은 나머지) + 태그(16)] ...
+ */
+@Slf4j
+@Service
+public class FileEncryptionService {
+
+    private static final byte[] MAGIC = {'F', 'X', 'E', 'N', 'C', 0, 1, 0};
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int KEY_SIZE = 32;
+    private static final int IV_SIZE = 12;
+    private static final int TAG_SIZE = 16;
+    private static final int WRAPPED_KEY_SIZE = IV_SIZE + KEY_SIZE + TAG_SIZE;
+    static final int HEADER_SIZE = MAGIC.length + Integer.BYTES + WRAPPED_KEY_SIZE;
+
+    private final boolean enabled;
+    private final SecretKey masterKey;
+    private final int chunkSize;
+    private final ArrayBlockingQueue<ChunkBuffers> bufferPool;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public FileEncryptionService(
+            @Value("${app.storage.encryption.enabled:false}") boolean enabled,
+            @Value("${app.storage.encryption.master-key:}") String masterKey, // base64, 32바이트
+            @Value("${app.storage.encryption.chunk-size:65536}") int chunkSize,
+            @Value("${app.storage.encryption.buffer-pool-size:64}") int bufferPoolSize) {
+        this.masterKey = masterKey.isBlank() ? null : new SecretKeySpec(decodeMasterKey(masterKey), "AES");
+        if (enabled && this.masterKey == null) {
+            throw new IllegalStateException("저장 암호화를 사용하려면 app.storage.encryption.master-key가 필요합니다.");
+        }
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.bufferPool = new ArrayBlockingQueue<>(Math.max(1, bufferPoolSize));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 마스터 키가 설정되어 있으면 암호화된 파일이 있을 수 있습니다. (암호화를 끈 뒤에도 기존 파일은 복호화)
+     */
+    public boolean hasMasterKey() {
+        return masterKey != null;
+    }
+
+    /**
+     * 평문 스트림을 저장할 스트림으로 바꿉니다. 암호화를 사용하지 않으면 그대로 반환합니다.
+     */
+    public InputStream encrypt(InputStream plaintext) {
+        return enabled ? new EncryptingInputStream(plaintext) : plaintext;
+    }
+
+    /**
+     * 평문 크기에 대한 저장 크기
+     */
+    public long storedSize(long plaintextSize) {
+        if (!enabled || plaintextSize < 0) {
+            return plaintextSize;
+        }
+        long chunks = Math.max(1, (plaintextSize + chunkSize - 1) / chunkSize);
+        return HEADER_SIZE + plaintextSize + chunks * TAG_SIZE;
+    }
+
+    /**
+     * 파일이 이 형식으로 암호화되어 있는지 확인합니다. 파일이 없으면 false
+     */
+    public boolean isEncrypted(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readMagic(channel);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 파일 내용을 평문으로 읽는 스트림을 엽니다.
+     */
+    public InputStream openInputStream(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (!readMagic(channel)) {
+                channel.close();
+                return Files.newInputStream(path);
+            }
+            return new DecryptingInputStream(channel, readHeader(channel, path));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 다운로드 응답용 리소스. 암호화된 파일은 평문 크기를 알려 주고, Range 요청 시 필요한 청크만 복호화합니다.
+     */
+    public Resource asResource(Path path) {
+        if (masterKey == null || !isEncrypted(path)) {
+            return new FileSystemResource(path);
+        }
+        return new EncryptedFileResource(path);
+    }
+
+    /**
+     * 파일의 평문 크기
+     */
+    public long plaintextSize(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (!readMagic(channel)) {
+                return channel.size();
+            }
+            return readHeader(channel, path).plaintextSize();
+        }
+    }
+
+    private static boolean readMagic(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            return false;
+        }
+        ByteBuffer magic = ByteBuffer.allocate(MAGIC.length);
+        readFully(channel, magic, 0);
+        return Arrays.equals(magic.array(), MAGIC);
+    }
+
+    private Header readHeader(FileChannel channel, Path path) throws IOException {
+        if (masterKey == null) {
+            throw new IOException("암호화된 파일이지만 마스터 키가 설정되지 않았습니다: " + path);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, 0);
+        int fileChunkSize = header.getInt(MAGIC.length);
+        if (fileChunkSize <= 0) {
+            throw new IOException("암호화 파일 형식이 올바르지 않습니다: " + path);
+        }
+        byte[] wrapped = Arrays.copyOfRange(header.array(), MAGIC.length + Integer.BYTES, HEADER_SIZE);
+        byte[] dataKey = unwrapKey(wrapped, Arrays.copyOf(header.array(), MAGIC.length + Integer.BYTES), path);
+
+        // 청크 수와 평문 크기를 파일 크기에서 계산 (마지막 청크가 태그보다 짧으면 잘린 파일)
+        long body = channel.size() - HEADER_SIZE;
+        long chunks = (body + fileChunkSize + TAG_SIZE - 1) / (fileChunkSize + TAG_SIZE);
+        long plaintextSize = body - chunks * TAG_SIZE;
+        if (chunks < 1 || plaintextSize < 0
+                || Math.max(1, (plaintextSize + fileChunkSize - 1) / fileChunkSize) != chunks) {
+            throw new IOException("암호화 파일이 잘렸거나 형식이 올바르지 않습니다: " + path);
+        }
+        return new Header(new SecretKeySpec(dataKey, "AES"), fileChunkSize, chunks, plaintextSize);
+    }
+
+    private byte[] wrapKey(byte[] dataKey, byte[] aad) {
+        try {
+            byte[] wrapped = new byte[WRAPPED_KEY_SIZE];
+            byte[] iv = new byte[IV_SIZE];
+            secureRandom.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, masterKey, new GCMParameterSpec(TAG_SIZE * 8, iv));
+            cipher.updateAAD(aad);
+            System.arraycopy(iv, 0, wrapped, 0, IV_SIZE);
+            cipher.doFinal(dataKey, 0, KEY_SIZE, wrapped, IV_SIZE);
+            return wrapped;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("데이터 키 암호화 실패", e);
+        }
+    }
+
+    private byte[] unwrapKey(byte[] wrapped, byte[] aad, Path path) throws IOException {
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, masterKey, new GCMParameterSpec(TAG_SIZE * 8, wrapped, 0, IV_SIZE));
+            cipher.updateAAD(aad);
+            return cipher.doFinal(wrapped, IV_SIZE, wrapped.length - IV_SIZE);
+        } catch (AEADBadTagException e) {
+            throw new IOException("데이터 키 복호화 실패 (마스터 키 불일치 또는 헤더 손상): " + path, e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("데이터 키 복호화 실패", e);
+        }
+    }
+
+    private ChunkBuffers acquireBuffers(int size) {
+        ChunkBuffers buffers = size == chunkSize ? bufferPool.poll() : null;
+        return buffers != null ? buffers : new ChunkBuffers(size);
+    }
+
+    private void releaseBuffers(ChunkBuffers buffers) {
+        if (buffers.plain.length == chunkSize) {
+            bufferPool.offer(buffers);
+        }
+    }
+
+    /**
+     * 청크 번호를 IV로 사용 (데이터 키가 파일마다 다르므로 IV가 겹치지 않음)
+     */
+    private static GCMParameterSpec chunkIv(long chunkIndex) {
+        byte[] iv = new byte[IV_SIZE];
+        ByteBuffer.wrap(iv).putLong(IV_SIZE - Long.BYTES, chunkIndex);
+        return new GCMParameterSpec(TAG_SIZE * 8, iv);
+    }
+
+    private static byte[] chunkAad(boolean last) {
+        return new byte[]{(byte) (last ? 1 : 0)};
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("암호화 파일이 잘렸습니다.");
+            }
+        }
+    }
+
+    private static byte[] decodeMasterKey(String masterKey) {
+        byte[] key = Base64.getDecoder().decode(masterKey.trim());
+        if (key.length != KEY_SIZE) {
+            throw new IllegalStateException("마스터 키는 base64로 인코딩한 32바이트여야 합니다.");
+        }
+        return key;
+    }
+
+    private record Header(SecretKey dataKey, int chunkSize, long chunkCount, long plaintextSize) {
+    }
+
+    /**
+     * 재사용하는 청크 버퍼와 Cipher
+     */
+    private static final class ChunkBuffers {
+        private final byte[] plain;
+        private final byte[] sealed;
+        private final Cipher cipher;
+
+        ChunkBuffers(int chunkSize) {
+            this.plain = new byte[chunkSize];
+            this.sealed = new byte[chunkSize + TAG_SIZE];
+            try {
+                this.cipher = Cipher.getInstance(TRANSFORMATION);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("AES-GCM을 사용할 수 없습니다.", e);
+            }
+        }
+    }
+
+    /**
+     * 평문을 읽으면서 헤더와 암호화된 청크를 내보내는 스트림
+     */
+    private final class EncryptingInputStream extends InputStream {
+        private final InputStream plaintext;
+        private final SecretKey dataKey;
+        private ChunkBuffers buffers;
+        private byte[] output;
+        private int outputPosition;
+        private int outputLength;
+        private long chunkIndex;
+        private int pending = -1; // 마지막 청크 판별을 위해 미리 읽은 1바이트
+        private boolean finished;
+
+        EncryptingInputStream(InputStream plaintext) {
+            this.plaintext = plaintext;
+            byte[] keyBytes = new byte[KEY_SIZE];
+            secureRandom.nextBytes(keyBytes);
+            this.dataKey = new SecretKeySpec(keyBytes, "AES");
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.put(MAGIC).putInt(chunkSize);
+            header.put(wrapKey(keyBytes, Arrays.copyOf(header.array(), MAGIC.length + Integer.BYTES)));
+            Arrays.fill(keyBytes, (byte) 0);
+            this.output = header.array();
+            this.outputLength = HEADER_SIZE;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (outputPosition == outputLength) {
+                if (finished) {
+                    return -1;
+                }
+                nextChunk();
+            }
+            int count = Math.min(length, outputLength - outputPosition);
+            System.arraycopy(output, outputPosition, bytes, offset, count);
+            outputPosition += count;
+            return count;
+        }
+
+        private void nextChunk() throws IOException {
+            if (buffers == null) {
+                buffers = acquireBuffers(chunkSize);
+            }
+            byte[] plain = buffers.plain;
+            int filled = 0;
+            if (pending >= 0) {
+                plain[filled++] = (byte) pending;
+                pending = -1;
+            }
+            int read;
+            while (filled < plain.length && (read = plaintext.read(plain, filled, plain.length - filled)) != -1) {
+                filled += read;
+            }
+            boolean last = filled < plain.length || (pending = plaintext.read()) == -1;
+
+            try {
+                Cipher cipher = buffers.cipher;
+                cipher.init(Cipher.ENCRYPT_MODE, dataKey, chunkIv(chunkIndex++));
+                cipher.updateAAD(chunkAad(last));
+                outputLength = cipher.doFinal(plain, 0, filled, buffers.sealed, 0);
+            } catch (GeneralSecurityException e) {
+                throw new IOException("청크 암호화 실패", e);
+            }
+            output = buffers.sealed;
+            outputPosition = 0;
+            finished = last;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                plaintext.close();
+            } finally {
+                if (buffers != null) {
+                    releaseBuffers(buffers);
+                    buffers = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * 필요한 청크만 위치 지정 읽기로 가져와 복호화하는 스트림 (skip은 청크 단위로 건너뜀)
+     */
+    private final class DecryptingInputStream extends InputStream {
+        private final FileChannel channel;
+        private final Header header;
+        private ChunkBuffers buffers;
+        private long position; // 평문 기준 현재 위치
+        private long loadedChunk = -1;
+        private int loadedLength;
+
+        DecryptingInputStream(FileChannel channel, Header header) {
+            this.channel = channel;
+            this.header = header;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= header.plaintextSize()) {
+                return -1;
+            }
+            long chunk = position / header.chunkSize();
+            if (chunk != loadedChunk) {
+                loadChunk(chunk);
+            }
+            int chunkOffset = (int) (position - chunk * header.chunkSize());
+            int count = Math.min(length, loadedLength - chunkOffset);
+            System.arraycopy(buffers.plain, chunkOffset, bytes, offset, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            long target = Math.min(header.plaintextSize(), position + Math.max(0, n));
+            long skipped = target - position;
+            position = target;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            if (loadedChunk < 0 || position >= header.plaintextSize()) {
+                return 0;
+            }
+            long loadedEnd = loadedChunk * header.chunkSize() + loadedLength;
+            return (int) Math.max(0, loadedEnd - position);
+        }
+
+        private void loadChunk(long chunk) throws IOException {
+            if (buffers == null) {
+                buffers = acquireBuffers(header.chunkSize());
+            }
+            boolean last = chunk == header.chunkCount() - 1;
+            int plainLength = (int) Math.min(header.chunkSize(), header.plaintextSize() - chunk * header.chunkSize());
+            ByteBuffer sealed = ByteBuffer.wrap(buffers.sealed, 0, plainLength + TAG_SIZE);
+            readFully(channel, sealed, HEADER_SIZE + chunk * (header.chunkSize() + TAG_SIZE));
+
+            try {
+                Cipher cipher = buffers.cipher;
+                cipher.init(Cipher.DECRYPT_MODE, header.dataKey(), chunkIv(chunk));
+                cipher.updateAAD(chunkAad(last));
+                loadedLength = cipher.doFinal(buffers.sealed, 0, plainLength + TAG_SIZE, buffers.plain, 0);
+                loadedChunk = chunk;
+            } catch (AEADBadTagException e) {
+                loadedChunk = -1;
+                throw new IOException("청크 " + chunk + " 인증 실패 (파일 변조 또는 손상)", e);
+            } catch (GeneralSecurityException e) {
+                loadedChunk = -1;
+                throw new IOException("청크 복호화 실패", e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                channel.close();
+            } finally {
+                if (buffers != null) {
+                    releaseBuffers(buffers);
+                    buffers = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * 암호화된 파일을 평문으로 제공하는 다운로드 리소스
+     */
+    private final class EncryptedFileResource extends AbstractResource {
+        private final Path path;
+
+        EncryptedFileResource(Path path) {
+            this.path = path;
+        }
+
+        @Override
+        public boolean exists() {
+            return Files.exists(path);
+        }
+
+        @Override
+        public boolean isReadable() {
+            return Files.isReadable(path);
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return plaintextSize(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            try {
+                return openInputStream(path);
+            } catch (NoSuchFileException e) {
+                throw new FileNotFoundException(path.toString());
+            }
+        }
+
+        @Override
+        public String getFilename() {
+            return path.getFileName().toString();
+        }
+
+        @Override
+        public String getDescription() {
+            return "encrypted file [" + path + "]";
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.common.HierarchicalTimingWheel;
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 만료 시각(expiresAt)이 지난 파일을 삭제합니다.
+ *
+ * 전체 테이블을 주기적으로 훑지 않고, 다음 구간(window)까지 만료되는 파일만 expiresAt 인덱스로 읽어
+ * 메모리의 계층형 타이밍 휠에 올립니다. 만료 대상이 없으면 전용 스레드는 다음 구간을
+ * 읽을 때까지 잠들어 있습니다. 만료된 파일은 deletePhysicalFile과 같은 경로로 삭제합니다.
+ */
+@Slf4j
+@Service
+public class FileExpiryService {
+
+    private static final long TICK_MS = 1000L;
+    private static final int WHEEL_SIZE = 60;
+    private static final long RETRY_DELAY_MS = 10_000L;
+
+    private final UploadedFileRepository uploadedFileRepository;
+    private final StorageService storageService;
+    private final boolean enabled;
+    private final long windowMs;
+
+    private final HierarchicalTimingWheel timingWheel;
+    // 휠에 올라간 파일의 현재 만료 시각 (만료 시각 변경/해제 시 이전 항목을 무시하기 위함)
+    private final ConcurrentHashMap<Long, Long> scheduled = new ConcurrentHashMap<>();
+    private volatile long loadedUntil;
+    private Thread worker;
+
+    public FileExpiryService(
+            UploadedFileRepository uploadedFileRepository,
+            StorageService storageService,
+            @Value("${app.expiry.enabled:true}") boolean enabled,
+            @Value("${app.expiry.window-ms:3600000}") long windowMs) { // 1시간
+        this.uploadedFileRepository = uploadedFileRepository;
+        this.storageService = storageService;
+        this.enabled = enabled;
+        this.windowMs = windowMs;
+        this.timingWheel = new HierarchicalTimingWheel(TICK_MS, WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("파일 만료 처리 비활성화");
+            return;
+        }
+
+        worker = new Thread(this::run, "file-expiry");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * 파일의 만료 시각을 등록합니다. 커밋된 뒤에 호출해야 합니다.
+     * 아직 읽지 않은 구간의 만료 시각은 해당 구간을 읽을 때 DB에서 가져옵니다.
+     */
+    public void schedule(Long fileId, LocalDateTime expiresAt) {
+        if (expiresAt == null) {
+            scheduled.remove(fileId);
+            return;
+        }
+
+        long expirationMs = toEpochMillis(expiresAt);
+        if (expirationMs >= loadedUntil) {
+            scheduled.remove(fileId);
+            return;
+        }
+        scheduled.put(fileId, expirationMs);
+        timingWheel.add(fileId, expirationMs);
+    }
+
+    /**
+     * 다음 구간까지 만료되는 파일을 읽어 휠에 등록합니다.
+     * 이미 지난 만료 시각도 함께 읽으므로, 중간에 놓친 파일(복구된 격리 파일 등)도 다음 구간에서 처리됩니다.
+     * loadedUntil을 먼저 올려서, 조회와 동시에 등록되는 만료 시각이 빠지지 않도록 합니다.
+     */
+    void loadNextWindow() {
+        long previous = loadedUntil;
+        long until = Math.max(previous, System.currentTimeMillis()) + windowMs;
+        loadedUntil = until;
+
+        List<UploadedFileRepository.ExpiringFile> files;
+        try {
+            files = uploadedFileRepository.findExpiringBefore(UploadedFile.FileStatus.ACTIVE, toLocalDateTime(until));
+        } catch (RuntimeException e) {
+            loadedUntil = previous;
+            throw e;
+        }
+
+        int added = 0;
+        for (UploadedFileRepository.ExpiringFile file : files) {
+            long expirationMs = toEpochMillis(file.getExpiresAt());
+            Long current = scheduled.put(file.getId(), expirationMs);
+            if (current == null || current != expirationMs) {
+                timingWheel.add(file.getId(), expirationMs);
+                added++;
+            }
+        }
+        log.debug("만료 예정 파일 {}개 등록 (~{})", added, toLocalDateTime(until));
+    }
+
+    /**
+     * 휠에서 꺼낸 파일들 중 만료 시각이 그대로인 파일만 삭제합니다.
+     */
+    void expireDue(List<Long> fileIds) {
+        long now = System.currentTimeMillis();
+        for (Long fileId : fileIds) {
+            Long expirationMs = scheduled.get(fileId);
+            if (expirationMs == null) {
+                continue; // 만료 해제됨
+            }
+            if (expirationMs > now) {
+                timingWheel.add(fileId, expirationMs); // 만료 시각이 늦춰짐
+                continue;
+            }
+            if (scheduled.remove(fileId, expirationMs)) {
+                expire(fileId);
+            }
+        }
+    }
+
+    private void expire(Long fileId) {
+        try {
+            // 삭제 여부는 캐시가 아닌 DB 값으로 판단 (다른 노드에서 만료 시각을 바꿨을 수 있음)
+            UploadedFile file = uploadedFileRepository.findById(fileId).orElse(null);
+            if (file == null || file.getStatus() != UploadedFile.FileStatus.ACTIVE
+                    || file.getExpiresAt() == null || file.getExpiresAt().isAfter(LocalDateTime.now())) {
+                return;
+            }
+            storageService.deletePhysicalFile(fileId);
+            log.info("만료된 파일 삭제: {} (ID {}, 만료 {})", file.getOriginalFilename(), fileId, file.getExpiresAt());
+        } catch (Exception e) {
+            log.error("만료된 파일 삭제 실패: ID {} - {}", fileId, e.getMessage());
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                // 남은 구간이 절반 이하가 되면 다음 구간을 미리 읽음
+                long untilNextLoad = loadedUntil - windowMs / 2 - System.currentTimeMillis();
+                if (untilNextLoad <= 0) {
+                    loadNextWindow();
+                    continue;
+                }
+                expireDue(timingWheel.poll(untilNextLoad));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("파일 만료 처리 실패, {}ms 후 재시도: {}", RETRY_DELAY_MS, e.getMessage());
+                try {
+                    Thread.sleep(RETRY_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    public int getScheduledCount() {
+        return scheduled.size();
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
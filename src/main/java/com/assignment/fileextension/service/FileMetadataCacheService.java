@@ -0,0 +1,189 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.MetadataInvalidation;
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.MetadataInvalidationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 파일 메타데이터(UploadedFile) 조회 캐시 (read-through, ID 기준, 개수 제한)
+ *
+ * - 조회 전용입니다. 캐시된 엔티티는 여러 요청이 공유하므로 수정하면 안 됩니다. (수정은 DB에서 다시 읽어서)
+ * - 상태를 바꾸는 곳에서 invalidate를 호출합니다. 바로 한 번, 트랜잭션이 끝난 뒤 한 번 더 제거하여
+ *   커밋 전에 다른 요청이 읽어 간 이전 값이 남지 않게 합니다.
+ * - 다중 노드(cluster-sync)에서는 무효화 기록을 같은 트랜잭션에 저장하고, 각 노드가 sync-interval-ms마다
+ *   최근 기록을 읽어 자기 캐시(다운로드 캐시 포함)에서 제거합니다. 다른 노드의 변경은 최대 한 주기 늦게 보입니다.
+ * - 빠뜨린 무효화가 있어도 ttl-seconds가 지나면 다시 읽습니다. (다운로드 횟수 등 통계 필드는 TTL만큼 늦을 수 있음)
+ */
+@Slf4j
+@Service
+public class FileMetadataCacheService {
+
+    private final MetadataInvalidationRepository metadataInvalidationRepository;
+    private final DownloadCacheService downloadCacheService;
+    private final boolean enabled;
+    private final boolean clusterSync;
+    private final Duration syncLookback;
+    private final Duration retention;
+    private final int maxIdsPerInvalidation;
+    private final Cache<Long, UploadedFile> cache;
+
+    // 무효화할 때마다 증가 (읽는 도중 무효화된 값을 캐시에 넣지 않기 위함)
+    private final AtomicLong invalidations = new AtomicLong();
+    // 다른 노드 동기화: 이미 처리한 무효화 기록 ID와 생성 시각
+    private final ConcurrentHashMap<Long, LocalDateTime> appliedInvalidations = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastSyncAt = LocalDateTime.now();
+
+    public FileMetadataCacheService(
+            MetadataInvalidationRepository metadataInvalidationRepository,
+            DownloadCacheService downloadCacheService,
+            @Value("${app.metadata-cache.enabled:true}") boolean enabled,
+            @Value("${app.metadata-cache.max-entries:10000}") long maxEntries,
+            @Value("${app.metadata-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${app.metadata-cache.cluster-sync:false}") boolean clusterSync,
+            @Value("${app.metadata-cache.sync-lookback-ms:5000}") long syncLookbackMillis, // 커밋 지연, 노드 간 시계 차이
+            @Value("${app.metadata-cache.retention-ms:600000}") long retentionMillis,
+            @Value("${app.metadata-cache.max-ids-per-invalidation:500}") int maxIdsPerInvalidation) {
+        this.metadataInvalidationRepository = metadataInvalidationRepository;
+        this.downloadCacheService = downloadCacheService;
+        this.enabled = enabled;
+        this.clusterSync = clusterSync;
+        this.syncLookback = Duration.ofMillis(syncLookbackMillis);
+        this.retention = Duration.ofMillis(retentionMillis);
+        this.maxIdsPerInvalidation = maxIdsPerInvalidation;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 캐시에서 조회하고, 없으면 loader로 읽어 캐시합니다. 없는 파일은 캐시하지 않습니다.
+     */
+    public UploadedFile get(Long fileId, Function<Long, Optional<UploadedFile>> loader) {
+        if (!enabled) {
+            return loader.apply(fileId).orElse(null);
+        }
+        UploadedFile cached = cache.getIfPresent(fileId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = invalidations.get();
+        UploadedFile loaded = loader.apply(fileId).orElse(null);
+        if (loaded != null && invalidations.get() == generation) {
+            cache.put(fileId, loaded);
+        }
+        return loaded;
+    }
+
+    public void invalidate(Long fileId) {
+        invalidateAll(List.of(fileId));
+    }
+
+    /**
+     * 파일들의 캐시를 제거하고, 다중 노드면 현재 트랜잭션에 무효화 기록을 남깁니다.
+     * 많은 파일을 한꺼번에 바꾸는 작업(일괄 정리)은 기록 한 건으로 전체 무효화합니다.
+     */
+    public void invalidateAll(Collection<Long> fileIds) {
+        if (!enabled || fileIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(fileIds);
+        evictLocal(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictLocal(ids);
+                }
+            });
+        }
+
+        if (clusterSync) {
+            List<MetadataInvalidation> records = new ArrayList<>();
+            if (ids.size() > maxIdsPerInvalidation) {
+                records.add(MetadataInvalidation.builder().build());
+            } else {
+                ids.forEach(fileId -> records.add(MetadataInvalidation.builder().fileId(fileId).build()));
+            }
+            metadataInvalidationRepository.saveAll(records);
+        }
+    }
+
+    /**
+     * 다른 노드가 남긴 무효화 기록을 반영합니다. (자기 노드 기록도 다시 제거하지만 결과는 같음)
+     * 커밋이 늦거나 시계가 어긋난 기록을 놓치지 않도록 sync-lookback-ms만큼 겹쳐 읽고, 이미 반영한 기록은 건너뜁니다.
+     */
+    @Scheduled(fixedDelayString = "${app.metadata-cache.sync-interval-ms:1000}")
+    public void syncInvalidations() {
+        if (!enabled || !clusterSync) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastSyncAt.minus(syncLookback);
+        List<MetadataInvalidation> records = metadataInvalidationRepository.findByCreatedAtGreaterThanEqual(since);
+        lastSyncAt = now;
+        appliedInvalidations.values().removeIf(createdAt -> createdAt.isBefore(since));
+
+        boolean clearAll = false;
+        List<Long> fileIds = new ArrayList<>();
+        for (MetadataInvalidation record : records) {
+            if (appliedInvalidations.putIfAbsent(record.getId(), record.getCreatedAt()) != null) {
+                continue;
+            }
+            if (record.getFileId() == null) {
+                clearAll = true;
+            } else {
+                fileIds.add(record.getFileId());
+            }
+        }
+
+        if (clearAll) {
+            invalidations.incrementAndGet();
+            cache.invalidateAll();
+            downloadCacheService.clear();
+            log.info("다른 노드의 일괄 변경으로 메타데이터 캐시 전체 무효화");
+        } else if (!fileIds.isEmpty()) {
+            evictLocal(fileIds);
+            downloadCacheService.invalidateAll(fileIds); // 다른 노드에서 삭제/격리된 파일을 계속 내려주지 않도록
+        }
+    }
+
+    /**
+     * 모든 노드가 반영했을 만큼 오래된 무효화 기록을 지웁니다.
+     */
+    @Scheduled(fixedDelayString = "${app.metadata-cache.prune-interval-ms:600000}")
+    public void pruneInvalidations() {
+        if (!enabled || !clusterSync) {
+            return;
+        }
+        int deleted = metadataInvalidationRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.debug("메타데이터 무효화 기록 정리: {}건", deleted);
+        }
+    }
+
+    private void evictLocal(Collection<Long> fileIds) {
+        invalidations.incrementAndGet();
+        cache.invalidateAll(fileIds);
+    }
+}
@@ -0,0 +1,302 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.common.id.TimeOrderedIdGenerator;
+import com.assignment.fileextension.entity.FileAuditLog;
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 정책 변경으로 차단된 파일을 즉시 삭제하는 대신 격리 영역으로 옮깁니다.
+ *
+ * - 격리: 배치마다 격리 디렉토리를 만들고 파일을 rename(데이터 복사 없음)으로 옮긴 뒤, 상태를 UPDATE 한 번으로 변경합니다.
+ * - 복구: 배치 단위로 원래 위치로 되돌립니다.
+ * - 보관 기간이 지난 배치는 백그라운드에서 디렉토리째 삭제합니다.
+ */
+@Slf4j
+@Service
+public class FileQuarantineService {
+
+    private final UploadedFileRepository uploadedFileRepository;
+    private final DownloadCacheService downloadCacheService;
+    private final FileMetadataCacheService fileMetadataCacheService;
+    private final StorageQuotaService storageQuotaService;
+    private final AuditService auditService;
+    private final ExtensionStatsService extensionStatsService;
+    private final SignedUrlService signedUrlService;
+    private final ReplicationService replicationService;
+    private final FilenameSearchService filenameSearchService;
+    private final Path quarantineDir;
+    private final long retentionHours;
+
+    public FileQuarantineService(
+            UploadedFileRepository uploadedFileRepository,
+            DownloadCacheService downloadCacheService,
+            FileMetadataCacheService fileMetadataCacheService,
+            StorageQuotaService storageQuotaService,
+            AuditService auditService,
+            ExtensionStatsService extensionStatsService,
+            SignedUrlService signedUrlService,
+            ReplicationService replicationService,
+            FilenameSearchService filenameSearchService,
+            @Value("${app.quarantine.dir:${app.file.upload-dir:uploads}/.quarantine}") String quarantineDir,
+            @Value("${app.quarantine.retention-hours:168}") long retentionHours) { // 7일
+        this.uploadedFileRepository = uploadedFileRepository;
+        this.downloadCacheService = downloadCacheService;
+        this.fileMetadataCacheService = fileMetadataCacheService;
+        this.storageQuotaService = storageQuotaService;
+        this.auditService = auditService;
+        this.extensionStatsService = extensionStatsService;
+        this.signedUrlService = signedUrlService;
+        this.replicationService = replicationService;
+        this.filenameSearchService = filenameSearchService;
+        this.quarantineDir = Paths.get(quarantineDir);
+        this.retentionHours = retentionHours;
+    }
+
+    /**
+     * 파일들을 새 격리 배치로 옮기고 배치 ID를 반환합니다. 옮길 파일이 없으면 null을 반환합니다.
+     * 현재 트랜잭션이 롤백되면 옮긴 파일은 원래 위치로 되돌아갑니다.
+     */
+    @Transactional
+    public String quarantine(List<UploadedFile> files, String reason) throws IOException {
+        if (files.isEmpty()) {
+            return null;
+        }
+
+        String batchId = TimeOrderedIdGenerator.getInstance().nextSortableString();
+        Path batchDir = Files.createDirectories(quarantineDir.resolve(batchId));
+
+        List<Move> moves = new ArrayList<>(files.size());
+        List<UploadedFile> quarantined = new ArrayList<>(files.size());
+        for (UploadedFile file : files) {
+            Path source = Paths.get(file.getFilePath());
+            Path target = batchDir.resolve(file.getStoredFilename());
+            try {
+                if (Files.exists(source)) {
+                    move(source, target);
+                    moves.add(new Move(source, target));
+                }
+                quarantined.add(file);
+            } catch (IOException e) {
+                log.error("파일 격리 실패: {} - {}", file.getOriginalFilename(), e.getMessage());
+            }
+        }
+
+        if (quarantined.isEmpty()) {
+            deleteIfEmpty(batchDir);
+            return null;
+        }
+
+        List<Long> ids = quarantined.stream().map(UploadedFile::getId).toList();
+        try {
+            uploadedFileRepository.markQuarantined(ids, batchId, UploadedFile.FileStatus.QUARANTINED, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            undo(moves);
+            throw e;
+        }
+        undoOnRollback(moves);
+
+        for (UploadedFile file : quarantined) {
+            storageQuotaService.release(file.getOwnerId(), file.getFileSize());
+            extensionStatsService.recordRemoved(file);
+        }
+        fileMetadataCacheService.invalidateAll(ids);
+        downloadCacheService.invalidateAll(ids);
+        signedUrlService.revokeAll(ids);
+        filenameSearchService.removeAll(ids);
+        auditService.logFileEvents(quarantined, FileAuditLog.ActionType.FILE_QUARANTINED, reason);
+
+        log.warn("파일 격리 완료: 배치 {} - {}개 ({})", batchId, quarantined.size(), reason);
+        return batchId;
+    }
+
+    /**
+     * 격리 배치의 파일을 원래 위치로 되돌리고 복구한 파일 수를 반환합니다.
+     */
+    @Transactional
+    public int restore(String batchId) {
+        List<UploadedFile> files = uploadedFileRepository.findByQuarantineBatchIdAndStatus(
+                batchId, UploadedFile.FileStatus.QUARANTINED);
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("격리 배치를 찾을 수 없습니다: " + batchId);
+        }
+
+        Path batchDir = quarantineDir.resolve(batchId);
+        List<Move> moves = new ArrayList<>(files.size());
+        List<UploadedFile> restored = new ArrayList<>(files.size());
+        for (UploadedFile file : files) {
+            Path source = batchDir.resolve(file.getStoredFilename());
+            Path target = Paths.get(file.getFilePath());
+            try {
+                if (Files.exists(source)) {
+                    Files.createDirectories(target.getParent());
+                    move(source, target);
+                    moves.add(new Move(source, target));
+                }
+                restored.add(file);
+            } catch (IOException e) {
+                log.error("파일 복구 실패: {} - {}", file.getOriginalFilename(), e.getMessage());
+            }
+        }
+
+        if (restored.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = restored.stream().map(UploadedFile::getId).toList();
+        try {
+            uploadedFileRepository.endQuarantine(ids, UploadedFile.FileStatus.ACTIVE, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            undo(moves);
+            throw e;
+        }
+        undoOnRollback(moves);
+        fileMetadataCacheService.invalidateAll(ids);
+        filenameSearchService.indexAll(restored);
+
+        for (UploadedFile file : restored) {
+            storageQuotaService.charge(file.getOwnerId(), file.getFileSize());
+            extensionStatsService.recordRestored(file);
+        }
+        auditService.logFileEvents(restored, FileAuditLog.ActionType.FILE_RESTORED, "격리 배치 " + batchId + " 복구");
+        deleteIfEmpty(batchDir);
+
+        log.info("격리 파일 복구 완료: 배치 {} - {}/{}개", batchId, restored.size(), files.size());
+        return restored.size();
+    }
+
+    /**
+     * 격리된 파일 하나를 격리 디렉토리에서 삭제합니다. (격리 상태에서 개별 삭제할 때)
+     * 배치의 마지막 파일이면 배치 디렉토리도 지웁니다. 상태 변경은 호출자가 합니다.
+     */
+    public void deleteQuarantined(UploadedFile file) throws IOException {
+        if (file.getQuarantineBatchId() == null) {
+            return;
+        }
+
+        Path batchDir = quarantineDir.resolve(file.getQuarantineBatchId());
+        Path path = batchDir.resolve(file.getStoredFilename());
+        if (Files.deleteIfExists(path)) {
+            log.info("격리 파일 삭제: {}", path);
+        }
+        deleteIfEmpty(batchDir);
+    }
+
+    /**
+     * 격리 배치 목록을 조회합니다.
+     */
+    @Transactional(readOnly = true)
+    public List<UploadedFileRepository.QuarantineBatchSummary> getBatches() {
+        return uploadedFileRepository.summarizeQuarantineBatches(UploadedFile.FileStatus.QUARANTINED);
+    }
+
+    /**
+     * 보관 기간이 지난 격리 배치를 삭제합니다.
+     * 파일을 먼저 지우고 상태를 바꾸므로 중간에 실패해도 다음 주기에 다시 처리됩니다.
+     */
+    @Scheduled(fixedDelayString = "${app.quarantine.reap-interval-ms:3600000}",
+            initialDelayString = "${app.quarantine.reap-initial-delay-ms:300000}")
+    public int reapExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        List<String> batchIds = uploadedFileRepository.findQuarantineBatchIdsBefore(
+                UploadedFile.FileStatus.QUARANTINED, cutoff);
+
+        int reapedCount = 0;
+        for (String batchId : batchIds) {
+            try {
+                deleteRecursively(quarantineDir.resolve(batchId));
+                List<UploadedFile> files = uploadedFileRepository
+                        .findByQuarantineBatchIdAndStatus(batchId, UploadedFile.FileStatus.QUARANTINED);
+                if (!files.isEmpty()) {
+                    List<Long> ids = files.stream().map(UploadedFile::getId).toList();
+                    uploadedFileRepository.endQuarantine(ids, UploadedFile.FileStatus.DELETED, LocalDateTime.now());
+                    fileMetadataCacheService.invalidateAll(ids);
+                    files.forEach(extensionStatsService::recordReaped);
+                    files.forEach(replicationService::deleteReplica);
+                }
+                reapedCount += files.size();
+                log.info("격리 배치 삭제: {} - {}개", batchId, files.size());
+            } catch (IOException | RuntimeException e) {
+                log.error("격리 배치 삭제 실패: {} - {}", batchId, e.getMessage());
+            }
+        }
+        return reapedCount;
+    }
+
+    /**
+     * 같은 파일시스템 안에서는 rename으로 옮기고, 그렇지 않으면 복사 후 삭제합니다.
+     */
+    private void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            log.warn("rename 불가, 복사로 이동: {} -> {}", source, target);
+            Files.move(source, target);
+        }
+    }
+
+    private void undoOnRollback(List<Move> moves) {
+        if (moves.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    undo(moves);
+                }
+            }
+        });
+    }
+
+    private void undo(List<Move> moves) {
+        for (Move moved : moves) {
+            try {
+                move(moved.target(), moved.source());
+            } catch (IOException e) {
+                log.error("파일 이동 되돌리기 실패: {} -> {} - {}", moved.target(), moved.source(), e.getMessage());
+            }
+        }
+    }
+
+    private void deleteIfEmpty(Path dir) {
+        try {
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            log.debug("격리 디렉토리 유지: {} - {}", dir, e.getMessage());
+        }
+    }
+
+    private void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private record Move(Path source, Path target) {
+    }
+}
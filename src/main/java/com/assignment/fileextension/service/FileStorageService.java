@@ -1,5 +1,8 @@
 package com.assignment.fileextension.service;
 
+import com.assignment.fileextension.common.ChecksumUtils;
+import com.assignment.fileextension.common.FileNameUtils;
+import com.assignment.fileextension.common.id.TimeOrderedIdGenerator;
 import com.assignment.fileextension.entity.UploadedFile;
 import com.assignment.fileextension.repository.UploadedFileRepository;
 import lombok.RequiredArgsConstructor;
@@ -7,18 +10,23 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 @Slf4j
 @Service
@@ -28,6 +36,18 @@ import java.util.UUID;
 public class FileStorageService implements StorageService {
     
     private final UploadedFileRepository uploadedFileRepository;
+    private final DownloadCacheService downloadCacheService;
+    private final StorageQuotaService storageQuotaService;
+    private final FileQuarantineService fileQuarantineService;
+    private final FileDurabilityService fileDurabilityService;
+    private final ExtensionStatsService extensionStatsService;
+    private final SignedUrlService signedUrlService;
+    private final FileEncryptionService fileEncryptionService;
+    private final TreeHashService treeHashService;
+    private final ReplicationService replicationService;
+    private final UploadPublishService uploadPublishService;
+    private final FileMetadataCacheService fileMetadataCacheService;
+    private final FilenameSearchService filenameSearchService;
     
     @Value("${app.file.upload-dir:uploads}")
     private String uploadBaseDir;
@@ -35,10 +55,37 @@ public class FileStorageService implements StorageService {
     @Value("${app.file.max-size:10485760}") // 10MB
     private long maxFileSize;
     
+    @Value("${app.quarantine.enabled:true}") // 차단 시 삭제 대신 격리
+    private boolean quarantineEnabled;
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UploadedFile storeFile(MultipartFile file, String clientId) throws IOException {
+        return storeFile(file, clientId, null);
+    }
+    
+    /**
+     * 파일을 쓰는 동안에는 트랜잭션(DB 연결)을 잡지 않고, 메타데이터 저장만 짧은 트랜잭션으로 처리합니다.
+     */
     @Override
-    public UploadedFile storeFile(MultipartFile file) throws IOException {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UploadedFile storeFile(MultipartFile file, String clientId, LocalDateTime expiresAt) throws IOException {
         validateFile(file);
         
+        // 쓰기 전에 클라이언트 저장 용량 예약 (메모리 카운터만 사용, DB 조회 없음)
+        StorageQuotaService.Reservation reservation = storageQuotaService.reserve(clientId, file.getSize());
+        try {
+            return writeAndSave(file, clientId, expiresAt);
+        } catch (IOException | RuntimeException e) {
+            reservation.cancel();
+            throw e;
+        }
+    }
+    
+    /**
+     * 파일을 스테이징 영역에 쓰고, 메타데이터 저장과 함께 최종 경로로 게시합니다.
+     */
+    private UploadedFile writeAndSave(MultipartFile file, String clientId, LocalDateTime expiresAt) throws IOException {
         // 파일 저장 경로 생성 (년/월/일 구조)
         String datePath = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
         Path uploadPath = Paths.get(uploadBaseDir, datePath);
@@ -53,22 +100,54 @@ public class FileStorageService implements StorageService {
         String extension = extractExtension(originalFilename);
         String storedFilename = generateUniqueFilename(extension);
         
-        // 파일 저장
+        // 파일 저장 (쓰는 동안 평문 체크섬 계산 후 암호화, 내구성 모드에 따라 fsync 완료까지 대기)
+        // 트리 해시 모드에서는 청크 해시를 병렬로 계산하여 단일 SHA-256 스트림이 병목이 되지 않게 함
+        // 최종 경로가 아닌 스테이징 경로에 쓰고, 게시 저널에 기록해 두어 중간에 죽어도 복구 가능
         Path filePath = uploadPath.resolve(storedFilename);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        UploadPublishService.StagedUpload staged = uploadPublishService.stage(storedFilename, filePath);
+        MessageDigest digest = null;
+        TreeHashService.TreeHashingInputStream treeHashing = null;
+        InputStream source = file.getInputStream();
+        if (treeHashService.isTreeMode()) {
+            source = treeHashing = treeHashService.wrap(source);
+        } else {
+            digest = ChecksumUtils.newDigest();
+            source = new DigestInputStream(source, digest);
+        }
+        TreeHashService.TreeHash treeHash;
+        try (InputStream in = fileEncryptionService.encrypt(source)) {
+            fileDurabilityService.write(in, Paths.get(staged.stagingPath()));
+            treeHash = treeHashing != null ? treeHashing.finish() : null;
+        } catch (IOException | RuntimeException e) {
+            uploadPublishService.discard(staged);
+            throw e;
+        }
         
-        // 메타데이터 저장
+        // 메타데이터 저장 (파일이 디스크에 반영된 뒤, 짧은 트랜잭션에서 INSERT 후 최종 경로로 rename)
         UploadedFile uploadedFile = UploadedFile.builder()
                 .originalFilename(originalFilename)
                 .storedFilename(storedFilename)
                 .filePath(filePath.toString())
                 .extension(extension)
+                .extensionSegments(FileNameUtils.extractIndexableExtensions(originalFilename))
                 .fileSize(file.getSize())
                 .contentType(file.getContentType())
+                .checksum(digest != null ? ChecksumUtils.toHex(digest.digest()) : null)
+                .treeHash(treeHash != null ? treeHash.root() : null)
+                .treeChunkSize(treeHash != null ? treeHash.chunkSize() : null)
+                .chunkHashes(treeHash != null ? new ArrayList<>(treeHash.chunkHashes()) : new ArrayList<>())
+                .ownerId(clientId)
+                .expiresAt(expiresAt)
                 .status(UploadedFile.FileStatus.ACTIVE)
                 .build();
         
-        UploadedFile saved = uploadedFileRepository.save(uploadedFile);
+        UploadedFile saved = uploadPublishService.publish(staged, () -> {
+            UploadedFile inserted = uploadedFileRepository.save(uploadedFile);
+            extensionStatsService.recordUpload(inserted);
+            replicationService.enqueue(inserted); // 복제는 커밋 후 백그라운드에서 진행 (업로드는 기다리지 않음)
+            return inserted;
+        });
+        filenameSearchService.index(saved);
         
         log.info("파일 저장 완료: {} -> {}", originalFilename, filePath);
         return saved;
@@ -76,11 +155,12 @@ public class FileStorageService implements StorageService {
     
     @Override
     public void deleteFilesByExtension(String extension) {
+        // 마지막 확장자뿐 아니라 파일명 중간의 확장자(setup.exe.txt 등)도 색인으로 조회
         List<UploadedFile> activeFiles = uploadedFileRepository
-                .findByExtensionAndStatus(extension, UploadedFile.FileStatus.ACTIVE);
+                .findByExtensionSegmentAndStatus(extension, UploadedFile.FileStatus.ACTIVE);
         
-        int deletedCount = 0;
         int protectedCount = 0;
+        List<UploadedFile> targets = new ArrayList<>();
         
         for (UploadedFile file : activeFiles) {
             // 삭제 예외 설정된 파일은 건너뛰기
@@ -90,7 +170,18 @@ public class FileStorageService implements StorageService {
                 protectedCount++;
                 continue;
             }
-            
+            targets.add(file);
+        }
+        
+        if (quarantineEnabled) {
+            quarantineFiles(extension, targets, protectedCount);
+            return;
+        }
+        
+        int deletedCount = 0;
+        List<Long> deletedIds = new ArrayList<>();
+        
+        for (UploadedFile file : targets) {
             try {
                 // 물리적 파일 삭제
                 Path filePath = Paths.get(file.getFilePath());
@@ -99,24 +190,51 @@ public class FileStorageService implements StorageService {
                     log.info("물리적 파일 삭제: {}", filePath);
                 }
                 
+                replicationService.deleteReplica(file);
+                
                 // DB에서 완전 삭제
                 uploadedFileRepository.delete(file);
                 log.warn("파일 삭제: {} (확장자 {} 차단으로 인함)", file.getOriginalFilename(), extension);
+                storageQuotaService.release(file.getOwnerId(), file.getFileSize());
+                extensionStatsService.recordRemoved(file);
+                deletedIds.add(file.getId());
                 deletedCount++;
                 
             } catch (IOException e) {
                 log.error("파일 삭제 실패: {} - {}", file.getOriginalFilename(), e.getMessage());
                 // 물리적 파일 삭제 실패해도 DB는 삭제
+                replicationService.deleteReplica(file);
                 uploadedFileRepository.delete(file);
+                storageQuotaService.release(file.getOwnerId(), file.getFileSize());
+                extensionStatsService.recordRemoved(file);
+                deletedIds.add(file.getId());
                 deletedCount++;
             }
         }
         
+        fileMetadataCacheService.invalidateAll(deletedIds);
+        downloadCacheService.invalidateAll(deletedIds);
+        signedUrlService.revokeAll(deletedIds);
+        filenameSearchService.removeAll(deletedIds);
+        
         if (deletedCount > 0 || protectedCount > 0) {
             log.info("확장자 {} 처리 완료 - 삭제: {}개, 보호: {}개", extension, deletedCount, protectedCount);
         }
     }
     
+    /**
+     * 차단된 확장자의 파일을 격리 배치로 옮깁니다. (복구 가능, 보관 기간 후 삭제)
+     */
+    private void quarantineFiles(String extension, List<UploadedFile> targets, int protectedCount) {
+        try {
+            String batchId = fileQuarantineService.quarantine(targets, "확장자 " + extension + " 차단");
+            log.info("확장자 {} 처리 완료 - 격리: {}개 (배치 {}), 보호: {}개", 
+                    extension, targets.size(), batchId, protectedCount);
+        } catch (IOException e) {
+            throw new UncheckedIOException("격리 디렉토리를 만들 수 없습니다.", e);
+        }
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<UploadedFile> getFilesByStatus(UploadedFile.FileStatus status) {
@@ -126,13 +244,25 @@ public class FileStorageService implements StorageService {
     @Override
     @Transactional(readOnly = true)
     public List<UploadedFile> getFilesByExtension(String extension) {
-        return uploadedFileRepository.findByExtension(extension);
+        return uploadedFileRepository.findByExtensionSegment(extension);
     }
     
+    /**
+     * 메타데이터 캐시를 거쳐 조회합니다. 반환된 엔티티는 공유되므로 수정하지 않습니다.
+     * (캐시 적중 시 커넥션을 잡지 않도록 트랜잭션은 있으면 참여만 함)
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UploadedFile findById(Long fileId) {
-        return uploadedFileRepository.findById(fileId).orElse(null);
+        return fileMetadataCacheService.get(fileId, uploadedFileRepository::findById);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> getChunkHashes(Long fileId) {
+        UploadedFile file = uploadedFileRepository.findById(fileId)
+                .orElseThrow(() -> new IllegalArgumentException("파일을 찾을 수 없습니다."));
+        return List.copyOf(file.getChunkHashes());
     }
     
     @Override
@@ -140,15 +270,35 @@ public class FileStorageService implements StorageService {
         UploadedFile file = uploadedFileRepository.findById(fileId)
                 .orElseThrow(() -> new IllegalArgumentException("파일을 찾을 수 없습니다."));
         
-        Path filePath = Paths.get(file.getFilePath());
-        
-        if (Files.exists(filePath)) {
-            Files.delete(filePath);
-            log.info("물리적 파일 삭제: {}", filePath);
+        UploadedFile.FileStatus previousStatus = file.getStatus();
+        if (previousStatus == UploadedFile.FileStatus.QUARANTINED) {
+            // 격리된 파일은 원래 경로가 아닌 격리 배치 디렉토리에 있음
+            fileQuarantineService.deleteQuarantined(file);
+        } else {
+            Path filePath = Paths.get(file.getFilePath());
+            
+            if (Files.exists(filePath)) {
+                Files.delete(filePath);
+                log.info("물리적 파일 삭제: {}", filePath);
+            }
         }
+        replicationService.deleteReplica(file);
         
         file.markAsDeleted();
         uploadedFileRepository.save(file);
+        fileMetadataCacheService.invalidate(fileId);
+        downloadCacheService.invalidate(fileId);
+        signedUrlService.revoke(fileId);
+        filenameSearchService.remove(fileId);
+        
+        // 이미 삭제된 파일을 다시 삭제하는 경우는 용량과 통계에 반영하지 않음
+        // (격리된 파일은 격리할 때 용량을 반환함)
+        if (previousStatus == UploadedFile.FileStatus.ACTIVE) {
+            storageQuotaService.release(file.getOwnerId(), file.getFileSize());
+            extensionStatsService.recordDeleted(file);
+        } else if (previousStatus == UploadedFile.FileStatus.QUARANTINED) {
+            extensionStatsService.recordReaped(file);
+        }
     }
     
     @Override
@@ -158,6 +308,8 @@ public class FileStorageService implements StorageService {
         
         file.setDeletionException(deletionException);
         uploadedFileRepository.save(file);
+        fileMetadataCacheService.invalidate(fileId);
+        downloadCacheService.invalidate(fileId);
         
         log.info("파일 삭제 예외 설정 변경: {} - {} -> {}", 
                 file.getOriginalFilename(), 
@@ -165,6 +317,20 @@ public class FileStorageService implements StorageService {
                 deletionException ? "삭제 예외 적용" : "일반 파일");
     }
     
+    @Override
+    public UploadedFile setExpiration(Long fileId, LocalDateTime expiresAt) {
+        UploadedFile file = uploadedFileRepository.findById(fileId)
+                .orElseThrow(() -> new IllegalArgumentException("파일을 찾을 수 없습니다."));
+        
+        file.updateExpiresAt(expiresAt);
+        UploadedFile saved = uploadedFileRepository.save(file);
+        fileMetadataCacheService.invalidate(fileId);
+        
+        log.info("파일 만료 시각 변경: {} -> {}", file.getOriginalFilename(), 
+                expiresAt != null ? expiresAt : "만료 없음");
+        return saved;
+    }
+    
     
     private void validateFile(MultipartFile file) {
         if (file.isEmpty()) {
@@ -188,8 +354,11 @@ public class FileStorageService implements StorageService {
         return filename.substring(filename.lastIndexOf(".") + 1).toLowerCase();
     }
     
+    /**
+     * 시간 순서 ID 기반 파일명 생성 (storedFilename 인덱스 지역성 확보)
+     */
     private String generateUniqueFilename(String extension) {
-        String uuid = UUID.randomUUID().toString();
-        return extension.isEmpty() ? uuid : uuid + "." + extension;
+        String id = TimeOrderedIdGenerator.getInstance().nextSortableString();
+        return extension.isEmpty() ? id : id + "." + extension;
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.assignment.fileextension.service;
 
 import com.assignment.fileextension.common.FileExtensionConstants;
+import com.assignment.fileextension.common.FileNameUtils;
 import com.assignment.fileextension.enums.BlockReason;
 import com.assignment.fileextension.exception.FileValidationException;
 import lombok.RequiredArgsConstructor;
@@ -95,29 +96,10 @@ public class FileValidationService {
     
     /**
      * 파일명에서 모든 확장자를 추출
-     * 예: "document.backup.exe.txt" -> ["txt", "exe", "backup"]
+     * 예: "document.backup.exe.txt" -> ["backup", "exe", "txt"]
      */
     private List<String> extractAllExtensions(String filename) {
-        // 파일명을 '.'으로 분리
-        String[] parts = filename.split("\\.");
-        
-        // 첫 번째 부분(파일명)을 제외한 나머지를 확장자로 간주
-        if (parts.length <= 1) {
-            return Arrays.asList(); // 확장자 없음
-        }
-        
-        // 마지막 부분부터 역순으로 확장자 추출 (우선순위 고려)
-        Set<String> extensions = new HashSet<>();
-        for (int i = 1; i < parts.length; i++) {
-            String extension = parts[i].toLowerCase().trim();
-            
-            // 빈 문자열이나 숫자만 있는 경우 제외
-            if (!extension.isEmpty() && !extension.matches("\\d+")) {
-                extensions.add(extension);
-            }
-        }
-        
-        return new ArrayList<>(extensions);
+        return new ArrayList<>(FileNameUtils.extractAllExtensions(filename));
     }
     
     /**
@@ -0,0 +1,425 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 원본 파일명 부분 일치 검색 (트라이그램 색인)
+ *
+ * - PostgreSQL: pg_trgm GIN 색인으로 LIKE '%검색어%'를 처리합니다. (확장과 색인은 시작 시 없으면 생성)
+ * - 그 밖의 DB(H2 등): 활성 파일의 트라이그램 역색인을 메모리에 두고, 후보 중 검색어를 포함하는 파일만 DB에서 읽습니다.
+ *   삭제/격리된 파일은 커밋 후 색인에서 빼고, 복구된 파일은 다시 넣습니다.
+ * - 정렬은 짧은 파일명 순입니다. 검색어의 트라이그램이 모두 포함된 파일끼리는 파일명이 짧을수록 트라이그램 유사도가 높습니다.
+ *   같은 길이는 id 순이며, 다음 페이지는 (길이, id) 키셋 커서로 이어서 조회합니다.
+ */
+@Slf4j
+@Service
+public class FilenameSearchService {
+
+    private static final int GRAM = 3;
+    private static final Comparator<IndexEntry> ORDER =
+            Comparator.comparingInt(IndexEntry::length).thenComparingLong(IndexEntry::id);
+
+    public enum SearchMode {
+        SQL,     // 색인 준비 전 또는 pg_trgm 색인 없이 DB에서 LIKE
+        PG_TRGM, // PostgreSQL pg_trgm GIN 색인
+        MEMORY   // 메모리 역색인
+    }
+
+    private final UploadedFileRepository uploadedFileRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final String configuredMode;
+    private final int minQueryLength;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int indexBatchSize;
+
+    // 메모리 역색인 (파일 ID -> 색인 항목, 트라이그램 -> 검색 결과 순서로 정렬된 항목)
+    // 변경은 indexLock 안에서만 하고 검색은 잠그지 않음
+    private final Map<Long, IndexEntry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Posting> postings = new ConcurrentHashMap<>();
+    private final ReentrantLock indexLock = new ReentrantLock();
+    private volatile boolean memoryIndex = false; // 색인 구성 중에도 변경을 반영
+    private volatile SearchMode mode = SearchMode.SQL;
+
+    public FilenameSearchService(
+            UploadedFileRepository uploadedFileRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.search.mode:auto}") String configuredMode, // auto | pg-trgm | memory | sql
+            @Value("${app.search.min-query-length:3}") int minQueryLength,
+            @Value("${app.search.default-page-size:20}") int defaultPageSize,
+            @Value("${app.search.max-page-size:100}") int maxPageSize,
+            @Value("${app.search.index-batch-size:1000}") int indexBatchSize) {
+        this.uploadedFileRepository = uploadedFileRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.configuredMode = configuredMode.trim().toLowerCase(Locale.ROOT);
+        this.minQueryLength = Math.max(GRAM, minQueryLength);
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.indexBatchSize = indexBatchSize;
+    }
+
+    /**
+     * 시작 시 DB에 맞는 색인을 준비합니다. 준비되기 전의 검색은 DB의 LIKE로 처리합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        String target = configuredMode;
+        if ("auto".equals(target)) {
+            target = isPostgres() ? "pg-trgm" : "memory";
+        }
+
+        if ("pg-trgm".equals(target)) {
+            if (createTrigramIndex()) {
+                mode = SearchMode.PG_TRGM;
+            }
+        } else if ("memory".equals(target)) {
+            memoryIndex = true;
+            int indexed = rebuildMemoryIndex();
+            mode = SearchMode.MEMORY;
+            log.info("파일명 검색 메모리 색인 구성: {}개 파일, 트라이그램 {}개", indexed, postings.size());
+        }
+        log.info("파일명 검색 모드: {}", mode);
+    }
+
+    public SearchMode getMode() {
+        return mode;
+    }
+
+    /**
+     * 새로 저장되거나 복구된 파일을 커밋 후 메모리 색인에 추가합니다. (PostgreSQL에서는 DB 색인이 함께 갱신되므로 할 일 없음)
+     */
+    public void index(UploadedFile file) {
+        if (memoryIndex && file.getId() != null && file.getOriginalFilename() != null) {
+            Long fileId = file.getId();
+            String originalFilename = file.getOriginalFilename();
+            afterCommit(() -> add(fileId, originalFilename));
+        }
+    }
+
+    public void indexAll(Collection<UploadedFile> files) {
+        files.forEach(this::index);
+    }
+
+    /**
+     * 삭제/격리/정리된 파일을 커밋 후 메모리 색인에서 뺍니다.
+     */
+    public void remove(Long fileId) {
+        removeAll(List.of(fileId));
+    }
+
+    public void removeAll(Collection<Long> fileIds) {
+        if (memoryIndex && !fileIds.isEmpty()) {
+            List<Long> ids = List.copyOf(fileIds);
+            afterCommit(() -> ids.forEach(this::removeEntry));
+        }
+    }
+
+    /**
+     * 색인된 파일 수 (모니터링용)
+     */
+    public int getIndexedCount() {
+        return entries.size();
+    }
+
+    /**
+     * 파일명에 검색어가 포함된 활성 파일을 한 페이지 조회합니다.
+     *
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     */
+    public SearchPage search(String query, String cursor, Integer size) {
+        String normalized = query != null ? query.trim().toLowerCase(Locale.ROOT) : "";
+        if (normalized.codePointCount(0, normalized.length()) < minQueryLength) {
+            throw new IllegalArgumentException("검색어는 " + minQueryLength + "자 이상이어야 합니다.");
+        }
+        int pageSize = size != null ? size : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("size는 1~" + maxPageSize + " 사이여야 합니다.");
+        }
+        Cursor after = Cursor.parse(cursor);
+
+        // 다음 페이지가 있는지 알기 위해 한 건 더 조회
+        List<UploadedFile> files = mode == SearchMode.MEMORY
+                ? searchMemory(normalized, after, pageSize + 1)
+                : load(uploadedFileRepository.searchIdsByFilename(
+                        likePattern(normalized), after.length(), after.id(), pageSize + 1));
+
+        String nextCursor = null;
+        if (files.size() > pageSize) {
+            files = files.subList(0, pageSize);
+            nextCursor = Cursor.of(files.get(pageSize - 1)).encode();
+        }
+        return new SearchPage(List.copyOf(files), nextCursor);
+    }
+
+    /**
+     * 가장 적은 파일이 걸린 트라이그램의 목록을 커서 다음부터 정렬 순서대로 훑고, limit개를 채우면 멈춥니다.
+     * 색인에는 활성 파일만 있지만 커밋 직전의 변경이 있을 수 있어 DB에서 읽은 상태로 한 번 더 거릅니다.
+     */
+    private List<UploadedFile> searchMemory(String query, Cursor after, int limit) {
+        Posting smallest = null;
+        for (String gram : trigrams(query)) {
+            Posting posting = postings.get(gram);
+            if (posting == null) {
+                return List.of();
+            }
+            if (smallest == null || posting.size < smallest.size) {
+                smallest = posting;
+            }
+        }
+
+        Iterator<IndexEntry> candidates = smallest.entries
+                .tailSet(new IndexEntry(after.id(), "", after.length()), false)
+                .iterator();
+        List<UploadedFile> result = new ArrayList<>(limit);
+        while (result.size() < limit && candidates.hasNext()) {
+            List<Long> ids = new ArrayList<>(limit - result.size());
+            while (ids.size() < limit - result.size() && candidates.hasNext()) {
+                IndexEntry entry = candidates.next();
+                if (entry.name().contains(query)) {
+                    ids.add(entry.id());
+                }
+            }
+            for (UploadedFile file : load(ids)) {
+                if (file.getStatus() == UploadedFile.FileStatus.ACTIVE && result.size() < limit) {
+                    result.add(file);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * ID 순서대로 파일을 읽습니다. (없어진 파일은 제외)
+     */
+    private List<UploadedFile> load(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, UploadedFile> byId = new HashMap<>();
+        uploadedFileRepository.findAllById(ids).forEach(file -> byId.put(file.getId(), file));
+        return ids.stream().map(byId::get).filter(file -> file != null).toList();
+    }
+
+    private int rebuildMemoryIndex() {
+        int indexed = 0;
+        Long lastId = 0L;
+        while (true) {
+            List<UploadedFileRepository.FileName> files = uploadedFileRepository.findFileNamesAfter(
+                    UploadedFile.FileStatus.ACTIVE, lastId, PageRequest.of(0, indexBatchSize));
+            for (UploadedFileRepository.FileName file : files) {
+                add(file.getId(), file.getOriginalFilename());
+            }
+            indexed += files.size();
+            if (files.size() < indexBatchSize) {
+                return indexed;
+            }
+            lastId = files.get(files.size() - 1).getId();
+        }
+    }
+
+    private void add(Long fileId, String originalFilename) {
+        String name = originalFilename.toLowerCase(Locale.ROOT);
+        IndexEntry entry = new IndexEntry(fileId, name, name.codePointCount(0, name.length()));
+        indexLock.lock();
+        try {
+            removeEntry(fileId);
+            entries.put(fileId, entry);
+            for (String gram : trigrams(name)) {
+                Posting posting = postings.computeIfAbsent(gram, key -> new Posting());
+                if (posting.entries.add(entry)) {
+                    posting.size++;
+                }
+            }
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    private void removeEntry(Long fileId) {
+        indexLock.lock();
+        try {
+            IndexEntry entry = entries.remove(fileId);
+            if (entry == null) {
+                return;
+            }
+            for (String gram : trigrams(entry.name())) {
+                Posting posting = postings.get(gram);
+                if (posting != null && posting.entries.remove(entry) && --posting.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋 후에, 아니면 바로 실행합니다. (롤백된 변경은 색인에 반영하지 않음)
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    private boolean isPostgres() {
+        try {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (DataAccessException e) {
+            log.warn("DB 종류 확인 실패: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * pg_trgm 확장과 파일명 색인을 만듭니다. (이미 있으면 그대로, 테이블을 잠그지 않도록 CONCURRENTLY)
+     * 자주 나오는 검색어는 정렬 순서의 색인을 따라 읽는 편이 빠르므로 (길이, id) 색인도 함께 둡니다.
+     * 트라이그램 색인이 유효할 때만 true를 반환합니다.
+     */
+    private boolean createTrigramIndex() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            boolean trigramValid = createIndex("idx_uploaded_filename_trgm",
+                    "ON uploaded_files USING gin (LOWER(original_filename) gin_trgm_ops)");
+            if (!createIndex("idx_uploaded_filename_length",
+                    "ON uploaded_files (LENGTH(original_filename), id) WHERE status = 'ACTIVE'")) {
+                log.warn("파일명 길이 색인이 유효하지 않습니다. 다음 시작 시 다시 만듭니다.");
+            }
+            if (!trigramValid) {
+                log.warn("pg_trgm 색인이 유효하지 않아 LIKE 검색으로 처리합니다. 다음 시작 시 다시 만듭니다.");
+            }
+            return trigramValid;
+        } catch (DataAccessException e) {
+            log.warn("pg_trgm 색인 생성 실패, LIKE 검색으로 처리합니다: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 색인을 만들고 유효한지 반환합니다.
+     * CONCURRENTLY 생성이 중간에 실패하면 INVALID 색인이 남고 IF NOT EXISTS는 이를 계속 건너뛰므로, 지우고 다시 만듭니다.
+     */
+    private boolean createIndex(String name, String definition) {
+        if (Boolean.FALSE.equals(indexValidity(name))) {
+            log.warn("유효하지 않은 색인을 다시 만듭니다: {}", name);
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+        }
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " " + definition);
+        return Boolean.TRUE.equals(indexValidity(name));
+    }
+
+    /**
+     * 색인의 pg_index.indisvalid (색인이 없으면 null)
+     */
+    private Boolean indexValidity(String name) {
+        List<Boolean> valid = jdbcTemplate.queryForList(
+                "SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)", Boolean.class, name);
+        return valid.isEmpty() ? null : valid.get(0);
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        int[] codePoints = text.codePoints().toArray();
+        for (int i = 0; i + GRAM <= codePoints.length; i++) {
+            grams.add(new String(codePoints, i, GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * 부분 일치 LIKE 패턴 (쿼리의 ESCAPE '!'와 맞춰 !, %, _ 를 이스케이프)
+     */
+    private static String likePattern(String query) {
+        String escaped = query.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * 검색 결과 한 페이지 (nextCursor가 null이면 마지막 페이지)
+     */
+    public record SearchPage(List<UploadedFile> items, String nextCursor) {
+    }
+
+    /**
+     * 색인 항목 (소문자 파일명, 정렬 키는 파일명 길이와 id)
+     */
+    private record IndexEntry(long id, String name, int length) {
+    }
+
+    /**
+     * 트라이그램 하나의 항목 목록 (size는 indexLock 안에서만 변경)
+     */
+    private static final class Posting {
+        final NavigableSet<IndexEntry> entries = new ConcurrentSkipListSet<>(ORDER);
+        volatile int size;
+    }
+
+    /**
+     * 키셋 커서 (마지막 파일의 파일명 길이, id)
+     */
+    private record Cursor(int length, long id) {
+
+        static final Cursor FIRST = new Cursor(-1, Long.MIN_VALUE);
+
+        static Cursor of(UploadedFile file) {
+            String name = file.getOriginalFilename();
+            return new Cursor(name.codePointCount(0, name.length()), file.getId());
+        }
+
+        static Cursor parse(String value) {
+            if (value == null || value.isBlank()) {
+                return FIRST;
+            }
+            String[] parts = value.split(":");
+            try {
+                if (parts.length == 2) {
+                    return new Cursor(Integer.parseInt(parts[0]), Long.parseLong(parts[1]));
+                }
+            } catch (NumberFormatException e) {
+                // 아래에서 처리
+            }
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+
+        String encode() {
+            return length + ":" + id;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.common.ChecksumUtils;
+import com.assignment.fileextension.common.IoRateLimiter;
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 저장된 파일을 주기적으로 다시 해시하여 저장 시 계산한 체크섬과 비교합니다. (bit rot, 부분 쓰기 탐지)
+ *
+ * 검증은 전용 스레드에서 초당 바이트 수 제한(max-bytes-per-second)을 두고 실행되어 요청 처리와 디스크 대역폭을 나눕니다.
+ * (스레드 우선순위는 Linux HotSpot에서 -XX:ThreadPriorityPolicy 없이는 무시되므로 사용하지 않음)
+ *
+ * 검증 대상은 배치로 먼저 읽고 해시는 속도 제한을 받으며 나중에 계산하므로, 그 사이 삭제/격리/만료된 파일은
+ * 손상으로 표시하지 않습니다. (활성 상태일 때만 표시)
+ * 손상된 파일은 {@link #getCorruptedFiles()}로 조회합니다.
+ */
+@Slf4j
+@Service
+public class IntegrityVerificationService {
+
+    private final UploadedFileRepository uploadedFileRepository;
+    private final FileMetadataCacheService fileMetadataCacheService;
+    private final FileEncryptionService fileEncryptionService;
+    private final TreeHashService treeHashService;
+    private final BufferPoolService bufferPoolService;
+    private final long maxBytesPerSecond;
+    private final int batchSize;
+    private final ExecutorService verifierExecutor;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public IntegrityVerificationService(
+            UploadedFileRepository uploadedFileRepository,
+            FileMetadataCacheService fileMetadataCacheService,
+            FileEncryptionService fileEncryptionService,
+            TreeHashService treeHashService,
+            BufferPoolService bufferPoolService,
+            @Value("${app.integrity.max-bytes-per-second:10485760}") long maxBytesPerSecond, // 10MB/s
+            @Value("${app.integrity.batch-size:100}") int batchSize) {
+        this.uploadedFileRepository = uploadedFileRepository;
+        this.fileMetadataCacheService = fileMetadataCacheService;
+        this.fileEncryptionService = fileEncryptionService;
+        this.treeHashService = treeHashService;
+        this.bufferPoolService = bufferPoolService;
+        this.maxBytesPerSecond = maxBytesPerSecond;
+        this.batchSize = batchSize;
+        this.verifierExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "integrity-verifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 주기적으로 전체 검증을 시작합니다. 이전 검증이 진행 중이면 건너뜁니다.
+     */
+    @Scheduled(fixedDelayString = "${app.integrity.verify-interval-ms:86400000}",
+            initialDelayString = "${app.integrity.initial-delay-ms:600000}")
+    public void scheduleVerification() {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("무결성 검증이 이미 진행 중입니다.");
+            return;
+        }
+
+        verifierExecutor.execute(() -> {
+            try {
+                verifyAll();
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    /**
+     * 활성 파일 전체를 id 순서로 검증하고 불일치 건수를 반환합니다.
+     */
+    public VerificationSummary verifyAll() {
+        IoRateLimiter rateLimiter = new IoRateLimiter(maxBytesPerSecond);
+        long startNanos = System.nanoTime();
+        int verifiedCount = 0;
+        int corruptedCount = 0;
+        Long lastId = 0L;
+
+        try {
+            while (true) {
+                List<UploadedFile> batch = uploadedFileRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                        UploadedFile.FileStatus.ACTIVE, lastId, PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                List<Long> verifiedIds = new ArrayList<>();
+                for (UploadedFile file : batch) {
+                    lastId = file.getId();
+                    if (file.getChecksum() == null && file.getTreeHash() == null) {
+                        continue; // 체크섬 도입 이전에 저장된 파일
+                    }
+
+                    if (verify(file, rateLimiter)) {
+                        verifiedIds.add(file.getId());
+                        if (file.isCorrupted()) {
+                            fileMetadataCacheService.invalidate(file.getId()); // 손상 표시 해제
+                        }
+                    } else if (uploadedFileRepository.markCorrupted(
+                            file.getId(), UploadedFile.FileStatus.ACTIVE, LocalDateTime.now()) > 0) {
+                        fileMetadataCacheService.invalidate(file.getId());
+                        corruptedCount++;
+                    } else {
+                        log.info("무결성 검증 중 상태가 바뀐 파일은 손상 표시하지 않음: ID {}", file.getId());
+                    }
+                }
+
+                if (!verifiedIds.isEmpty()) {
+                    uploadedFileRepository.markChecksumVerified(verifiedIds, LocalDateTime.now());
+                    verifiedCount += verifiedIds.size();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("무결성 검증 중단됨");
+        }
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("무결성 검증 완료 - 정상: {}개, 불일치: {}개, 소요: {}ms", verifiedCount, corruptedCount, elapsedMillis);
+        return new VerificationSummary(verifiedCount, corruptedCount, elapsedMillis);
+    }
+
+    /**
+     * 무결성 검증에 실패한 활성 파일 목록을 조회합니다.
+     */
+    public List<UploadedFile> getCorruptedFiles() {
+        return uploadedFileRepository.findByStatusAndCorruptedTrueOrderByIdAsc(UploadedFile.FileStatus.ACTIVE);
+    }
+
+    /**
+     * 파일을 다시 해시하여 저장된 체크섬(트리 해시로 저장된 파일은 루트 해시)과 비교합니다.
+     */
+    private boolean verify(UploadedFile file, IoRateLimiter rateLimiter) throws InterruptedException {
+        boolean treeHashed = file.getTreeHash() != null;
+        String expected = treeHashed ? file.getTreeHash() : file.getChecksum();
+        String actual;
+
+        // 저장된 체크섬은 평문 기준 (암호화된 파일은 청크 인증도 함께 검증됨)
+        try (InputStream in = fileEncryptionService.openInputStream(Paths.get(file.getFilePath()))) {
+            if (treeHashed) {
+                // 저장 당시 청크 크기로 다시 계산해야 같은 트리가 나옴
+                TreeHashService.TreeHashingInputStream hashing = treeHashService.wrap(in, file.getTreeChunkSize());
+                drain(hashing, null, rateLimiter);
+                actual = hashing.finish().root();
+            } else {
+                MessageDigest digest = ChecksumUtils.newDigest();
+                drain(in, digest, rateLimiter);
+                actual = ChecksumUtils.toHex(digest.digest());
+            }
+        } catch (NoSuchFileException e) {
+            log.error("무결성 검증 실패 - 파일 없음: ID {} ({})", file.getId(), file.getFilePath());
+            return false;
+        } catch (IOException e) {
+            log.error("무결성 검증 실패 - 읽기 오류: ID {} - {}", file.getId(), e.getMessage());
+            return false;
+        }
+
+        if (!actual.equalsIgnoreCase(expected)) {
+            log.error("무결성 검증 실패 - {} 불일치: ID {} (저장: {}, 실제: {})",
+                    treeHashed ? "트리 해시" : "체크섬", file.getId(), expected, actual);
+            return false;
+        }
+        return true;
+    }
+
+    private void drain(InputStream in, MessageDigest digest, IoRateLimiter rateLimiter)
+            throws IOException, InterruptedException {
+        ReadableByteChannel source = Channels.newChannel(in);
+        try (BufferPoolService.PooledBuffer pooled = bufferPoolService.acquire(BufferPoolService.IoClass.STREAM)) {
+            ByteBuffer buffer = pooled.buffer();
+            int read;
+            while ((read = source.read(buffer)) != -1) {
+                buffer.flip();
+                if (digest != null) {
+                    digest.update(buffer);
+                }
+                buffer.clear();
+                rateLimiter.acquire(read);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        verifierExecutor.shutdownNow();
+    }
+
+    /**
+     * 검증 결과 요약
+     */
+    public record VerificationSummary(int verifiedCount, int corruptedCount, long elapsedMillis) {
+    }
+}
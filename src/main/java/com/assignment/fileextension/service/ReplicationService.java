@@ -0,0 +1,351 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.common.ChecksumUtils;
+import com.assignment.fileextension.entity.ReplicationTask;
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.ReplicationTaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 저장된 파일을 보조 디렉토리(다른 디스크나 다른 노드의 마운트)로 비동기 복제합니다.
+ *
+ * - 업로드는 복제 작업을 메타데이터와 같은 트랜잭션에 등록만 하고 기다리지 않습니다.
+ * - 주기적으로 대기 작업을 조회하여 정해진 수의 복제 스레드로 복사하고, 복사본을 다시 읽어 체크섬을 비교한 뒤
+ *   임시 파일을 제자리로 옮깁니다. 실패한 작업은 지수 백오프로 재시도합니다.
+ * - 원본이 없는 활성 파일은 복제본에서 읽습니다. (장애 조치 읽기)
+ */
+@Slf4j
+@Service
+public class ReplicationService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ReplicationTaskRepository replicationTaskRepository;
+    private final BufferPoolService bufferPoolService;
+    private final boolean enabled;
+    private final Path uploadBaseDir;
+    private final Path replicaBaseDir;
+    private final int batchSize;
+    private final long retryBaseMillis;
+    private final long retryMaxMillis;
+    private final ExecutorService replicationExecutor;
+
+    private final AtomicLong replicatedCount = new AtomicLong();
+    private final AtomicLong failedAttempts = new AtomicLong();
+    private final AtomicLong failoverReads = new AtomicLong();
+    private volatile LocalDateTime lastReplicatedAt;
+
+    public ReplicationService(
+            ReplicationTaskRepository replicationTaskRepository,
+            BufferPoolService bufferPoolService,
+            @Value("${app.replication.enabled:false}") boolean enabled,
+            @Value("${app.replication.target-dir:}") String targetDir,
+            @Value("${app.file.upload-dir:uploads}") String uploadBaseDir,
+            @Value("${app.replication.parallelism:2}") int parallelism,
+            @Value("${app.replication.batch-size:100}") int batchSize,
+            @Value("${app.replication.retry-base-ms:5000}") long retryBaseMillis,
+            @Value("${app.replication.retry-max-ms:600000}") long retryMaxMillis) { // 10분
+        if (enabled && targetDir.isBlank()) {
+            throw new IllegalStateException("복제를 사용하려면 app.replication.target-dir를 설정해야 합니다.");
+        }
+        this.replicationTaskRepository = replicationTaskRepository;
+        this.bufferPoolService = bufferPoolService;
+        this.enabled = enabled;
+        this.uploadBaseDir = Paths.get(uploadBaseDir).toAbsolutePath().normalize();
+        this.replicaBaseDir = enabled ? Paths.get(targetDir).toAbsolutePath().normalize() : null;
+        this.batchSize = batchSize;
+        this.retryBaseMillis = retryBaseMillis;
+        this.retryMaxMillis = retryMaxMillis;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.replicationExecutor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "file-replicator-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            log.info("파일 복제 사용: {} -> {} (병렬도 {})", this.uploadBaseDir, replicaBaseDir, parallelism);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        replicationExecutor.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 새로 저장된 파일의 복제 작업을 등록합니다. 호출한 트랜잭션과 함께 커밋됩니다.
+     */
+    public void enqueue(UploadedFile file) {
+        if (!enabled) {
+            return;
+        }
+        replicationTaskRepository.save(ReplicationTask.builder()
+                .fileId(file.getId())
+                .filePath(file.getFilePath())
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * 시도 시각이 된 복제 작업을 병렬로 처리합니다. 한 주기에 최대 batchSize개까지 처리합니다.
+     */
+    @Scheduled(fixedDelayString = "${app.replication.poll-interval-ms:1000}")
+    public ReplicationSummary replicatePending() {
+        if (!enabled) {
+            return new ReplicationSummary(0, 0);
+        }
+
+        List<ReplicationTask> due = replicationTaskRepository.findDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return new ReplicationSummary(0, 0);
+        }
+
+        List<Callable<Boolean>> jobs = new ArrayList<>(due.size());
+        for (ReplicationTask task : due) {
+            jobs.add(() -> process(task));
+        }
+
+        int succeeded = 0;
+        int failed = 0;
+        try {
+            for (Future<Boolean> result : replicationExecutor.invokeAll(jobs)) {
+                if (result.get()) {
+                    succeeded++;
+                } else {
+                    failed++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("파일 복제 중단됨");
+        } catch (ExecutionException e) {
+            log.error("파일 복제 작업 오류: {}", e.getCause().getMessage());
+        }
+
+        log.debug("파일 복제 - 완료: {}개, 실패: {}개", succeeded, failed);
+        return new ReplicationSummary(succeeded, failed);
+    }
+
+    /**
+     * 활성 파일의 원본이 없고 복제본이 있으면 복제본 경로를, 그 밖에는 원본 경로를 반환합니다.
+     * 격리/삭제된 파일은 복제본이 남아 있어도 원본 경로를 반환합니다.
+     */
+    public Path resolveForRead(UploadedFile file) {
+        Path primary = Paths.get(file.getFilePath());
+        if (!isPrimaryMissing(file)) {
+            return primary;
+        }
+
+        Path replica = replicaPathOf(primary);
+        if (replica == null || !Files.exists(replica)) {
+            return primary;
+        }
+        failoverReads.incrementAndGet();
+        log.warn("원본 파일 없음, 복제본에서 읽음: ID {} ({})", file.getId(), replica);
+        return replica;
+    }
+
+    /**
+     * 복제 사용 중이고 활성 파일의 원본이 없는지 확인합니다. (장애 조치 읽기 대상)
+     */
+    public boolean isPrimaryMissing(UploadedFile file) {
+        return enabled
+                && file.getStatus() == UploadedFile.FileStatus.ACTIVE
+                && file.getFilePath() != null
+                && !Files.exists(Paths.get(file.getFilePath()));
+    }
+
+    /**
+     * 삭제된 파일의 복제본을 지웁니다. 실패해도 원래 작업은 계속합니다.
+     */
+    public void deleteReplica(UploadedFile file) {
+        if (!enabled || file.getFilePath() == null) {
+            return;
+        }
+        Path replica = replicaPathOf(Paths.get(file.getFilePath()));
+        if (replica == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(replica);
+        } catch (IOException e) {
+            log.warn("복제본 삭제 실패: {} - {}", replica, e.getMessage());
+        }
+    }
+
+    /**
+     * 복제 현황 (대기 작업 수, 가장 오래된 작업 기준 복제 지연 등)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        if (!enabled) {
+            return stats;
+        }
+
+        LocalDateTime oldestPendingAt = replicationTaskRepository.findOldestCreatedAt();
+        stats.put("targetDir", replicaBaseDir.toString());
+        stats.put("pending", replicationTaskRepository.count());
+        stats.put("retrying", replicationTaskRepository.countByAttemptsGreaterThan(0));
+        stats.put("oldestPendingAt", oldestPendingAt != null ? oldestPendingAt.toString() : null);
+        stats.put("lagSeconds", oldestPendingAt != null
+                ? Math.max(0, Duration.between(oldestPendingAt, LocalDateTime.now()).toSeconds()) : 0L);
+        stats.put("replicated", replicatedCount.get());
+        stats.put("failedAttempts", failedAttempts.get());
+        stats.put("failoverReads", failoverReads.get());
+        stats.put("lastReplicatedAt", lastReplicatedAt != null ? lastReplicatedAt.toString() : null);
+        return stats;
+    }
+
+    /**
+     * 작업 하나를 처리하고 결과를 기록합니다. (복제 스레드에서 실행)
+     */
+    private boolean process(ReplicationTask task) {
+        Path source = Paths.get(task.getFilePath());
+        try {
+            replicate(source);
+            replicationTaskRepository.deleteById(task.getId());
+            replicatedCount.incrementAndGet();
+            lastReplicatedAt = LocalDateTime.now();
+            return true;
+        } catch (NoSuchFileException e) {
+            // 복제 전에 삭제/격리된 파일은 복제할 필요가 없음
+            replicationTaskRepository.deleteById(task.getId());
+            log.info("원본 파일이 없어 복제 작업 제거: 파일 ID {} ({})", task.getFileId(), source);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            failedAttempts.incrementAndGet();
+            LocalDateTime nextAttemptAt = LocalDateTime.now().plus(Duration.ofMillis(backoffMillis(task.getAttempts())));
+            replicationTaskRepository.recordFailure(task.getId(), nextAttemptAt, truncate(e.getMessage()));
+            log.error("파일 복제 실패: 파일 ID {} ({}회) - {}", task.getFileId(), task.getAttempts() + 1, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 원본을 임시 파일로 복사하면서 해시하고, 복사본을 다시 읽어 해시가 같을 때만 제자리로 옮깁니다.
+     * 저장된 바이트를 그대로 복사하므로 암호화된 파일은 복제본도 암호화되어 있습니다.
+     */
+    void replicate(Path source) throws IOException {
+        Path replica = replicaPathOf(source);
+        if (replica == null) {
+            throw new IOException("업로드 디렉토리 밖의 파일은 복제할 수 없습니다: " + source);
+        }
+
+        Files.createDirectories(replica.getParent());
+        Path temp = Files.createTempFile(replica.getParent(), replica.getFileName().toString(), ".part");
+        try {
+            MessageDigest sourceDigest = ChecksumUtils.newDigest();
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 BufferPoolService.PooledBuffer pooled = bufferPoolService.acquire(BufferPoolService.IoClass.BULK)) {
+                ByteBuffer buffer = pooled.buffer();
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    sourceDigest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                out.force(true);
+            }
+
+            String expected = ChecksumUtils.toHex(sourceDigest.digest());
+            String actual = hash(temp);
+            if (!expected.equals(actual)) {
+                throw new IOException("복제본 체크섬 불일치 (원본: " + expected + ", 복제본: " + actual + ")");
+            }
+            move(temp, replica);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * 업로드 디렉토리 기준 상대 경로를 복제 디렉토리에 그대로 둡니다. 업로드 디렉토리 밖이면 null
+     */
+    Path replicaPathOf(Path primary) {
+        Path path = primary.toAbsolutePath().normalize();
+        if (!path.startsWith(uploadBaseDir) || path.equals(uploadBaseDir)) {
+            return null;
+        }
+        return replicaBaseDir.resolve(uploadBaseDir.relativize(path));
+    }
+
+    private long backoffMillis(int attempts) {
+        long delay = retryBaseMillis << Math.min(attempts, 20);
+        return Math.min(delay, retryMaxMillis);
+    }
+
+    private String hash(Path path) throws IOException {
+        MessageDigest digest = ChecksumUtils.newDigest();
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ);
+             BufferPoolService.PooledBuffer pooled = bufferPoolService.acquire(BufferPoolService.IoClass.BULK)) {
+            ByteBuffer buffer = pooled.buffer();
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return ChecksumUtils.toHex(digest.digest());
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * 한 주기의 복제 결과
+     */
+    public record ReplicationSummary(int replicatedCount, int failedCount) {
+    }
+}
@@ -0,0 +1,243 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.UploadedFile;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DB 조회 없이 검증할 수 있는 서명된 다운로드 토큰을 발급/검증합니다.
+ *
+ * - 토큰 형식: {키 ID}.{페이로드(base64url JSON)}.{HMAC-SHA256 서명(base64url)}
+ * - 페이로드에는 파일 ID, 업로드 디렉토리 기준 저장 경로, 원본 파일명, Content-Type, 발급/만료 시각이 들어갑니다.
+ * - 키 교체: 새 키를 app.download.signing.keys에 추가하고 active-key-id를 바꾼 뒤,
+ *   최대 유효 기간이 지나면 이전 키를 제거합니다. (이전 키로 서명된 토큰도 그동안 검증됨)
+ * - 폐기 목록: 삭제되거나 확장자 차단으로 격리/삭제된 파일을 메모리에 기록하고, 그 이전에 발급된 토큰을 거부합니다.
+ *   (삭제 예외로 보호된 파일은 차단 후에도 다운로드할 수 있으므로 폐기하지 않음)
+ *   폐기 기록은 최대 유효 기간이 지나면 필요 없으므로 정리합니다. (인스턴스별 메모리 목록)
+ */
+@Slf4j
+@Service
+public class SignedUrlService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Map<String, byte[]> keys;
+    private final String activeKeyId;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final Path uploadBaseDir;
+
+    private final ConcurrentHashMap<Long, Long> revokedFiles = new ConcurrentHashMap<>();
+
+    public SignedUrlService(
+            @Value("${app.download.signing.keys:}") String keys, // "키ID:비밀값,키ID:비밀값"
+            @Value("${app.download.signing.active-key-id:}") String activeKeyId,
+            @Value("${app.download.signing.default-ttl-seconds:300}") long defaultTtlSeconds,
+            @Value("${app.download.signing.max-ttl-seconds:86400}") long maxTtlSeconds,
+            @Value("${app.file.upload-dir:uploads}") String uploadBaseDir) {
+        this.keys = parseKeys(keys);
+        if (this.keys.isEmpty()) {
+            // 재시작하면 기존 토큰이 모두 무효가 되므로 운영에서는 키를 설정해야 함
+            byte[] generated = new byte[32];
+            new SecureRandom().nextBytes(generated);
+            this.keys.put("local", generated);
+            this.activeKeyId = "local";
+            log.warn("다운로드 서명 키가 설정되지 않아 임시 키를 생성했습니다.");
+        } else {
+            this.activeKeyId = activeKeyId.isBlank() ? this.keys.keySet().iterator().next() : activeKeyId;
+            if (!this.keys.containsKey(this.activeKeyId)) {
+                throw new IllegalStateException("서명 키를 찾을 수 없습니다: " + this.activeKeyId);
+            }
+        }
+        this.defaultTtl = Duration.ofSeconds(defaultTtlSeconds);
+        this.maxTtl = Duration.ofSeconds(maxTtlSeconds);
+        this.uploadBaseDir = Paths.get(uploadBaseDir).toAbsolutePath().normalize();
+    }
+
+    /**
+     * 활성 파일의 서명된 다운로드 토큰을 발급합니다. ttl이 null이면 기본 유효 기간을 사용합니다.
+     */
+    public SignedUrl issue(UploadedFile file, Duration ttl) {
+        if (file.getStatus() != UploadedFile.FileStatus.ACTIVE) {
+            throw new IllegalArgumentException("다운로드할 수 없는 파일입니다.");
+        }
+        Duration validFor = ttl != null ? ttl : defaultTtl;
+        if (validFor.isNegative() || validFor.isZero() || validFor.compareTo(maxTtl) > 0) {
+            throw new IllegalArgumentException("유효 기간은 1초 이상 " + maxTtl.toSeconds() + "초 이하여야 합니다.");
+        }
+
+        Path filePath = Paths.get(file.getFilePath()).toAbsolutePath().normalize();
+        if (!filePath.startsWith(uploadBaseDir) || filePath.equals(uploadBaseDir)) {
+            throw new IllegalArgumentException("업로드 디렉토리 밖의 파일입니다.");
+        }
+
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(validFor);
+        SignedDownload payload = new SignedDownload(
+                file.getId(),
+                uploadBaseDir.relativize(filePath).toString().replace('\\', '/'),
+                file.getOriginalFilename(),
+                file.getContentType(),
+                now.toEpochMilli(),
+                expiresAt.getEpochSecond());
+
+        String encodedPayload = ENCODER.encodeToString(toJson(payload));
+        String signingInput = activeKeyId + "." + encodedPayload;
+        String token = signingInput + "." + ENCODER.encodeToString(sign(keys.get(activeKeyId), signingInput));
+        return new SignedUrl(token, expiresAt);
+    }
+
+    /**
+     * 토큰을 검증하고 페이로드를 반환합니다. 서명 불일치, 만료, 폐기된 경우 null을 반환합니다.
+     */
+    public SignedDownload verify(String token) {
+        String[] parts = token != null ? token.split("\\.") : new String[0];
+        if (parts.length != 3) {
+            return null;
+        }
+
+        byte[] key = keys.get(parts[0]);
+        if (key == null) {
+            log.debug("서명 토큰 거부 - 알 수 없는 키: {}", parts[0]);
+            return null;
+        }
+
+        SignedDownload payload;
+        try {
+            byte[] expected = sign(key, parts[0] + "." + parts[1]);
+            if (!MessageDigest.isEqual(expected, DECODER.decode(parts[2]))) {
+                log.debug("서명 토큰 거부 - 서명 불일치");
+                return null;
+            }
+            payload = OBJECT_MAPPER.readValue(DECODER.decode(parts[1]), SignedDownload.class);
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+
+        if (Instant.now().getEpochSecond() >= payload.expiresAt()) {
+            log.debug("서명 토큰 거부 - 만료: 파일 ID {}", payload.fileId());
+            return null;
+        }
+        if (isRevoked(payload)) {
+            log.debug("서명 토큰 거부 - 폐기됨: 파일 ID {}", payload.fileId());
+            return null;
+        }
+        return payload;
+    }
+
+    /**
+     * 페이로드의 저장 경로를 실제 경로로 변환합니다. 업로드 디렉토리를 벗어나면 null을 반환합니다.
+     */
+    public Path resolvePath(SignedDownload payload) {
+        Path path = uploadBaseDir.resolve(payload.path()).normalize();
+        return path.startsWith(uploadBaseDir) ? path : null;
+    }
+
+    /**
+     * 파일의 기존 토큰을 모두 폐기합니다. (삭제, 격리)
+     */
+    public void revoke(Long fileId) {
+        revokedFiles.put(fileId, System.currentTimeMillis());
+    }
+
+    public void revokeAll(Collection<Long> fileIds) {
+        long now = System.currentTimeMillis();
+        fileIds.forEach(fileId -> revokedFiles.put(fileId, now));
+    }
+
+    /**
+     * 최대 유효 기간보다 오래된 폐기 기록은 그 이전 토큰이 모두 만료되었으므로 제거합니다.
+     */
+    @Scheduled(fixedDelayString = "${app.download.signing.revocation-prune-interval-ms:60000}")
+    public void pruneRevocations() {
+        long cutoff = System.currentTimeMillis() - maxTtl.toMillis();
+        revokedFiles.values().removeIf(revokedAt -> revokedAt < cutoff);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeKeyId", activeKeyId);
+        stats.put("keyIds", keys.keySet());
+        stats.put("revokedFiles", revokedFiles.size());
+        return stats;
+    }
+
+    private boolean isRevoked(SignedDownload payload) {
+        Long revokedAt = revokedFiles.get(payload.fileId());
+        return revokedAt != null && payload.issuedAt() <= revokedAt;
+    }
+
+    private static byte[] sign(byte[] key, String input) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+            return mac.doFinal(input.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC 서명 실패", e);
+        }
+    }
+
+    private static byte[] toJson(SignedDownload payload) {
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("서명 토큰 생성 실패", e);
+        }
+    }
+
+    private static Map<String, byte[]> parseKeys(String value) {
+        Map<String, byte[]> parsed = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if (separator <= 0 || separator == entry.length() - 1) {
+                throw new IllegalStateException("서명 키 형식이 올바르지 않습니다. (키ID:비밀값)");
+            }
+            String keyId = entry.substring(0, separator).trim();
+            if (keyId.contains(".")) {
+                throw new IllegalStateException("서명 키 ID에는 점(.)을 사용할 수 없습니다: " + keyId);
+            }
+            parsed.put(keyId, entry.substring(separator + 1).trim().getBytes(StandardCharsets.UTF_8));
+        }
+        return parsed;
+    }
+
+    /**
+     * 발급된 토큰과 만료 시각
+     */
+    public record SignedUrl(String token, Instant expiresAt) {
+    }
+
+    /**
+     * 토큰에 서명된 다운로드 정보 (path는 업로드 디렉토리 기준 상대 경로)
+     */
+    public record SignedDownload(Long fileId, String path, String filename, String contentType,
+                                 long issuedAt, long expiresAt) {
+    }
+}
@@ -0,0 +1,256 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.ClientStorageUsage;
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.exception.QuotaExceededException;
+import com.assignment.fileextension.repository.ClientStorageUsageRepository;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 클라이언트별 저장 용량/파일 개수 한도를 메모리 카운터로 관리합니다.
+ *
+ * - 업로드 경로에서는 DB 조회 없이 카운터만으로 한도를 확인하고, 쓰기 전에 용량을 예약합니다.
+ * - 쓰기 실패나 트랜잭션 롤백, 파일 삭제 시 예약한 용량을 반환합니다.
+ * - 카운터는 주기적으로 client_storage_usage 테이블에 반영하고, 시작 시 uploaded_files에서 다시 계산합니다.
+ */
+@Slf4j
+@Service
+public class StorageQuotaService {
+
+    private final UploadedFileRepository uploadedFileRepository;
+    private final ClientStorageUsageRepository clientStorageUsageRepository;
+    private final boolean enabled;
+    private final long maxBytesPerClient;
+    private final long maxFilesPerClient;
+
+    // 클라이언트 단위로 분산된 카운터 (서로 다른 클라이언트끼리는 경합하지 않음)
+    private final ConcurrentHashMap<String, ClientCounter> counters = new ConcurrentHashMap<>();
+    private final Set<String> dirtyClients = ConcurrentHashMap.newKeySet();
+
+    public StorageQuotaService(
+            UploadedFileRepository uploadedFileRepository,
+            ClientStorageUsageRepository clientStorageUsageRepository,
+            @Value("${app.quota.enabled:true}") boolean enabled,
+            @Value("${app.quota.max-bytes-per-client:1073741824}") long maxBytesPerClient, // 1GB
+            @Value("${app.quota.max-files-per-client:1000}") long maxFilesPerClient) {
+        this.uploadedFileRepository = uploadedFileRepository;
+        this.clientStorageUsageRepository = clientStorageUsageRepository;
+        this.enabled = enabled;
+        this.maxBytesPerClient = maxBytesPerClient;
+        this.maxFilesPerClient = maxFilesPerClient;
+    }
+
+    /**
+     * 시작 시 활성 파일 기준으로 카운터를 다시 계산합니다.
+     */
+    @PostConstruct
+    public void rebuildCounters() {
+        counters.clear();
+        for (UploadedFileRepository.OwnerUsage usage : uploadedFileRepository.sumUsageByOwner(UploadedFile.FileStatus.ACTIVE)) {
+            ClientCounter counter = new ClientCounter();
+            counter.bytes.set(usage.getTotalBytes() != null ? usage.getTotalBytes() : 0L);
+            counter.files.set(usage.getFileCount() != null ? usage.getFileCount() : 0L);
+            counters.put(usage.getOwnerId(), counter);
+            dirtyClients.add(usage.getOwnerId());
+        }
+        log.info("클라이언트별 저장 용량 카운터 재구성 완료: {}개 클라이언트", counters.size());
+    }
+
+    /**
+     * 파일 쓰기 전에 용량을 예약합니다. 한도를 넘으면 {@link QuotaExceededException}을 던집니다.
+     * 현재 트랜잭션이 롤백되면 예약은 자동으로 반환됩니다.
+     */
+    public Reservation reserve(String clientId, long bytes) {
+        if (!enabled || clientId == null) {
+            return Reservation.NONE;
+        }
+
+        ClientCounter counter = counters.computeIfAbsent(clientId, key -> new ClientCounter());
+        if (!counter.tryReserve(bytes, maxBytesPerClient, maxFilesPerClient)) {
+            throw new QuotaExceededException(String.format(
+                    "저장 용량 한도를 초과했습니다. (사용: %d bytes / %d개, 한도: %d bytes / %d개)",
+                    counter.bytes.get(), counter.files.get(), maxBytesPerClient, maxFilesPerClient), clientId);
+        }
+        dirtyClients.add(clientId);
+
+        Reservation reservation = new Reservation(this, clientId, bytes);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        reservation.cancel();
+                    }
+                }
+            });
+        }
+        return reservation;
+    }
+
+    /**
+     * 파일 삭제 시 사용량을 반환합니다.
+     */
+    public void release(String clientId, long bytes) {
+        if (clientId == null) {
+            return;
+        }
+
+        ClientCounter counter = counters.get(clientId);
+        if (counter != null) {
+            counter.release(bytes);
+            dirtyClients.add(clientId);
+        }
+    }
+
+    /**
+     * 한도 확인 없이 사용량을 다시 더합니다. (격리 파일 복구 등 관리자 작업용)
+     */
+    public void charge(String clientId, long bytes) {
+        if (clientId == null) {
+            return;
+        }
+
+        ClientCounter counter = counters.computeIfAbsent(clientId, key -> new ClientCounter());
+        counter.bytes.addAndGet(bytes);
+        counter.files.incrementAndGet();
+        dirtyClients.add(clientId);
+    }
+
+    /**
+     * 클라이언트의 현재 사용량을 조회합니다.
+     */
+    public Map<String, Long> getUsage(String clientId) {
+        ClientCounter counter = counters.get(clientId);
+        return Map.of(
+                "usedBytes", counter != null ? counter.bytes.get() : 0L,
+                "fileCount", counter != null ? counter.files.get() : 0L,
+                "maxBytes", maxBytesPerClient,
+                "maxFiles", maxFilesPerClient);
+    }
+
+    /**
+     * 변경된 카운터를 DB에 반영합니다.
+     */
+    @Scheduled(fixedDelayString = "${app.quota.flush-interval-ms:10000}")
+    public void flushCounters() {
+        if (dirtyClients.isEmpty()) {
+            return;
+        }
+
+        List<String> clientIds = new ArrayList<>(dirtyClients);
+        dirtyClients.removeAll(clientIds);
+
+        try {
+            Map<String, ClientStorageUsage> existing = clientStorageUsageRepository.findAllById(clientIds).stream()
+                    .collect(Collectors.toMap(ClientStorageUsage::getClientId, Function.identity()));
+
+            LocalDateTime now = LocalDateTime.now();
+            List<ClientStorageUsage> snapshots = new ArrayList<>(clientIds.size());
+            for (String clientId : clientIds) {
+                ClientCounter counter = counters.get(clientId);
+                long usedBytes = counter != null ? counter.bytes.get() : 0L;
+                long fileCount = counter != null ? counter.files.get() : 0L;
+
+                ClientStorageUsage usage = existing.get(clientId);
+                if (usage == null) {
+                    usage = ClientStorageUsage.builder().clientId(clientId).build();
+                }
+                usage.updateUsage(usedBytes, fileCount, now);
+                snapshots.add(usage);
+            }
+
+            clientStorageUsageRepository.saveAll(snapshots);
+            log.debug("클라이언트별 저장 용량 반영: {}개", snapshots.size());
+        } catch (Exception e) {
+            // 다음 주기에 다시 반영
+            dirtyClients.addAll(clientIds);
+            log.error("클라이언트별 저장 용량 반영 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushCounters();
+    }
+
+    /**
+     * 클라이언트 한 명의 사용량 카운터
+     */
+    private static final class ClientCounter {
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicLong files = new AtomicLong();
+
+        /**
+         * 한도 안에서만 용량과 파일 개수를 증가시킵니다. (CAS)
+         */
+        boolean tryReserve(long size, long maxBytes, long maxFiles) {
+            while (true) {
+                long current = bytes.get();
+                if (current + size > maxBytes) {
+                    return false;
+                }
+                if (bytes.compareAndSet(current, current + size)) {
+                    break;
+                }
+            }
+
+            if (files.incrementAndGet() > maxFiles) {
+                files.decrementAndGet();
+                bytes.addAndGet(-size);
+                return false;
+            }
+            return true;
+        }
+
+        void release(long size) {
+            bytes.updateAndGet(current -> Math.max(0L, current - size));
+            files.updateAndGet(current -> Math.max(0L, current - 1));
+        }
+    }
+
+    /**
+     * 업로드 한 건에 대한 용량 예약 (취소는 한 번만 적용됨)
+     */
+    public static final class Reservation {
+        static final Reservation NONE = new Reservation(null, null, 0L);
+
+        private final StorageQuotaService quotaService;
+        private final String clientId;
+        private final long bytes;
+        private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+        private Reservation(StorageQuotaService quotaService, String clientId, long bytes) {
+            this.quotaService = quotaService;
+            this.clientId = clientId;
+            this.bytes = bytes;
+        }
+
+        /**
+         * 쓰기 실패 시 예약을 반환합니다.
+         */
+        public void cancel() {
+            if (quotaService != null && cancelled.compareAndSet(false, true)) {
+                quotaService.release(clientId, bytes);
+            }
+        }
+    }
+}
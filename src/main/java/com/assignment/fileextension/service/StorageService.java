@@ -4,17 +4,25 @@ import com.assignment.fileextension.entity.UploadedFile;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface StorageService {
     
     /**
-     * 파일을 저장합니다.
+     * 파일을 저장합니다. 업로드한 클라이언트의 저장 용량 한도가 적용됩니다.
      */
-    UploadedFile storeFile(MultipartFile file) throws IOException;
+    default UploadedFile storeFile(MultipartFile file, String clientId) throws IOException {
+        return storeFile(file, clientId, null);
+    }
     
     /**
-     * 특정 확장자의 활성 파일들을 삭제합니다.
+     * 만료 시각을 지정하여 파일을 저장합니다. (expiresAt이 null이면 만료 없음)
+     */
+    UploadedFile storeFile(MultipartFile file, String clientId, LocalDateTime expiresAt) throws IOException;
+    
+    /**
+     * 파일명의 확장자 중 하나라도 일치하는 활성 파일들을 삭제합니다. 격리 모드에서는 삭제 대신 격리합니다.
      */
     void deleteFilesByExtension(String extension);
     
@@ -28,6 +36,11 @@ public interface StorageService {
      */
     void setDeletionException(Long fileId, Boolean deletionException);
     
+    /**
+     * 파일의 만료 시각을 변경합니다. (null이면 만료 해제)
+     */
+    UploadedFile setExpiration(Long fileId, LocalDateTime expiresAt);
+    
     
     /**
      * 상태별 파일 목록을 조회합니다.
@@ -35,7 +48,7 @@ public interface StorageService {
     List<UploadedFile> getFilesByStatus(UploadedFile.FileStatus status);
     
     /**
-     * 확장자별 파일 목록을 조회합니다.
+     * 확장자별 파일 목록을 조회합니다. (파일명의 모든 확장자 기준)
      */
     List<UploadedFile> getFilesByExtension(String extension);
     
@@ -43,4 +56,9 @@ public interface StorageService {
      * ID로 파일을 조회합니다.
      */
     UploadedFile findById(Long fileId);
+    
+    /**
+     * 트리 해시로 저장된 파일의 청크별 해시를 순서대로 조회합니다. (트리 해시가 없으면 빈 목록)
+     */
+    List<String> getChunkHashes(Long fileId);
 }
\ No newline at end of file
@@ -0,0 +1,206 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.common.ChecksumUtils;
+import com.assignment.fileextension.common.MerkleTree;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * 파일을 고정 크기 청크로 나누어 병렬로 해시하고 Merkle 트리를 만듭니다. (app.checksum.mode=tree)
+ *
+ * - 업로드 스트림을 읽는 동안 찬 청크를 전용 ForkJoinPool에 넘기므로, 해시 계산이 쓰기와 겹치고 코어 수만큼 나뉩니다.
+ * - 청크별 리프 해시를 파일과 함께 저장하므로 Range 다운로드나 분할 업로드는 청크 단위로 검증할 수 있습니다.
+ * - 업로드 하나가 동시에 잡는 청크 버퍼 수를 제한하여 메모리 사용량이 파일 크기에 비례하지 않게 합니다.
+ */
+@Slf4j
+@Service
+public class TreeHashService {
+
+    private final boolean treeMode;
+    private final int chunkSize;
+    private final int maxInFlightChunks;
+    private final ForkJoinPool hashPool;
+
+    public TreeHashService(
+            @Value("${app.checksum.mode:sha256}") String mode, // sha256 | tree
+            @Value("${app.checksum.tree.chunk-size:1048576}") int chunkSize, // 1MB
+            @Value("${app.checksum.tree.parallelism:0}") int parallelism, // 0이면 코어 수
+            @Value("${app.checksum.tree.max-in-flight-chunks:4}") int maxInFlightChunks) {
+        this.treeMode = "tree".equals(mode.trim().toLowerCase(Locale.ROOT));
+        this.chunkSize = chunkSize;
+        this.maxInFlightChunks = Math.max(1, maxInFlightChunks);
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.hashPool = new ForkJoinPool(threads);
+        if (treeMode) {
+            log.info("트리 해시 모드: 청크 {} bytes, 병렬도 {}", chunkSize, threads);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    public boolean isTreeMode() {
+        return treeMode;
+    }
+
+    /**
+     * 읽는 동안 청크 해시를 계산하는 스트림을 만듭니다. 끝까지 읽은 뒤 finish()로 결과를 얻습니다.
+     */
+    public TreeHashingInputStream wrap(InputStream in) {
+        return wrap(in, chunkSize);
+    }
+
+    /**
+     * 지정한 청크 크기로 해시하는 스트림을 만듭니다. (저장 당시 청크 크기로 다시 검증할 때)
+     */
+    public TreeHashingInputStream wrap(InputStream in, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("청크 크기는 1 이상이어야 합니다.");
+        }
+        return new TreeHashingInputStream(in, chunkSize);
+    }
+
+    /**
+     * 스트림 전체의 트리 해시를 계산합니다.
+     */
+    public TreeHash hash(InputStream in) throws IOException {
+        try (TreeHashingInputStream hashing = wrap(in)) {
+            byte[] buffer = new byte[64 * 1024];
+            while (hashing.read(buffer) != -1) {
+                // 끝까지 읽기
+            }
+            return hashing.finish();
+        }
+    }
+
+    /**
+     * 트리 해시 결과 (청크 해시와 루트는 16진수)
+     */
+    public record TreeHash(int chunkSize, List<String> chunkHashes, String root) {
+    }
+
+    private record PendingChunk(ForkJoinTask<byte[]> task, byte[] buffer) {
+    }
+
+    /**
+     * 통과하는 바이트를 청크 버퍼에 모아 병렬 해시에 넘기는 스트림
+     */
+    public final class TreeHashingInputStream extends FilterInputStream {
+        private final Deque<PendingChunk> pending = new ArrayDeque<>();
+        private final Deque<byte[]> freeBuffers = new ArrayDeque<>();
+        private final List<byte[]> leaves = new ArrayList<>();
+        private final int chunkSize;
+        private byte[] current;
+        private int filled;
+        private TreeHash result;
+
+        private TreeHashingInputStream(InputStream in, int chunkSize) {
+            super(in);
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = in.read();
+            if (value != -1) {
+                append(new byte[]{(byte) value}, 0, 1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = in.read(bytes, offset, length);
+            if (read > 0) {
+                append(bytes, offset, read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // 건너뛴 바이트도 해시에 포함되어야 하므로 읽어서 버림
+            byte[] scratch = new byte[(int) Math.min(8192, Math.max(1, n))];
+            long skipped = 0;
+            while (skipped < n) {
+                int read = read(scratch, 0, (int) Math.min(scratch.length, n - skipped));
+                if (read == -1) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        /**
+         * 남은 청크를 해시하고 트리를 완성합니다. 빈 스트림은 빈 청크 하나로 계산합니다.
+         */
+        public TreeHash finish() {
+            if (result != null) {
+                return result;
+            }
+            if (filled > 0 || (leaves.isEmpty() && pending.isEmpty())) {
+                submit();
+            }
+            while (!pending.isEmpty()) {
+                leaves.add(pending.poll().task().join());
+            }
+
+            List<String> chunkHashes = leaves.stream().map(ChecksumUtils::toHex).toList();
+            result = new TreeHash(chunkSize, chunkHashes, ChecksumUtils.toHex(MerkleTree.root(leaves)));
+            return result;
+        }
+
+        private void append(byte[] bytes, int offset, int length) {
+            while (length > 0) {
+                if (current == null) {
+                    current = freeBuffers.isEmpty() ? new byte[chunkSize] : freeBuffers.poll();
+                    filled = 0;
+                }
+                int count = Math.min(length, chunkSize - filled);
+                System.arraycopy(bytes, offset, current, filled, count);
+                filled += count;
+                offset += count;
+                length -= count;
+                if (filled == chunkSize) {
+                    submit();
+                }
+            }
+        }
+
+        private void submit() {
+            byte[] buffer = current != null ? current : new byte[0];
+            int length = filled;
+            pending.add(new PendingChunk(hashPool.submit(() -> MerkleTree.leafHash(buffer, 0, length)), buffer));
+            current = null;
+            filled = 0;
+
+            // 동시에 잡는 버퍼 수를 제한 (가장 오래된 청크를 기다렸다가 버퍼 재사용)
+            while (pending.size() > maxInFlightChunks) {
+                PendingChunk oldest = pending.poll();
+                leaves.add(oldest.task().join());
+                freeBuffers.add(oldest.buffer());
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.common.FileExtensionConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 업로드 요청을 선언된 Content-Length 기준으로 받아들일지 결정합니다.
+ *
+ * - 전체 처리 중 바이트와 클라이언트별 처리 중 바이트에 한도를 둡니다.
+ * - 작은 업로드와 큰 업로드는 서로 다른 예산(lane)을 사용하므로, 작은 업로드가 큰 업로드 뒤에서 기다리지 않습니다.
+ * - 예산이 부족하면 정해진 시간까지만 순서대로 기다리고, 그래도 부족하면 거절합니다.
+ */
+@Slf4j
+@Service
+public class UploadAdmissionService {
+
+    private static final int KB = 1024;
+
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+    private final long smallUploadBytes;
+    private final long maxClientInflightBytes;
+    private final Lane smallLane;
+    private final Lane largeLane;
+
+    private final ConcurrentHashMap<String, Long> clientInflightBytes = new ConcurrentHashMap<>();
+    private final AtomicLong admittedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public UploadAdmissionService(
+            @Value("${app.upload-admission.max-inflight-bytes:536870912}") long maxInflightBytes, // 512MB
+            @Value("${app.upload-admission.small-lane-bytes:33554432}") long smallLaneBytes, // 32MB
+            @Value("${app.upload-admission.small-upload-bytes:1048576}") long smallUploadBytes, // 1MB
+            @Value("${app.upload-admission.max-client-inflight-bytes:209715200}") long maxClientInflightBytes, // 200MB
+            @Value("${app.upload-admission.max-wait-ms:2000}") long maxWaitMillis,
+            @Value("${app.upload-admission.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.smallUploadBytes = smallUploadBytes;
+        this.maxClientInflightBytes = maxClientInflightBytes;
+        // 작은 업로드 예산은 전체 예산에서 떼어 두므로 두 lane의 합은 전체 한도를 넘지 않음
+        this.smallLane = new Lane("small", smallLaneBytes);
+        this.largeLane = new Lane("large", maxInflightBytes - smallLaneBytes);
+    }
+
+    /**
+     * 업로드를 받아들일 수 있으면 예산을 잡고 Permit을 반환합니다. 기한 안에 예산을 얻지 못하면 null을 반환합니다.
+     * Content-Length를 알 수 없으면(-1) 최대 파일 크기로 간주합니다.
+     */
+    public Permit tryAdmit(String clientId, long declaredBytes) throws InterruptedException {
+        long bytes = declaredBytes < 0 ? FileExtensionConstants.FileLimit.MAX_FILE_SIZE_BYTES : declaredBytes;
+        Lane lane = bytes <= smallUploadBytes ? smallLane : largeLane;
+        int permits = lane.toPermits(bytes);
+        long reservedBytes = (long) permits * KB;
+
+        if (clientId != null && !reserveClient(clientId, reservedBytes)) {
+            rejectedCount.incrementAndGet();
+            log.warn("업로드 거절 - 클라이언트 처리 중 한도 초과: {} ({} bytes)", clientId, bytes);
+            return null;
+        }
+
+        boolean acquired = false;
+        try {
+            acquired = lane.semaphore.tryAcquire(permits, maxWaitMillis, TimeUnit.MILLISECONDS);
+        } finally {
+            if (!acquired && clientId != null) {
+                releaseClient(clientId, reservedBytes);
+            }
+        }
+        if (!acquired) {
+            rejectedCount.incrementAndGet();
+            log.warn("업로드 거절 - {} lane 예산 부족: {} bytes, {}ms 대기", lane.name, bytes, maxWaitMillis);
+            return null;
+        }
+
+        admittedCount.incrementAndGet();
+        return new Permit(this, lane, clientId, permits);
+    }
+
+    /**
+     * 현재 예산 사용 현황을 조회합니다.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("small", smallLane.stats());
+        stats.put("large", largeLane.stats());
+        stats.put("inflightBytes", smallLane.inflightBytes() + largeLane.inflightBytes());
+        stats.put("activeClients", clientInflightBytes.size());
+        stats.put("maxClientInflightBytes", maxClientInflightBytes);
+        stats.put("admittedCount", admittedCount.get());
+        stats.put("rejectedCount", rejectedCount.get());
+        return stats;
+    }
+
+    /**
+     * 재시도 안내 시간 (Retry-After, 초)
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    private boolean reserveClient(String clientId, long bytes) {
+        boolean[] reserved = {false};
+        clientInflightBytes.compute(clientId, (key, current) -> {
+            long used = current != null ? current : 0L;
+            if (used + bytes > maxClientInflightBytes) {
+                return current;
+            }
+            reserved[0] = true;
+            return used + bytes;
+        });
+        return reserved[0];
+    }
+
+    private void releaseClient(String clientId, long bytes) {
+        // 0이 되면 항목을 제거하여 맵이 클라이언트 수만큼 커지지 않도록 함
+        clientInflightBytes.computeIfPresent(clientId, (key, current) -> current - bytes > 0 ? current - bytes : null);
+    }
+
+    /**
+     * 크기 구간별 예산 (KB 단위 공정 세마포어)
+     */
+    private static final class Lane {
+        private final String name;
+        private final int capacity;
+        private final Semaphore semaphore;
+
+        Lane(String name, long capacityBytes) {
+            this.name = name;
+            this.capacity = (int) Math.max(1L, capacityBytes / KB);
+            this.semaphore = new Semaphore(capacity, true);
+        }
+
+        /**
+         * 바이트를 KB 단위로 올림하되 lane 전체 용량을 넘지 않도록 합니다.
+         */
+        int toPermits(long bytes) {
+            return (int) Math.min(capacity, Math.max(1L, (bytes + KB - 1) / KB));
+        }
+
+        long inflightBytes() {
+            return (long) (capacity - semaphore.availablePermits()) * KB;
+        }
+
+        Map<String, Object> stats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("capacityBytes", (long) capacity * KB);
+            stats.put("inflightBytes", inflightBytes());
+            stats.put("waiting", semaphore.getQueueLength());
+            return stats;
+        }
+    }
+
+    /**
+     * 승인된 업로드 한 건의 예산 (반환은 한 번만 적용됨)
+     */
+    public static final class Permit {
+        private final UploadAdmissionService admissionService;
+        private final Lane lane;
+        private final String clientId;
+        private final int permits;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Permit(UploadAdmissionService admissionService, Lane lane, String clientId, int permits) {
+            this.admissionService = admissionService;
+            this.lane = lane;
+            this.clientId = clientId;
+            this.permits = permits;
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                lane.semaphore.release(permits);
+                if (clientId != null) {
+                    admissionService.releaseClient(clientId, (long) permits * KB);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 업로드 파일을 2단계로 게시합니다. (DB 연결은 메타데이터 INSERT와 rename 동안만 사용)
+ *
+ * 1. 준비: 저널에 게시 항목을 기록하고 스테이징 디렉토리에 파일을 씁니다. (트랜잭션 없음)
+ * 2. 게시: 짧은 트랜잭션에서 메타데이터를 저장하고 스테이징 파일을 최종 경로로 rename 한 뒤 커밋합니다.
+ * 3. 완료: 디렉토리 항목을 디스크에 반영하고 저널 항목을 지웁니다.
+ *
+ * 중간에 프로세스가 죽으면 시작 시(와 주기적으로) 남은 저널 항목을 정리합니다.
+ * 메타데이터 행이 있으면 커밋된 것이므로 rename을 마저 하고, 없으면 스테이징/최종 파일을 지웁니다.
+ *
+ * 그룹 커밋(app.publish.group-commit.enabled)을 켜면 전용 committer 스레드가 짧은 간격으로 모인 게시를
+ * 한 트랜잭션(JDBC 배치 INSERT, 커밋 1회)으로 처리한 뒤 호출자를 깨웁니다. 추가 지연은 최대 window-ms이며,
+ * 배치가 실패하면 다른 업로드까지 실패하지 않도록 하나씩 다시 커밋합니다.
+ */
+@Slf4j
+@Service
+public class UploadPublishService {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String JOURNAL_SUFFIX = ".json";
+
+    private final FileDurabilityService fileDurabilityService;
+    private final UploadedFileRepository uploadedFileRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path stagingDir;
+    private final Path journalDir;
+    private final long recoveryGraceMillis;
+
+    private final boolean groupCommitEnabled;
+    private final long groupCommitMillis;
+    private final int maxBatchSize;
+    private final long awaitTimeoutMillis;
+
+    // 이 인스턴스에서 진행 중인 게시 (복구 대상에서 제외)
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final LinkedBlockingQueue<PublishRequest> publishQueue = new LinkedBlockingQueue<>();
+    // 복구 실행을 직렬화 (파일 I/O, DB 조회 중 가상 스레드가 캐리어에 고정되지 않도록 synchronized 대신 사용)
+    private final ReentrantLock recoveryLock = new ReentrantLock();
+    private Thread committer;
+
+    public UploadPublishService(
+            FileDurabilityService fileDurabilityService,
+            UploadedFileRepository uploadedFileRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.publish.staging-dir:${app.file.upload-dir:uploads}/.staging}") String stagingDir,
+            @Value("${app.publish.journal-dir:${app.file.upload-dir:uploads}/.journal}") String journalDir,
+            @Value("${app.publish.recovery-grace-ms:60000}") long recoveryGraceMillis,
+            @Value("${app.publish.group-commit.enabled:false}") boolean groupCommitEnabled,
+            @Value("${app.publish.group-commit.window-ms:5}") long groupCommitMillis,
+            @Value("${app.publish.group-commit.max-batch:64}") int maxBatchSize,
+            @Value("${app.publish.group-commit.await-timeout-ms:10000}") long awaitTimeoutMillis) {
+        this.fileDurabilityService = fileDurabilityService;
+        this.uploadedFileRepository = uploadedFileRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.stagingDir = Paths.get(stagingDir);
+        this.journalDir = Paths.get(journalDir);
+        this.recoveryGraceMillis = recoveryGraceMillis;
+        this.groupCommitEnabled = groupCommitEnabled;
+        this.groupCommitMillis = groupCommitMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.awaitTimeoutMillis = awaitTimeoutMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!groupCommitEnabled) {
+            return;
+        }
+        log.info("업로드 메타데이터 그룹 커밋 사용: {}ms, 최대 {}개", groupCommitMillis, maxBatchSize);
+        committer = new Thread(this::runCommitter, "upload-commit");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (committer != null) {
+            committer.interrupt();
+        }
+    }
+
+    /**
+     * 저널에 게시 항목을 기록하고 스테이징 경로를 반환합니다. 호출자는 stagingPath에 파일을 씁니다.
+     * 스테이징 디렉토리는 rename이 원자적이도록 최종 경로와 같은 파일시스템에 있어야 합니다.
+     */
+    public StagedUpload stage(String storedFilename, Path finalPath) throws IOException {
+        Files.createDirectories(stagingDir);
+        Files.createDirectories(journalDir);
+
+        StagedUpload staged = new StagedUpload(storedFilename, stagingDir.resolve(storedFilename).toString(),
+                finalPath.toString());
+        byte[] entry = OBJECT_MAPPER.writeValueAsBytes(staged);
+        inFlight.add(storedFilename);
+        try {
+            fileDurabilityService.write(new ByteArrayInputStream(entry), journalPathOf(storedFilename));
+        } catch (IOException | RuntimeException e) {
+            inFlight.remove(storedFilename);
+            throw e;
+        }
+        return staged;
+    }
+
+    /**
+     * 짧은 트랜잭션에서 메타데이터를 저장하고 파일을 최종 경로로 옮깁니다. (그룹 커밋이면 다른 업로드와 함께)
+     * 실패하면 스테이징/최종 파일과 저널 항목을 지우고 예외를 다시 던집니다.
+     */
+    public UploadedFile publish(StagedUpload staged, Supplier<UploadedFile> saveMetadata) throws IOException {
+        PublishRequest request = new PublishRequest(staged, saveMetadata);
+        UploadedFile saved;
+        if (groupCommitEnabled) {
+            saved = awaitGroupCommit(request);
+        } else {
+            try {
+                saved = commitBatch(List.of(request)).get(0);
+            } catch (UncheckedIOException e) {
+                rollBack(staged);
+                throw e.getCause();
+            } catch (RuntimeException e) {
+                rollBack(staged);
+                throw e;
+            }
+        }
+
+        // rename이 디스크에 반영된 뒤에 저널 항목 삭제 (그 전에 죽으면 복구가 rename을 확인)
+        removeJournal(staged);
+        return saved;
+    }
+
+    /**
+     * 게시 전에 실패한 업로드를 정리합니다. (스테이징 쓰기 실패 등)
+     */
+    public void discard(StagedUpload staged) {
+        rollBack(staged);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        recover();
+    }
+
+    /**
+     * 남은 저널 항목을 정리하고 처리한 항목 수를 반환합니다.
+     * 진행 중일 수 있는 항목(이 인스턴스의 게시, 최근에 갱신된 항목)은 건너뜁니다.
+     */
+    @Scheduled(fixedDelayString = "${app.publish.recovery-interval-ms:60000}",
+            initialDelayString = "${app.publish.recovery-interval-ms:60000}")
+    public int recover() {
+        recoveryLock.lock();
+        try {
+            return recoverLocked();
+        } finally {
+            recoveryLock.unlock();
+        }
+    }
+
+    private int recoverLocked() {
+        if (!Files.isDirectory(journalDir)) {
+            return 0;
+        }
+
+        List<Path> entries;
+        try (Stream<Path> paths = Files.list(journalDir)) {
+            entries = paths.filter(path -> path.getFileName().toString().endsWith(JOURNAL_SUFFIX)).toList();
+        } catch (IOException e) {
+            log.error("게시 저널 조회 실패: {} - {}", journalDir, e.getMessage());
+            return 0;
+        }
+
+        int recovered = 0;
+        for (Path journalPath : entries) {
+            try {
+                if (recoverEntry(journalPath)) {
+                    recovered++;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("게시 복구 실패: {} - {}", journalPath, e.getMessage());
+            }
+        }
+        if (recovered > 0) {
+            log.info("미완료 게시 복구: {}개", recovered);
+        }
+        return recovered;
+    }
+
+    private boolean recoverEntry(Path journalPath) throws IOException {
+        StagedUpload staged;
+        try {
+            staged = OBJECT_MAPPER.readValue(journalPath.toFile(), StagedUpload.class);
+        } catch (IOException e) {
+            // 기록 중 죽어 내용이 잘린 항목 (스테이징 쓰기 전이므로 지우기만 함)
+            if (isRecent(journalPath)) {
+                return false;
+            }
+            Files.deleteIfExists(journalPath);
+            log.warn("손상된 게시 저널 항목 삭제: {}", journalPath);
+            return true;
+        }
+
+        Path stagingPath = Paths.get(staged.stagingPath());
+        if (inFlight.contains(staged.storedFilename()) || isRecent(journalPath) || isRecent(stagingPath)) {
+            return false;
+        }
+
+        if (uploadedFileRepository.existsByStoredFilename(staged.storedFilename())) {
+            // 커밋됨: rename을 마저 함
+            Path finalPath = Paths.get(staged.finalPath());
+            if (Files.exists(stagingPath)) {
+                Files.createDirectories(finalPath.getParent());
+                fileDurabilityService.move(stagingPath, finalPath);
+            }
+            fileDurabilityService.syncDirectory(finalPath.getParent());
+            log.warn("게시 완료 처리: {}", staged.finalPath());
+        } else {
+            // 커밋되지 않음: 쓰다 만 파일 삭제
+            Files.deleteIfExists(stagingPath);
+            Files.deleteIfExists(Paths.get(staged.finalPath()));
+            log.warn("게시 되돌림: {}", staged.storedFilename());
+        }
+        Files.deleteIfExists(journalPath);
+        return true;
+    }
+
+    private UploadedFile awaitGroupCommit(PublishRequest request) throws IOException {
+        publishQueue.add(request);
+        try {
+            return request.done().get(awaitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (request.claim()) {
+                rollBack(request.staged());
+            }
+            throw new InterruptedIOException("메타데이터 커밋 대기 중 인터럽트되었습니다.");
+        } catch (TimeoutException e) {
+            if (request.claim()) {
+                // 아직 배치에 들어가지 않았으므로 안전하게 취소
+                rollBack(request.staged());
+                throw new IOException("메타데이터 커밋 대기 시간을 초과했습니다: " + request.staged().storedFilename(), e);
+            }
+            // 이미 커밋 중이면 결과를 기다림 (커밋된 행의 파일을 지우지 않도록)
+            return awaitClaimed(request);
+        } catch (ExecutionException e) {
+            rollBack(request.staged());
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private UploadedFile awaitClaimed(PublishRequest request) throws IOException {
+        try {
+            return request.done().join();
+        } catch (CompletionException e) {
+            rollBack(request.staged());
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static IOException unwrap(Throwable cause) {
+        if (cause instanceof UncheckedIOException unchecked) {
+            return unchecked.getCause();
+        }
+        if (cause instanceof IOException io) {
+            return io;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        return new IOException("메타데이터 커밋 실패", cause);
+    }
+
+    private void runCommitter() {
+        List<PublishRequest> batch = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(publishQueue.take());
+                // 첫 요청 이후 잠깐 기다려 같이 커밋할 게시를 모음
+                Thread.sleep(groupCommitMillis);
+                publishQueue.drainTo(batch, maxBatchSize - 1);
+                commitGroup(batch.stream().filter(PublishRequest::claim).toList());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                publishQueue.addAll(batch); // 아직 커밋하지 않은 요청은 아래에서 실패 처리
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // 종료 중 남은 요청은 실패 처리하여 호출자가 무한히 기다리지 않도록 함
+        List<PublishRequest> remaining = new ArrayList<>();
+        publishQueue.drainTo(remaining);
+        remaining.stream().filter(PublishRequest::claim).forEach(request -> request.done().completeExceptionally(
+                new IOException("메타데이터 커밋 스레드가 종료되었습니다.")));
+    }
+
+    /**
+     * 배치를 한 트랜잭션으로 커밋하고 호출자를 깨웁니다. 실패하면 하나씩 다시 커밋합니다.
+     */
+    void commitGroup(List<PublishRequest> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<UploadedFile> saved = commitBatch(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).done().complete(saved.get(i));
+            }
+            log.debug("업로드 메타데이터 {}개 그룹 커밋", batch.size());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).done().completeExceptionally(e);
+                return;
+            }
+            log.warn("그룹 커밋 실패, 개별 커밋으로 재시도: {}개 - {}", batch.size(), e.getMessage());
+            batch.forEach(request -> commitGroup(List.of(request)));
+        }
+    }
+
+    /**
+     * 한 트랜잭션에서 메타데이터를 저장하고 파일을 최종 경로로 옮긴 뒤, 디렉토리를 한 번씩만 반영합니다.
+     * rename은 커밋 전에 하여, 커밋된 행은 항상 최종 경로의 파일을 가리키게 합니다.
+     * 롤백되면 옮긴 파일을 스테이징으로 되돌립니다.
+     */
+    private List<UploadedFile> commitBatch(List<PublishRequest> batch) {
+        List<StagedUpload> moved = new ArrayList<>(batch.size());
+        List<UploadedFile> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                List<UploadedFile> inserted = new ArrayList<>(batch.size());
+                for (PublishRequest request : batch) {
+                    inserted.add(request.saveMetadata().get());
+                    StagedUpload staged = request.staged();
+                    try {
+                        fileDurabilityService.move(Paths.get(staged.stagingPath()), Paths.get(staged.finalPath()));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    moved.add(staged);
+                }
+                return inserted;
+            });
+        } catch (RuntimeException e) {
+            moved.forEach(this::moveBack);
+            throw e;
+        }
+
+        Set<Path> directories = new LinkedHashSet<>();
+        batch.forEach(request -> directories.add(Paths.get(request.staged().finalPath()).getParent()));
+        directories.forEach(fileDurabilityService::syncDirectory);
+        return saved;
+    }
+
+    private void moveBack(StagedUpload staged) {
+        try {
+            fileDurabilityService.move(Paths.get(staged.finalPath()), Paths.get(staged.stagingPath()));
+        } catch (IOException e) {
+            log.warn("스테이징으로 되돌리기 실패: {} - {}", staged.storedFilename(), e.getMessage());
+        }
+    }
+
+    private void rollBack(StagedUpload staged) {
+        try {
+            Files.deleteIfExists(Paths.get(staged.stagingPath()));
+            Files.deleteIfExists(Paths.get(staged.finalPath()));
+        } catch (IOException e) {
+            // 저널 항목을 남겨 두면 복구 작업이 다시 정리함
+            inFlight.remove(staged.storedFilename());
+            log.error("게시 되돌리기 실패, 복구 작업에 맡김: {} - {}", staged.storedFilename(), e.getMessage());
+            return;
+        }
+        removeJournal(staged);
+    }
+
+    private void removeJournal(StagedUpload staged) {
+        try {
+            Files.deleteIfExists(journalPathOf(staged.storedFilename()));
+        } catch (IOException e) {
+            log.warn("게시 저널 항목 삭제 실패: {} - {}", staged.storedFilename(), e.getMessage());
+        } finally {
+            inFlight.remove(staged.storedFilename());
+        }
+    }
+
+    private boolean isRecent(Path path) {
+        try {
+            return System.currentTimeMillis() - Files.getLastModifiedTime(path).toMillis() < recoveryGraceMillis;
+        } catch (IOException e) {
+            return false; // 없는 파일
+        }
+    }
+
+    private Path journalPathOf(String storedFilename) {
+        return journalDir.resolve(storedFilename + JOURNAL_SUFFIX);
+    }
+
+    /**
+     * 커밋 대기 중인 게시 (claim에 성공한 쪽만 처리: committer는 배치에 넣고, 호출자는 대기 시간 초과 시 취소)
+     */
+    record PublishRequest(StagedUpload staged, Supplier<UploadedFile> saveMetadata,
+                          CompletableFuture<UploadedFile> done, AtomicBoolean claimed) {
+
+        PublishRequest(StagedUpload staged, Supplier<UploadedFile> saveMetadata) {
+            this(staged, saveMetadata, new CompletableFuture<>(), new AtomicBoolean(false));
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+
+    /**
+     * 게시 중인 업로드 (저널 항목 내용)
+     */
+    public record StagedUpload(String storedFilename, String stagingPath, String finalPath) {
+    }
+}
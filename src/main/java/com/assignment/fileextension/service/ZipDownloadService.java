@@ -0,0 +1,159 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.common.FileExtensionConstants;
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 여러 파일을 ZIP으로 묶어 응답 스트림에 바로 씁니다.
+ *
+ * 임시 파일 없이 파일을 하나씩 읽어 고정 크기 버퍼로 흘려보내므로, 메모리 사용량은 아카이브 크기와 무관합니다.
+ * (ZIP 끝의 중앙 디렉토리를 위해 항목당 메타데이터만 유지) 4GB 또는 65,535개를 넘으면 ZIP64로 기록됩니다.
+ */
+@Slf4j
+@Service
+public class ZipDownloadService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final UploadedFileRepository uploadedFileRepository;
+    private final FileEncryptionService fileEncryptionService;
+    private final ReplicationService replicationService;
+    private final BufferPoolService bufferPoolService;
+    private final int maxFiles;
+
+    public ZipDownloadService(
+            UploadedFileRepository uploadedFileRepository,
+            FileEncryptionService fileEncryptionService,
+            ReplicationService replicationService,
+            BufferPoolService bufferPoolService,
+            @Value("${app.zip.max-files:1000}") int maxFiles) {
+        this.uploadedFileRepository = uploadedFileRepository;
+        this.fileEncryptionService = fileEncryptionService;
+        this.replicationService = replicationService;
+        this.bufferPoolService = bufferPoolService;
+        this.maxFiles = maxFiles;
+    }
+
+    /**
+     * 요청한 순서대로 활성 파일만 조회합니다. 중복 ID는 한 번만 포함합니다.
+     */
+    @Transactional(readOnly = true)
+    public List<UploadedFile> resolveFiles(List<Long> fileIds) {
+        if (fileIds == null || fileIds.isEmpty()) {
+            throw new IllegalArgumentException("다운로드할 파일 ID가 필요합니다.");
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(fileIds);
+        ids.remove(null);
+        if (ids.size() > maxFiles) {
+            throw new IllegalArgumentException("한 번에 최대 " + maxFiles + "개까지 다운로드할 수 있습니다.");
+        }
+
+        Map<Long, UploadedFile> found = uploadedFileRepository.findAllById(ids).stream()
+                .filter(file -> file.getStatus() == UploadedFile.FileStatus.ACTIVE)
+                .collect(Collectors.toMap(UploadedFile::getId, Function.identity()));
+        return ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * 파일들을 ZIP으로 묶어 out에 씁니다. out은 닫지 않습니다. (응답 스트림은 서블릿 컨테이너가 닫음)
+     * 이미 압축된 형식은 무압축 수준으로 담아 다시 압축하는 CPU를 쓰지 않습니다.
+     * 클라이언트 연결이 끊기면 쓰기 중 IOException이 발생하고, 열려 있던 파일은 닫힙니다.
+     */
+    public void writeZip(List<UploadedFile> files, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        WritableByteChannel target = Channels.newChannel(zip);
+        Set<String> entryNames = new HashSet<>();
+        int written = 0;
+
+        try (BufferPoolService.PooledBuffer pooled = bufferPoolService.acquire(BufferPoolService.IoClass.STREAM)) {
+            ByteBuffer buffer = pooled.buffer(); // 아카이브 전체에서 버퍼 하나를 재사용
+            for (UploadedFile file : files) {
+                Path path = replicationService.resolveForRead(file); // 원본이 없으면 복제본
+                try (InputStream in = fileEncryptionService.openInputStream(path)) {
+                    ZipEntry entry = new ZipEntry(uniqueName(file.getOriginalFilename(), entryNames));
+                    if (file.getCreatedAt() != null) {
+                        entry.setLastModifiedTime(FileTime.from(file.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant()));
+                    }
+                    zip.setLevel(isCompressed(file.getExtension()) ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+                    zip.putNextEntry(entry);
+
+                    ReadableByteChannel source = Channels.newChannel(in);
+                    while (source.read(buffer) != -1) {
+                        buffer.flip();
+                        while (buffer.hasRemaining()) {
+                            target.write(buffer);
+                        }
+                        buffer.clear();
+                    }
+                    zip.closeEntry();
+                    written++;
+                } catch (NoSuchFileException e) {
+                    // 스트리밍 중에는 응답 상태를 바꿀 수 없으므로 없는 파일은 건너뜀
+                    log.warn("ZIP 다운로드 - 파일 없음, 건너뜀: {} (ID {})", file.getOriginalFilename(), file.getId());
+                }
+            }
+        }
+
+        zip.finish();
+        zip.flush();
+        log.info("ZIP 다운로드 완료: {}/{}개", written, files.size());
+    }
+
+    private static boolean isCompressed(String extension) {
+        return extension != null && FileExtensionConstants.COMPRESSED_EXTENSIONS.contains(extension.toLowerCase());
+    }
+
+    /**
+     * 같은 이름의 파일은 "이름 (1).확장자" 형식으로 구분합니다.
+     */
+    private static String uniqueName(String originalFilename, Set<String> entryNames) {
+        String name = originalFilename != null && !originalFilename.isBlank() ? originalFilename : "file";
+        name = name.replace('\\', '_').replace('/', '_');
+        if (entryNames.add(name)) {
+            return name;
+        }
+
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        for (int i = 1; ; i++) {
+            String candidate = base + " (" + i + ")" + extension;
+            if (entryNames.add(candidate)) {
+                return candidate;
+            }
+        }
+    }
+}
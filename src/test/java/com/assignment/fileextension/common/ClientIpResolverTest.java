@@ -0,0 +1,73 @@
+package com.assignment.fileextension.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ClientIpResolver 테스트")
+class ClientIpResolverTest {
+
+    private final TrustedProxies trustedProxies = TrustedProxies.parse("127.0.0.1/32, ::1/128, 172.16.0.0/12");
+
+    @Test
+    @DisplayName("신뢰 프록시 경유 - 클라이언트가 넣은 X-Forwarded-For 앞쪽 항목은 무시")
+    void resolveTrusted_IgnoresSpoofedEntries() {
+        // given - nginx가 클라이언트 값 뒤에 실제 접속 주소를 덧붙임
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("127.0.0.1");
+        request.addHeader("X-Forwarded-For", "1.2.3.4, 203.0.113.7");
+        request.addHeader("X-Real-IP", "203.0.113.7");
+
+        // when & then
+        assertThat(ClientIpResolver.resolveTrusted(request, trustedProxies)).isEqualTo("203.0.113.7");
+        assertThat(ClientIpResolver.resolve(request)).isEqualTo("1.2.3.4"); // 기록용은 기존 동작 유지
+    }
+
+    @Test
+    @DisplayName("신뢰 프록시가 여러 단계 - 오른쪽부터 신뢰 프록시를 건너뜀")
+    void resolveTrusted_SkipsTrustedHops() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("172.18.0.1");
+        request.addHeader("X-Forwarded-For", "evil, 198.51.100.9, 172.20.0.5");
+
+        assertThat(ClientIpResolver.resolveTrusted(request, trustedProxies)).isEqualTo("198.51.100.9");
+    }
+
+    @Test
+    @DisplayName("신뢰하지 않는 주소에서 직접 접속 - 헤더를 보지 않음")
+    void resolveTrusted_DirectClient() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("198.51.100.20");
+        request.addHeader("X-Forwarded-For", "10.0.0.1");
+        request.addHeader("X-Real-IP", "10.0.0.1");
+
+        assertThat(ClientIpResolver.resolveTrusted(request, trustedProxies)).isEqualTo("198.51.100.20");
+    }
+
+    @Test
+    @DisplayName("X-Forwarded-For 없이 X-Real-IP만 있는 경우")
+    void resolveTrusted_RealIpOnly() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("::1");
+        request.addHeader("X-Real-IP", "203.0.113.7");
+
+        assertThat(ClientIpResolver.resolveTrusted(request, trustedProxies)).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    @DisplayName("신뢰 프록시 범위 - CIDR 일치, IP가 아닌 값은 신뢰하지 않음, 잘못된 설정은 실패")
+    void trustedProxies() {
+        assertThat(trustedProxies.contains("172.31.255.255")).isTrue();
+        assertThat(trustedProxies.contains("172.32.0.1")).isFalse();
+        assertThat(trustedProxies.contains("0:0:0:0:0:0:0:1")).isTrue();
+        assertThat(trustedProxies.contains("localhost")).isFalse();
+        assertThat(trustedProxies.contains(null)).isFalse();
+        assertThatThrownBy(() -> TrustedProxies.parse("10.0.0.0/33"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TrustedProxies.parse("proxy.internal"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,28 @@
+package com.assignment.fileextension.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("FileNameUtils 테스트")
+class FileNameUtilsTest {
+
+    @Test
+    @DisplayName("모든 확장자 구간 추출 - 소문자, 숫자 구간 제외")
+    void extractAllExtensions() {
+        assertThat(FileNameUtils.extractAllExtensions("Report.2024.EXE.txt"))
+                .containsExactly("exe", "txt");
+        assertThat(FileNameUtils.extractAllExtensions("README")).isEmpty();
+        assertThat(FileNameUtils.extractAllExtensions(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("색인 대상 확장자 - 길이 제한 초과 구간 제외")
+    void extractIndexableExtensions() {
+        String longSegment = "a".repeat(FileExtensionConstants.FileLimit.MAX_EXTENSION_NAME_LENGTH + 1);
+
+        assertThat(FileNameUtils.extractIndexableExtensions("file." + longSegment + ".exe"))
+                .containsExactly("exe");
+    }
+}
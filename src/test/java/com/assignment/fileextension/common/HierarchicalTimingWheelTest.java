@@ -0,0 +1,65 @@
+package com.assignment.fileextension.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HierarchicalTimingWheel 테스트")
+class HierarchicalTimingWheelTest {
+
+    @Test
+    @DisplayName("만료 시각 순서로 꺼내고, 만료 전에는 꺼내지 않음")
+    void poll_InExpirationOrder() throws InterruptedException {
+        // given - 10ms 틱, 8칸 (80ms를 넘는 항목은 상위 휠에 보관)
+        long start = System.currentTimeMillis();
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(10, 8, start);
+        wheel.add(1L, start + 30);
+        wheel.add(2L, start + 250);
+        wheel.add(3L, start + 700);
+
+        // when
+        Map<Long, Long> firedAt = pollAll(wheel, 3, start);
+
+        // then
+        assertThat(firedAt.keySet()).containsExactly(1L, 2L, 3L);
+        assertThat(firedAt.get(1L)).isGreaterThanOrEqualTo(30);
+        assertThat(firedAt.get(2L)).isGreaterThanOrEqualTo(250);
+        assertThat(firedAt.get(3L)).isGreaterThanOrEqualTo(700);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("이미 지난 만료 시각은 다음 틱에 만료")
+    void add_PastExpiration() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(10, 8, start);
+
+        wheel.add(1L, start - 1000);
+
+        assertThat(wheel.poll(1000)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("만료 대상이 없으면 빈 목록 반환")
+    void poll_Empty() throws InterruptedException {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(10, 8, System.currentTimeMillis());
+
+        assertThat(wheel.poll(20)).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    private Map<Long, Long> pollAll(HierarchicalTimingWheel wheel, int expected, long start)
+            throws InterruptedException {
+        Map<Long, Long> firedAt = new LinkedHashMap<>();
+        while (firedAt.size() < expected && System.currentTimeMillis() - start < 5000) {
+            for (Long key : wheel.poll(100)) {
+                firedAt.put(key, System.currentTimeMillis() - start);
+            }
+        }
+        return firedAt;
+    }
+}
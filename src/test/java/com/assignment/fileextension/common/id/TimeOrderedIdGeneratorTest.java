@@ -0,0 +1,112 @@
+package com.assignment.fileextension.common.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TimeOrderedIdGenerator 테스트")
+class TimeOrderedIdGeneratorTest {
+
+    @Test
+    @DisplayName("연속 발급된 ID는 단조 증가")
+    void nextId_MonotonicallyIncreasing() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(3);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long current = generator.nextId();
+            assertThat(current).isGreaterThan(previous);
+            previous = current;
+        }
+    }
+
+    @Test
+    @DisplayName("ID는 JavaScript 안전 정수 범위(53비트) 이내")
+    void nextId_WithinJavaScriptSafeRange() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE_ID);
+
+        assertThat(generator.nextId()).isBetween(0L, (1L << 53) - 1);
+    }
+
+    @Test
+    @DisplayName("노드 ID와 생성 시각 추출")
+    void extractNodeAndTimestamp() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(42);
+
+        long id = generator.nextId();
+
+        assertThat(TimeOrderedIdGenerator.extractNodeId(id)).isEqualTo(42L);
+        assertThat(Duration.between(TimeOrderedIdGenerator.extractTimestamp(id), Instant.now()))
+                .isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("정렬 가능한 문자열 - 사전순이 발급순과 일치")
+    void sortableString_LexicographicOrder() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1);
+
+        String first = generator.nextSortableString();
+        String second = generator.nextSortableString();
+
+        assertThat(first).hasSize(14);
+        assertThat(first).isLessThan(second);
+    }
+
+    @Test
+    @DisplayName("동시 발급 시 중복 없음")
+    void nextId_UniqueUnderConcurrency() throws Exception {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(7);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        ids.add(generator.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(ids).hasSize(80_000);
+    }
+
+    @Test
+    @DisplayName("노드 ID 범위 초과 - 실패")
+    void constructor_InvalidNodeId() {
+        assertThatThrownBy(() -> new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("노드 ID 설정 - 설정값 사용, 미설정 시 단일 노드에서만 0번")
+    void resolveNodeId() {
+        assertThat(TimeOrderedIdGenerator.resolveNodeId(" 12 ", false)).isEqualTo(12L);
+        assertThat(TimeOrderedIdGenerator.resolveNodeId(null, true)).isZero();
+        assertThatThrownBy(() -> TimeOrderedIdGenerator.resolveNodeId("", false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("APP_ID_NODE_ID");
+        assertThatThrownBy(() -> TimeOrderedIdGenerator.resolveNodeId("64", true))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> TimeOrderedIdGenerator.resolveNodeId("node-1", false))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -1,22 +1,47 @@
 package com.assignment.fileextension.controller;
 
 import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.service.AccelRedirectService;
+import com.assignment.fileextension.service.BufferPoolService;
+import com.assignment.fileextension.service.BulkFileService;
+import com.assignment.fileextension.service.DownloadCacheService;
+import com.assignment.fileextension.service.DownloadStatsService;
+import com.assignment.fileextension.service.ExtensionStatsService;
+import com.assignment.fileextension.service.FileEncryptionService;
+import com.assignment.fileextension.service.FileExpiryService;
+import com.assignment.fileextension.service.FileQuarantineService;
+import com.assignment.fileextension.service.FilenameSearchService;
+import com.assignment.fileextension.service.IntegrityVerificationService;
+import com.assignment.fileextension.service.ReplicationService;
+import com.assignment.fileextension.service.SignedUrlService;
 import com.assignment.fileextension.service.StorageService;
+import com.assignment.fileextension.service.ZipDownloadService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(FileManagementController.class)
@@ -33,6 +58,48 @@ class FileDownloadControllerTest {
     @MockBean
     private StorageService storageService;
 
+    @MockBean
+    private DownloadCacheService downloadCacheService;
+
+    @MockBean
+    private FileQuarantineService fileQuarantineService;
+
+    @MockBean
+    private FileExpiryService fileExpiryService;
+
+    @MockBean
+    private ExtensionStatsService extensionStatsService;
+
+    @MockBean
+    private ZipDownloadService zipDownloadService;
+
+    @MockBean
+    private AccelRedirectService accelRedirectService;
+
+    @MockBean
+    private SignedUrlService signedUrlService;
+
+    @MockBean
+    private FileEncryptionService fileEncryptionService;
+
+    @MockBean
+    private ReplicationService replicationService;
+
+    @MockBean
+    private DownloadStatsService downloadStatsService;
+
+    @MockBean
+    private BufferPoolService bufferPoolService;
+
+    @MockBean
+    private BulkFileService bulkFileService;
+
+    @MockBean
+    private FilenameSearchService filenameSearchService;
+
+    @MockBean
+    private IntegrityVerificationService integrityVerificationService;
+
     private UploadedFile testFile;
 
     @BeforeEach
@@ -40,6 +107,12 @@ class FileDownloadControllerTest {
         // 테스트용 실제 파일 생성
         Path testFilePath = Paths.get("test-file.txt");
         Files.write(testFilePath, "Test content".getBytes());
+        // 평문 저장 (암호화 사용 안 함)
+        when(fileEncryptionService.asResource(any()))
+                .thenAnswer(invocation -> new FileSystemResource(invocation.<Path>getArgument(0)));
+        // 복제 사용 안 함 (항상 원본 경로)
+        when(replicationService.resolveForRead(any()))
+                .thenAnswer(invocation -> Paths.get(invocation.<UploadedFile>getArgument(0).getFilePath()));
 
         testFile = UploadedFile.builder()
                 .id(1L)
@@ -67,11 +140,36 @@ class FileDownloadControllerTest {
 
         // 최적화 검증: findById 한번만 호출되어야 함
         org.mockito.Mockito.verify(storageService, org.mockito.Mockito.times(1)).findById(1L);
+        // 다운로드 횟수는 메모리에만 기록 (DB UPDATE 없음)
+        verify(downloadStatsService).recordDownload(1L);
         // 이전 비효율적 메서드들은 호출되지 않아야 함
         org.mockito.Mockito.verify(storageService, org.mockito.Mockito.never())
                 .getFilesByStatus(org.mockito.Mockito.any());
     }
 
+    @Test
+    @DisplayName("파일 다운로드 - 저장된 체크섬을 Repr-Digest 헤더로 전달")
+    void downloadFile_ReprDigestHeader() throws Exception {
+        // given
+        UploadedFile fileWithChecksum = UploadedFile.builder()
+                .id(2L)
+                .originalFilename("test.txt")
+                .storedFilename("test-file.txt")
+                .filePath(testFile.getFilePath())
+                .extension("txt")
+                .fileSize(12L)
+                .checksum("9d9595c5d94fb65b824f56e9999527dba9542481580d69feb89056aabaa0aa87")
+                .build();
+        when(storageService.findById(2L))
+                .thenReturn(fileWithChecksum);
+
+        // when & then
+        mockMvc.perform(get("/api/files/2/download"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Repr-Digest", "sha-256=:nZWVxdlPtluCT1bpmZUn26lUJIFYDWn+uJBWqrqgqoc=:"))
+                .andExpect(header().string("Digest", "SHA-256=nZWVxdlPtluCT1bpmZUn26lUJIFYDWn+uJBWqrqgqoc="));
+    }
+
     @Test
     @DisplayName("파일 다운로드 - 파일 없음 (최적화)")
     void downloadFile_FileNotFound_Optimized() throws Exception {
@@ -85,5 +183,155 @@ class FileDownloadControllerTest {
 
         // 최적화 검증: 불필요한 추가 쿼리가 발생하지 않음
         org.mockito.Mockito.verify(storageService, org.mockito.Mockito.times(1)).findById(999L);
+        verify(downloadStatsService, never()).recordDownload(any());
+    }
+
+    @Test
+    @DisplayName("ZIP 다운로드 - 조회한 파일을 스트리밍")
+    void downloadZip_Streams() throws Exception {
+        // given
+        when(zipDownloadService.resolveFiles(List.of(1L, 2L))).thenReturn(List.of(testFile));
+
+        // when
+        MvcResult result = mockMvc.perform(post("/api/files/download/zip")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fileIds\": [1, 2]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/zip"))
+                .andExpect(header().string("Content-Disposition", org.hamcrest.Matchers.startsWith("attachment; filename=\"files-")));
+        verify(zipDownloadService).writeZip(eq(List.of(testFile)), any());
+    }
+
+    @Test
+    @DisplayName("파일 다운로드 - nginx 전송 모드는 X-Accel-Redirect 헤더만 응답")
+    void downloadFile_AccelRedirect() throws Exception {
+        // given
+        when(accelRedirectService.isEnabled()).thenReturn(true);
+        when(storageService.findById(1L)).thenReturn(testFile);
+        when(accelRedirectService.resolveRedirectPath(testFile)).thenReturn("/protected-files/2024/01/01/test-file.txt");
+
+        // when & then
+        mockMvc.perform(get("/api/files/1/download"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Accel-Redirect", "/protected-files/2024/01/01/test-file.txt"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"test.txt\""))
+                .andExpect(content().bytes(new byte[0]));
+        verify(downloadCacheService, never()).get(any());
+        verify(downloadCacheService, never()).admit(any(), anyLong());
+        verify(downloadStatsService).recordDownload(1L);
+    }
+
+    @Test
+    @DisplayName("파일 다운로드 - nginx로 넘길 수 없는 파일은 직접 전송")
+    void downloadFile_AccelRedirectFallback() throws Exception {
+        // given
+        when(accelRedirectService.isEnabled()).thenReturn(true);
+        when(storageService.findById(1L)).thenReturn(testFile);
+        when(accelRedirectService.resolveRedirectPath(testFile)).thenReturn(null);
+
+        // when & then
+        mockMvc.perform(get("/api/files/1/download"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Accel-Redirect"))
+                .andExpect(content().string("Test content"));
+    }
+
+    @Test
+    @DisplayName("파일 다운로드 - 원본이 없으면 복제본을 직접 전송 (nginx 전송 모드 우회)")
+    void downloadFile_FailoverToReplica() throws Exception {
+        // given
+        Path replicaPath = Paths.get("test-file-replica.txt");
+        Files.write(replicaPath, "Replica content".getBytes());
+        try {
+            when(accelRedirectService.isEnabled()).thenReturn(true);
+            when(storageService.findById(1L)).thenReturn(testFile);
+            when(accelRedirectService.resolveRedirectPath(testFile)).thenReturn("/protected-files/test-file.txt");
+            when(replicationService.isPrimaryMissing(testFile)).thenReturn(true);
+            when(replicationService.resolveForRead(testFile)).thenReturn(replicaPath);
+
+            // when & then
+            mockMvc.perform(get("/api/files/1/download"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("X-Accel-Redirect"))
+                    .andExpect(content().string("Replica content"));
+        } finally {
+            Files.deleteIfExists(replicaPath);
+        }
+    }
+
+    @Test
+    @DisplayName("서명된 URL 다운로드 - DB 조회 없이 토큰 정보로 전송")
+    void downloadSigned_NoDatabaseLookup() throws Exception {
+        // given
+        SignedUrlService.SignedDownload signed = new SignedUrlService.SignedDownload(
+                1L, "test-file.txt", "test.txt", "text/plain", System.currentTimeMillis(), Long.MAX_VALUE);
+        when(signedUrlService.verify("valid-token")).thenReturn(signed);
+        when(signedUrlService.resolvePath(signed)).thenReturn(Paths.get("test-file.txt"));
+
+        // when & then
+        mockMvc.perform(get("/api/files/signed/valid-token"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"test.txt\""))
+                .andExpect(content().contentType("text/plain"))
+                .andExpect(content().string("Test content"));
+        verify(storageService, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("서명된 URL 다운로드 - 검증 실패 시 403")
+    void downloadSigned_Forbidden() throws Exception {
+        // given
+        when(signedUrlService.verify("bad-token")).thenReturn(null);
+
+        // when & then
+        mockMvc.perform(get("/api/files/signed/bad-token"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("서명된 URL 발급")
+    void issueSignedUrl() throws Exception {
+        // given
+        when(storageService.findById(1L)).thenReturn(testFile);
+        when(signedUrlService.issue(eq(testFile), eq(java.time.Duration.ofSeconds(60))))
+                .thenReturn(new SignedUrlService.SignedUrl("k1.payload.sig", java.time.Instant.parse("2030-01-01T00:00:00Z")));
+
+        // when & then
+        mockMvc.perform(post("/api/files/1/signed-url").param("ttlSeconds", "60"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.url").value("/api/files/signed/k1.payload.sig"))
+                .andExpect(jsonPath("$.expiresAt").value("2030-01-01T00:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("ZIP 다운로드 - 다운로드할 파일 없음")
+    void downloadZip_NotFound() throws Exception {
+        // given
+        when(zipDownloadService.resolveFiles(List.of(999L))).thenReturn(List.of());
+
+        // when & then
+        mockMvc.perform(post("/api/files/download/zip")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fileIds\": [999]}"))
+                .andExpect(status().isNotFound());
+        verify(zipDownloadService, never()).writeZip(any(), any());
+    }
+
+    @Test
+    @DisplayName("ZIP 다운로드 - 파일 ID 누락")
+    void downloadZip_BadRequest() throws Exception {
+        // given
+        when(zipDownloadService.resolveFiles(any())).thenThrow(new IllegalArgumentException("다운로드할 파일 ID가 필요합니다."));
+
+        // when & then
+        mockMvc.perform(post("/api/files/download/zip")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+}
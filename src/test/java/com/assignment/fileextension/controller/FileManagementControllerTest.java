@@ -1,7 +1,24 @@
 package com.assignment.fileextension.controller;
 
+import com.assignment.fileextension.dto.BulkFileRequest;
+import com.assignment.fileextension.dto.BulkFileResult;
+import com.assignment.fileextension.entity.ExtensionStats;
 import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.service.AccelRedirectService;
+import com.assignment.fileextension.service.BufferPoolService;
+import com.assignment.fileextension.service.BulkFileService;
+import com.assignment.fileextension.service.DownloadCacheService;
+import com.assignment.fileextension.service.DownloadStatsService;
+import com.assignment.fileextension.service.ExtensionStatsService;
+import com.assignment.fileextension.service.FileEncryptionService;
+import com.assignment.fileextension.service.FileExpiryService;
+import com.assignment.fileextension.service.FileQuarantineService;
+import com.assignment.fileextension.service.FilenameSearchService;
+import com.assignment.fileextension.service.IntegrityVerificationService;
+import com.assignment.fileextension.service.ReplicationService;
+import com.assignment.fileextension.service.SignedUrlService;
 import com.assignment.fileextension.service.StorageService;
+import com.assignment.fileextension.service.ZipDownloadService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,11 +33,13 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -42,6 +61,48 @@ class FileManagementControllerTest {
     @MockBean
     private StorageService storageService;
 
+    @MockBean
+    private DownloadCacheService downloadCacheService;
+
+    @MockBean
+    private FileQuarantineService fileQuarantineService;
+
+    @MockBean
+    private FileExpiryService fileExpiryService;
+
+    @MockBean
+    private ExtensionStatsService extensionStatsService;
+
+    @MockBean
+    private ZipDownloadService zipDownloadService;
+
+    @MockBean
+    private AccelRedirectService accelRedirectService;
+
+    @MockBean
+    private SignedUrlService signedUrlService;
+
+    @MockBean
+    private FileEncryptionService fileEncryptionService;
+
+    @MockBean
+    private ReplicationService replicationService;
+
+    @MockBean
+    private DownloadStatsService downloadStatsService;
+
+    @MockBean
+    private BufferPoolService bufferPoolService;
+
+    @MockBean
+    private BulkFileService bulkFileService;
+
+    @MockBean
+    private FilenameSearchService filenameSearchService;
+
+    @MockBean
+    private IntegrityVerificationService integrityVerificationService;
+
     private UploadedFile mockFile;
     private UploadedFile protectedFile;
 
@@ -110,6 +171,34 @@ class FileManagementControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("청크 해시 조회 - 트리 해시 파일")
+    void getChunkHashes_Success() throws Exception {
+        UploadedFile treeHashedFile = UploadedFile.builder()
+                .id(1L)
+                .originalFilename("large.bin")
+                .treeHash("ab".repeat(32))
+                .treeChunkSize(1048576)
+                .build();
+        when(storageService.findById(1L)).thenReturn(treeHashedFile);
+        when(storageService.getChunkHashes(1L)).thenReturn(List.of("01".repeat(32), "02".repeat(32)));
+
+        mockMvc.perform(get("/api/files/1/chunks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.chunkSize").value(1048576))
+                .andExpect(jsonPath("$.root").value("ab".repeat(32)))
+                .andExpect(jsonPath("$.chunks.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("청크 해시 조회 - 트리 해시가 없는 파일")
+    void getChunkHashes_NotTreeHashed() throws Exception {
+        when(storageService.findById(1L)).thenReturn(mockFile);
+
+        mockMvc.perform(get("/api/files/1/chunks"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("파일 삭제 - 성공")
     void deleteFile_Success() throws Exception {
@@ -185,6 +274,74 @@ class FileManagementControllerTest {
         verify(storageService, never()).setDeletionException(any(), any());
     }
 
+    @Test
+    @DisplayName("손상 파일 목록 조회")
+    void getCorruptedFiles() throws Exception {
+        when(integrityVerificationService.getCorruptedFiles()).thenReturn(List.of(mockFile));
+
+        mockMvc.perform(get("/api/files/integrity/corrupted"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    @DisplayName("파일명 검색 - 결과와 다음 페이지 커서 반환")
+    void searchFiles() throws Exception {
+        when(filenameSearchService.search("test", null, 1))
+                .thenReturn(new FilenameSearchService.SearchPage(List.of(mockFile), "8:1"));
+
+        mockMvc.perform(get("/api/files/search").param("q", "test").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("8:1"));
+    }
+
+    @Test
+    @DisplayName("파일명 검색 - 짧은 검색어는 400")
+    void searchFiles_TooShort() throws Exception {
+        when(filenameSearchService.search("ab", null, null))
+                .thenThrow(new IllegalArgumentException("검색어는 3자 이상이어야 합니다."));
+
+        mockMvc.perform(get("/api/files/search").param("q", "ab"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("검색어는 3자 이상이어야 합니다."));
+    }
+
+    @Test
+    @DisplayName("일괄 삭제 - 파일별 결과와 결과별 건수 반환")
+    void deleteFiles_Bulk() throws Exception {
+        Map<Long, BulkFileResult.Outcome> outcomes = new LinkedHashMap<>();
+        outcomes.put(1L, BulkFileResult.Outcome.DELETED);
+        outcomes.put(2L, BulkFileResult.Outcome.PROTECTED);
+        outcomes.put(3L, BulkFileResult.Outcome.NOT_FOUND);
+        when(bulkFileService.deleteFiles(any(BulkFileRequest.class))).thenReturn(BulkFileResult.of(outcomes));
+
+        mockMvc.perform(post("/api/files/bulk/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fileIds\": [1, 2, 3]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requestedCount").value(3))
+                .andExpect(jsonPath("$.summary.DELETED").value(1))
+                .andExpect(jsonPath("$.results['1']").value("DELETED"))
+                .andExpect(jsonPath("$.results['2']").value("PROTECTED"))
+                .andExpect(jsonPath("$.results['3']").value("NOT_FOUND"));
+    }
+
+    @Test
+    @DisplayName("일괄 삭제 예외 설정 - 대상 지정 오류는 400")
+    void setDeletionExceptions_BadRequest() throws Exception {
+        when(bulkFileService.setDeletionException(any(BulkFileRequest.class)))
+                .thenThrow(new IllegalArgumentException("fileIds 또는 조건(extension, ownerId) 중 하나만 지정해야 합니다."));
+
+        mockMvc.perform(put("/api/files/bulk/protection")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"deletionException\": true}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("fileIds 또는 조건(extension, ownerId) 중 하나만 지정해야 합니다."));
+
+        verify(storageService, never()).setDeletionException(any(), any());
+    }
+
     @Test
     @DisplayName("상태별 파일 조회")
     void getFilesByStatus() throws Exception {
@@ -216,4 +373,135 @@ class FileManagementControllerTest {
 
         verify(storageService).getFilesByExtension("pdf");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("격리 배치 복구 - 성공")
+    void restoreQuarantineBatch_Success() throws Exception {
+        when(fileQuarantineService.restore("0001a2b3c4d5e6")).thenReturn(3);
+
+        mockMvc.perform(post("/api/files/quarantine/0001a2b3c4d5e6/restore"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.restoredCount").value(3));
+
+        verify(fileQuarantineService).restore("0001a2b3c4d5e6");
+    }
+
+    @Test
+    @DisplayName("격리 배치 복구 - 배치 없음")
+    void restoreQuarantineBatch_NotFound() throws Exception {
+        when(fileQuarantineService.restore("unknown"))
+                .thenThrow(new IllegalArgumentException("격리 배치를 찾을 수 없습니다: unknown"));
+
+        mockMvc.perform(post("/api/files/quarantine/unknown/restore"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("파일 만료 설정 - 성공")
+    void setExpiration_Success() throws Exception {
+        Map<String, Long> request = new HashMap<>();
+        request.put("expiresInSeconds", 86400L);
+
+        mockMvc.perform(put("/api/files/1/expiration")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.expiresAt").exists());
+
+        verify(storageService).setExpiration(eq(1L), notNull());
+        verify(fileExpiryService).schedule(eq(1L), notNull());
+    }
+
+    @Test
+    @DisplayName("파일 만료 해제")
+    void setExpiration_Clear() throws Exception {
+        Map<String, Long> request = new HashMap<>();
+        request.put("expiresInSeconds", null);
+
+        mockMvc.perform(put("/api/files/1/expiration")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        verify(storageService).setExpiration(1L, null);
+        verify(fileExpiryService).schedule(1L, null);
+    }
+
+    @Test
+    @DisplayName("파일 만료 설정 - 잘못된 요청")
+    void setExpiration_BadRequest() throws Exception {
+        Map<String, Long> request = new HashMap<>();
+        request.put("expiresInSeconds", -1L);
+
+        mockMvc.perform(put("/api/files/1/expiration")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(storageService, never()).setExpiration(any(), any());
+    }
+
+    @Test
+    @DisplayName("확장자별 저장 현황 조회")
+    void getExtensionStats() throws Exception {
+        ExtensionStats pdf = ExtensionStats.builder()
+                .extension("pdf")
+                .fileCount(3L)
+                .totalBytes(1500L)
+                .deletedCount(1L)
+                .deletedBytes(200L)
+                .build();
+        when(extensionStatsService.getStats()).thenReturn(List.of(pdf));
+
+        mockMvc.perform(get("/api/files/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].extension").value("pdf"))
+                .andExpect(jsonPath("$[0].fileCount").value(3))
+                .andExpect(jsonPath("$[0].totalBytes").value(1500));
+
+        verify(storageService, never()).getFilesByStatus(any());
+    }
+
+    @Test
+    @DisplayName("확장자별 저장 현황 재계산")
+    void rebuildExtensionStats() throws Exception {
+        when(extensionStatsService.rebuild()).thenReturn(4);
+
+        mockMvc.perform(post("/api/files/stats/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.extensionCount").value(4));
+    }
+
+    @Test
+    @DisplayName("파일 복제 현황 조회 - 복제 지연 포함")
+    void getReplicationStats() throws Exception {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", true);
+        stats.put("pending", 3L);
+        stats.put("lagSeconds", 12L);
+        when(replicationService.getStats()).thenReturn(stats);
+
+        mockMvc.perform(get("/api/files/replication/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pending").value(3))
+                .andExpect(jsonPath("$.lagSeconds").value(12));
+    }
+
+    @Test
+    @DisplayName("I/O 버퍼 풀 현황 조회")
+    void getBufferPoolStats() throws Exception {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("allocatedBytes", 1048576L);
+        stats.put("outstanding", 2L);
+        stats.put("leaks", 0L);
+        when(bufferPoolService.getStats()).thenReturn(stats);
+
+        mockMvc.perform(get("/api/files/buffer-pool/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.allocatedBytes").value(1048576))
+                .andExpect(jsonPath("$.outstanding").value(2))
+                .andExpect(jsonPath("$.leaks").value(0));
+    }
+}
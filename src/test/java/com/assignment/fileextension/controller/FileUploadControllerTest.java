@@ -1,10 +1,13 @@
 package com.assignment.fileextension.controller;
 
+import com.assignment.fileextension.common.TrustedProxies;
 import com.assignment.fileextension.entity.UploadedFile;
 import com.assignment.fileextension.enums.BlockReason;
 import com.assignment.fileextension.service.AuditService;
+import com.assignment.fileextension.service.FileExpiryService;
 import com.assignment.fileextension.service.FileValidationService;
 import com.assignment.fileextension.service.StorageService;
+import com.assignment.fileextension.service.UploadAdmissionService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,9 +18,13 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.Map;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -41,6 +48,15 @@ class FileUploadControllerTest {
     @MockBean
     private AuditService auditService;
 
+    @MockBean
+    private FileExpiryService fileExpiryService;
+
+    @MockBean
+    private UploadAdmissionService uploadAdmissionService;
+
+    @MockBean
+    private TrustedProxies trustedProxies;
+
     @Test
     @DisplayName("파일 업로드 성공")
     void uploadFile_Success() throws Exception {
@@ -63,7 +79,7 @@ class FileUploadControllerTest {
                 .build();
 
         when(fileValidationService.validateFile(any())).thenReturn(validationResult);
-        when(storageService.storeFile(any())).thenReturn(uploadedFile);
+        when(storageService.storeFile(any(), any(), any())).thenReturn(uploadedFile);
 
         // when & then
         mockMvc.perform(multipart("/api/files/upload").file(file))
@@ -107,7 +123,7 @@ class FileUploadControllerTest {
 
         verify(auditService).logUploadAttempt(any(), any());
         verify(auditService).logBlockedUpload(any(), any(), eq(validationResult));
-        verify(storageService, never()).storeFile(any());
+        verify(storageService, never()).storeFile(any(), any(), any());
     }
 
     @Test
@@ -134,7 +150,7 @@ class FileUploadControllerTest {
                 .andExpect(jsonPath("$.result").value("allowed"))
                 .andExpect(jsonPath("$.message").value("파일 업로드가 허용됩니다."));
 
-        verify(storageService, never()).storeFile(any());
+        verify(storageService, never()).storeFile(any(), any(), any());
     }
 
     @Test
@@ -167,7 +183,7 @@ class FileUploadControllerTest {
                 .andExpect(jsonPath("$.blockReason").value("BLOCKED_EXTENSION"))
                 .andExpect(jsonPath("$.blockedExtension").value("exe"));
 
-        verify(storageService, never()).storeFile(any());
+        verify(storageService, never()).storeFile(any(), any(), any());
     }
 
     @Test
@@ -187,6 +203,68 @@ class FileUploadControllerTest {
                 .andExpect(jsonPath("$.error").value("파일이 선택되지 않았습니다."));
 
         verify(fileValidationService, never()).validateFile(any());
-        verify(storageService, never()).storeFile(any());
+        verify(storageService, never()).storeFile(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("만료 시간 지정 업로드 - 만료 등록")
+    void uploadFile_WithExpiry() throws Exception {
+        // given
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "share.pdf",
+                "application/pdf",
+                "test content".getBytes()
+        );
+
+        UploadedFile uploadedFile = UploadedFile.builder()
+                .id(7L)
+                .originalFilename("share.pdf")
+                .fileSize(12L)
+                .build();
+
+        when(fileValidationService.validateFile(any()))
+                .thenReturn(FileValidationService.FileValidationResult.allowed());
+        when(storageService.storeFile(any(), any(), any())).thenReturn(uploadedFile);
+
+        // when & then
+        mockMvc.perform(multipart("/api/upload/file").file(file).param("expiresInSeconds", "86400"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expiresAt").exists());
+
+        verify(storageService).storeFile(any(), any(), notNull());
+        verify(fileExpiryService).schedule(eq(7L), notNull());
+    }
+
+    @Test
+    @DisplayName("잘못된 만료 시간 - 에러")
+    void uploadFile_InvalidExpiry() throws Exception {
+        // given
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "share.pdf",
+                "application/pdf",
+                "test content".getBytes()
+        );
+
+        // when & then
+        mockMvc.perform(multipart("/api/upload/file").file(file).param("expiresInSeconds", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("만료 시간은 1초 이상이어야 합니다."));
+
+        verify(storageService, never()).storeFile(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("업로드 승인 제어 현황 조회")
+    void getAdmissionStats() throws Exception {
+        // given
+        when(uploadAdmissionService.getStats()).thenReturn(Map.of("admittedCount", 3L, "rejectedCount", 1L));
+
+        // when & then
+        mockMvc.perform(get("/api/upload/admission"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.admittedCount").value(3))
+                .andExpect(jsonPath("$.rejectedCount").value(1));
     }
-}
\ No newline at end of file
+}
@@ -61,6 +61,23 @@ class GlobalExceptionHandlerTest {
         assertThat(body.get("blockedExtension")).isEqualTo("exe");
     }
 
+    @Test
+    @DisplayName("저장 용량 한도 초과 예외 처리")
+    void handleQuotaExceededException() {
+        // given
+        QuotaExceededException exception =
+                new QuotaExceededException("저장 용량 한도를 초과했습니다.", "10.0.0.1");
+
+        // when
+        ResponseEntity<Map<String, Object>> response =
+                exceptionHandler.handleQuotaExceededException(exception);
+
+        // then
+        assertThat(response.getStatusCodeValue()).isEqualTo(413);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().get("type")).isEqualTo("QUOTA_EXCEEDED");
+    }
+
     @Test
     @DisplayName("확장자 찾을 수 없음 예외 처리")
     void handleExtensionNotFoundException() {
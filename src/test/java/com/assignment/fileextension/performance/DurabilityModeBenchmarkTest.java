@@ -0,0 +1,96 @@
+package com.assignment.fileextension.performance;
+
+import com.assignment.fileextension.service.BufferPoolService;
+import com.assignment.fileextension.service.FileDurabilityService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내구성 모드별 업로드 쓰기 처리량을 비교합니다. (기본 test 태스크에서 제외, ./gradlew benchmark 로 실행)
+ * NONE은 fsync가 없어 가장 빠르지만 장애 시 빈 파일이 남을 수 있습니다.
+ * 처리량은 파일시스템과 디스크에 따라 다르므로 결과를 기록만 하고 비교는 단언하지 않습니다.
+ */
+@Tag("benchmark")
+@DisplayName("내구성 모드 처리량 벤치마크")
+class DurabilityModeBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(DurabilityModeBenchmarkTest.class);
+
+    private static final int CONCURRENT_UPLOADS = 64;
+    private static final int FILE_COUNT = 1_000;
+    private static final int PAYLOAD_SIZE = 64 * 1024;
+
+    private final byte[] payload = new byte[PAYLOAD_SIZE];
+    private final BufferPoolService bufferPoolService = new BufferPoolService(1048576, 65536, 8192, 67108864L, false);
+    private Path workDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        workDir = Files.createTempDirectory("durability-bench");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    @DisplayName("모드별 처리량 측정 - 모든 모드에서 파일이 온전히 저장됨")
+    void compareModes() throws Exception {
+        Map<String, Double> throughput = new LinkedHashMap<>();
+        for (String mode : List.of("none", "per-file")) {
+            FileDurabilityService service = new FileDurabilityService(bufferPoolService, mode);
+            run(service, mode + "-warmup", 100);
+            long nanos = run(service, mode, FILE_COUNT);
+            throughput.put(mode, FILE_COUNT / (nanos / 1_000_000_000.0));
+        }
+
+        throughput.forEach((mode, filesPerSecond) ->
+                log.info("{}: {} files/s", mode, Math.round(filesPerSecond)));
+
+        try (Stream<Path> paths = Files.list(workDir.resolve("per-file"))) {
+            assertThat(paths.filter(path -> path.toFile().length() == PAYLOAD_SIZE).count()).isEqualTo(FILE_COUNT);
+        }
+        assertThat(throughput).hasSize(2).allSatisfy((mode, filesPerSecond) -> assertThat(filesPerSecond).isPositive());
+    }
+
+    private long run(FileDurabilityService service, String name, int files) throws Exception {
+        Path dir = Files.createDirectories(workDir.resolve(name));
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_UPLOADS)) {
+            List<Future<Long>> futures = new ArrayList<>(files);
+            for (int i = 0; i < files; i++) {
+                Path target = dir.resolve("upload-" + i + ".bin");
+                futures.add(executor.submit(() ->
+                        service.write(new ByteArrayInputStream(payload), target)));
+            }
+            for (Future<Long> future : futures) {
+                future.get();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,153 @@
+package com.assignment.fileextension.performance;
+
+import com.assignment.fileextension.service.BufferPoolService;
+import com.assignment.fileextension.service.FileDurabilityService;
+import com.assignment.fileextension.service.FileEncryptionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 저장 암호화의 처리량 비용을 평문 저장과 비교합니다. (기본 test 태스크에서 제외, ./gradlew benchmark 로 실행)
+ * FileStorageService와 같은 경로(FileEncryptionService.encrypt -> FileDurabilityService.write)로 쓰고,
+ * 다운로드와 같은 경로(openInputStream)로 읽습니다.
+ *
+ * AES-GCM은 C2가 컴파일한 뒤에야 AES-NI/CLMUL 인트린식을 쓰고, 그 전에는 자바 구현(GHASH, CounterMode)으로
+ * 동작해 수십 배 느립니다. 측정 전에 충분히 예열하지 않으면 결과는 JIT 예열 시간을 재는 것이므로,
+ * 모드마다 측정량의 몇 배를 먼저 처리합니다.
+ */
+@Tag("benchmark")
+@DisplayName("저장 암호화 처리량 벤치마크")
+class EncryptionThroughputBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EncryptionThroughputBenchmarkTest.class);
+
+    private static final int CONCURRENT_UPLOADS = 16;
+    private static final int FILE_COUNT = 200;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int PAYLOAD_SIZE = 1024 * 1024;
+
+    private final byte[] payload = new byte[PAYLOAD_SIZE];
+    private final FileDurabilityService durabilityService = new FileDurabilityService(
+            new BufferPoolService(1048576, 65536, 8192, 67108864L, false), "none");
+    private Path workDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        new Random(42).nextBytes(payload);
+        workDir = Files.createTempDirectory("encryption-bench");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    @DisplayName("평문/암호화 쓰기와 읽기 처리량 비교 - 암호화된 파일도 원본과 같게 읽힘")
+    void compareThroughput() throws Exception {
+        String masterKey = Base64.getEncoder().encodeToString(new byte[32]);
+        Map<String, FileEncryptionService> modes = new LinkedHashMap<>();
+        modes.put("plaintext", new FileEncryptionService(false, "", 65536, CONCURRENT_UPLOADS));
+        modes.put("aes-gcm", new FileEncryptionService(true, masterKey, 65536, CONCURRENT_UPLOADS));
+
+        Map<String, double[]> throughput = new LinkedHashMap<>();
+        for (Map.Entry<String, FileEncryptionService> mode : modes.entrySet()) {
+            for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                write(mode.getValue(), mode.getKey() + "-warmup", FILE_COUNT);
+                read(mode.getValue(), mode.getKey() + "-warmup", FILE_COUNT);
+            }
+            long writeNanos = write(mode.getValue(), mode.getKey(), FILE_COUNT);
+            long readNanos = read(mode.getValue(), mode.getKey(), FILE_COUNT);
+            throughput.put(mode.getKey(), new double[]{megabytesPerSecond(writeNanos), megabytesPerSecond(readNanos)});
+        }
+
+        throughput.forEach((mode, result) ->
+                log.info("{}: 쓰기 {} MB/s, 읽기 {} MB/s", mode, Math.round(result[0]), Math.round(result[1])));
+        double[] plain = throughput.get("plaintext");
+        double[] encrypted = throughput.get("aes-gcm");
+        log.info("암호화 오버헤드: 쓰기 {}%, 읽기 {}%",
+                Math.round((1 - encrypted[0] / plain[0]) * 100), Math.round((1 - encrypted[1] / plain[1]) * 100));
+
+        try (InputStream in = modes.get("aes-gcm").openInputStream(workDir.resolve("aes-gcm").resolve("upload-0.bin"))) {
+            assertThat(in.readAllBytes()).isEqualTo(payload);
+        }
+        assertThat(throughput.values()).allSatisfy(result -> {
+            assertThat(result[0]).isPositive();
+            assertThat(result[1]).isPositive();
+        });
+    }
+
+    private long write(FileEncryptionService encryptionService, String name, int files) throws Exception {
+        Path dir = Files.createDirectories(workDir.resolve(name));
+        return runConcurrently(files, i -> {
+            try (InputStream in = encryptionService.encrypt(new ByteArrayInputStream(payload))) {
+                durabilityService.write(in, dir.resolve("upload-" + i + ".bin"));
+            }
+        });
+    }
+
+    private long read(FileEncryptionService encryptionService, String name, int files) throws Exception {
+        Path dir = workDir.resolve(name);
+        return runConcurrently(files, i -> {
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream in = encryptionService.openInputStream(dir.resolve("upload-" + i + ".bin"))) {
+                while (in.read(buffer) != -1) {
+                    // 다운로드 응답처럼 끝까지 읽기
+                }
+            }
+        });
+    }
+
+    private long runConcurrently(int files, FileTask task) throws Exception {
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_UPLOADS)) {
+            List<Future<?>> futures = new ArrayList<>(files);
+            for (int i = 0; i < files; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    task.run(index);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static double megabytesPerSecond(long nanos) {
+        return (double) FILE_COUNT * PAYLOAD_SIZE / (1024 * 1024) / (nanos / 1_000_000_000.0);
+    }
+
+    @FunctionalInterface
+    private interface FileTask {
+        void run(int index) throws IOException;
+    }
+}
@@ -0,0 +1,49 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.UploadedFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AccelRedirectService 테스트")
+class AccelRedirectServiceTest {
+
+    private final AccelRedirectService accelRedirectService =
+            new AccelRedirectService(new FileEncryptionService(false, "", 65536, 1), true, "/protected-files", "/opt/uploads");
+
+    @Test
+    @DisplayName("업로드 디렉토리 기준 상대 경로를 internal location에 붙임")
+    void resolveRedirectPath() {
+        UploadedFile file = file("/opt/uploads/2024/01/15/0001ABCD.pdf");
+
+        assertThat(accelRedirectService.resolveRedirectPath(file))
+                .isEqualTo("/protected-files/2024/01/15/0001ABCD.pdf");
+    }
+
+    @Test
+    @DisplayName("경로 구간의 특수문자는 인코딩")
+    void resolveRedirectPath_EncodesSegments() {
+        // 파일시스템 인코딩(sun.jnu.encoding)에 영향받지 않도록 ASCII 이름 사용
+        UploadedFile file = file("/opt/uploads/2024/01/15/report 100% #1.pdf");
+
+        assertThat(accelRedirectService.resolveRedirectPath(file))
+                .isEqualTo("/protected-files/2024/01/15/report%20100%25%20%231.pdf");
+    }
+
+    @Test
+    @DisplayName("업로드 디렉토리 밖의 파일은 넘기지 않음")
+    void resolveRedirectPath_OutsideUploadDir() {
+        assertThat(accelRedirectService.resolveRedirectPath(file("/opt/uploads/../etc/passwd"))).isNull();
+        assertThat(accelRedirectService.resolveRedirectPath(file("/opt/uploads-other/a.pdf"))).isNull();
+    }
+
+    private UploadedFile file(String filePath) {
+        return UploadedFile.builder()
+                .id(1L)
+                .originalFilename("a.pdf")
+                .filePath(filePath)
+                .status(UploadedFile.FileStatus.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.assignment.fileextension.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BufferPoolService 테스트")
+class BufferPoolServiceTest {
+
+    private final BufferPoolService bufferPoolService = new BufferPoolService(4096, 1024, 256, 8192, true);
+
+    @Test
+    @DisplayName("I/O 종류별 크기의 direct 버퍼를 빌려주고, 반환하면 재사용")
+    void acquire_ReusesReleasedBuffer() {
+        // given
+        ByteBuffer first;
+        try (BufferPoolService.PooledBuffer pooled = bufferPoolService.acquire(BufferPoolService.IoClass.STREAM)) {
+            first = pooled.buffer();
+            first.put((byte) 1);
+            assertThat(first.isDirect()).isTrue();
+            assertThat(first.capacity()).isEqualTo(1024);
+            assertThat(bufferPoolService.getOutstanding()).isEqualTo(1);
+        }
+
+        // when
+        try (BufferPoolService.PooledBuffer pooled = bufferPoolService.acquire(BufferPoolService.IoClass.STREAM)) {
+            // then
+            assertThat(pooled.buffer()).isSameAs(first);
+            assertThat(pooled.buffer().position()).isZero(); // 반환 시 초기화
+            assertThat(pooled.buffer().remaining()).isEqualTo(1024);
+        }
+        assertThat(bufferPoolService.getOutstanding()).isZero();
+        assertThat(bufferPoolService.getStats()).containsEntry("hits", 1L).containsEntry("allocations", 1L);
+    }
+
+    @Test
+    @DisplayName("전체 한도를 넘으면 풀 밖의 힙 버퍼를 빌려주고 반환 시 버림")
+    void acquire_FallsBackToHeapOverLimit() {
+        // given - 한도 8KB: BULK 4KB 버퍼 2개까지
+        try (BufferPoolService.PooledBuffer a = bufferPoolService.acquire(BufferPoolService.IoClass.BULK);
+             BufferPoolService.PooledBuffer b = bufferPoolService.acquire(BufferPoolService.IoClass.BULK);
+             // when
+             BufferPoolService.PooledBuffer c = bufferPoolService.acquire(BufferPoolService.IoClass.BULK)) {
+
+            // then
+            assertThat(a.buffer().isDirect()).isTrue();
+            assertThat(b.buffer().isDirect()).isTrue();
+            assertThat(c.buffer().isDirect()).isFalse();
+            assertThat(c.buffer().capacity()).isEqualTo(4096);
+        }
+
+        Map<String, Object> stats = bufferPoolService.getStats();
+        assertThat(stats).containsEntry("allocatedBytes", 8192L).containsEntry("unpooled", 1L);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> bulk = (Map<String, Object>) ((Map<String, Object>) stats.get("classes")).get("BULK");
+        assertThat(bulk).containsEntry("free", 2);
+    }
+
+    @Test
+    @DisplayName("두 번 반환해도 한 번만 풀에 들어감")
+    void close_IsIdempotent() {
+        // given
+        BufferPoolService.PooledBuffer pooled = bufferPoolService.acquire(BufferPoolService.IoClass.SMALL);
+
+        // when
+        pooled.close();
+        pooled.close();
+
+        // then
+        assertThat(bufferPoolService.getOutstanding()).isZero();
+        try (BufferPoolService.PooledBuffer a = bufferPoolService.acquire(BufferPoolService.IoClass.SMALL);
+             BufferPoolService.PooledBuffer b = bufferPoolService.acquire(BufferPoolService.IoClass.SMALL)) {
+            assertThat(a.buffer()).isNotSameAs(b.buffer());
+        }
+    }
+
+    @Test
+    @DisplayName("반환하지 않은 버퍼가 GC되면 누수로 집계하고 한도를 회복")
+    void leakedBuffer_IsDetected() throws InterruptedException {
+        // given
+        leak();
+
+        // when
+        for (int i = 0; i < 50 && bufferPoolService.getLeakCount() == 0; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+
+        // then
+        assertThat(bufferPoolService.getLeakCount()).isEqualTo(1);
+        assertThat(bufferPoolService.getOutstanding()).isZero();
+        assertThat(bufferPoolService.getStats()).containsEntry("allocatedBytes", 0L);
+    }
+
+    private void leak() {
+        bufferPoolService.acquire(BufferPoolService.IoClass.BULK).buffer().put((byte) 1);
+    }
+}
@@ -0,0 +1,224 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.dto.BulkFileRequest;
+import com.assignment.fileextension.dto.BulkFileResult;
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BulkFileService 테스트")
+class BulkFileServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private UploadedFileRepository uploadedFileRepository;
+
+    @Mock
+    private StorageQuotaService storageQuotaService;
+
+    @Mock
+    private ExtensionStatsService extensionStatsService;
+
+    @Mock
+    private ReplicationService replicationService;
+
+    @Mock
+    private SignedUrlService signedUrlService;
+
+    @Mock
+    private DownloadCacheService downloadCacheService;
+
+    @Mock
+    private FileMetadataCacheService fileMetadataCacheService;
+
+    @Mock
+    private FilenameSearchService filenameSearchService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BulkFileService bulkFileService;
+
+    @BeforeEach
+    void setUp() {
+        bulkFileService = new BulkFileService(uploadedFileRepository, storageQuotaService, extensionStatsService,
+                replicationService, signedUrlService, downloadCacheService, fileMetadataCacheService,
+                filenameSearchService, new TransactionTemplate(transactionManager), 4, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkFileService.shutdown();
+    }
+
+    @Test
+    @DisplayName("일괄 삭제 - 파일을 지우고 상태는 UPDATE 한 번으로 변경, 파일별 결과 반환")
+    void deleteFiles_ByIds() throws IOException {
+        // given
+        UploadedFile active = createFile(1L, UploadedFile.FileStatus.ACTIVE, false);
+        UploadedFile protectedFile = createFile(2L, UploadedFile.FileStatus.ACTIVE, true);
+        UploadedFile deleted = createFile(3L, UploadedFile.FileStatus.DELETED, false);
+        when(uploadedFileRepository.findAllById(List.of(1L, 2L, 3L, 4L)))
+                .thenReturn(List.of(deleted, active, protectedFile)); // 조회 순서와 무관하게 요청 순서로 응답
+        when(uploadedFileRepository.findByIdInAndStatus(List.of(1L), UploadedFile.FileStatus.ACTIVE))
+                .thenReturn(List.of(active));
+        when(uploadedFileRepository.updateStatus(any(), any(), any(), any())).thenReturn(1);
+
+        // when
+        BulkFileResult result = bulkFileService.deleteFiles(
+                new BulkFileRequest(List.of(1L, 2L, 3L, 4L), null, null, null));
+
+        // then
+        assertThat(result.getResults()).containsExactly(
+                entry(1L, BulkFileResult.Outcome.DELETED),
+                entry(2L, BulkFileResult.Outcome.PROTECTED),
+                entry(3L, BulkFileResult.Outcome.NOT_ACTIVE),
+                entry(4L, BulkFileResult.Outcome.NOT_FOUND));
+        assertThat(result.getSummary()).containsEntry(BulkFileResult.Outcome.DELETED, 1);
+        assertThat(Path.of(active.getFilePath())).doesNotExist();
+        assertThat(Path.of(protectedFile.getFilePath())).exists();
+        verify(uploadedFileRepository).updateStatus(eq(List.of(1L)), eq(UploadedFile.FileStatus.ACTIVE),
+                eq(UploadedFile.FileStatus.DELETED), any());
+        verify(uploadedFileRepository, never()).save(any());
+        verify(transactionManager).commit(any());
+        verify(storageQuotaService).release("10.0.0.1", 7L);
+        verify(extensionStatsService).recordDeleted(active);
+        verify(replicationService).deleteReplica(active);
+        verify(fileMetadataCacheService).invalidateAll(List.of(1L));
+        verify(downloadCacheService).invalidateAll(List.of(1L));
+        verify(signedUrlService).revokeAll(List.of(1L));
+        verify(filenameSearchService).removeAll(Set.of(1L));
+    }
+
+    @Test
+    @DisplayName("일괄 삭제 - 다른 요청이 먼저 상태를 바꾼 파일은 NOT_ACTIVE, 용량과 통계에 반영하지 않음")
+    void deleteFiles_ChangedConcurrently() throws IOException {
+        // given - 조회 후 2번 파일이 단건 삭제나 격리로 먼저 바뀜
+        UploadedFile first = createFile(1L, UploadedFile.FileStatus.ACTIVE, false);
+        UploadedFile second = createFile(2L, UploadedFile.FileStatus.ACTIVE, false);
+        when(uploadedFileRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(first, second));
+        when(uploadedFileRepository.findByIdInAndStatus(anyList(), eq(UploadedFile.FileStatus.ACTIVE)))
+                .thenReturn(List.of(first));
+        when(uploadedFileRepository.updateStatus(any(), any(), any(), any())).thenReturn(1);
+
+        // when
+        BulkFileResult result = bulkFileService.deleteFiles(new BulkFileRequest(List.of(1L, 2L), null, null, null));
+
+        // then
+        assertThat(result.getResults()).containsExactly(
+                entry(1L, BulkFileResult.Outcome.DELETED),
+                entry(2L, BulkFileResult.Outcome.NOT_ACTIVE));
+        verify(uploadedFileRepository).updateStatus(eq(List.of(1L)), eq(UploadedFile.FileStatus.ACTIVE),
+                eq(UploadedFile.FileStatus.DELETED), any());
+        verify(storageQuotaService, times(1)).release(any(), anyLong());
+        verify(extensionStatsService).recordDeleted(first);
+        verify(extensionStatsService, never()).recordDeleted(second);
+        verify(filenameSearchService).removeAll(Set.of(1L));
+    }
+
+    @Test
+    @DisplayName("일괄 삭제 - 파일 삭제에 실패하면 상태를 바꾸지 않고 FAILED")
+    void deleteFiles_UnlinkFailure() throws IOException {
+        // given - 비어 있지 않은 디렉토리는 삭제할 수 없음
+        Path directory = Files.createDirectories(tempDir.resolve("dir"));
+        Files.writeString(directory.resolve("child"), "x");
+        UploadedFile file = UploadedFile.builder()
+                .id(1L).originalFilename("a.txt").storedFilename("dir").filePath(directory.toString())
+                .extension("txt").fileSize(1L).status(UploadedFile.FileStatus.ACTIVE).deletionException(false)
+                .build();
+        when(uploadedFileRepository.findAllById(List.of(1L))).thenReturn(List.of(file));
+
+        // when
+        BulkFileResult result = bulkFileService.deleteFiles(new BulkFileRequest(List.of(1L), null, null, null));
+
+        // then
+        assertThat(result.getResults()).containsEntry(1L, BulkFileResult.Outcome.FAILED);
+        verify(uploadedFileRepository, never()).updateStatus(any(), any(), any(), any());
+        verifyNoInteractions(storageQuotaService, transactionManager);
+    }
+
+    @Test
+    @DisplayName("일괄 삭제 예외 - 조건으로 지정한 파일 중 값이 다른 파일만 UPDATE")
+    void setDeletionException_ByFilter() throws IOException {
+        // given
+        UploadedFile first = createFile(1L, UploadedFile.FileStatus.ACTIVE, false);
+        UploadedFile second = createFile(2L, UploadedFile.FileStatus.ACTIVE, true);
+        UploadedFile otherOwner = UploadedFile.builder().id(3L).ownerId("10.0.0.2").deletionException(false).build();
+        when(uploadedFileRepository.findByExtensionSegmentAndStatus("txt", UploadedFile.FileStatus.ACTIVE))
+                .thenReturn(List.of(first, second, otherOwner));
+
+        // when
+        BulkFileResult result = bulkFileService.setDeletionException(
+                new BulkFileRequest(null, "TXT", "10.0.0.1", true));
+
+        // then
+        assertThat(result.getResults()).containsOnly(
+                entry(1L, BulkFileResult.Outcome.UPDATED),
+                entry(2L, BulkFileResult.Outcome.UNCHANGED));
+        verify(uploadedFileRepository).updateDeletionException(eq(List.of(1L)), eq(true), any());
+        verify(fileMetadataCacheService).invalidateAll(List.of(1L));
+        verify(downloadCacheService).invalidateAll(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("대상 지정 오류 - ID 목록과 조건을 함께 주거나 둘 다 없거나 개수 초과")
+    void resolveTargets_Invalid() {
+        assertThatThrownBy(() -> bulkFileService.deleteFiles(new BulkFileRequest(List.of(1L), "txt", null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bulkFileService.deleteFiles(new BulkFileRequest(null, null, " ", null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bulkFileService.deleteFiles(
+                new BulkFileRequest(List.of(1L, 2L, 3L, 4L, 5L), null, null, null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("최대 4개");
+        assertThatThrownBy(() -> bulkFileService.setDeletionException(
+                new BulkFileRequest(List.of(1L), null, null, null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("deletionException 필드가 필요합니다.");
+        verify(uploadedFileRepository, never()).findAllById(anyList());
+    }
+
+    private UploadedFile createFile(Long id, UploadedFile.FileStatus status, boolean deletionException)
+            throws IOException {
+        Path path = tempDir.resolve(id + ".txt");
+        Files.writeString(path, "payload");
+        return UploadedFile.builder()
+                .id(id)
+                .originalFilename(id + ".txt")
+                .storedFilename(id + ".txt")
+                .filePath(path.toString())
+                .extension("txt")
+                .fileSize(7L)
+                .ownerId("10.0.0.1")
+                .status(status)
+                .deletionException(deletionException)
+                .build();
+    }
+}
@@ -0,0 +1,150 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DeletedFilePurgeService 테스트")
+class DeletedFilePurgeServiceTest {
+
+    private static final UploadedFile.FileStatus DELETED = UploadedFile.FileStatus.DELETED;
+
+    @Mock
+    private UploadedFileRepository uploadedFileRepository;
+
+    @Mock
+    private ExtensionStatsService extensionStatsService;
+
+    @Mock
+    private FileMetadataCacheService fileMetadataCacheService;
+
+    @Mock
+    private FilenameSearchService filenameSearchService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("키셋 순서로 배치 삭제 - 마지막 배치가 가득 차지 않으면 종료")
+    void purgeExpired_KeysetBatches() {
+        // given
+        DeletedFilePurgeService purgeService = new DeletedFilePurgeService(uploadedFileRepository, extensionStatsService,
+                fileMetadataCacheService, filenameSearchService, new TransactionTemplate(transactionManager), 30, 2, 100, 0);
+        when(uploadedFileRepository.findIdsForPurge(eq(DELETED), eq(0L), any(), any()))
+                .thenReturn(List.of(1L, 2L));
+        when(uploadedFileRepository.findIdsForPurge(eq(DELETED), eq(2L), any(), any()))
+                .thenReturn(List.of(5L));
+        when(uploadedFileRepository.deleteByIdInAndStatus(anyList(), eq(DELETED)))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // when
+        DeletedFilePurgeService.PurgeSummary summary = purgeService.purgeExpired();
+
+        // then
+        assertThat(summary.purgedCount()).isEqualTo(3);
+        assertThat(summary.batchCount()).isEqualTo(2);
+        verify(uploadedFileRepository).deleteByIdInAndStatus(List.of(1L, 2L), DELETED);
+        verify(uploadedFileRepository).deleteByIdInAndStatus(List.of(5L), DELETED);
+        // 확장자 색인, 청크 해시 행을 먼저 지움 (벌크 삭제는 컬렉션 테이블로 전파되지 않음)
+        verify(uploadedFileRepository).deleteExtensionSegments(List.of(1L, 2L));
+        verify(uploadedFileRepository).deleteChunkHashes(List.of(1L, 2L));
+        verify(fileMetadataCacheService).invalidateAll(List.of(1L, 2L));
+        verify(uploadedFileRepository, times(2)).findIdsForPurge(eq(DELETED), any(), any(), any());
+        // 배치마다 한 트랜잭션
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("배치 삭제 중 실패하면 배치 전체를 롤백하고 통계에 반영하지 않음")
+    void purgeExpired_BatchRollback() {
+        // given
+        DeletedFilePurgeService purgeService = new DeletedFilePurgeService(uploadedFileRepository, extensionStatsService,
+                fileMetadataCacheService, filenameSearchService, new TransactionTemplate(transactionManager), 30, 500, 100, 0);
+        when(uploadedFileRepository.findIdsForPurge(eq(DELETED), eq(0L), any(), any()))
+                .thenReturn(List.of(1L, 2L));
+        when(uploadedFileRepository.deleteChunkHashes(List.of(1L, 2L)))
+                .thenThrow(new IllegalStateException("lock timeout"));
+
+        // when & then
+        assertThatThrownBy(purgeService::purgeExpired)
+                .isInstanceOf(IllegalStateException.class);
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verify(uploadedFileRepository, never()).deleteByIdInAndStatus(anyList(), any());
+        verifyNoInteractions(extensionStatsService);
+    }
+
+    @Test
+    @DisplayName("한 번에 처리하는 배치 수 제한")
+    void purgeExpired_MaxBatchesPerRun() {
+        // given
+        DeletedFilePurgeService purgeService = new DeletedFilePurgeService(uploadedFileRepository, extensionStatsService,
+                fileMetadataCacheService, filenameSearchService, new TransactionTemplate(transactionManager), 30, 1, 2, 0);
+        when(uploadedFileRepository.findIdsForPurge(eq(DELETED), any(), any(), any()))
+                .thenReturn(List.of(1L), List.of(2L), List.of(3L));
+        when(uploadedFileRepository.deleteByIdInAndStatus(anyList(), eq(DELETED))).thenReturn(1);
+
+        // when
+        DeletedFilePurgeService.PurgeSummary summary = purgeService.purgeExpired();
+
+        // then
+        assertThat(summary.batchCount()).isEqualTo(2);
+        verify(uploadedFileRepository, times(2)).deleteByIdInAndStatus(anyList(), eq(DELETED));
+    }
+
+    @Test
+    @DisplayName("정리한 행을 확장자 통계에 반영")
+    void purgeExpired_RecordsStats() {
+        // given
+        DeletedFilePurgeService purgeService = new DeletedFilePurgeService(uploadedFileRepository, extensionStatsService,
+                fileMetadataCacheService, filenameSearchService, new TransactionTemplate(transactionManager), 30, 500, 100, 0);
+        UploadedFileRepository.ExtensionUsage usage = mock(UploadedFileRepository.ExtensionUsage.class);
+        when(usage.getExtension()).thenReturn("pdf");
+        when(usage.getFileCount()).thenReturn(2L);
+        when(usage.getTotalBytes()).thenReturn(300L);
+        when(uploadedFileRepository.findIdsForPurge(eq(DELETED), eq(0L), any(), any()))
+                .thenReturn(List.of(1L, 2L));
+        when(uploadedFileRepository.sumUsageByExtensionForIds(List.of(1L, 2L), DELETED)).thenReturn(List.of(usage));
+        when(uploadedFileRepository.deleteByIdInAndStatus(anyList(), eq(DELETED))).thenReturn(2);
+
+        // when
+        purgeService.purgeExpired();
+
+        // then
+        verify(extensionStatsService).recordPurged("pdf", 2L, 300L);
+    }
+
+    @Test
+    @DisplayName("정리 대상 없음")
+    void purgeExpired_Nothing() {
+        // given
+        DeletedFilePurgeService purgeService = new DeletedFilePurgeService(uploadedFileRepository, extensionStatsService,
+                fileMetadataCacheService, filenameSearchService, new TransactionTemplate(transactionManager), 30, 500, 100, 0);
+        when(uploadedFileRepository.findIdsForPurge(eq(DELETED), eq(0L), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        // when
+        DeletedFilePurgeService.PurgeSummary summary = purgeService.purgeExpired();
+
+        // then
+        assertThat(summary.purgedCount()).isZero();
+        verify(uploadedFileRepository, never()).deleteByIdInAndStatus(anyList(), any());
+    }
+}
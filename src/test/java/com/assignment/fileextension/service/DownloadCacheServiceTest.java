@@ -0,0 +1,146 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.UploadedFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DownloadCacheService 테스트")
+class DownloadCacheServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final FileEncryptionService plaintextStorage = new FileEncryptionService(false, "", 65536, 1);
+    private DownloadCacheService downloadCacheService;
+    private UploadedFile smallFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        downloadCacheService = new DownloadCacheService(plaintextStorage, true, 1024 * 1024, 1024, 600);
+
+        Path path = tempDir.resolve("logo.png");
+        Files.write(path, "logo-bytes".getBytes());
+
+        smallFile = UploadedFile.builder()
+                .id(1L)
+                .originalFilename("logo.png")
+                .storedFilename("stored-logo.png")
+                .filePath(path.toString())
+                .extension("png")
+                .fileSize(10L)
+                .contentType("image/png")
+                .build();
+    }
+
+    @Test
+    @DisplayName("첫 요청은 적재하지 않고 두 번째 요청부터 캐시")
+    void admit_SecondRequestOnly() throws IOException {
+        assertThat(admit(smallFile)).isNull();
+
+        DownloadCacheService.CachedDownload cached = admit(smallFile);
+
+        assertThat(cached).isNotNull();
+        assertThat(cached.getSize()).isEqualTo(10L);
+        assertThat(cached.getOriginalFilename()).isEqualTo("logo.png");
+        try (InputStream in = cached.toResource().getInputStream()) {
+            assertThat(new String(in.readAllBytes())).isEqualTo("logo-bytes");
+        }
+        assertThat(downloadCacheService.get(1L)).isSameAs(cached);
+    }
+
+    @Test
+    @DisplayName("리소스는 여러 번 읽을 수 있음")
+    void toResource_Rereadable() throws IOException {
+        admit(smallFile);
+        DownloadCacheService.CachedDownload cached = admit(smallFile);
+
+        for (int i = 0; i < 3; i++) {
+            try (InputStream in = cached.toResource().getInputStream()) {
+                assertThat(in.readAllBytes()).hasSize(10);
+            }
+        }
+        assertThat(cached.toResource().contentLength()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("허용 크기를 넘는 파일은 캐시하지 않음")
+    void admit_TooLarge() {
+        UploadedFile largeFile = UploadedFile.builder()
+                .id(2L)
+                .filePath(smallFile.getFilePath())
+                .fileSize(4096L)
+                .build();
+
+        admit(largeFile);
+
+        assertThat(admit(largeFile)).isNull();
+        assertThat(downloadCacheService.get(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("무효화 후에는 캐시 미스")
+    void invalidate() {
+        admit(smallFile);
+        admit(smallFile);
+
+        downloadCacheService.invalidateAll(List.of(1L));
+
+        assertThat(downloadCacheService.get(1L)).isNull();
+        assertThat(admit(smallFile)).isNull();
+    }
+
+    @Test
+    @DisplayName("메타데이터 조회 이후 무효화되면 읽은 내용을 캐시하지 않음")
+    void admit_InvalidatedDuringLoad() {
+        long generation = downloadCacheService.generation(); // 다운로드 요청이 파일 정보를 조회하기 전
+
+        downloadCacheService.invalidate(1L); // 그 사이 삭제/격리
+        downloadCacheService.invalidate(2L); // 다른 파일의 무효화도 세대를 바꿈
+        admit(smallFile);
+        DownloadCacheService.CachedDownload cached = downloadCacheService.admit(smallFile, generation);
+
+        assertThat(cached).isNotNull(); // 이번 응답에는 사용
+        assertThat(downloadCacheService.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("적중/미스 통계")
+    void stats() {
+        downloadCacheService.get(1L);
+        admit(smallFile);
+        admit(smallFile);
+        downloadCacheService.get(1L);
+
+        Map<String, Object> stats = downloadCacheService.getStats();
+
+        assertThat(stats.get("hitCount")).isEqualTo(1L);
+        assertThat(stats.get("missCount")).isEqualTo(1L);
+        assertThat(stats.get("entries")).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("비활성화 시 캐시하지 않음")
+    void disabled() {
+        DownloadCacheService disabled = new DownloadCacheService(plaintextStorage, false, 1024 * 1024, 1024, 600);
+
+        disabled.admit(smallFile, disabled.generation());
+
+        assertThat(disabled.admit(smallFile, disabled.generation())).isNull();
+        assertThat(disabled.get(1L)).isNull();
+    }
+
+    private DownloadCacheService.CachedDownload admit(UploadedFile file) {
+        return downloadCacheService.admit(file, downloadCacheService.generation());
+    }
+}
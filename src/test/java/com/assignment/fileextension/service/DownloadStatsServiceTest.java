@@ -0,0 +1,156 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DownloadStatsService 테스트")
+class DownloadStatsServiceTest {
+
+    @Mock
+    private UploadedFileRepository uploadedFileRepository;
+
+    private DownloadStatsService downloadStatsService;
+
+    @BeforeEach
+    void setUp() {
+        downloadStatsService = new DownloadStatsService(uploadedFileRepository, 2);
+    }
+
+    @Test
+    @DisplayName("기록만 하고 반영 전에는 DB에 접근하지 않음")
+    void recordDownload_NoDatabaseAccess() {
+        // when
+        downloadStatsService.recordDownload(1L);
+        downloadStatsService.recordDownload(null);
+
+        // then
+        verifyNoInteractions(uploadedFileRepository);
+    }
+
+    @Test
+    @DisplayName("증가량이 같은 파일을 묶어 UPDATE (IN 목록 크기 제한)")
+    void flush_GroupsByCount() {
+        // given
+        downloadStatsService.recordDownload(1L);
+        downloadStatsService.recordDownload(2L);
+        downloadStatsService.recordDownload(3L);
+        downloadStatsService.recordDownload(4L);
+        downloadStatsService.recordDownload(4L);
+
+        // when
+        downloadStatsService.flush();
+
+        // then
+        // 1회 다운로드 3개 파일은 최대 2개씩, 2회 다운로드 파일은 따로
+        verify(uploadedFileRepository, times(2)).recordDownloads(anyCollection(), eq(1L), any());
+        verify(uploadedFileRepository).recordDownloads(eq(List.of(4L)), eq(2L), any());
+
+        // 반영한 변경분은 다시 반영하지 않음
+        downloadStatsService.flush();
+        verifyNoMoreInteractions(uploadedFileRepository);
+    }
+
+    @Test
+    @DisplayName("마지막 접근 시각은 다운로드 시각 기준")
+    void flush_RecordsLastAccess() {
+        // given
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+        downloadStatsService.recordDownload(1L);
+
+        // when
+        downloadStatsService.flush();
+
+        // then
+        ArgumentCaptor<LocalDateTime> accessedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(uploadedFileRepository).recordDownloads(eq(List.of(1L)), eq(1L), accessedAt.capture());
+        assertThat(accessedAt.getValue()).isAfter(before).isBeforeOrEqualTo(LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("반영 실패 시 다음 주기에 다시 반영")
+    void flush_RetriesOnFailure() {
+        // given
+        downloadStatsService.recordDownload(1L);
+        when(uploadedFileRepository.recordDownloads(anyCollection(), anyLong(), any()))
+                .thenThrow(new RuntimeException("DB 연결 실패"))
+                .thenReturn(1);
+        downloadStatsService.flush();
+        downloadStatsService.recordDownload(1L);
+
+        // when
+        downloadStatsService.flush();
+
+        // then
+        // 실패한 1회와 새로 기록한 1회가 합쳐짐
+        verify(uploadedFileRepository).recordDownloads(eq(List.of(1L)), eq(2L), any());
+    }
+
+    @Test
+    @DisplayName("종료 시 남은 변경분 반영")
+    void flushOnShutdown() {
+        // given
+        downloadStatsService.recordDownload(7L);
+
+        // when
+        downloadStatsService.flushOnShutdown();
+
+        // then
+        verify(uploadedFileRepository).recordDownloads(eq(List.of(7L)), eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("동시 다운로드 기록이 유실되지 않음")
+    void recordDownload_Concurrent() throws InterruptedException {
+        // given
+        int threads = 8;
+        int downloadsPerThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] flushed = new long[1];
+        when(uploadedFileRepository.recordDownloads(anyCollection(), anyLong(), any())).thenAnswer(invocation -> {
+            flushed[0] += invocation.<Long>getArgument(1) * invocation.<Collection<?>>getArgument(0).size();
+            return 1;
+        });
+
+        // when
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < downloadsPerThread; i++) {
+                    downloadStatsService.recordDownload(1L);
+                    if (i % 100 == 0) {
+                        downloadStatsService.flush(); // 기록 중 반영
+                    }
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        downloadStatsService.flush();
+
+        // then
+        assertThat(flushed[0]).isEqualTo((long) threads * downloadsPerThread);
+    }
+}
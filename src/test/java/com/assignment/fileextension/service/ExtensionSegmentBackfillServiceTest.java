@@ -0,0 +1,75 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExtensionSegmentBackfillService 테스트")
+class ExtensionSegmentBackfillServiceTest {
+
+    @Mock
+    private UploadedFileRepository uploadedFileRepository;
+
+    @Test
+    @DisplayName("색인이 없는 파일의 모든 확장자 구간을 키셋 순서로 채움")
+    void backfill_IndexesAllSegments() {
+        // given
+        ExtensionSegmentBackfillService backfillService = new ExtensionSegmentBackfillService(uploadedFileRepository, 2);
+        when(uploadedFileRepository.findWithoutExtensionSegments(eq(0L), any()))
+                .thenReturn(List.of(fileName(1L, "setup.exe.txt"), fileName(3L, "README")));
+        when(uploadedFileRepository.findWithoutExtensionSegments(eq(3L), any()))
+                .thenReturn(List.of(fileName(4L, "report.pdf")));
+
+        // when
+        int indexed = backfillService.backfill();
+
+        // then
+        assertThat(indexed).isEqualTo(2);
+        verify(uploadedFileRepository).insertExtensionSegment(1L, "exe");
+        verify(uploadedFileRepository).insertExtensionSegment(1L, "txt");
+        verify(uploadedFileRepository).insertExtensionSegment(4L, "pdf");
+        verify(uploadedFileRepository, never()).insertExtensionSegment(eq(3L), anyString());
+    }
+
+    @Test
+    @DisplayName("모두 채운 뒤에는 주기 실행을 건너뜀")
+    void scheduleBackfill_RunsOnce() {
+        // given
+        ExtensionSegmentBackfillService backfillService = new ExtensionSegmentBackfillService(uploadedFileRepository, 500);
+        when(uploadedFileRepository.findWithoutExtensionSegments(anyLong(), any())).thenReturn(List.of());
+
+        // when
+        backfillService.scheduleBackfill();
+        backfillService.scheduleBackfill();
+
+        // then
+        verify(uploadedFileRepository, times(1)).findWithoutExtensionSegments(anyLong(), any());
+    }
+
+    private UploadedFileRepository.FileName fileName(Long id, String originalFilename) {
+        return new UploadedFileRepository.FileName() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getOriginalFilename() {
+                return originalFilename;
+            }
+        };
+    }
+}
@@ -0,0 +1,186 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.ExtensionStats;
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.ExtensionStatsRepository;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExtensionStatsService 테스트")
+class ExtensionStatsServiceTest {
+
+    @Mock
+    private ExtensionStatsRepository extensionStatsRepository;
+
+    @Mock
+    private UploadedFileRepository uploadedFileRepository;
+
+    private ExtensionStatsService extensionStatsService;
+
+    @BeforeEach
+    void setUp() {
+        extensionStatsService = new ExtensionStatsService(extensionStatsRepository, uploadedFileRepository);
+    }
+
+    @Test
+    @DisplayName("조회 시 아직 반영하지 않은 변경분도 포함")
+    void getStats_IncludesPendingDeltas() {
+        // given
+        when(extensionStatsRepository.findAllByOrderByTotalBytesDesc())
+                .thenReturn(List.of(stats("pdf", 2L, 200L)));
+        extensionStatsService.recordUpload(file("pdf", 100L));
+        extensionStatsService.recordUpload(file("zip", 1000L));
+        extensionStatsService.recordDeleted(file("pdf", 50L));
+
+        // when
+        List<ExtensionStats> result = extensionStatsService.getStats();
+
+        // then
+        assertThat(result).extracting(ExtensionStats::getExtension).containsExactly("zip", "pdf");
+        ExtensionStats pdf = result.get(1);
+        assertThat(pdf.getFileCount()).isEqualTo(2L);
+        assertThat(pdf.getTotalBytes()).isEqualTo(250L);
+        assertThat(pdf.getDeletedCount()).isEqualTo(1L);
+        assertThat(pdf.getDeletedBytes()).isEqualTo(50L);
+        assertThat(pdf.getLastUploadedAt()).isNotNull();
+        verifyNoInteractions(uploadedFileRepository);
+    }
+
+    @Test
+    @DisplayName("변경분 반영 - 기존 행은 더하고, 없는 확장자는 새로 저장")
+    void flushDeltas() {
+        // given
+        extensionStatsService.recordUpload(file("pdf", 100L));
+        extensionStatsService.recordUpload(file("pdf", 20L));
+        extensionStatsService.recordUpload(file("txt", 5L));
+        when(extensionStatsRepository.applyDelta(eq("pdf"), anyLong(), anyLong(), anyLong(), anyLong(), any(), any()))
+                .thenReturn(1);
+        when(extensionStatsRepository.applyDelta(eq("txt"), anyLong(), anyLong(), anyLong(), anyLong(), any(), any()))
+                .thenReturn(0);
+
+        // when
+        extensionStatsService.flushDeltas();
+        extensionStatsService.flushDeltas(); // 반영할 변경분 없음
+
+        // then
+        verify(extensionStatsRepository).applyDelta(eq("pdf"), eq(2L), eq(120L), eq(0L), eq(0L), notNull(), any());
+        ArgumentCaptor<ExtensionStats> captor = ArgumentCaptor.forClass(ExtensionStats.class);
+        verify(extensionStatsRepository).save(captor.capture());
+        assertThat(captor.getValue().getExtension()).isEqualTo("txt");
+        assertThat(captor.getValue().getFileCount()).isEqualTo(1L);
+        verify(extensionStatsRepository, times(2))
+                .applyDelta(anyString(), anyLong(), anyLong(), anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("변경분 반영 실패 - 다음 주기에 다시 반영")
+    void flushDeltas_RetryOnFailure() {
+        // given
+        extensionStatsService.recordPurged("log", 3L, 300L);
+        when(extensionStatsRepository.applyDelta(eq("log"), anyLong(), anyLong(), anyLong(), anyLong(), any(), any()))
+                .thenThrow(new RuntimeException("DB 오류"))
+                .thenReturn(1);
+
+        // when
+        extensionStatsService.flushDeltas();
+        extensionStatsService.flushDeltas();
+
+        // then
+        verify(extensionStatsRepository, times(2))
+                .applyDelta(eq("log"), eq(0L), eq(0L), eq(-3L), eq(-300L), isNull(), any());
+    }
+
+    @Test
+    @DisplayName("재구성 - 활성/삭제 파일 집계로 다시 계산하고 대기 중인 변경분은 버림")
+    @SuppressWarnings("unchecked")
+    void rebuild() {
+        // given
+        extensionStatsService.recordUpload(file("pdf", 100L));
+        LocalDateTime lastUpload = LocalDateTime.now().minusHours(1);
+        when(uploadedFileRepository.sumUsageByExtension(UploadedFile.FileStatus.ACTIVE))
+                .thenReturn(List.of(usage("pdf", 4L, 400L, lastUpload)));
+        when(uploadedFileRepository.sumUsageByExtension(UploadedFile.FileStatus.DELETED))
+                .thenReturn(List.of(usage("pdf", 1L, 10L, null), usage("exe", 2L, 20L, null)));
+
+        // when
+        int extensionCount = extensionStatsService.rebuild();
+
+        // then
+        assertThat(extensionCount).isEqualTo(2);
+        verify(extensionStatsRepository).deleteAllInBatch();
+        ArgumentCaptor<List<ExtensionStats>> captor = ArgumentCaptor.forClass(List.class);
+        verify(extensionStatsRepository).saveAll(captor.capture());
+        ExtensionStats pdf = captor.getValue().stream()
+                .filter(stats -> stats.getExtension().equals("pdf"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(pdf.getFileCount()).isEqualTo(4L);
+        assertThat(pdf.getTotalBytes()).isEqualTo(400L);
+        assertThat(pdf.getDeletedCount()).isEqualTo(1L);
+        assertThat(pdf.getLastUploadedAt()).isEqualTo(lastUpload);
+
+        extensionStatsService.flushDeltas();
+        verify(extensionStatsRepository, never())
+                .applyDelta(anyString(), anyLong(), anyLong(), anyLong(), anyLong(), any(), any());
+    }
+
+    private UploadedFile file(String extension, long size) {
+        return UploadedFile.builder()
+                .extension(extension)
+                .fileSize(size)
+                .build();
+    }
+
+    private ExtensionStats stats(String extension, long fileCount, long totalBytes) {
+        return ExtensionStats.builder()
+                .extension(extension)
+                .fileCount(fileCount)
+                .totalBytes(totalBytes)
+                .deletedCount(0L)
+                .deletedBytes(0L)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private UploadedFileRepository.ExtensionUsage usage(String extension, long fileCount, long totalBytes,
+                                                         LocalDateTime lastUploadedAt) {
+        return new UploadedFileRepository.ExtensionUsage() {
+            @Override
+            public String getExtension() {
+                return extension;
+            }
+
+            @Override
+            public Long getFileCount() {
+                return fileCount;
+            }
+
+            @Override
+            public Long getTotalBytes() {
+                return totalBytes;
+            }
+
+            @Override
+            public LocalDateTime getLastUploadedAt() {
+                return lastUploadedAt;
+            }
+        };
+    }
+}
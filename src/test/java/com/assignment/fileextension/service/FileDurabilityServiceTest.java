@@ -0,0 +1,84 @@
+package com.assignment.fileextension.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FileDurabilityService 테스트")
+class FileDurabilityServiceTest {
+
+    private static final byte[] CONTENT = "durable content".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path tempDir;
+
+    // 작은 버퍼로 여러 번 나누어 읽고, 테스트마다 반환되지 않은 버퍼가 없는지 확인
+    private final BufferPoolService bufferPoolService = new BufferPoolService(4096, 4096, 1024, 1024 * 1024, true);
+
+    @AfterEach
+    void tearDown() {
+        assertThat(bufferPoolService.getOutstanding()).isZero();
+    }
+
+    @Test
+    @DisplayName("모드 이름은 대소문자와 하이픈을 구분하지 않고, 없는 모드는 거부")
+    void durabilityMode_From() {
+        assertThat(FileDurabilityService.DurabilityMode.from("per-file"))
+                .isEqualTo(FileDurabilityService.DurabilityMode.PER_FILE);
+        assertThat(FileDurabilityService.DurabilityMode.from(" None "))
+                .isEqualTo(FileDurabilityService.DurabilityMode.NONE);
+        assertThatThrownBy(() -> FileDurabilityService.DurabilityMode.from("group"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("group");
+    }
+
+    @Test
+    @DisplayName("파일별 fsync 모드 - 내용 그대로 저장")
+    void write_PerFile() throws IOException {
+        // given
+        FileDurabilityService fileDurabilityService = new FileDurabilityService(bufferPoolService, "per-file");
+        Path target = tempDir.resolve("per-file.bin");
+
+        // when
+        long written = fileDurabilityService.write(new ByteArrayInputStream(CONTENT), target);
+
+        // then
+        assertThat(written).isEqualTo(CONTENT.length);
+        assertThat(Files.readAllBytes(target)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    @DisplayName("쓰기 실패 - 쓰다 만 파일 삭제")
+    void write_FailureDeletesPartialFile() {
+        // given
+        FileDurabilityService fileDurabilityService = new FileDurabilityService(bufferPoolService, "per-file");
+        Path target = tempDir.resolve("broken.bin");
+        InputStream broken = new InputStream() {
+            private int count;
+
+            @Override
+            public int read() throws IOException {
+                if (count++ < 10) {
+                    return 'a';
+                }
+                throw new IOException("연결 끊김");
+            }
+        };
+
+        // when & then
+        assertThatThrownBy(() -> fileDurabilityService.write(broken, target))
+                .isInstanceOf(IOException.class);
+        assertThat(target).doesNotExist();
+    }
+}
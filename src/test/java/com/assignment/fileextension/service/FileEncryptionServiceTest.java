@@ -0,0 +1,150 @@
+package com.assignment.fileextension.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FileEncryptionService 테스트")
+class FileEncryptionServiceTest {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final String MASTER_KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    @TempDir
+    Path tempDir;
+
+    private final FileEncryptionService encryptionService = new FileEncryptionService(true, MASTER_KEY, CHUNK_SIZE, 4);
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 999, 1000, 1001, 2500})
+    @DisplayName("암호화 후 복호화하면 원본과 같고, 저장 크기는 미리 계산한 값과 같음")
+    void roundTrip(int size) throws IOException {
+        // given
+        byte[] data = randomBytes(size);
+
+        // when
+        Path path = store(data);
+
+        // then
+        assertThat(Files.size(path)).isEqualTo(encryptionService.storedSize(size));
+        assertThat(encryptionService.isEncrypted(path)).isTrue();
+        assertThat(encryptionService.plaintextSize(path)).isEqualTo(size);
+        try (InputStream in = encryptionService.openInputStream(path)) {
+            assertThat(in.readAllBytes()).isEqualTo(data);
+        }
+    }
+
+    @Test
+    @DisplayName("Range 요청 - 건너뛴 위치의 청크부터 복호화")
+    void resource_SkipToRange() throws IOException {
+        // given
+        byte[] data = randomBytes(5000);
+        Resource resource = encryptionService.asResource(store(data));
+
+        // when
+        byte[] range;
+        try (InputStream in = resource.getInputStream()) {
+            assertThat(in.skip(3500)).isEqualTo(3500);
+            range = in.readNBytes(700);
+        }
+
+        // then
+        assertThat(resource.contentLength()).isEqualTo(5000);
+        assertThat(range).isEqualTo(Arrays.copyOfRange(data, 3500, 4200));
+    }
+
+    @Test
+    @DisplayName("변조되거나 청크 경계에서 잘린 파일은 복호화 실패")
+    void tamperedOrTruncated() throws IOException {
+        // given
+        byte[] stored = Files.readAllBytes(store(randomBytes(2500)));
+        byte[] tampered = stored.clone();
+        tampered[FileEncryptionService.HEADER_SIZE + 10] ^= 1;
+        Path tamperedPath = Files.write(tempDir.resolve("tampered"), tampered);
+        // 첫 청크만 남김 (마지막 청크 표시가 없으므로 검출됨)
+        Path truncatedPath = Files.write(tempDir.resolve("truncated"),
+                Arrays.copyOf(stored, FileEncryptionService.HEADER_SIZE + CHUNK_SIZE + 16));
+
+        // when & then
+        assertThatThrownBy(() -> readAll(tamperedPath)).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> readAll(truncatedPath)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("다른 마스터 키로는 복호화할 수 없음")
+    void wrongMasterKey() throws IOException {
+        // given
+        Path path = store(randomBytes(100));
+        byte[] otherKey = new byte[32];
+        otherKey[0] = 1;
+        FileEncryptionService other = new FileEncryptionService(
+                false, Base64.getEncoder().encodeToString(otherKey), CHUNK_SIZE, 1);
+
+        // when & then
+        assertThatThrownBy(() -> other.openInputStream(path)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("암호화 도입 전 평문 파일은 그대로 읽음")
+    void legacyPlaintext() throws IOException {
+        // given
+        Path path = Files.writeString(tempDir.resolve("legacy.txt"), "plain content");
+
+        // when & then
+        assertThat(encryptionService.isEncrypted(path)).isFalse();
+        assertThat(readAll(path)).isEqualTo("plain content".getBytes());
+        assertThat(encryptionService.asResource(path).contentLength()).isEqualTo(13);
+    }
+
+    @Test
+    @DisplayName("암호화를 사용하지 않으면 스트림과 크기를 그대로 사용")
+    void disabled() throws IOException {
+        FileEncryptionService disabled = new FileEncryptionService(false, "", CHUNK_SIZE, 1);
+        InputStream plaintext = new ByteArrayInputStream(new byte[10]);
+
+        assertThat(disabled.encrypt(plaintext)).isSameAs(plaintext);
+        assertThat(disabled.storedSize(10)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("마스터 키 없이 암호화를 켜면 시작 실패")
+    void enabledWithoutMasterKey() {
+        assertThatThrownBy(() -> new FileEncryptionService(true, "", CHUNK_SIZE, 1))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private Path store(byte[] data) throws IOException {
+        Path path = Files.createTempFile(tempDir, "stored", ".bin");
+        try (InputStream in = encryptionService.encrypt(new ByteArrayInputStream(data))) {
+            Files.write(path, in.readAllBytes());
+        }
+        return path;
+    }
+
+    private byte[] readAll(Path path) throws IOException {
+        try (InputStream in = encryptionService.openInputStream(path)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}
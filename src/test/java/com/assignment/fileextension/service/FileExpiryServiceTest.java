@@ -0,0 +1,145 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FileExpiryService 테스트")
+class FileExpiryServiceTest {
+
+    @Mock
+    private UploadedFileRepository uploadedFileRepository;
+
+    @Mock
+    private StorageService storageService;
+
+    private FileExpiryService fileExpiryService;
+
+    @BeforeEach
+    void setUp() {
+        // 스레드는 시작하지 않고 단계별로 직접 호출
+        fileExpiryService = new FileExpiryService(uploadedFileRepository, storageService, false, 3_600_000L);
+    }
+
+    @Test
+    @DisplayName("다음 구간까지 만료되는 파일만 조회하여 등록")
+    void loadNextWindow() {
+        // given
+        UploadedFileRepository.ExpiringFile expiring = expiringFile(1L, LocalDateTime.now().plusMinutes(10));
+        when(uploadedFileRepository.findExpiringBefore(eq(UploadedFile.FileStatus.ACTIVE), any()))
+                .thenReturn(List.of(expiring));
+
+        // when
+        fileExpiryService.loadNextWindow();
+        fileExpiryService.loadNextWindow(); // 같은 만료 시각은 중복 등록하지 않음
+
+        // then
+        assertThat(fileExpiryService.getScheduledCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("구간 밖의 만료 시각은 다음 구간 조회 때 등록")
+    void schedule_BeyondWindow() {
+        // given
+        when(uploadedFileRepository.findExpiringBefore(any(), any())).thenReturn(List.of());
+        fileExpiryService.loadNextWindow();
+
+        // when
+        fileExpiryService.schedule(1L, LocalDateTime.now().plusMinutes(5));
+        fileExpiryService.schedule(2L, LocalDateTime.now().plusDays(1));
+
+        // then
+        assertThat(fileExpiryService.getScheduledCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("만료된 파일은 deletePhysicalFile로 삭제")
+    void expireDue_DeletesExpiredFile() throws IOException {
+        // given
+        LocalDateTime expiresAt = LocalDateTime.now().minusSeconds(1);
+        when(uploadedFileRepository.findExpiringBefore(any(), any()))
+                .thenReturn(List.of(expiringFile(1L, expiresAt)));
+        when(uploadedFileRepository.findById(1L)).thenReturn(Optional.of(activeFile(1L, expiresAt)));
+        fileExpiryService.loadNextWindow();
+
+        // when
+        fileExpiryService.expireDue(List.of(1L));
+
+        // then
+        verify(storageService).deletePhysicalFile(1L);
+        assertThat(fileExpiryService.getScheduledCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("만료 해제된 파일은 삭제하지 않음")
+    void expireDue_SkipCleared() throws IOException {
+        // given
+        when(uploadedFileRepository.findExpiringBefore(any(), any()))
+                .thenReturn(List.of(expiringFile(1L, LocalDateTime.now().minusSeconds(1))));
+        fileExpiryService.loadNextWindow();
+        fileExpiryService.schedule(1L, null);
+
+        // when
+        fileExpiryService.expireDue(List.of(1L));
+
+        // then
+        verify(storageService, never()).deletePhysicalFile(anyLong());
+    }
+
+    @Test
+    @DisplayName("DB의 만료 시각이 늦춰졌으면 삭제하지 않음")
+    void expireDue_SkipPostponedInDatabase() throws IOException {
+        // given
+        when(uploadedFileRepository.findExpiringBefore(any(), any()))
+                .thenReturn(List.of(expiringFile(1L, LocalDateTime.now().minusSeconds(1))));
+        when(uploadedFileRepository.findById(1L))
+                .thenReturn(Optional.of(activeFile(1L, LocalDateTime.now().plusDays(1))));
+        fileExpiryService.loadNextWindow();
+
+        // when
+        fileExpiryService.expireDue(List.of(1L));
+
+        // then
+        verify(storageService, never()).deletePhysicalFile(anyLong());
+    }
+
+    private UploadedFileRepository.ExpiringFile expiringFile(Long id, LocalDateTime expiresAt) {
+        return new UploadedFileRepository.ExpiringFile() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getExpiresAt() {
+                return expiresAt;
+            }
+        };
+    }
+
+    private UploadedFile activeFile(Long id, LocalDateTime expiresAt) {
+        return UploadedFile.builder()
+                .id(id)
+                .originalFilename("share.pdf")
+                .status(UploadedFile.FileStatus.ACTIVE)
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.MetadataInvalidation;
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.MetadataInvalidationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FileMetadataCacheService 테스트")
+class FileMetadataCacheServiceTest {
+
+    @Mock
+    private MetadataInvalidationRepository metadataInvalidationRepository;
+
+    @Mock
+    private DownloadCacheService downloadCacheService;
+
+    private final UploadedFile file = UploadedFile.builder().id(1L).originalFilename("a.txt").build();
+
+    @Test
+    @DisplayName("조회 - 처음에는 DB에서 읽고 이후에는 캐시에서 반환")
+    void get_ReadsThrough() {
+        // given
+        FileMetadataCacheService cacheService = newService(false);
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        UploadedFile first = cacheService.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(file);
+        });
+        UploadedFile second = cacheService.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(file);
+        });
+
+        // then
+        assertThat(first).isSameAs(file);
+        assertThat(second).isSameAs(file);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("조회 - 없는 파일은 캐시하지 않음")
+    void get_DoesNotCacheMissing() {
+        // given
+        FileMetadataCacheService cacheService = newService(false);
+        cacheService.get(1L, id -> Optional.empty());
+
+        // when
+        UploadedFile result = cacheService.get(1L, id -> Optional.of(file));
+
+        // then
+        assertThat(result).isSameAs(file);
+    }
+
+    @Test
+    @DisplayName("무효화 - 다음 조회는 DB에서 다시 읽음")
+    void invalidate_Reloads() {
+        // given
+        FileMetadataCacheService cacheService = newService(false);
+        cacheService.get(1L, id -> Optional.of(file));
+        UploadedFile updated = UploadedFile.builder().id(1L).originalFilename("b.txt").build();
+
+        // when
+        cacheService.invalidate(1L);
+        UploadedFile result = cacheService.get(1L, id -> Optional.of(updated));
+
+        // then
+        assertThat(result).isSameAs(updated);
+        verifyNoInteractions(metadataInvalidationRepository); // 단일 노드에서는 기록하지 않음
+    }
+
+    @Test
+    @DisplayName("조회 중 무효화되면 읽은 값을 캐시하지 않음")
+    void get_DiscardsValueInvalidatedDuringLoad() {
+        // given - DB에서 읽는 사이에 다른 요청이 같은 파일을 변경
+        FileMetadataCacheService cacheService = newService(false);
+        cacheService.get(1L, id -> {
+            cacheService.invalidate(1L);
+            return Optional.of(file);
+        });
+        UploadedFile updated = UploadedFile.builder().id(1L).originalFilename("b.txt").build();
+
+        // when
+        UploadedFile result = cacheService.get(1L, id -> Optional.of(updated));
+
+        // then
+        assertThat(result).isSameAs(updated);
+    }
+
+    @Test
+    @DisplayName("다중 노드 - 무효화 기록을 남기고, 한도를 넘으면 전체 무효화 한 건으로 기록")
+    @SuppressWarnings("unchecked")
+    void invalidateAll_RecordsForOtherNodes() {
+        // given
+        FileMetadataCacheService cacheService = newService(true);
+        ArgumentCaptor<List<MetadataInvalidation>> captor = ArgumentCaptor.forClass(List.class);
+
+        // when
+        cacheService.invalidateAll(List.of(1L, 2L));
+        cacheService.invalidateAll(List.of(1L, 2L, 3L, 4L));
+
+        // then
+        verify(metadataInvalidationRepository, times(2)).saveAll(captor.capture());
+        assertThat(captor.getAllValues().get(0)).extracting(MetadataInvalidation::getFileId).containsExactly(1L, 2L);
+        assertThat(captor.getAllValues().get(1)).extracting(MetadataInvalidation::getFileId).containsExactly((Long) null);
+    }
+
+    @Test
+    @DisplayName("다중 노드 동기화 - 다른 노드의 변경을 메타데이터, 다운로드 캐시에서 제거하고 같은 기록은 한 번만 반영")
+    void syncInvalidations_EvictsBothCaches() {
+        // given
+        FileMetadataCacheService cacheService = newService(true);
+        cacheService.get(1L, id -> Optional.of(file));
+        MetadataInvalidation record = new MetadataInvalidation(10L, 1L, LocalDateTime.now());
+        when(metadataInvalidationRepository.findByCreatedAtGreaterThanEqual(any())).thenReturn(List.of(record));
+        UploadedFile updated = UploadedFile.builder().id(1L).originalFilename("b.txt").build();
+
+        // when
+        cacheService.syncInvalidations();
+        cacheService.syncInvalidations(); // 겹쳐 읽은 기록
+
+        // then
+        assertThat(cacheService.get(1L, id -> Optional.of(updated))).isSameAs(updated);
+        verify(downloadCacheService, times(1)).invalidateAll(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("다중 노드 동기화 - 전체 무효화 기록은 두 캐시를 모두 비움")
+    void syncInvalidations_ClearAll() {
+        // given
+        FileMetadataCacheService cacheService = newService(true);
+        cacheService.get(1L, id -> Optional.of(file));
+        when(metadataInvalidationRepository.findByCreatedAtGreaterThanEqual(any()))
+                .thenReturn(List.of(new MetadataInvalidation(10L, null, LocalDateTime.now())));
+        UploadedFile updated = UploadedFile.builder().id(1L).originalFilename("b.txt").build();
+
+        // when
+        cacheService.syncInvalidations();
+
+        // then
+        assertThat(cacheService.get(1L, id -> Optional.of(updated))).isSameAs(updated);
+        verify(downloadCacheService).clear();
+    }
+
+    private FileMetadataCacheService newService(boolean clusterSync) {
+        return new FileMetadataCacheService(metadataInvalidationRepository, downloadCacheService,
+                true, 100, 300, clusterSync, 5000, 600000, 3);
+    }
+}
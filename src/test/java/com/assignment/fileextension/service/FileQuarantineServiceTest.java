@@ -0,0 +1,208 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.FileAuditLog;
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FileQuarantineService 테스트")
+class FileQuarantineServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private UploadedFileRepository uploadedFileRepository;
+
+    @Mock
+    private DownloadCacheService downloadCacheService;
+
+    @Mock
+    private FileMetadataCacheService fileMetadataCacheService;
+
+    @Mock
+    private StorageQuotaService storageQuotaService;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private ExtensionStatsService extensionStatsService;
+
+    @Mock
+    private SignedUrlService signedUrlService;
+
+    @Mock
+    private ReplicationService replicationService;
+
+    @Mock
+    private FilenameSearchService filenameSearchService;
+
+    private FileQuarantineService fileQuarantineService;
+    private Path quarantineDir;
+    private UploadedFile file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        quarantineDir = tempDir.resolve(".quarantine");
+        fileQuarantineService = new FileQuarantineService(uploadedFileRepository, downloadCacheService,
+                fileMetadataCacheService, storageQuotaService, auditService, extensionStatsService, signedUrlService, replicationService,
+                filenameSearchService, quarantineDir.toString(), 168);
+
+        Path path = Files.createDirectories(tempDir.resolve("2025/01/01")).resolve("stored.exe");
+        Files.writeString(path, "payload");
+        file = UploadedFile.builder()
+                .id(1L)
+                .originalFilename("setup.exe")
+                .storedFilename("stored.exe")
+                .filePath(path.toString())
+                .extension("exe")
+                .fileSize(7L)
+                .ownerId("10.0.0.1")
+                .build();
+    }
+
+    @Test
+    @DisplayName("격리 - 배치 디렉토리로 이동 후 상태 일괄 변경")
+    void quarantine_MovesFilesAndMarksBatch() throws IOException {
+        // when
+        String batchId = fileQuarantineService.quarantine(List.of(file), "확장자 exe 차단");
+
+        // then
+        assertThat(Files.exists(Path.of(file.getFilePath()))).isFalse();
+        assertThat(quarantineDir.resolve(batchId).resolve("stored.exe")).hasContent("payload");
+        verify(uploadedFileRepository).markQuarantined(
+                eq(List.of(1L)), eq(batchId), eq(UploadedFile.FileStatus.QUARANTINED), any());
+        verify(storageQuotaService).release("10.0.0.1", 7L);
+        verify(fileMetadataCacheService).invalidateAll(List.of(1L));
+        verify(downloadCacheService).invalidateAll(List.of(1L));
+        verify(signedUrlService).revokeAll(List.of(1L));
+        verify(filenameSearchService).removeAll(List.of(1L));
+        verify(auditService).logFileEvents(List.of(file), FileAuditLog.ActionType.FILE_QUARANTINED, "확장자 exe 차단");
+    }
+
+    @Test
+    @DisplayName("격리 - 상태 변경 실패 시 파일을 원래 위치로 되돌림")
+    void quarantine_UndoOnUpdateFailure() {
+        // given
+        when(uploadedFileRepository.markQuarantined(any(), anyString(), any(), any()))
+                .thenThrow(new IllegalStateException("DB 오류"));
+
+        // when & then
+        assertThatThrownBy(() -> fileQuarantineService.quarantine(List.of(file), "확장자 exe 차단"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(Path.of(file.getFilePath())).hasContent("payload");
+        verifyNoInteractions(storageQuotaService, auditService);
+    }
+
+    @Test
+    @DisplayName("복구 - 원래 위치로 되돌리고 활성 상태로 변경")
+    void restore_MovesFilesBack() throws IOException {
+        // given
+        String batchId = fileQuarantineService.quarantine(List.of(file), "확장자 exe 차단");
+        when(uploadedFileRepository.findByQuarantineBatchIdAndStatus(batchId, UploadedFile.FileStatus.QUARANTINED))
+                .thenReturn(List.of(file));
+
+        // when
+        int restoredCount = fileQuarantineService.restore(batchId);
+
+        // then
+        assertThat(restoredCount).isEqualTo(1);
+        assertThat(Path.of(file.getFilePath())).hasContent("payload");
+        assertThat(quarantineDir.resolve(batchId)).doesNotExist();
+        verify(uploadedFileRepository).endQuarantine(eq(List.of(1L)), eq(UploadedFile.FileStatus.ACTIVE), any());
+        verify(storageQuotaService).charge("10.0.0.1", 7L);
+        verify(fileMetadataCacheService, times(2)).invalidateAll(List.of(1L)); // 격리 + 복구
+        verify(filenameSearchService).indexAll(List.of(file));
+    }
+
+    @Test
+    @DisplayName("복구 - 배치 없음")
+    void restore_UnknownBatch() {
+        when(uploadedFileRepository.findByQuarantineBatchIdAndStatus("unknown", UploadedFile.FileStatus.QUARANTINED))
+                .thenReturn(List.of());
+
+        assertThatThrownBy(() -> fileQuarantineService.restore("unknown"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("격리 파일 개별 삭제 - 격리 디렉토리의 파일을 지우고 빈 배치 디렉토리도 삭제")
+    void deleteQuarantined_RemovesBatchFile() throws IOException {
+        // given
+        Path otherPath = Path.of(file.getFilePath()).resolveSibling("other.exe");
+        Files.writeString(otherPath, "other");
+        UploadedFile other = UploadedFile.builder()
+                .id(2L)
+                .originalFilename("other.exe")
+                .storedFilename("other.exe")
+                .filePath(otherPath.toString())
+                .extension("exe")
+                .fileSize(5L)
+                .build();
+        String batchId = fileQuarantineService.quarantine(List.of(file, other), "확장자 exe 차단");
+
+        // when & then - 남은 파일이 있으면 배치 디렉토리 유지
+        fileQuarantineService.deleteQuarantined(quarantined(file, batchId));
+        assertThat(quarantineDir.resolve(batchId).resolve("stored.exe")).doesNotExist();
+        assertThat(quarantineDir.resolve(batchId).resolve("other.exe")).hasContent("other");
+
+        fileQuarantineService.deleteQuarantined(quarantined(other, batchId));
+        assertThat(quarantineDir.resolve(batchId)).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("보관 기간 만료 - 배치 디렉토리 삭제 후 삭제 상태로 변경")
+    void reapExpired_DeletesBatch() throws IOException {
+        // given
+        String batchId = fileQuarantineService.quarantine(List.of(file), "확장자 exe 차단");
+        when(uploadedFileRepository.findQuarantineBatchIdsBefore(eq(UploadedFile.FileStatus.QUARANTINED), any()))
+                .thenReturn(List.of(batchId));
+        when(uploadedFileRepository.findByQuarantineBatchIdAndStatus(batchId, UploadedFile.FileStatus.QUARANTINED))
+                .thenReturn(List.of(file));
+
+        // when
+        int reapedCount = fileQuarantineService.reapExpired();
+
+        // then
+        assertThat(reapedCount).isEqualTo(1);
+        assertThat(quarantineDir.resolve(batchId)).doesNotExist();
+        verify(uploadedFileRepository).endQuarantine(eq(List.of(1L)), eq(UploadedFile.FileStatus.DELETED), any());
+        verify(replicationService).deleteReplica(file);
+        verify(fileMetadataCacheService, times(2)).invalidateAll(List.of(1L)); // 격리 + 삭제
+    }
+
+    /**
+     * 격리 후 DB에서 다시 읽은 것과 같은 상태의 파일
+     */
+    private UploadedFile quarantined(UploadedFile source, String batchId) {
+        return UploadedFile.builder()
+                .id(source.getId())
+                .originalFilename(source.getOriginalFilename())
+                .storedFilename(source.getStoredFilename())
+                .filePath(source.getFilePath())
+                .extension(source.getExtension())
+                .fileSize(source.getFileSize())
+                .status(UploadedFile.FileStatus.QUARANTINED)
+                .quarantineBatchId(batchId)
+                .build();
+    }
+}
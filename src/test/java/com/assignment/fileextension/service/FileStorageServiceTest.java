@@ -1,25 +1,36 @@
 package com.assignment.fileextension.service;
 
+import com.assignment.fileextension.common.ChecksumUtils;
+import com.assignment.fileextension.common.MerkleTree;
 import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.exception.QuotaExceededException;
+import com.assignment.fileextension.repository.ClientStorageUsageRepository;
 import com.assignment.fileextension.repository.UploadedFileRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +40,45 @@ class FileStorageServiceTest {
     @Mock
     private UploadedFileRepository uploadedFileRepository;
 
+    @Mock
+    private DownloadCacheService downloadCacheService;
+
+    @Mock
+    private StorageQuotaService storageQuotaService;
+
+    @Mock
+    private FileQuarantineService fileQuarantineService;
+
+    @Mock
+    private ExtensionStatsService extensionStatsService;
+
+    @Mock
+    private SignedUrlService signedUrlService;
+
+    @Mock
+    private ReplicationService replicationService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private FilenameSearchService filenameSearchService;
+
+    @Spy
+    private FileEncryptionService fileEncryptionService = new FileEncryptionService(false, "", 65536, 1);
+
+    @Spy
+    private FileDurabilityService fileDurabilityService =
+            new FileDurabilityService(new BufferPoolService(1048576, 65536, 8192, 67108864L, false), "none");
+
+    @Spy
+    private TreeHashService treeHashService = new TreeHashService("sha256", 4, 1, 4);
+
+    // 단일 노드 설정 (무효화 기록 저장소, 다운로드 캐시를 사용하지 않음)
+    @Spy
+    private FileMetadataCacheService fileMetadataCacheService =
+            new FileMetadataCacheService(null, null, true, 100, 300, false, 5000, 600000, 500);
+
     @InjectMocks
     private FileStorageService fileStorageService;
 
@@ -41,6 +91,9 @@ class FileStorageServiceTest {
         // 테스트 설정 값들
         ReflectionTestUtils.setField(fileStorageService, "uploadBaseDir", "test-uploads");
         ReflectionTestUtils.setField(fileStorageService, "maxFileSize", 104857600L); // 100MB
+        ReflectionTestUtils.setField(fileStorageService, "uploadPublishService", new UploadPublishService(
+                fileDurabilityService, uploadedFileRepository, new TransactionTemplate(transactionManager),
+                "test-uploads/.staging", "test-uploads/.journal", 60000L, false, 5L, 64, 10000L));
 
         testFile = new MockMultipartFile(
                 "file",
@@ -53,6 +106,7 @@ class FileStorageServiceTest {
                 .id(1L)
                 .originalFilename("test.pdf")
                 .extension("pdf")
+                .filePath("test-uploads/missing.pdf")
                 .fileSize(12L)
                 .status(UploadedFile.FileStatus.ACTIVE)
                 .deletionException(false)
@@ -76,12 +130,120 @@ class FileStorageServiceTest {
                 .thenReturn(mockUploadedFile);
 
         // when
-        UploadedFile result = fileStorageService.storeFile(testFile);
+        UploadedFile result = fileStorageService.storeFile(testFile, "127.0.0.1");
 
         // then
         assertThat(result).isNotNull();
         assertThat(result.getOriginalFilename()).isEqualTo("test.pdf");
         verify(uploadedFileRepository).save(any(UploadedFile.class));
+        verify(storageQuotaService).reserve("127.0.0.1", testFile.getSize());
+    }
+
+    @Test
+    @DisplayName("파일 저장 - 저장 용량 한도 초과 시 쓰기 전에 차단")
+    void storeFile_QuotaExceeded() {
+        // given
+        when(storageQuotaService.reserve("127.0.0.1", testFile.getSize()))
+                .thenThrow(new QuotaExceededException("저장 용량 한도를 초과했습니다.", "127.0.0.1"));
+
+        // when & then
+        assertThatThrownBy(() -> fileStorageService.storeFile(testFile, "127.0.0.1"))
+                .isInstanceOf(QuotaExceededException.class);
+        verify(uploadedFileRepository, never()).save(any(UploadedFile.class));
+    }
+
+    @Test
+    @DisplayName("파일 저장 - 쓰는 동안 SHA-256 체크섬 계산")
+    void storeFile_ComputesChecksum() throws IOException {
+        // given
+        when(uploadedFileRepository.save(any(UploadedFile.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        UploadedFile result = fileStorageService.storeFile(testFile, "127.0.0.1");
+
+        // then
+        // sha256("test content")
+        assertThat(result.getChecksum())
+                .isEqualTo("6ae8a75555209fd6c44157c0aed8016e763ff435a19cf186f76863140143ff72");
+    }
+
+    @Test
+    @DisplayName("파일 저장 - 트리 해시 모드에서는 청크 해시와 루트 해시 저장")
+    void storeFile_TreeHashMode() throws IOException {
+        // given
+        doReturn(true).when(treeHashService).isTreeMode();
+        when(uploadedFileRepository.save(any(UploadedFile.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        byte[] content = "test content".getBytes();
+        byte[] leaf0 = MerkleTree.leafHash(content, 0, 4);
+        byte[] leaf1 = MerkleTree.leafHash(content, 4, 4);
+        byte[] leaf2 = MerkleTree.leafHash(content, 8, 4);
+
+        // when
+        UploadedFile result = fileStorageService.storeFile(testFile, "127.0.0.1");
+
+        // then
+        assertThat(result.getChecksum()).isNull();
+        assertThat(result.getTreeChunkSize()).isEqualTo(4);
+        assertThat(result.getChunkHashes()).containsExactly(
+                ChecksumUtils.toHex(leaf0), ChecksumUtils.toHex(leaf1), ChecksumUtils.toHex(leaf2));
+        assertThat(result.getTreeHash()).isEqualTo(ChecksumUtils.toHex(
+                MerkleTree.nodeHash(MerkleTree.nodeHash(leaf0, leaf1), leaf2)));
+    }
+
+    @Test
+    @DisplayName("파일 저장 - 다중 확장자의 모든 구간을 색인")
+    void storeFile_IndexesAllExtensionSegments() throws IOException {
+        // given
+        MultipartFile doubleExtensionFile = new MockMultipartFile(
+                "file", "Setup.EXE.txt", "text/plain", "test content".getBytes());
+        when(uploadedFileRepository.save(any(UploadedFile.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        UploadedFile result = fileStorageService.storeFile(doubleExtensionFile, "127.0.0.1");
+
+        // then
+        assertThat(result.getExtension()).isEqualTo("txt");
+        assertThat(result.getExtensionSegments()).containsExactlyInAnyOrder("exe", "txt");
+    }
+
+    @Test
+    @DisplayName("파일 저장 - 내구성 쓰기 후 메타데이터 저장")
+    void storeFile_WritesThroughDurabilityService() throws IOException {
+        // given
+        when(uploadedFileRepository.save(any(UploadedFile.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        fileStorageService.storeFile(testFile, "127.0.0.1");
+
+        // then
+        // 발행 저널도 같은 방식으로 쓰므로 파일 데이터(스테이징 경로)의 쓰기만 확인
+        InOrder inOrder = inOrder(fileDurabilityService, uploadedFileRepository, replicationService);
+        inOrder.verify(fileDurabilityService).write(any(),
+                argThat(path -> path.startsWith(Paths.get("test-uploads/.staging"))));
+        inOrder.verify(uploadedFileRepository).save(any(UploadedFile.class));
+        // 복제는 작업 등록만 하고 기다리지 않음
+        inOrder.verify(replicationService).enqueue(any(UploadedFile.class));
+    }
+
+    @Test
+    @DisplayName("파일 저장 - 메타데이터 저장 실패 시 쓴 파일 정리")
+    void storeFile_SaveFailureRemovesFile() {
+        // given
+        when(storageQuotaService.reserve("127.0.0.1", testFile.getSize()))
+                .thenReturn(StorageQuotaService.Reservation.NONE);
+        when(uploadedFileRepository.save(any(UploadedFile.class)))
+                .thenThrow(new IllegalStateException("DB 오류"));
+
+        // when & then
+        assertThatThrownBy(() -> fileStorageService.storeFile(testFile, "127.0.0.1"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(Paths.get("test-uploads/.staging")).isEmptyDirectory();
+        assertThat(Paths.get("test-uploads/.journal")).isEmptyDirectory();
+        verify(replicationService, never()).enqueue(any(UploadedFile.class));
     }
 
     @Test
@@ -89,7 +251,7 @@ class FileStorageServiceTest {
     void deleteFilesByExtension_SkipProtectedFiles() {
         // given
         List<UploadedFile> files = Arrays.asList(mockUploadedFile, protectedFile);
-        when(uploadedFileRepository.findByExtensionAndStatus("pdf", UploadedFile.FileStatus.ACTIVE))
+        when(uploadedFileRepository.findByExtensionSegmentAndStatus("pdf", UploadedFile.FileStatus.ACTIVE))
                 .thenReturn(files);
 
         // when
@@ -99,6 +261,86 @@ class FileStorageServiceTest {
         // 보호된 파일은 삭제되지 않아야 함
         verify(uploadedFileRepository, times(1)).delete(mockUploadedFile);
         verify(uploadedFileRepository, never()).delete(protectedFile);
+        // 삭제된 파일만 다운로드 캐시에서 무효화하고 서명 URL 폐기
+        verify(fileMetadataCacheService).invalidateAll(List.of(1L));
+        verify(downloadCacheService).invalidateAll(List.of(1L));
+        verify(signedUrlService).revokeAll(List.of(1L));
+        verify(filenameSearchService).removeAll(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("확장자별 파일 격리 - 보호된 파일 제외, 삭제하지 않음")
+    void deleteFilesByExtension_QuarantineMode() throws IOException {
+        // given
+        ReflectionTestUtils.setField(fileStorageService, "quarantineEnabled", true);
+        when(uploadedFileRepository.findByExtensionSegmentAndStatus("pdf", UploadedFile.FileStatus.ACTIVE))
+                .thenReturn(Arrays.asList(mockUploadedFile, protectedFile));
+
+        // when
+        fileStorageService.deleteFilesByExtension("pdf");
+
+        // then
+        verify(fileQuarantineService).quarantine(eq(List.of(mockUploadedFile)), any());
+        verify(uploadedFileRepository, never()).delete(any(UploadedFile.class));
+    }
+
+    @Test
+    @DisplayName("같은 파일을 두 번 삭제 - 사용량은 한 번만 반환")
+    void deletePhysicalFile_Twice() throws IOException {
+        // given - 같은 클라이언트의 파일 2개 (12 bytes씩)
+        StorageQuotaService quotaService = new StorageQuotaService(
+                uploadedFileRepository, mock(ClientStorageUsageRepository.class), true, 100L, 10L);
+        ReflectionTestUtils.setField(fileStorageService, "storageQuotaService", quotaService);
+        quotaService.reserve("10.0.0.1", 12L);
+        quotaService.reserve("10.0.0.1", 12L);
+        UploadedFile file = UploadedFile.builder()
+                .id(1L)
+                .originalFilename("test.pdf")
+                .extension("pdf")
+                .filePath("test-uploads/missing.pdf")
+                .fileSize(12L)
+                .ownerId("10.0.0.1")
+                .status(UploadedFile.FileStatus.ACTIVE)
+                .build();
+        when(uploadedFileRepository.findById(1L)).thenReturn(Optional.of(file));
+
+        // when
+        fileStorageService.deletePhysicalFile(1L);
+        fileStorageService.deletePhysicalFile(1L);
+
+        // then
+        assertThat(quotaService.getUsage("10.0.0.1"))
+                .containsEntry("usedBytes", 12L)
+                .containsEntry("fileCount", 1L);
+        verify(extensionStatsService, times(1)).recordDeleted(file);
+        verify(filenameSearchService, times(2)).remove(1L);
+    }
+
+    @Test
+    @DisplayName("격리된 파일 삭제 - 격리 디렉토리에서 지우고 용량은 다시 반환하지 않음")
+    void deletePhysicalFile_Quarantined() throws IOException {
+        // given
+        UploadedFile file = UploadedFile.builder()
+                .id(1L)
+                .originalFilename("setup.exe")
+                .storedFilename("stored.exe")
+                .extension("exe")
+                .filePath("test-uploads/stored.exe")
+                .fileSize(12L)
+                .ownerId("10.0.0.1")
+                .status(UploadedFile.FileStatus.QUARANTINED)
+                .quarantineBatchId("batch-1")
+                .build();
+        when(uploadedFileRepository.findById(1L)).thenReturn(Optional.of(file));
+
+        // when
+        fileStorageService.deletePhysicalFile(1L);
+
+        // then
+        verify(fileQuarantineService).deleteQuarantined(file);
+        verify(storageQuotaService, never()).release(any(), anyLong());
+        verify(extensionStatsService).recordReaped(file);
+        assertThat(file.getStatus()).isEqualTo(UploadedFile.FileStatus.DELETED);
     }
 
     @Test
@@ -116,6 +358,7 @@ class FileStorageServiceTest {
         // then
         verify(uploadedFileRepository).findById(1L);
         verify(uploadedFileRepository).save(any(UploadedFile.class));
+        verify(fileMetadataCacheService).invalidate(1L);
     }
 
     @Test
@@ -143,7 +386,7 @@ class FileStorageServiceTest {
         );
 
         // when & then
-        assertThatThrownBy(() -> fileStorageService.storeFile(largeFile))
+        assertThatThrownBy(() -> fileStorageService.storeFile(largeFile, "127.0.0.1"))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("파일 크기가 최대 허용 크기를 초과합니다.");
     }
@@ -160,7 +403,7 @@ class FileStorageServiceTest {
         );
 
         // when & then
-        assertThatThrownBy(() -> fileStorageService.storeFile(emptyFile))
+        assertThatThrownBy(() -> fileStorageService.storeFile(emptyFile, "127.0.0.1"))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("파일이 선택되지 않았습니다.");
     }
@@ -187,7 +430,7 @@ class FileStorageServiceTest {
     void getFilesByExtension() {
         // given
         List<UploadedFile> expectedFiles = Arrays.asList(mockUploadedFile);
-        when(uploadedFileRepository.findByExtension("pdf"))
+        when(uploadedFileRepository.findByExtensionSegment("pdf"))
                 .thenReturn(expectedFiles);
 
         // when
@@ -196,7 +439,7 @@ class FileStorageServiceTest {
         // then
         assertThat(result).hasSize(1);
         assertThat(result.get(0)).isEqualTo(mockUploadedFile);
-        verify(uploadedFileRepository).findByExtension("pdf");
+        verify(uploadedFileRepository).findByExtensionSegment("pdf");
     }
 
     @Test
@@ -230,4 +473,23 @@ class FileStorageServiceTest {
         assertThat(result).isNull();
         verify(uploadedFileRepository).findById(999L);
     }
+
+    @Test
+    @DisplayName("ID로 파일 조회 - 두 번째 조회는 캐시에서, 변경 후에는 다시 DB에서")
+    void findById_CachedUntilChanged() {
+        // given
+        when(uploadedFileRepository.findById(1L))
+                .thenReturn(Optional.of(mockUploadedFile));
+        when(uploadedFileRepository.save(any(UploadedFile.class)))
+                .thenReturn(mockUploadedFile);
+
+        // when
+        fileStorageService.findById(1L);
+        fileStorageService.findById(1L);
+        fileStorageService.setDeletionException(1L, true);
+        fileStorageService.findById(1L);
+
+        // then - 조회 2회 + 변경 시 1회
+        verify(uploadedFileRepository, times(3)).findById(1L);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,267 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FilenameSearchService 테스트")
+class FilenameSearchServiceTest {
+
+    @Mock
+    private UploadedFileRepository uploadedFileRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("메모리 색인 - 짧은 파일명 순으로 정렬하고 커서로 다음 페이지 조회")
+    void searchMemory_RankAndPaginate() {
+        // given
+        List<UploadedFile> files = List.of(
+                file(1L, "annual-report-2024.pdf", UploadedFile.FileStatus.ACTIVE),
+                file(2L, "report.txt", UploadedFile.FileStatus.ACTIVE),
+                file(3L, "Report.doc", UploadedFile.FileStatus.ACTIVE),
+                file(4L, "photo.png", UploadedFile.FileStatus.ACTIVE));
+        FilenameSearchService service = memoryService(files);
+
+        // when
+        FilenameSearchService.SearchPage first = service.search("REPORT", null, 2);
+        FilenameSearchService.SearchPage second = service.search("report", first.nextCursor(), 2);
+
+        // then - 길이 10인 두 파일을 id 순으로, 다음 페이지에 긴 파일명
+        assertThat(service.getMode()).isEqualTo(FilenameSearchService.SearchMode.MEMORY);
+        assertThat(first.items()).extracting(UploadedFile::getId).containsExactly(2L, 3L);
+        assertThat(first.nextCursor()).isEqualTo("10:3");
+        assertThat(second.items()).extracting(UploadedFile::getId).containsExactly(1L);
+        assertThat(second.nextCursor()).isNull();
+        verify(uploadedFileRepository, never()).searchIdsByFilename(anyString(), anyInt(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("메모리 색인 - 활성 파일만 색인하고 새로 저장된 파일은 바로 검색")
+    void searchMemory_ActiveOnlyAndIndex() {
+        // given
+        List<UploadedFile> files = new ArrayList<>(List.of(
+                file(1L, "invoice-1.pdf", UploadedFile.FileStatus.DELETED),
+                file(2L, "invoice-22.pdf", UploadedFile.FileStatus.ACTIVE)));
+        FilenameSearchService service = memoryService(files);
+        UploadedFile uploaded = file(3L, "invoice-333.pdf", UploadedFile.FileStatus.ACTIVE);
+        files.add(uploaded);
+
+        // when
+        service.index(uploaded);
+        FilenameSearchService.SearchPage page = service.search("invoice", null, 10);
+
+        // then
+        assertThat(page.items()).extracting(UploadedFile::getId).containsExactly(2L, 3L);
+        assertThat(page.nextCursor()).isNull();
+        assertThat(service.getIndexedCount()).isEqualTo(2);
+        assertThat(service.search("없는파일", null, 10).items()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("메모리 색인 - 삭제/격리된 파일은 커밋 후 색인에서 빠지고 롤백되면 남음")
+    void searchMemory_RemoveAfterCommit() {
+        // given
+        List<UploadedFile> files = List.of(
+                file(1L, "invoice-1.pdf", UploadedFile.FileStatus.ACTIVE),
+                file(2L, "invoice-22.pdf", UploadedFile.FileStatus.ACTIVE),
+                file(3L, "photo.png", UploadedFile.FileStatus.ACTIVE));
+        FilenameSearchService service = memoryService(files);
+
+        // when - 롤백된 트랜잭션의 삭제는 반영하지 않음
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.remove(1L);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        int afterRollback = service.getIndexedCount();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.removeAll(List.of(1L, 3L));
+            assertThat(service.getIndexedCount()).isEqualTo(3); // 커밋 전
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then
+        assertThat(afterRollback).isEqualTo(3);
+        assertThat(service.getIndexedCount()).isEqualTo(1);
+        assertThat(service.search("invoice", null, 10).items()).extracting(UploadedFile::getId).containsExactly(2L);
+        assertThat(service.search("photo", null, 10).items()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("메모리 색인 - 커서 다음부터 정렬 순서대로 읽고 한 페이지를 채우면 멈춤")
+    void searchMemory_StopsAtPage() {
+        // given - 길이가 같은 파일 100개
+        List<UploadedFile> files = LongStream.rangeClosed(1, 100)
+                .mapToObj(id -> file(id, String.format("scan-%03d.pdf", id), UploadedFile.FileStatus.ACTIVE))
+                .toList();
+        FilenameSearchService service = memoryService(files);
+
+        // when
+        FilenameSearchService.SearchPage page = service.search("scan", "12:40", 2);
+
+        // then - 다음 페이지 확인용 한 건을 포함해 3건만 DB에서 읽음
+        assertThat(page.items()).extracting(UploadedFile::getId).containsExactly(41L, 42L);
+        assertThat(page.nextCursor()).isEqualTo("12:42");
+        verify(uploadedFileRepository).findAllById(List.of(41L, 42L, 43L));
+    }
+
+    @Test
+    @DisplayName("pg_trgm - 중간에 실패해 INVALID로 남은 색인은 지우고 다시 만듦")
+    void initialize_RecreatesInvalidIndex() {
+        // given - 트라이그램 색인은 INVALID로 남아 있고 길이 색인은 유효
+        FilenameSearchService service = new FilenameSearchService(
+                uploadedFileRepository, jdbcTemplate, "pg-trgm", 3, 20, 100, 1000);
+        when(jdbcTemplate.queryForList(anyString(), eq(Boolean.class), eq("idx_uploaded_filename_trgm")))
+                .thenReturn(List.of(false), List.of(true));
+        when(jdbcTemplate.queryForList(anyString(), eq(Boolean.class), eq("idx_uploaded_filename_length")))
+                .thenReturn(List.of(true));
+
+        // when
+        service.initialize();
+
+        // then
+        assertThat(service.getMode()).isEqualTo(FilenameSearchService.SearchMode.PG_TRGM);
+        verify(jdbcTemplate).execute("DROP INDEX CONCURRENTLY IF EXISTS idx_uploaded_filename_trgm");
+        verify(jdbcTemplate, never()).execute("DROP INDEX CONCURRENTLY IF EXISTS idx_uploaded_filename_length");
+    }
+
+    @Test
+    @DisplayName("pg_trgm - 다시 만들어도 유효하지 않으면 LIKE 검색으로 처리")
+    void initialize_InvalidIndexFallsBack() {
+        // given
+        FilenameSearchService service = new FilenameSearchService(
+                uploadedFileRepository, jdbcTemplate, "pg-trgm", 3, 20, 100, 1000);
+        when(jdbcTemplate.queryForList(anyString(), eq(Boolean.class), anyString())).thenReturn(List.of(false));
+
+        // when
+        service.initialize();
+
+        // then
+        assertThat(service.getMode()).isEqualTo(FilenameSearchService.SearchMode.SQL);
+    }
+
+    @Test
+    @DisplayName("DB 검색 - LIKE 특수문자를 이스케이프하고 한 건 더 조회해 다음 페이지 판단")
+    void searchSql_EscapeAndCursor() {
+        // given - 색인 준비 전에는 DB에서 조회
+        FilenameSearchService service = new FilenameSearchService(
+                uploadedFileRepository, jdbcTemplate, "sql", 3, 20, 100, 1000);
+        UploadedFile first = file(7L, "50%_off.txt", UploadedFile.FileStatus.ACTIVE);
+        UploadedFile second = file(9L, "50%_off.txt", UploadedFile.FileStatus.ACTIVE);
+        when(uploadedFileRepository.searchIdsByFilename("%!%!_o%", 11, 5L, 2)).thenReturn(List.of(9L, 7L));
+        when(uploadedFileRepository.findAllById(List.of(9L, 7L))).thenReturn(List.of(first, second));
+
+        // when
+        FilenameSearchService.SearchPage page = service.search("%_O", "11:5", 1);
+
+        // then
+        assertThat(page.items()).extracting(UploadedFile::getId).containsExactly(9L);
+        assertThat(page.nextCursor()).isEqualTo("11:9");
+    }
+
+    @Test
+    @DisplayName("검색 조건 오류 - 짧은 검색어, 잘못된 커서, 페이지 크기 초과")
+    void search_Invalid() {
+        FilenameSearchService service = new FilenameSearchService(
+                uploadedFileRepository, jdbcTemplate, "sql", 3, 20, 100, 1000);
+
+        assertThatThrownBy(() -> service.search(" ab ", null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("검색어는 3자 이상이어야 합니다.");
+        assertThatThrownBy(() -> service.search("abc", "abc", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("잘못된 커서입니다.");
+        assertThatThrownBy(() -> service.search("abc", null, 101))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(uploadedFileRepository);
+    }
+
+    /**
+     * 파일 목록으로 메모리 색인을 구성한 서비스 (활성 파일만, 색인 구성은 배치 크기 2로 나누어 조회)
+     */
+    private FilenameSearchService memoryService(List<UploadedFile> files) {
+        FilenameSearchService service = new FilenameSearchService(
+                uploadedFileRepository, jdbcTemplate, "memory", 3, 20, 100, 2);
+        when(uploadedFileRepository.findFileNamesAfter(eq(UploadedFile.FileStatus.ACTIVE), anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    Long lastId = invocation.getArgument(1);
+                    Pageable pageable = invocation.getArgument(2);
+                    return files.stream()
+                            .filter(file -> file.getStatus() == UploadedFile.FileStatus.ACTIVE && file.getId() > lastId)
+                            .limit(pageable.getPageSize())
+                            .map(file -> fileName(file.getId(), file.getOriginalFilename()))
+                            .toList();
+                });
+        lenient().when(uploadedFileRepository.findAllById(any())).thenAnswer(invocation -> {
+            Map<Long, UploadedFile> byId = files.stream()
+                    .collect(Collectors.toMap(UploadedFile::getId, Function.identity()));
+            List<UploadedFile> found = new ArrayList<>();
+            for (Long fileId : invocation.<Iterable<Long>>getArgument(0)) {
+                if (byId.containsKey(fileId)) {
+                    found.add(byId.get(fileId));
+                }
+            }
+            return found;
+        });
+        service.initialize();
+        verify(uploadedFileRepository, atLeastOnce())
+                .findFileNamesAfter(eq(UploadedFile.FileStatus.ACTIVE), eq(0L), any(Pageable.class));
+        return service;
+    }
+
+    private UploadedFile file(Long id, String originalFilename, UploadedFile.FileStatus status) {
+        return UploadedFile.builder()
+                .id(id)
+                .originalFilename(originalFilename)
+                .status(status)
+                .build();
+    }
+
+    private UploadedFileRepository.FileName fileName(Long id, String originalFilename) {
+        return new UploadedFileRepository.FileName() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getOriginalFilename() {
+                return originalFilename;
+            }
+        };
+    }
+}
@@ -0,0 +1,211 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.common.ChecksumUtils;
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IntegrityVerificationService 테스트")
+class IntegrityVerificationServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private UploadedFileRepository uploadedFileRepository;
+
+    @Mock
+    private FileMetadataCacheService fileMetadataCacheService;
+
+    private IntegrityVerificationService integrityVerificationService;
+    private TreeHashService treeHashService;
+    // 작은 버퍼로 여러 번 나누어 읽고, 테스트마다 반환되지 않은 버퍼가 없는지 확인
+    private final BufferPoolService bufferPoolService = new BufferPoolService(4096, 4096, 1024, 1024 * 1024, true);
+
+    @BeforeEach
+    void setUp() {
+        treeHashService = new TreeHashService("tree", 4, 2, 4);
+        integrityVerificationService = new IntegrityVerificationService(uploadedFileRepository, fileMetadataCacheService,
+                new FileEncryptionService(false, "", 65536, 1), treeHashService, bufferPoolService, 0, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        integrityVerificationService.shutdown();
+        treeHashService.shutdown();
+        assertThat(bufferPoolService.getOutstanding()).isZero();
+    }
+
+    @Test
+    @DisplayName("체크섬 일치 - 검증 완료 처리")
+    void verifyAll_ChecksumMatches() throws IOException {
+        // given
+        UploadedFile file = createFile(1L, "intact.txt", "hello", checksumOf("hello"));
+        givenActiveFiles(file);
+
+        // when
+        IntegrityVerificationService.VerificationSummary summary = integrityVerificationService.verifyAll();
+
+        // then
+        assertThat(summary.verifiedCount()).isEqualTo(1);
+        assertThat(summary.corruptedCount()).isZero();
+        verify(uploadedFileRepository).markChecksumVerified(eq(List.of(1L)), any());
+        verify(uploadedFileRepository, never()).markCorrupted(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("체크섬 불일치 - 손상 표시")
+    void verifyAll_ChecksumMismatch() throws IOException {
+        // given
+        UploadedFile file = createFile(2L, "rotten.txt", "hellp", checksumOf("hello"));
+        givenActiveFiles(file);
+        when(uploadedFileRepository.markCorrupted(eq(2L), any(), any())).thenReturn(1);
+
+        // when
+        IntegrityVerificationService.VerificationSummary summary = integrityVerificationService.verifyAll();
+
+        // then
+        assertThat(summary.corruptedCount()).isEqualTo(1);
+        verify(uploadedFileRepository).markCorrupted(eq(2L), eq(UploadedFile.FileStatus.ACTIVE), any());
+        verify(uploadedFileRepository, never()).markChecksumVerified(any(), any());
+    }
+
+    @Test
+    @DisplayName("파일 없음 - 손상 표시")
+    void verifyAll_MissingFile() {
+        // given
+        UploadedFile file = UploadedFile.builder()
+                .id(3L)
+                .filePath(tempDir.resolve("missing.txt").toString())
+                .checksum(checksumOf("hello"))
+                .build();
+        givenActiveFiles(file);
+
+        // when
+        integrityVerificationService.verifyAll();
+
+        // then
+        verify(uploadedFileRepository).markCorrupted(eq(3L), eq(UploadedFile.FileStatus.ACTIVE), any());
+    }
+
+    @Test
+    @DisplayName("검증 중 삭제/격리된 파일 - 손상으로 집계하지 않음")
+    void verifyAll_NoLongerActive() {
+        // given - 배치 조회 후 파일이 삭제되어 상태 조건의 UPDATE가 0건
+        UploadedFile file = UploadedFile.builder()
+                .id(7L)
+                .filePath(tempDir.resolve("deleted.txt").toString())
+                .checksum(checksumOf("hello"))
+                .build();
+        givenActiveFiles(file);
+        when(uploadedFileRepository.markCorrupted(eq(7L), eq(UploadedFile.FileStatus.ACTIVE), any())).thenReturn(0);
+
+        // when
+        IntegrityVerificationService.VerificationSummary summary = integrityVerificationService.verifyAll();
+
+        // then
+        assertThat(summary.corruptedCount()).isZero();
+        verify(fileMetadataCacheService, never()).invalidate(anyLong());
+    }
+
+    @Test
+    @DisplayName("체크섬이 없는 기존 파일은 건너뜀")
+    void verifyAll_SkipWithoutChecksum() throws IOException {
+        // given
+        UploadedFile file = createFile(4L, "legacy.txt", "legacy", null);
+        givenActiveFiles(file);
+
+        // when
+        IntegrityVerificationService.VerificationSummary summary = integrityVerificationService.verifyAll();
+
+        // then
+        assertThat(summary.verifiedCount()).isZero();
+        verify(uploadedFileRepository, never()).markChecksumVerified(any(), any());
+        verify(uploadedFileRepository, never()).markCorrupted(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("트리 해시 파일 - 저장 당시 청크 크기로 루트 해시 비교")
+    void verifyAll_TreeHash() throws IOException {
+        // given
+        String treeHash = treeHashService.hash(new ByteArrayInputStream("hello world".getBytes())).root();
+        UploadedFile intact = createTreeHashedFile(5L, "tree.txt", "hello world", treeHash);
+        UploadedFile rotten = createTreeHashedFile(6L, "tree-rotten.txt", "hello worle", treeHash);
+        when(uploadedFileRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                eq(UploadedFile.FileStatus.ACTIVE), eq(0L), any()))
+                .thenReturn(List.of(intact, rotten));
+        when(uploadedFileRepository.markCorrupted(eq(6L), any(), any())).thenReturn(1);
+        when(uploadedFileRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                eq(UploadedFile.FileStatus.ACTIVE), eq(6L), any()))
+                .thenReturn(Collections.emptyList());
+
+        // when
+        IntegrityVerificationService.VerificationSummary summary = integrityVerificationService.verifyAll();
+
+        // then
+        assertThat(summary.verifiedCount()).isEqualTo(1);
+        assertThat(summary.corruptedCount()).isEqualTo(1);
+        verify(uploadedFileRepository).markChecksumVerified(eq(List.of(5L)), any());
+        verify(uploadedFileRepository).markCorrupted(eq(6L), eq(UploadedFile.FileStatus.ACTIVE), any());
+    }
+
+    private void givenActiveFiles(UploadedFile file) {
+        when(uploadedFileRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                eq(UploadedFile.FileStatus.ACTIVE), eq(0L), any()))
+                .thenReturn(List.of(file));
+        when(uploadedFileRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                eq(UploadedFile.FileStatus.ACTIVE), eq(file.getId()), any()))
+                .thenReturn(Collections.emptyList());
+    }
+
+    private UploadedFile createFile(Long id, String name, String content, String checksum) throws IOException {
+        Path path = tempDir.resolve(name);
+        Files.writeString(path, content);
+        return UploadedFile.builder()
+                .id(id)
+                .originalFilename(name)
+                .filePath(path.toString())
+                .fileSize((long) content.length())
+                .checksum(checksum)
+                .build();
+    }
+
+    private UploadedFile createTreeHashedFile(Long id, String name, String content, String treeHash)
+            throws IOException {
+        Path path = tempDir.resolve(name);
+        Files.writeString(path, content);
+        return UploadedFile.builder()
+                .id(id)
+                .originalFilename(name)
+                .filePath(path.toString())
+                .fileSize((long) content.length())
+                .treeHash(treeHash)
+                .treeChunkSize(4)
+                .build();
+    }
+
+    private String checksumOf(String content) {
+        return ChecksumUtils.toHex(ChecksumUtils.newDigest().digest(content.getBytes()));
+    }
+}
@@ -0,0 +1,244 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.ReplicationTask;
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.ReplicationTaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicationService 테스트")
+class ReplicationServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private ReplicationTaskRepository replicationTaskRepository;
+
+    private ReplicationService replicationService;
+    // 작은 버퍼로 여러 번 나누어 읽고, 테스트마다 반환되지 않은 버퍼가 없는지 확인
+    private final BufferPoolService bufferPoolService = new BufferPoolService(4096, 4096, 1024, 1024 * 1024, true);
+    private Path uploadDir;
+    private Path replicaDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        uploadDir = Files.createDirectories(tempDir.resolve("uploads"));
+        replicaDir = tempDir.resolve("replica");
+        replicationService = new ReplicationService(replicationTaskRepository, bufferPoolService, true, replicaDir.toString(),
+                uploadDir.toString(), 2, 100, 1000L, 60000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicationService.shutdown();
+        assertThat(bufferPoolService.getOutstanding()).isZero();
+    }
+
+    @Test
+    @DisplayName("업로드 시 복제 작업만 등록")
+    void enqueue_SavesTask() {
+        // given
+        UploadedFile file = activeFile(1L, uploadDir.resolve("a.txt"));
+
+        // when
+        replicationService.enqueue(file);
+
+        // then
+        ArgumentCaptor<ReplicationTask> captor = ArgumentCaptor.forClass(ReplicationTask.class);
+        verify(replicationTaskRepository).save(captor.capture());
+        assertThat(captor.getValue().getFileId()).isEqualTo(1L);
+        assertThat(captor.getValue().getAttempts()).isZero();
+        assertThat(captor.getValue().getNextAttemptAt()).isBeforeOrEqualTo(LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("복제 비활성 - 작업을 등록하지 않음")
+    void enqueue_Disabled() {
+        // given
+        ReplicationService disabled = new ReplicationService(replicationTaskRepository, bufferPoolService, false, "",
+                uploadDir.toString(), 1, 100, 1000L, 60000L);
+
+        // when
+        disabled.enqueue(activeFile(1L, uploadDir.resolve("a.txt")));
+
+        // then
+        verifyNoInteractions(replicationTaskRepository);
+        assertThat(disabled.replicatePending().replicatedCount()).isZero();
+        disabled.shutdown();
+    }
+
+    @Test
+    @DisplayName("대기 작업을 같은 상대 경로로 복사하고 작업 제거")
+    void replicatePending_CopiesAndRemovesTask() throws IOException {
+        // given
+        Path first = writeFile("2025/01/01/a.txt", "first");
+        Path second = writeFile("2025/01/02/b.txt", "second");
+        when(replicationTaskRepository.findDue(any(), any()))
+                .thenReturn(List.of(task(10L, 1L, first), task(11L, 2L, second)));
+
+        // when
+        ReplicationService.ReplicationSummary summary = replicationService.replicatePending();
+
+        // then
+        assertThat(summary.replicatedCount()).isEqualTo(2);
+        assertThat(replicaDir.resolve("2025/01/01/a.txt")).hasContent("first");
+        assertThat(replicaDir.resolve("2025/01/02/b.txt")).hasContent("second");
+        try (var leftovers = Files.list(replicaDir.resolve("2025/01/01"))) {
+            assertThat(leftovers).hasSize(1); // 임시 파일이 남지 않음
+        }
+        verify(replicationTaskRepository).deleteById(10L);
+        verify(replicationTaskRepository).deleteById(11L);
+    }
+
+    @Test
+    @DisplayName("원본이 이미 삭제된 작업은 제거")
+    void replicatePending_SourceMissing() {
+        // given
+        when(replicationTaskRepository.findDue(any(), any()))
+                .thenReturn(List.of(task(10L, 1L, uploadDir.resolve("gone.txt"))));
+
+        // when
+        replicationService.replicatePending();
+
+        // then
+        verify(replicationTaskRepository).deleteById(10L);
+        verify(replicationTaskRepository, never()).recordFailure(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("복제 실패 - 시도 횟수에 따라 재시도 시각을 늦춤")
+    void replicatePending_FailureBacksOff() throws IOException {
+        // given
+        Path outside = Files.writeString(tempDir.resolve("outside.txt"), "outside");
+        ReplicationTask failedBefore = ReplicationTask.builder()
+                .id(10L).fileId(1L).filePath(outside.toString()).attempts(2).nextAttemptAt(LocalDateTime.now())
+                .build();
+        when(replicationTaskRepository.findDue(any(), any())).thenReturn(List.of(failedBefore));
+
+        // when
+        ReplicationService.ReplicationSummary summary = replicationService.replicatePending();
+
+        // then
+        assertThat(summary.failedCount()).isEqualTo(1);
+        ArgumentCaptor<LocalDateTime> nextAttemptAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(replicationTaskRepository).recordFailure(eq(10L), nextAttemptAt.capture(), anyString());
+        // 1초 * 2^2
+        assertThat(nextAttemptAt.getValue()).isAfter(LocalDateTime.now().plusSeconds(3));
+        verify(replicationTaskRepository, never()).deleteById(any());
+    }
+
+    @Test
+    @DisplayName("원본이 없는 활성 파일은 복제본에서 읽음")
+    void resolveForRead_FailsOverToReplica() throws IOException {
+        // given
+        Path primary = writeFile("2025/01/01/a.txt", "content");
+        replicationService.replicate(primary);
+        Files.delete(primary);
+        UploadedFile file = activeFile(1L, primary);
+
+        // when
+        Path readPath = replicationService.resolveForRead(file);
+
+        // then
+        assertThat(readPath).isEqualTo(replicaDir.resolve("2025/01/01/a.txt"));
+        assertThat(replicationService.getStats()).containsEntry("failoverReads", 1L);
+    }
+
+    @Test
+    @DisplayName("격리된 파일은 복제본이 있어도 원본 경로 반환")
+    void resolveForRead_NotActive() throws IOException {
+        // given
+        Path primary = writeFile("2025/01/01/a.exe", "content");
+        replicationService.replicate(primary);
+        Files.delete(primary);
+        UploadedFile file = UploadedFile.builder()
+                .id(1L).filePath(primary.toString()).status(UploadedFile.FileStatus.QUARANTINED).build();
+
+        // when & then
+        assertThat(replicationService.resolveForRead(file)).isEqualTo(primary);
+        assertThat(replicationService.isPrimaryMissing(file)).isFalse();
+    }
+
+    @Test
+    @DisplayName("파일 삭제 시 복제본도 삭제")
+    void deleteReplica() throws IOException {
+        // given
+        Path primary = writeFile("2025/01/01/a.txt", "content");
+        replicationService.replicate(primary);
+
+        // when
+        replicationService.deleteReplica(activeFile(1L, primary));
+
+        // then
+        assertThat(replicaDir.resolve("2025/01/01/a.txt")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("복제 지연은 가장 오래된 대기 작업 기준")
+    void getStats_Lag() {
+        // given
+        when(replicationTaskRepository.findOldestCreatedAt()).thenReturn(LocalDateTime.now().minusSeconds(30));
+        when(replicationTaskRepository.count()).thenReturn(5L);
+
+        // when
+        Map<String, Object> stats = replicationService.getStats();
+
+        // then
+        assertThat(stats).containsEntry("pending", 5L);
+        assertThat((Long) stats.get("lagSeconds")).isBetween(29L, 31L);
+    }
+
+    @Test
+    @DisplayName("복제 대상 디렉토리 없이 활성화 - 예외")
+    void constructor_RequiresTargetDir() {
+        assertThatThrownBy(() -> new ReplicationService(replicationTaskRepository, bufferPoolService, true, " ",
+                uploadDir.toString(), 1, 100, 1000L, 60000L))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private Path writeFile(String relativePath, String content) throws IOException {
+        Path path = uploadDir.resolve(relativePath);
+        Files.createDirectories(path.getParent());
+        return Files.writeString(path, content);
+    }
+
+    private static ReplicationTask task(Long id, Long fileId, Path path) {
+        return ReplicationTask.builder()
+                .id(id)
+                .fileId(fileId)
+                .filePath(path.toString())
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static UploadedFile activeFile(Long id, Path path) {
+        return UploadedFile.builder()
+                .id(id)
+                .filePath(path.toString())
+                .status(UploadedFile.FileStatus.ACTIVE)
+                .build();
+    }
+}
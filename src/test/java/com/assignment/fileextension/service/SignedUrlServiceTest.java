@@ -0,0 +1,132 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.UploadedFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SignedUrlService 테스트")
+class SignedUrlServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private SignedUrlService signedUrlService;
+    private UploadedFile file;
+
+    @BeforeEach
+    void setUp() {
+        signedUrlService = service("k1:first-secret,k2:second-secret", "k1");
+        file = UploadedFile.builder()
+                .id(1L)
+                .originalFilename("report.pdf")
+                .filePath(uploadDir.resolve("2025/01/01/0001ABCD.pdf").toString())
+                .contentType("application/pdf")
+                .status(UploadedFile.FileStatus.ACTIVE)
+                .build();
+    }
+
+    @Test
+    @DisplayName("발급한 토큰은 DB 없이 검증되고 상대 경로만 담음")
+    void issueAndVerify() {
+        // when
+        SignedUrlService.SignedUrl signedUrl = signedUrlService.issue(file, Duration.ofMinutes(5));
+        SignedUrlService.SignedDownload signed = signedUrlService.verify(signedUrl.token());
+
+        // then
+        assertThat(signedUrl.token()).startsWith("k1.");
+        assertThat(signed.fileId()).isEqualTo(1L);
+        assertThat(signed.path()).isEqualTo("2025/01/01/0001ABCD.pdf");
+        assertThat(signed.filename()).isEqualTo("report.pdf");
+        assertThat(signed.contentType()).isEqualTo("application/pdf");
+        assertThat(signedUrlService.resolvePath(signed)).isEqualTo(uploadDir.resolve("2025/01/01/0001ABCD.pdf"));
+    }
+
+    @Test
+    @DisplayName("페이로드나 서명이 바뀐 토큰은 거부")
+    void verify_Tampered() {
+        // given
+        String token = signedUrlService.issue(file, null).token();
+        String[] parts = token.split("\\.");
+        String otherPayload = signedUrlService.issue(UploadedFile.builder()
+                .id(2L)
+                .originalFilename("other.pdf")
+                .filePath(uploadDir.resolve("other.pdf").toString())
+                .status(UploadedFile.FileStatus.ACTIVE)
+                .build(), null).token().split("\\.")[1];
+
+        // when & then
+        assertThat(signedUrlService.verify(parts[0] + "." + otherPayload + "." + parts[2])).isNull();
+        assertThat(signedUrlService.verify(token + "x")).isNull();
+        assertThat(signedUrlService.verify("not-a-token")).isNull();
+    }
+
+    @Test
+    @DisplayName("키 교체 - 이전 키로 서명한 토큰도 키가 남아 있는 동안 검증")
+    void verify_KeyRotation() {
+        // given
+        String oldToken = signedUrlService.issue(file, null).token();
+        SignedUrlService rotated = service("k1:first-secret,k2:second-secret", "k2");
+        SignedUrlService retired = service("k2:second-secret", "k2");
+
+        // when & then
+        assertThat(rotated.issue(file, null).token()).startsWith("k2.");
+        assertThat(rotated.verify(oldToken)).isNotNull();
+        assertThat(retired.verify(oldToken)).isNull();
+    }
+
+    @Test
+    @DisplayName("폐기 이전에 발급된 토큰만 거부")
+    void verify_Revoked() throws InterruptedException {
+        // given
+        String revokedToken = signedUrlService.issue(file, null).token();
+        Thread.sleep(2);
+        signedUrlService.revokeAll(List.of(1L));
+        Thread.sleep(2);
+        String newToken = signedUrlService.issue(file, null).token();
+
+        // when & then
+        assertThat(signedUrlService.verify(revokedToken)).isNull();
+        assertThat(signedUrlService.verify(newToken)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("만료된 토큰은 거부")
+    void verify_Expired() throws InterruptedException {
+        // given
+        String token = signedUrlService.issue(file, Duration.ofSeconds(1)).token();
+
+        // when
+        Thread.sleep(1100);
+
+        // then
+        assertThat(signedUrlService.verify(token)).isNull();
+    }
+
+    @Test
+    @DisplayName("활성 파일이 아니거나 최대 유효 기간을 넘으면 발급하지 않음")
+    void issue_Rejected() {
+        UploadedFile deleted = UploadedFile.builder()
+                .id(3L)
+                .filePath(uploadDir.resolve("a.pdf").toString())
+                .status(UploadedFile.FileStatus.DELETED)
+                .build();
+
+        assertThatThrownBy(() -> signedUrlService.issue(deleted, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> signedUrlService.issue(file, Duration.ofDays(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private SignedUrlService service(String keys, String activeKeyId) {
+        return new SignedUrlService(keys, activeKeyId, 300, 86400, uploadDir.toString());
+    }
+}
@@ -0,0 +1,146 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.ClientStorageUsage;
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.exception.QuotaExceededException;
+import com.assignment.fileextension.repository.ClientStorageUsageRepository;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StorageQuotaService 테스트")
+class StorageQuotaServiceTest {
+
+    @Mock
+    private UploadedFileRepository uploadedFileRepository;
+
+    @Mock
+    private ClientStorageUsageRepository clientStorageUsageRepository;
+
+    private StorageQuotaService storageQuotaService;
+
+    @BeforeEach
+    void setUp() {
+        storageQuotaService = new StorageQuotaService(
+                uploadedFileRepository, clientStorageUsageRepository, true, 100L, 3L);
+    }
+
+    @Test
+    @DisplayName("한도 내 예약 - 사용량 증가")
+    void reserve_WithinLimit() {
+        storageQuotaService.reserve("10.0.0.1", 60L);
+
+        assertThat(storageQuotaService.getUsage("10.0.0.1"))
+                .containsEntry("usedBytes", 60L)
+                .containsEntry("fileCount", 1L);
+    }
+
+    @Test
+    @DisplayName("용량 한도 초과 - 예외 및 사용량 유지")
+    void reserve_BytesExceeded() {
+        storageQuotaService.reserve("10.0.0.1", 60L);
+
+        assertThatThrownBy(() -> storageQuotaService.reserve("10.0.0.1", 50L))
+                .isInstanceOf(QuotaExceededException.class);
+        assertThat(storageQuotaService.getUsage("10.0.0.1")).containsEntry("usedBytes", 60L);
+    }
+
+    @Test
+    @DisplayName("파일 개수 한도 초과 - 예외")
+    void reserve_FileCountExceeded() {
+        for (int i = 0; i < 3; i++) {
+            storageQuotaService.reserve("10.0.0.1", 1L);
+        }
+
+        assertThatThrownBy(() -> storageQuotaService.reserve("10.0.0.1", 1L))
+                .isInstanceOf(QuotaExceededException.class);
+        assertThat(storageQuotaService.getUsage("10.0.0.1"))
+                .containsEntry("usedBytes", 3L)
+                .containsEntry("fileCount", 3L);
+    }
+
+    @Test
+    @DisplayName("예약 취소는 한 번만 반영")
+    void reservation_CancelOnce() {
+        StorageQuotaService.Reservation reservation = storageQuotaService.reserve("10.0.0.1", 40L);
+
+        reservation.cancel();
+        reservation.cancel();
+
+        assertThat(storageQuotaService.getUsage("10.0.0.1"))
+                .containsEntry("usedBytes", 0L)
+                .containsEntry("fileCount", 0L);
+    }
+
+    @Test
+    @DisplayName("클라이언트별 한도는 서로 독립")
+    void reserve_IndependentClients() {
+        storageQuotaService.reserve("10.0.0.1", 100L);
+
+        assertThatCode(() -> storageQuotaService.reserve("10.0.0.2", 100L))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("시작 시 활성 파일로부터 카운터 재구성")
+    void rebuildCounters() {
+        UploadedFileRepository.OwnerUsage usage = mock(UploadedFileRepository.OwnerUsage.class);
+        when(usage.getOwnerId()).thenReturn("10.0.0.1");
+        when(usage.getTotalBytes()).thenReturn(90L);
+        when(usage.getFileCount()).thenReturn(2L);
+        when(uploadedFileRepository.sumUsageByOwner(UploadedFile.FileStatus.ACTIVE))
+                .thenReturn(List.of(usage));
+
+        storageQuotaService.rebuildCounters();
+
+        assertThatThrownBy(() -> storageQuotaService.reserve("10.0.0.1", 20L))
+                .isInstanceOf(QuotaExceededException.class);
+    }
+
+    @Test
+    @DisplayName("변경된 카운터만 DB에 반영")
+    @SuppressWarnings("unchecked")
+    void flushCounters() {
+        when(clientStorageUsageRepository.findAllById(anyList())).thenReturn(Collections.emptyList());
+        storageQuotaService.reserve("10.0.0.1", 30L);
+
+        storageQuotaService.flushCounters();
+        storageQuotaService.flushCounters(); // 변경 없음
+
+        ArgumentCaptor<List<ClientStorageUsage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(clientStorageUsageRepository, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue()).singleElement()
+                .satisfies(usage -> {
+                    assertThat(usage.getClientId()).isEqualTo("10.0.0.1");
+                    assertThat(usage.getUsedBytes()).isEqualTo(30L);
+                    assertThat(usage.getFileCount()).isEqualTo(1L);
+                });
+    }
+
+    @Test
+    @DisplayName("비활성화 또는 클라이언트 미상 - 제한 없음")
+    void reserve_Disabled() {
+        StorageQuotaService disabled = new StorageQuotaService(
+                uploadedFileRepository, clientStorageUsageRepository, false, 1L, 1L);
+
+        assertThatCode(() -> {
+            disabled.reserve("10.0.0.1", 100L);
+            storageQuotaService.reserve(null, 1000L);
+        }).doesNotThrowAnyException();
+        verify(clientStorageUsageRepository, never()).saveAll(any());
+    }
+}
@@ -0,0 +1,114 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.common.ChecksumUtils;
+import com.assignment.fileextension.common.MerkleTree;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TreeHashService 테스트")
+class TreeHashServiceTest {
+
+    private final TreeHashService treeHashService = new TreeHashService("tree", 1024, 4, 2);
+
+    @AfterEach
+    void tearDown() {
+        treeHashService.shutdown();
+    }
+
+    @Test
+    @DisplayName("병렬로 계산한 루트가 순차 계산과 같음")
+    void hash_MatchesSequentialTree() throws IOException {
+        // given
+        byte[] content = randomBytes(10 * 1024 + 300); // 청크 11개, 마지막 청크는 300바이트
+
+        // when
+        TreeHashService.TreeHash treeHash = treeHashService.hash(new ByteArrayInputStream(content));
+
+        // then
+        List<byte[]> leaves = new ArrayList<>();
+        for (int offset = 0; offset < content.length; offset += 1024) {
+            leaves.add(MerkleTree.leafHash(content, offset, Math.min(1024, content.length - offset)));
+        }
+        assertThat(treeHash.chunkSize()).isEqualTo(1024);
+        assertThat(treeHash.chunkHashes()).containsExactlyElementsOf(
+                leaves.stream().map(ChecksumUtils::toHex).toList());
+        assertThat(treeHash.root()).isEqualTo(ChecksumUtils.toHex(MerkleTree.root(leaves)));
+    }
+
+    @Test
+    @DisplayName("읽는 단위와 관계없이 같은 해시")
+    void wrap_IndependentOfReadSize() throws IOException {
+        // given
+        byte[] content = randomBytes(5000);
+        String expected = treeHashService.hash(new ByteArrayInputStream(content)).root();
+
+        // when
+        TreeHashService.TreeHashingInputStream hashing = treeHashService.wrap(new ByteArrayInputStream(content));
+        byte[] buffer = new byte[333];
+        hashing.read();
+        hashing.skip(700);
+        while (hashing.read(buffer, 0, buffer.length) != -1) {
+            // 끝까지 읽기
+        }
+
+        // then
+        assertThat(hashing.finish().root()).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("빈 파일은 빈 청크 하나로 계산")
+    void hash_EmptyStream() throws IOException {
+        // when
+        TreeHashService.TreeHash treeHash = treeHashService.hash(InputStream.nullInputStream());
+
+        // then
+        String emptyLeaf = ChecksumUtils.toHex(MerkleTree.leafHash(new byte[0], 0, 0));
+        assertThat(treeHash.chunkHashes()).containsExactly(emptyLeaf);
+        assertThat(treeHash.root()).isEqualTo(emptyLeaf);
+    }
+
+    @Test
+    @DisplayName("청크 경계에 딱 맞는 파일은 빈 청크를 추가하지 않음")
+    void hash_ExactChunkBoundary() throws IOException {
+        // when
+        TreeHashService.TreeHash treeHash = treeHashService.hash(new ByteArrayInputStream(randomBytes(2048)));
+
+        // then
+        assertThat(treeHash.chunkHashes()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("청크 크기가 다르면 다른 루트")
+    void wrap_DifferentChunkSize() throws IOException {
+        // given
+        byte[] content = randomBytes(4096);
+        String defaultRoot = treeHashService.hash(new ByteArrayInputStream(content)).root();
+
+        // when
+        TreeHashService.TreeHashingInputStream hashing = treeHashService.wrap(new ByteArrayInputStream(content), 512);
+        hashing.readAllBytes();
+
+        // then
+        assertThat(hashing.finish().chunkHashes()).hasSize(8);
+        assertThat(hashing.finish().root()).isNotEqualTo(defaultRoot);
+        assertThatThrownBy(() -> treeHashService.wrap(InputStream.nullInputStream(), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+}
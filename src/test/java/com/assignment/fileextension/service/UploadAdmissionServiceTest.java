@@ -0,0 +1,118 @@
+package com.assignment.fileextension.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UploadAdmissionService 테스트")
+class UploadAdmissionServiceTest {
+
+    private static final long KB = 1024L;
+
+    private UploadAdmissionService uploadAdmissionService;
+
+    @BeforeEach
+    void setUp() {
+        // 전체 64KB (작은 업로드 lane 16KB, 큰 업로드 lane 48KB), 4KB 이하는 작은 업로드, 클라이언트당 40KB
+        uploadAdmissionService = new UploadAdmissionService(64 * KB, 16 * KB, 4 * KB, 40 * KB, 50L, 7L);
+    }
+
+    @Test
+    @DisplayName("큰 업로드 lane이 가득 차도 작은 업로드는 승인")
+    void tryAdmit_SmallUploadNotBlockedByLarge() throws InterruptedException {
+        // given
+        UploadAdmissionService.Permit large1 = uploadAdmissionService.tryAdmit("10.0.0.1", 30 * KB);
+        UploadAdmissionService.Permit large2 = uploadAdmissionService.tryAdmit("10.0.0.2", 18 * KB);
+
+        // when
+        UploadAdmissionService.Permit blocked = uploadAdmissionService.tryAdmit("10.0.0.3", 10 * KB);
+        UploadAdmissionService.Permit small = uploadAdmissionService.tryAdmit("10.0.0.3", 2 * KB);
+
+        // then
+        assertThat(large1).isNotNull();
+        assertThat(large2).isNotNull();
+        assertThat(blocked).isNull();
+        assertThat(small).isNotNull();
+    }
+
+    @Test
+    @DisplayName("예산 반환 후 다시 승인")
+    void release_FreesBudget() throws InterruptedException {
+        // given
+        UploadAdmissionService.Permit permit = uploadAdmissionService.tryAdmit("10.0.0.1", 40 * KB);
+        assertThat(uploadAdmissionService.tryAdmit("10.0.0.2", 40 * KB)).isNull();
+
+        // when
+        permit.release();
+        permit.release(); // 두 번 반환해도 한 번만 적용
+
+        // then
+        assertThat(uploadAdmissionService.tryAdmit("10.0.0.2", 40 * KB)).isNotNull();
+        assertThat(uploadAdmissionService.tryAdmit("10.0.0.3", 10 * KB)).isNull();
+    }
+
+    @Test
+    @DisplayName("클라이언트별 처리 중 한도 초과 - 거절")
+    void tryAdmit_ClientLimit() throws InterruptedException {
+        // given
+        assertThat(uploadAdmissionService.tryAdmit("10.0.0.1", 30 * KB)).isNotNull();
+
+        // when
+        UploadAdmissionService.Permit sameClient = uploadAdmissionService.tryAdmit("10.0.0.1", 12 * KB);
+        UploadAdmissionService.Permit otherClient = uploadAdmissionService.tryAdmit("10.0.0.2", 12 * KB);
+
+        // then
+        assertThat(sameClient).isNull();
+        assertThat(otherClient).isNotNull();
+    }
+
+    @Test
+    @DisplayName("대기 중 예산이 반환되면 승인")
+    void tryAdmit_WaitsForRelease() throws InterruptedException {
+        // given
+        UploadAdmissionService waiting = new UploadAdmissionService(64 * KB, 16 * KB, 4 * KB, 64 * KB, 2000L, 7L);
+        UploadAdmissionService.Permit permit = waiting.tryAdmit("10.0.0.1", 48 * KB);
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            permit.release();
+        });
+
+        // when
+        releaser.start();
+        UploadAdmissionService.Permit admitted = waiting.tryAdmit("10.0.0.2", 48 * KB);
+        releaser.join();
+
+        // then
+        assertThat(admitted).isNotNull();
+    }
+
+    @Test
+    @DisplayName("현황 조회")
+    @SuppressWarnings("unchecked")
+    void getStats() throws InterruptedException {
+        // given
+        uploadAdmissionService.tryAdmit("10.0.0.1", 2 * KB);
+        uploadAdmissionService.tryAdmit("10.0.0.1", 30 * KB);
+        uploadAdmissionService.tryAdmit("10.0.0.1", 30 * KB);
+
+        // when
+        Map<String, Object> stats = uploadAdmissionService.getStats();
+
+        // then
+        assertThat(stats)
+                .containsEntry("inflightBytes", 32 * KB)
+                .containsEntry("activeClients", 1)
+                .containsEntry("admittedCount", 2L)
+                .containsEntry("rejectedCount", 1L);
+        assertThat((Map<String, Object>) stats.get("small")).containsEntry("capacityBytes", 16 * KB);
+        assertThat(uploadAdmissionService.getRetryAfterSeconds()).isEqualTo(7L);
+    }
+}
@@ -0,0 +1,251 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UploadPublishService 테스트")
+class UploadPublishServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private UploadedFileRepository uploadedFileRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final FileDurabilityService fileDurabilityService =
+            new FileDurabilityService(new BufferPoolService(1048576, 65536, 8192, 67108864L, false), "none");
+
+    private UploadPublishService uploadPublishService;
+    private Path uploadDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        uploadDir = Files.createDirectories(tempDir.resolve("uploads"));
+        uploadPublishService = newService(60000L);
+    }
+
+    @Test
+    @DisplayName("게시 - 메타데이터 저장 후 최종 경로로 이동하고 저널 정리")
+    void publish_MovesFileAfterSave() throws IOException {
+        // given
+        Path finalPath = uploadDir.resolve("a.txt");
+        UploadPublishService.StagedUpload staged = stageWithContent("a.txt", finalPath);
+        UploadedFile file = UploadedFile.builder().id(1L).storedFilename("a.txt").build();
+
+        // when
+        UploadedFile result = uploadPublishService.publish(staged, () -> file);
+
+        // then
+        assertThat(result).isSameAs(file);
+        assertThat(finalPath).hasContent("content");
+        assertThat(Paths.get(staged.stagingPath())).doesNotExist();
+        assertThat(uploadDir.resolve(".journal")).isEmptyDirectory();
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("게시 - 메타데이터 저장 실패 시 파일과 저널 삭제 후 롤백")
+    void publish_SaveFailureRollsBack() throws IOException {
+        // given
+        Path finalPath = uploadDir.resolve("a.txt");
+        UploadPublishService.StagedUpload staged = stageWithContent("a.txt", finalPath);
+
+        // when & then
+        assertThatThrownBy(() -> uploadPublishService.publish(staged, () -> {
+            throw new IllegalStateException("DB 오류");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(finalPath).doesNotExist();
+        assertThat(Paths.get(staged.stagingPath())).doesNotExist();
+        assertThat(uploadDir.resolve(".journal")).isEmptyDirectory();
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    @DisplayName("복구 - 커밋된 게시는 최종 경로로 이동 완료")
+    void recover_CommittedEntryCompletesMove() throws IOException {
+        // given - 커밋 후 rename 반영 전에 죽은 상황
+        Path finalPath = uploadDir.resolve("a.txt");
+        UploadPublishService.StagedUpload staged = stageWithContent("a.txt", finalPath);
+        when(uploadedFileRepository.existsByStoredFilename("a.txt")).thenReturn(true);
+
+        // when
+        int recovered = newService(0L).recover();
+
+        // then
+        assertThat(recovered).isEqualTo(1);
+        assertThat(finalPath).hasContent("content");
+        assertThat(Paths.get(staged.stagingPath())).doesNotExist();
+        assertThat(uploadDir.resolve(".journal")).isEmptyDirectory();
+    }
+
+    @Test
+    @DisplayName("복구 - 커밋되지 않은 게시는 스테이징 파일 삭제")
+    void recover_UncommittedEntryRemovesStaging() throws IOException {
+        // given
+        Path finalPath = uploadDir.resolve("a.txt");
+        UploadPublishService.StagedUpload staged = stageWithContent("a.txt", finalPath);
+        when(uploadedFileRepository.existsByStoredFilename("a.txt")).thenReturn(false);
+
+        // when
+        int recovered = newService(0L).recover();
+
+        // then
+        assertThat(recovered).isEqualTo(1);
+        assertThat(finalPath).doesNotExist();
+        assertThat(Paths.get(staged.stagingPath())).doesNotExist();
+        assertThat(uploadDir.resolve(".journal")).isEmptyDirectory();
+    }
+
+    @Test
+    @DisplayName("복구 - 진행 중이거나 최근에 갱신된 게시는 건너뜀")
+    void recover_SkipsInFlightAndRecentEntries() throws IOException {
+        // given
+        UploadPublishService.StagedUpload staged = stageWithContent("a.txt", uploadDir.resolve("a.txt"));
+
+        // when
+        int inFlight = uploadPublishService.recover();          // 이 인스턴스에서 진행 중
+        int recent = newService(60000L).recover();               // 유예 시간 이내
+
+        // then
+        assertThat(inFlight).isZero();
+        assertThat(recent).isZero();
+        assertThat(Paths.get(staged.stagingPath())).exists();
+        verify(uploadedFileRepository, never()).existsByStoredFilename(any());
+    }
+
+    @Test
+    @DisplayName("복구 - 저널 디렉토리가 없으면 아무것도 하지 않음")
+    void recover_NoJournal() {
+        // when & then
+        assertThat(uploadPublishService.recover()).isZero();
+    }
+
+    @Test
+    @DisplayName("그룹 커밋 - 동시에 들어온 게시를 한 트랜잭션으로 커밋")
+    void publish_GroupCommitSharesTransaction() throws Exception {
+        // given
+        UploadPublishService grouped = newService(60000L, true, 10000L, 200L);
+        grouped.start();
+        List<UploadPublishService.StagedUpload> staged = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            staged.add(stageWithContent(grouped, "f" + i, uploadDir.resolve("f" + i)));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            // when
+            List<Future<UploadedFile>> results = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                UploadedFile file = UploadedFile.builder().id((long) i).build();
+                UploadPublishService.StagedUpload upload = staged.get(i);
+                results.add(executor.submit(() -> grouped.publish(upload, () -> file)));
+            }
+
+            // then
+            for (int i = 0; i < 3; i++) {
+                assertThat(results.get(i).get(5, TimeUnit.SECONDS).getId()).isEqualTo(i);
+                assertThat(uploadDir.resolve("f" + i)).hasContent("content");
+            }
+            verify(transactionManager, times(1)).getTransaction(any());
+            verify(transactionManager, times(1)).commit(any());
+        } finally {
+            executor.shutdownNow();
+            grouped.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("그룹 커밋 - 배치가 실패하면 하나씩 다시 커밋하여 실패한 게시만 실패")
+    void commitGroup_RetriesIndividuallyOnFailure() throws IOException {
+        // given
+        UploadPublishService.StagedUpload ok = stageWithContent("ok", uploadDir.resolve("ok"));
+        UploadPublishService.StagedUpload bad = stageWithContent("bad", uploadDir.resolve("bad"));
+        UploadedFile file = UploadedFile.builder().id(1L).build();
+        UploadPublishService.PublishRequest okRequest = new UploadPublishService.PublishRequest(ok, () -> file);
+        UploadPublishService.PublishRequest badRequest = new UploadPublishService.PublishRequest(bad, () -> {
+            throw new IllegalStateException("DB 오류");
+        });
+
+        // when
+        uploadPublishService.commitGroup(List.of(okRequest, badRequest));
+
+        // then
+        assertThat(okRequest.done()).isCompletedWithValue(file);
+        assertThat(badRequest.done()).isCompletedExceptionally();
+        assertThat(uploadDir.resolve("ok")).hasContent("content");
+        assertThat(uploadDir.resolve("bad")).doesNotExist();
+        verify(transactionManager, times(2)).rollback(any()); // 배치 1회 + 개별 1회
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    @DisplayName("그룹 커밋 - 대기 시간을 넘기면 취소하고 파일 정리")
+    void publish_GroupCommitTimeout() throws IOException {
+        // given - committer 스레드를 시작하지 않음
+        UploadPublishService grouped = newService(60000L, true, 50L, 5L);
+        UploadPublishService.StagedUpload staged =
+                stageWithContent(grouped, "a.txt", uploadDir.resolve("a.txt"));
+
+        // when & then
+        assertThatThrownBy(() -> grouped.publish(staged, () -> UploadedFile.builder().build()))
+                .isInstanceOf(IOException.class);
+        assertThat(Paths.get(staged.stagingPath())).doesNotExist();
+        assertThat(uploadDir.resolve(".journal")).isEmptyDirectory();
+        verifyNoInteractions(transactionManager);
+    }
+
+    private UploadPublishService.StagedUpload stageWithContent(String storedFilename, Path finalPath)
+            throws IOException {
+        return stageWithContent(uploadPublishService, storedFilename, finalPath);
+    }
+
+    private UploadPublishService.StagedUpload stageWithContent(UploadPublishService service,
+                                                               String storedFilename, Path finalPath)
+            throws IOException {
+        UploadPublishService.StagedUpload staged = service.stage(storedFilename, finalPath);
+        Files.writeString(Paths.get(staged.stagingPath()), "content");
+        return staged;
+    }
+
+    private UploadPublishService newService(long recoveryGraceMillis) {
+        return newService(recoveryGraceMillis, false, 10000L, 5L);
+    }
+
+    private UploadPublishService newService(long recoveryGraceMillis, boolean groupCommit,
+                                            long awaitTimeoutMillis, long groupCommitMillis) {
+        return new UploadPublishService(fileDurabilityService, uploadedFileRepository,
+                new TransactionTemplate(transactionManager),
+                uploadDir.resolve(".staging").toString(), uploadDir.resolve(".journal").toString(),
+                recoveryGraceMillis, groupCommit, groupCommitMillis, 64, awaitTimeoutMillis);
+    }
+}
@@ -0,0 +1,157 @@
+package com.assignment.fileextension.service;
+
+import com.assignment.fileextension.entity.UploadedFile;
+import com.assignment.fileextension.repository.UploadedFileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ZipDownloadService 테스트")
+class ZipDownloadServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private UploadedFileRepository uploadedFileRepository;
+
+    private ZipDownloadService zipDownloadService;
+    // 작은 버퍼로 여러 번 나누어 읽고, 테스트마다 반환되지 않은 버퍼가 없는지 확인
+    private final BufferPoolService bufferPoolService = new BufferPoolService(4096, 4096, 1024, 1024 * 1024, true);
+
+    @BeforeEach
+    void setUp() {
+        zipDownloadService = new ZipDownloadService(uploadedFileRepository, new FileEncryptionService(false, "", 65536, 1),
+                new ReplicationService(null, bufferPoolService, false, "", tempDir.toString(), 1, 100, 5000L, 600000L),
+                bufferPoolService, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        assertThat(bufferPoolService.getOutstanding()).isZero();
+    }
+
+    @Test
+    @DisplayName("요청 순서대로 활성 파일만 조회")
+    void resolveFiles_KeepsRequestOrder() {
+        // given
+        UploadedFile first = file(1L, "a.txt", "txt", tempDir.resolve("a"));
+        UploadedFile deleted = UploadedFile.builder().id(2L).status(UploadedFile.FileStatus.DELETED).build();
+        UploadedFile third = file(3L, "c.txt", "txt", tempDir.resolve("c"));
+        when(uploadedFileRepository.findAllById(any())).thenReturn(List.of(first, deleted, third));
+
+        // when
+        List<UploadedFile> files = zipDownloadService.resolveFiles(List.of(3L, 2L, 1L, 3L));
+
+        // then
+        assertThat(files).extracting(UploadedFile::getId).containsExactly(3L, 1L);
+    }
+
+    @Test
+    @DisplayName("파일 개수 제한 초과 - 예외")
+    void resolveFiles_TooMany() {
+        assertThatThrownBy(() -> zipDownloadService.resolveFiles(List.of(1L, 2L, 3L, 4L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> zipDownloadService.resolveFiles(Collections.emptyList()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(uploadedFileRepository);
+    }
+
+    @Test
+    @DisplayName("ZIP 생성 - 압축된 형식은 다시 압축하지 않고, 같은 이름은 구분")
+    void writeZip() throws IOException {
+        // given
+        byte[] text = "hello zip ".repeat(1000).getBytes(StandardCharsets.UTF_8);
+        byte[] image = new byte[32 * 1024];
+        new Random(42).nextBytes(image);
+        List<UploadedFile> files = List.of(
+                file(1L, "report.txt", "txt", Files.write(tempDir.resolve("1.txt"), text)),
+                file(2L, "photo.jpg", "jpg", Files.write(tempDir.resolve("2.jpg"), image)),
+                file(3L, "report.txt", "txt", Files.write(tempDir.resolve("3.txt"), text)),
+                file(4L, "missing.txt", "txt", tempDir.resolve("missing.txt")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        zipDownloadService.writeZip(files, out);
+
+        // then
+        Path zipPath = Files.write(tempDir.resolve("result.zip"), out.toByteArray());
+        try (ZipFile zip = new ZipFile(zipPath.toFile())) {
+            List<String> names = new ArrayList<>();
+            zip.stream().map(ZipEntry::getName).forEach(names::add);
+            assertThat(names).containsExactly("report.txt", "photo.jpg", "report (1).txt");
+
+            ZipEntry textEntry = zip.getEntry("report.txt");
+            assertThat(textEntry.getCompressedSize()).isLessThan(text.length / 10);
+            assertThat(zip.getInputStream(textEntry).readAllBytes()).isEqualTo(text);
+
+            ZipEntry imageEntry = zip.getEntry("photo.jpg");
+            assertThat(imageEntry.getCompressedSize()).isGreaterThanOrEqualTo(image.length);
+            assertThat(zip.getInputStream(imageEntry).readAllBytes()).isEqualTo(image);
+        }
+    }
+
+    @Test
+    @DisplayName("클라이언트 연결 끊김 - IOException 전달")
+    void writeZip_ClientDisconnect() throws IOException {
+        // given
+        byte[] payload = new byte[512 * 1024];
+        new Random(7).nextBytes(payload);
+        List<UploadedFile> files = List.of(file(1L, "big.bin", "bin", Files.write(tempDir.resolve("big.bin"), payload)));
+        OutputStream disconnected = new OutputStream() {
+            private int written;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                written += len;
+                if (written > 100 * 1024) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+
+        // when & then
+        assertThatThrownBy(() -> zipDownloadService.writeZip(files, disconnected))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+    }
+
+    private UploadedFile file(Long id, String originalFilename, String extension, Path path) {
+        return UploadedFile.builder()
+                .id(id)
+                .originalFilename(originalFilename)
+                .extension(extension)
+                .filePath(path.toString())
+                .status(UploadedFile.FileStatus.ACTIVE)
+                .build();
+    }
+}